@@ -0,0 +1,151 @@
+package com.ipn.metodosnumericosnvo.benchmarks;
+
+import com.ipn.metodosnumericosnvo.math.CompiledFunction;
+import com.ipn.metodosnumericosnvo.math.FunctionEvaluator;
+import com.ipn.metodosnumericosnvo.math.FunctionPlan;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Evaluación de funciones con cada backend de FunctionEvaluator.
+ * Cada operación es una evaluación en un punto; los puntos recorren [-2, 2].
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class EvaluatorBenchmark {
+
+    static final int PUNTOS = 256;
+
+    /**
+     * Backends que aceptan expresiones generales.
+     */
+    @State(Scope.Benchmark)
+    public static class Backends {
+        @Param({"x^3 - 2x - 5", "sin(x)*exp(-x/4) + cos(2x)", "sqrt(x^2 + 1) - ln(x^2 + 2)"})
+        public String expresion;
+
+        @Param({"COMPILED", "MXPARSER", "RHINO"})
+        public FunctionPlan.Backend backend;
+
+        FunctionPlan plan;
+        double[] xs;
+
+        @Setup(Level.Trial)
+        public void preparar() {
+            plan = new FunctionEvaluator().createPlan(expresion, backend);
+            xs = puntos(PUNTOS);
+        }
+    }
+
+    /**
+     * La ruta que usan los métodos: evaluateFunction con el plan que elige el evaluador.
+     */
+    @State(Scope.Benchmark)
+    public static class Ruta {
+        @Param({"x^3 - 2x - 5", "sin(x)*exp(-x/4) + cos(2x)", "sqrt(x^2 + 1) - ln(x^2 + 2)"})
+        public String expresion;
+
+        FunctionEvaluator evaluador;
+        double[] xs;
+
+        @Setup(Level.Trial)
+        public void preparar() {
+            evaluador = new FunctionEvaluator();
+            xs = puntos(PUNTOS);
+        }
+    }
+
+    /**
+     * El evaluador alternativo solo entiende una función elemental aplicada a x.
+     */
+    @State(Scope.Benchmark)
+    public static class Fallback {
+        @Param({"sin(x)", "sqrt(x)"})
+        public String expresion;
+
+        FunctionPlan plan;
+        double[] xs;
+
+        @Setup(Level.Trial)
+        public void preparar() {
+            plan = new FunctionEvaluator().createPlan(expresion, FunctionPlan.Backend.FALLBACK);
+            xs = puntos(PUNTOS);
+        }
+    }
+
+    /**
+     * Una función compilada evaluada en lote sobre una malla.
+     */
+    @State(Scope.Benchmark)
+    public static class Lote {
+        @Param({"sin(x)*exp(-x/4) + cos(2x)"})
+        public String expresion;
+
+        @Param({"1024", "65536"})
+        public int tamano;
+
+        CompiledFunction funcion;
+        double[] salida;
+
+        @Setup(Level.Trial)
+        public void preparar() {
+            funcion = new FunctionEvaluator().compile(expresion);
+            salida = new double[tamano];
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(PUNTOS)
+    public void backend(Backends estado, Blackhole bh) throws Exception {
+        for (double x : estado.xs) {
+            bh.consume(estado.plan.evaluate(x));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(PUNTOS)
+    public void evaluateFunction(Ruta estado, Blackhole bh) throws Exception {
+        for (double x : estado.xs) {
+            bh.consume(estado.evaluador.evaluateFunction(estado.expresion, x));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(PUNTOS)
+    public void fallback(Fallback estado, Blackhole bh) throws Exception {
+        for (double x : estado.xs) {
+            bh.consume(estado.plan.evaluate(x));
+        }
+    }
+
+    @Benchmark
+    public double[] lote(Lote estado) {
+        estado.funcion.evaluateGrid(-2, 2, estado.salida);
+        return estado.salida;
+    }
+
+    static double[] puntos(int n) {
+        double[] xs = new double[n];
+        for (int i = 0; i < n; i++) {
+            xs[i] = -2 + 4.0 * i / (n - 1);
+        }
+        return xs;
+    }
+}
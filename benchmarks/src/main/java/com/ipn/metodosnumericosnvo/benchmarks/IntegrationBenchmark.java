@@ -0,0 +1,80 @@
+package com.ipn.metodosnumericosnvo.benchmarks;
+
+import com.ipn.metodosnumericosnvo.math.CompiledFunctionCache;
+import com.ipn.metodosnumericosnvo.math.GaussKronrod;
+import com.ipn.metodosnumericosnvo.metodos_integracion.Romberg;
+import com.ipn.metodosnumericosnvo.metodos_integracion.Simpson1_3;
+import com.ipn.metodosnumericosnvo.metodos_integracion.Simpson3_8;
+import com.ipn.metodosnumericosnvo.metodos_integracion.Trapecio;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cada regla de metodos_integracion sobre [0, 2] con distintos números de subintervalos.
+ * Una operación es una integral completa.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class IntegrationBenchmark {
+
+    static final double A = 0;
+    static final double B = 2;
+    static final int MAX_ITERACIONES_ROMBERG = 20;
+
+    @State(Scope.Benchmark)
+    public static class Reglas {
+        @Param({"x^2*exp(-x)", "sin(x)/(1 + x^2)", "sqrt(1 + x^3)"})
+        public String funcion;
+
+        // Múltiplos de 6, válidos para Simpson 1/3 (par) y 3/8 (múltiplo de 3)
+        @Param({"24", "384", "6144"})
+        public int subintervalos;
+    }
+
+    /**
+     * Romberg y Gauss-Kronrod no usan un número fijo de subintervalos: refinan hasta la tolerancia.
+     */
+    @State(Scope.Benchmark)
+    public static class Adaptativo {
+        @Param({"x^2*exp(-x)", "sin(x)/(1 + x^2)", "sqrt(1 + x^3)"})
+        public String funcion;
+    }
+
+    @Benchmark
+    public double trapecio(Reglas estado) {
+        return new Trapecio().integrar(estado.funcion, A, B, estado.subintervalos);
+    }
+
+    @Benchmark
+    public double simpson13(Reglas estado) {
+        return new Simpson1_3().integrar(estado.funcion, A, B, estado.subintervalos);
+    }
+
+    @Benchmark
+    public double simpson38(Reglas estado) {
+        return new Simpson3_8().integrar(estado.funcion, A, B, estado.subintervalos);
+    }
+
+    @Benchmark
+    public double romberg(Adaptativo estado) {
+        return new Romberg().calcularRomberg(estado.funcion, A, B, MAX_ITERACIONES_ROMBERG, 1e-10);
+    }
+
+    @Benchmark
+    public double gaussKronrod(Adaptativo estado) {
+        return GaussKronrod.integrate(CompiledFunctionCache.shared().get(estado.funcion), A, B, 1e-10, 0).getValue();
+    }
+}
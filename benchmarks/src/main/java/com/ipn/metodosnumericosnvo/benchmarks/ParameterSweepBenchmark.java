@@ -0,0 +1,76 @@
+package com.ipn.metodosnumericosnvo.benchmarks;
+
+import com.ipn.metodosnumericosnvo.math.ExpressionCompiler;
+import com.ipn.metodosnumericosnvo.math.ParameterSweep;
+import com.ipn.metodosnumericosnvo.math.ParametricFunction;
+import com.ipn.metodosnumericosnvo.math.SweepResult;
+import com.ipn.metodosnumericosnvo.math.Termination;
+import com.ipn.metodosnumericosnvo.metodos_raices.Brent;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * x^3 - a*x - 1 = 0 en [0, 10] para muchos valores de a: el barrido en paralelo contra una
+ * resolución por instancia, ya sea con la función compilada una vez o con el texto armado
+ * y compilado de nuevo en cada instancia. Una operación es el barrido completo.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ParameterSweepBenchmark {
+
+    static final String FUNCION = "x^3 - a*x - 1";
+    static final Termination CRITERIO = Termination.of(1e-12);
+
+    @Param({"1000", "100000"})
+    public int instancias;
+
+    private ParametricFunction funcion;
+    private double[] valores;
+
+    @Setup(Level.Trial)
+    public void preparar() {
+        funcion = ExpressionCompiler.compileParametric(FUNCION, "a");
+        valores = new double[instancias];
+        for (int i = 0; i < instancias; i++) {
+            valores[i] = 10.0 * i / instancias;
+        }
+    }
+
+    @Benchmark
+    public SweepResult barrido() {
+        return new ParameterSweep(CRITERIO).solve(funcion, new double[][] {valores}, 0, 10);
+    }
+
+    @Benchmark
+    public void porInstancia(Blackhole bh) {
+        Brent brent = new Brent();
+        for (double a : valores) {
+            bh.consume(brent.solve(funcion.bind(a), 0, 10, CRITERIO).getRoot());
+        }
+    }
+
+    @Benchmark
+    public void porInstanciaRecompilando(Blackhole bh) {
+        Brent brent = new Brent();
+        for (double a : valores) {
+            bh.consume(brent.solve(ExpressionCompiler.compile("x^3 - " + a + "*x - 1"), 0, 10, CRITERIO).getRoot());
+        }
+    }
+}
@@ -0,0 +1,144 @@
+package com.ipn.metodosnumericosnvo.benchmarks;
+
+import com.ipn.metodosnumericosnvo.math.AberthEhrlich;
+import com.ipn.metodosnumericosnvo.math.DeflacionCompaniona;
+import com.ipn.metodosnumericosnvo.math.PulidoNewton;
+import com.ipn.metodosnumericosnvo.metodo_derivacion.Lagrange;
+import com.ipn.metodosnumericosnvo.metodos_raices.Deflacion;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Interpolación de Lagrange y raíces de polinomios por matriz compañera, según el tamaño.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PolynomialBenchmark {
+
+    static final int PUNTOS_INTERPOLACION = 64;
+
+    /**
+     * Nodos de Chebyshev en [-1, 1] con los valores de 1/(1 + 25x^2).
+     */
+    @State(Scope.Benchmark)
+    public static class Nodos {
+        @Param({"3", "8", "32", "128"})
+        public int nodos;
+
+        Lagrange lagrange;
+        double[] xs;
+
+        @Setup(Level.Trial)
+        public void preparar() {
+            double[] x = new double[nodos];
+            double[] y = new double[nodos];
+            for (int i = 0; i < nodos; i++) {
+                x[i] = Math.cos(Math.PI * (2 * i + 1) / (2 * nodos));
+                y[i] = 1 / (1 + 25 * x[i] * x[i]);
+            }
+            lagrange = new Lagrange(x, y);
+            xs = EvaluatorBenchmark.puntos(PUNTOS_INTERPOLACION);
+            for (int i = 0; i < xs.length; i++) {
+                xs[i] /= 2;
+            }
+        }
+    }
+
+    /**
+     * Polinomio con coeficientes aleatorios (semilla fija), de mayor a menor grado.
+     */
+    @State(Scope.Benchmark)
+    public static class Polinomio {
+        @Param({"5", "20", "50"})
+        public int grado;
+
+        double[] coeficientes;
+
+        @Setup(Level.Trial)
+        public void preparar() {
+            coeficientes = coeficientesAleatorios(grado);
+        }
+    }
+
+    /**
+     * Polinomios de grado alto, solo para los métodos que los resuelven en tiempo interactivo.
+     */
+    @State(Scope.Benchmark)
+    public static class PolinomioGrande {
+        @Param({"500", "2000"})
+        public int grado;
+
+        double[] coeficientes;
+
+        @Setup(Level.Trial)
+        public void preparar() {
+            coeficientes = coeficientesAleatorios(grado);
+        }
+    }
+
+    static double[] coeficientesAleatorios(int grado) {
+        Random random = new Random(42);
+        double[] coeficientes = new double[grado + 1];
+        for (int i = 0; i <= grado; i++) {
+            coeficientes[i] = random.nextDouble() * 2 - 1;
+        }
+        coeficientes[0] = 1;
+        return coeficientes;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(PUNTOS_INTERPOLACION)
+    public void lagrange(Nodos estado, Blackhole bh) {
+        for (double x : estado.xs) {
+            bh.consume(estado.lagrange.calcularInterpolacion(x));
+        }
+    }
+
+    @Benchmark
+    public Object matrizCompanera(Polinomio estado) {
+        return new DeflacionCompaniona().findRoots(estado.coeficientes);
+    }
+
+    @Benchmark
+    public Object matrizCompaneraPulida(Polinomio estado) {
+        return new DeflacionCompaniona().findPolishedRoots(estado.coeficientes, new PulidoNewton());
+    }
+
+    @Benchmark
+    public Object deflacion(Polinomio estado) {
+        return new Deflacion().findRoots(estado.coeficientes);
+    }
+
+    @Benchmark
+    public Object aberth(Polinomio estado) {
+        return new AberthEhrlich().findRoots(estado.coeficientes);
+    }
+
+    @Benchmark
+    public Object aberthGradoAlto(PolinomioGrande estado) {
+        return new AberthEhrlich().findRoots(estado.coeficientes);
+    }
+
+    @Benchmark
+    public Object matrizCompaneraGradoAlto(PolinomioGrande estado) {
+        return new DeflacionCompaniona().findRoots(estado.coeficientes);
+    }
+}
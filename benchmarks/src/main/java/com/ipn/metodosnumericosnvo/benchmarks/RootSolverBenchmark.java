@@ -0,0 +1,155 @@
+package com.ipn.metodosnumericosnvo.benchmarks;
+
+import com.ipn.metodosnumericosnvo.math.CompiledFunction;
+import com.ipn.metodosnumericosnvo.math.CompiledFunctionCache;
+import com.ipn.metodosnumericosnvo.metodos_raices.Biseccion;
+import com.ipn.metodosnumericosnvo.metodos_raices.Biseccion_Aitken;
+import com.ipn.metodosnumericosnvo.metodos_raices.Brent;
+import com.ipn.metodosnumericosnvo.metodos_raices.FalsaPosicion;
+import com.ipn.metodosnumericosnvo.metodos_raices.Muller;
+import com.ipn.metodosnumericosnvo.metodos_raices.Newton;
+import com.ipn.metodosnumericosnvo.metodos_raices.PuntoFijo;
+import com.ipn.metodosnumericosnvo.metodos_raices.RegistroPasos;
+import com.ipn.metodosnumericosnvo.metodos_raices.Secante;
+import com.ipn.metodosnumericosnvo.metodos_raices.Secante_Aitken;
+import com.ipn.metodosnumericosnvo.metodos_raices.Steffensen;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cada método de metodos_raices resolviendo el mismo problema, con la tabla de pasos incluida,
+ * tal como lo llaman los controladores. Los métodos que aceptan un {@link RegistroPasos}
+ * también se miden sin tabla ({@code *SinTabla}). Una operación es una resolución completa.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class RootSolverBenchmark {
+
+    static final double TOLERANCIA = 1e-10;
+    static final int MAX_ITERACIONES = 100;
+
+    /**
+     * Problemas de prueba: f(x), una g(x) de punto fijo equivalente y un intervalo con la raíz.
+     */
+    public enum Problema {
+        CUBICA("x^3 - 2x - 5", "(2x + 5)^(1/3)", 2, 3),
+        KEPLER("x - 0.5*sin(x) - 1", "1 + 0.5*sin(x)", 1, 2),
+        TRASCENDENTE("cos(x) - x", "cos(x)", 0, 1);
+
+        final String f;
+        final String g;
+        final double a;
+        final double b;
+
+        Problema(String f, String g, double a, double b) {
+            this.f = f;
+            this.g = g;
+            this.a = a;
+            this.b = b;
+        }
+    }
+
+    @Param({"CUBICA", "KEPLER", "TRASCENDENTE"})
+    public Problema problema;
+
+    private CompiledFunction funcion;
+    private Newton newton;
+    private final RegistroPasos sinTabla = RegistroPasos.ninguno();
+
+    @Setup(Level.Trial)
+    public void preparar() {
+        funcion = CompiledFunctionCache.shared().get(problema.f);
+        // Los controladores conservan su instancia de Newton (y su calculador de derivadas)
+        newton = new Newton();
+    }
+
+    @Benchmark
+    public Object biseccion() {
+        return Biseccion.resolver(problema.f, problema.a, problema.b, TOLERANCIA);
+    }
+
+    @Benchmark
+    public double biseccionAitken() {
+        List<Biseccion_Aitken.Step> pasos = new ArrayList<>();
+        return new Biseccion_Aitken().resolver(problema.f, problema.a, problema.b, TOLERANCIA, MAX_ITERACIONES, pasos);
+    }
+
+    @Benchmark
+    public double brent() {
+        return new Brent().resolver(problema.f, problema.a, problema.b, TOLERANCIA, MAX_ITERACIONES, sinTabla);
+    }
+
+    @Benchmark
+    public double falsaPosicion() {
+        List<FalsaPosicion.Step> pasos = new ArrayList<>();
+        return new FalsaPosicion().resolver(problema.f, problema.a, problema.b, TOLERANCIA, pasos);
+    }
+
+    @Benchmark
+    public double secante() {
+        List<Secante.Step> pasos = new ArrayList<>();
+        return new Secante().resolver(problema.f, problema.a, problema.b, TOLERANCIA, MAX_ITERACIONES, pasos);
+    }
+
+    @Benchmark
+    public double secanteSinTabla() {
+        return new Secante().resolver(problema.f, problema.a, problema.b, TOLERANCIA, MAX_ITERACIONES, sinTabla);
+    }
+
+    @Benchmark
+    public double secanteAitken() throws Exception {
+        return new Secante_Aitken().calcularRaiz(funcion::applyAsDouble, problema.a, problema.b, TOLERANCIA, MAX_ITERACIONES);
+    }
+
+    @Benchmark
+    public double newton() {
+        List<Newton.Step> pasos = new ArrayList<>();
+        return newton.resolverConDerivadaAutomatica(problema.f, problema.b, TOLERANCIA, MAX_ITERACIONES, pasos);
+    }
+
+    @Benchmark
+    public double newtonSinTabla() {
+        return newton.resolverConDerivadaAutomatica(problema.f, problema.b, TOLERANCIA, MAX_ITERACIONES, sinTabla);
+    }
+
+    @Benchmark
+    public double steffensen() {
+        List<Steffensen.Step> pasos = new ArrayList<>();
+        return new Steffensen().resolver(problema.f, problema.b, TOLERANCIA, MAX_ITERACIONES, pasos);
+    }
+
+    @Benchmark
+    public double steffensenSinTabla() {
+        return new Steffensen().resolver(problema.f, problema.b, TOLERANCIA, MAX_ITERACIONES, sinTabla);
+    }
+
+    @Benchmark
+    public Object puntoFijo() {
+        return new PuntoFijo().resolver(problema.g, problema.a, MAX_ITERACIONES, TOLERANCIA);
+    }
+
+    @Benchmark
+    public double muller() {
+        List<Muller.Step> pasos = new ArrayList<>();
+        double medio = (problema.a + problema.b) / 2;
+        return new Muller().resolver(problema.f, problema.a, medio, problema.b, TOLERANCIA, MAX_ITERACIONES, pasos);
+    }
+}
@@ -1,6 +1,8 @@
 package com.ipn.metodosnumericosnvo.animation;
 
 import com.ipn.metodosnumericosnvo.metodos_raices.Biseccion;
+import com.ipn.metodosnumericosnvo.math.CompiledFunction;
+import com.ipn.metodosnumericosnvo.math.CompiledFunctionCache;
 import javafx.animation.KeyFrame;
 import javafx.animation.KeyValue;
 import javafx.animation.Timeline;
@@ -27,8 +29,6 @@ import javafx.scene.text.FontWeight;
 import javafx.scene.text.Text;
 import javafx.stage.Stage;
 import javafx.util.Duration;
-import org.mariuszgromada.math.mxparser.Argument;
-import org.mariuszgromada.math.mxparser.Expression;
 
 import java.util.List;
 import java.util.concurrent.atomic.AtomicInteger;
@@ -43,6 +43,7 @@ import javafx.scene.control.ToggleButton;
 public class BiseccionAnimacionFX {
     
     private final String funcion;
+    private final CompiledFunction funcionCompilada;
     private final double x0;
     private final double x1;
     private final double tolerancia;
@@ -70,6 +71,7 @@ public class BiseccionAnimacionFX {
      */
     public BiseccionAnimacionFX(String funcion, double x0, double x1, double tolerancia, List<Biseccion.Iteracion> iteraciones) {
         this.funcion = funcion;
+        this.funcionCompilada = CompiledFunctionCache.shared().get(funcion);
         this.x0 = x0;
         this.x1 = x1;
         this.tolerancia = tolerancia;
@@ -84,9 +86,7 @@ public class BiseccionAnimacionFX {
      * @return El valor de la función en el punto x
      */
     private double evaluar(double x) {
-        Argument arg = new Argument("x", x);
-        Expression e = new Expression(funcion, arg);
-        return e.calculate();
+        return funcionCompilada.applyAsDouble(x);
     }
     
     /**
@@ -113,10 +113,11 @@ public class BiseccionAnimacionFX {
         double minY = Double.MAX_VALUE;
         double maxY = Double.MIN_VALUE;
 
-        // Calcular los límites Y basados en los valores de la función
+        // Calcular los límites Y basados en los valores de la función (los mismos puntos forman la curva)
         double step = (maxX - minX) / 200; // Más puntos para una curva más suave
-        for (double x = minX; x <= maxX; x += step) {
-            double y = evaluar(x);
+        double[] valoresY = new double[201];
+        funcionCompilada.evaluateGrid(minX, maxX, valoresY);
+        for (double y : valoresY) {
             minY = Math.min(minY, y);
             maxY = Math.max(maxY, y);
         }
@@ -164,9 +165,8 @@ public class BiseccionAnimacionFX {
         rootSeries.setName("Raíz aproximada");
 
         // Agregar puntos a la función principal con alta resolución
-        for (double x = minX; x <= maxX; x += step) {
-            double y = evaluar(x);
-            functionSeries.getData().add(new XYChart.Data<>(x, y));
+        for (int i = 0; i < valoresY.length; i++) {
+            functionSeries.getData().add(new XYChart.Data<>(minX + i * step, valoresY[i]));
         }
 
         // Agregar punto para el eje X (y=0)
@@ -672,9 +672,10 @@ public class BiseccionAnimacionFX {
             double step = (maxX - minX) / 100;
 
             // Agregar puntos a la función
-            for (double x = minX; x <= maxX; x += step) {
-                double y = evaluar(x);
-                functionSeries.getData().add(new XYChart.Data<>(x, y));
+            double[] valoresY = new double[101];
+            funcionCompilada.evaluateGrid(minX, maxX, valoresY);
+            for (int i = 0; i < valoresY.length; i++) {
+                functionSeries.getData().add(new XYChart.Data<>(minX + i * step, valoresY[i]));
             }
 
             // Agregar la serie al gráfico
@@ -0,0 +1,110 @@
+package com.ipn.metodosnumericosnvo.app;
+
+import com.ipn.metodosnumericosnvo.batch.BatchFormat;
+import com.ipn.metodosnumericosnvo.batch.BatchRunner;
+import org.mariuszgromada.math.mxparser.License;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.Locale;
+
+/**
+ * Headless entry point that solves a file of jobs without starting the JavaFX interface.
+ * Each line of the input is one job (method, function, interval or seeds, tolerance) and
+ * produces one line of output, in the same order.
+ *
+ * <pre>
+ * java -cp ... com.ipn.metodosnumericosnvo.app.BatchSolver --input jobs.csv --output results.csv
+ * </pre>
+ *
+ * Options: {@code --input FILE|-}, {@code --output FILE|-}, {@code --format csv|jsonl}
+ * (taken from the input extension by default) and {@code --threads N} (the number of
+ * processors by default). The exit code is 0 when every job succeeded, 1 when some failed
+ * and 2 for a usage or I/O error.
+ */
+public class BatchSolver {
+
+    private static final String USAGE =
+            "Uso: BatchSolver --input ARCHIVO|- [--output ARCHIVO|-] [--format csv|jsonl] [--threads N]";
+
+    /**
+     * Main entry point for batch solving.
+     *
+     * @param args Command line arguments
+     */
+    public static void main(String[] args) {
+        // Confirm non-commercial use of the mXparser library
+        License.iConfirmNonCommercialUse("Métodos Numéricos IPN");
+        System.exit(run(args));
+    }
+
+    /**
+     * Runs a batch and returns the exit code.
+     *
+     * @param args Command line arguments
+     * @return 0 if every job succeeded, 1 if some failed, 2 on a usage or I/O error
+     */
+    static int run(String[] args) {
+        String input = null;
+        String output = "-";
+        String format = null;
+        int threads = Runtime.getRuntime().availableProcessors();
+        BatchFormat batchFormat;
+        try {
+            for (int i = 0; i < args.length; i++) {
+                switch (args[i]) {
+                    case "--input": input = value(args, ++i); break;
+                    case "--output": output = value(args, ++i); break;
+                    case "--format": format = value(args, ++i); break;
+                    case "--threads": threads = Integer.parseInt(value(args, ++i)); break;
+                    default: throw new IllegalArgumentException("Opción desconocida: " + args[i]);
+                }
+            }
+            if (input == null) {
+                throw new IllegalArgumentException("Falta --input");
+            }
+            if (threads <= 0) {
+                throw new IllegalArgumentException("--threads debe ser mayor que cero");
+            }
+            batchFormat = format != null
+                    ? BatchFormat.valueOf(format.toUpperCase(Locale.ROOT))
+                    : BatchFormat.fromFileName(input);
+        } catch (IllegalArgumentException e) {
+            System.err.println(e.getMessage());
+            System.err.println(USAGE);
+            return 2;
+        }
+
+        try (BufferedReader in = input.equals("-")
+                ? new BufferedReader(new InputStreamReader(System.in, StandardCharsets.UTF_8))
+                : Files.newBufferedReader(Paths.get(input), StandardCharsets.UTF_8);
+             Writer out = output.equals("-")
+                ? new BufferedWriter(new OutputStreamWriter(System.out, StandardCharsets.UTF_8))
+                : Files.newBufferedWriter(Paths.get(output), StandardCharsets.UTF_8)) {
+            BatchRunner.Summary summary = new BatchRunner(threads)
+                    .run(batchFormat.openReader(in), batchFormat.openWriter(out));
+            System.err.println(summary.getTotal() + " trabajos, " + summary.getFailed() + " con error");
+            return summary.getFailed() == 0 ? 0 : 1;
+        } catch (IOException e) {
+            System.err.println("Error de entrada/salida: " + e.getMessage());
+            return 2;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return 2;
+        }
+    }
+
+    private static String value(String[] args, int i) {
+        if (i >= args.length) {
+            throw new IllegalArgumentException("Falta el valor de " + args[i - 1]);
+        }
+        return args[i];
+    }
+}
@@ -0,0 +1,379 @@
+package com.ipn.metodosnumericosnvo.batch;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * File formats for batch jobs and results.
+ * CSV files start with a header that names the fields; JSONL files have one flat JSON object
+ * per line. Both are read and written one line at a time.
+ */
+public enum BatchFormat {
+
+    CSV {
+        @Override
+        public JobReader openReader(BufferedReader in) {
+            return new JobReader() {
+                private List<String> header;
+                private long line;
+
+                @Override
+                public BatchJob next() throws IOException {
+                    String text;
+                    while ((text = in.readLine()) != null) {
+                        line++;
+                        if (text.trim().isEmpty()) {
+                            continue;
+                        }
+                        List<String> values;
+                        try {
+                            values = parseCsvLine(text);
+                        } catch (IllegalArgumentException e) {
+                            return BatchJob.invalid(line, e.getMessage());
+                        }
+                        if (header == null) {
+                            header = new ArrayList<>();
+                            for (String name : values) {
+                                header.add(name.trim());
+                            }
+                            continue;
+                        }
+                        if (values.size() > header.size()) {
+                            return BatchJob.invalid(line, "La línea tiene más columnas que el encabezado");
+                        }
+                        Map<String, String> fields = new LinkedHashMap<>();
+                        for (int i = 0; i < values.size(); i++) {
+                            fields.put(header.get(i), values.get(i));
+                        }
+                        return BatchJob.of(line, fields);
+                    }
+                    return null;
+                }
+            };
+        }
+
+        @Override
+        public ResultWriter openWriter(Writer out) {
+            return new ResultWriter() {
+                private boolean headerWritten;
+
+                @Override
+                public void write(BatchResult result) throws IOException {
+                    if (!headerWritten) {
+                        out.write("id,method,status,value,iterations,millis,message\n");
+                        headerWritten = true;
+                    }
+                    out.write(csvField(result.getId()));
+                    out.write(',');
+                    out.write(csvField(result.getMethod()));
+                    out.write(',');
+                    out.write(result.isOk() ? "ok" : "error");
+                    out.write(',');
+                    out.write(result.isOk() ? String.valueOf(result.getValue()) : "");
+                    out.write(',');
+                    out.write(String.valueOf(result.getIterations()));
+                    out.write(',');
+                    out.write(millis(result));
+                    out.write(',');
+                    out.write(csvField(result.getMessage()));
+                    out.write('\n');
+                }
+
+                @Override
+                public void flush() throws IOException {
+                    out.flush();
+                }
+            };
+        }
+    },
+
+    JSONL {
+        @Override
+        public JobReader openReader(BufferedReader in) {
+            return new JobReader() {
+                private long line;
+
+                @Override
+                public BatchJob next() throws IOException {
+                    String text;
+                    while ((text = in.readLine()) != null) {
+                        line++;
+                        if (text.trim().isEmpty()) {
+                            continue;
+                        }
+                        try {
+                            return BatchJob.of(line, new FlatJsonParser(text).parseObject());
+                        } catch (IllegalArgumentException e) {
+                            return BatchJob.invalid(line, e.getMessage());
+                        }
+                    }
+                    return null;
+                }
+            };
+        }
+
+        @Override
+        public ResultWriter openWriter(Writer out) {
+            return new ResultWriter() {
+                @Override
+                public void write(BatchResult result) throws IOException {
+                    StringBuilder json = new StringBuilder(128);
+                    json.append("{\"id\":").append(jsonString(result.getId()));
+                    json.append(",\"method\":").append(jsonString(result.getMethod()));
+                    json.append(",\"status\":\"").append(result.isOk() ? "ok" : "error").append('"');
+                    if (result.isOk()) {
+                        json.append(",\"value\":").append(jsonNumber(result.getValue()));
+                        json.append(",\"iterations\":").append(result.getIterations());
+                    } else {
+                        json.append(",\"message\":").append(jsonString(result.getMessage()));
+                    }
+                    json.append(",\"millis\":").append(millis(result)).append("}\n");
+                    out.write(json.toString());
+                }
+
+                @Override
+                public void flush() throws IOException {
+                    out.flush();
+                }
+            };
+        }
+    };
+
+    /**
+     * Opens a reader of jobs in this format.
+     *
+     * @param in The input
+     * @return The job reader
+     */
+    public abstract JobReader openReader(BufferedReader in);
+
+    /**
+     * Opens a writer of results in this format.
+     *
+     * @param out The output
+     * @return The result writer
+     */
+    public abstract ResultWriter openWriter(Writer out);
+
+    /**
+     * Chooses the format from a file name: .jsonl or .json is JSONL, anything else CSV.
+     *
+     * @param fileName The file name
+     * @return The format
+     */
+    public static BatchFormat fromFileName(String fileName) {
+        String lower = fileName.toLowerCase(Locale.ROOT);
+        return lower.endsWith(".jsonl") || lower.endsWith(".json") ? JSONL : CSV;
+    }
+
+    /**
+     * Splits one CSV record. Fields may be quoted, with "" standing for a quote, so a function
+     * such as "log(2,x)" can contain commas.
+     */
+    static List<String> parseCsvLine(String line) {
+        List<String> values = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c == '"') {
+                    if (i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                        field.append('"');
+                        i++;
+                    } else {
+                        quoted = false;
+                    }
+                } else {
+                    field.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                values.add(field.toString());
+                field.setLength(0);
+            } else {
+                field.append(c);
+            }
+        }
+        if (quoted) {
+            throw new IllegalArgumentException("Comillas sin cerrar en la línea CSV");
+        }
+        values.add(field.toString());
+        return values;
+    }
+
+    static String csvField(String value) {
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0) {
+            return value;
+        }
+        return '"' + value.replace("\"", "\"\"").replace('\n', ' ') + '"';
+    }
+
+    static String jsonString(String value) {
+        StringBuilder json = new StringBuilder(value.length() + 2).append('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '"': json.append("\\\""); break;
+                case '\\': json.append("\\\\"); break;
+                case '\n': json.append("\\n"); break;
+                case '\r': json.append("\\r"); break;
+                case '\t': json.append("\\t"); break;
+                default:
+                    if (c < 0x20) {
+                        json.append(String.format("\\u%04x", (int) c));
+                    } else {
+                        json.append(c);
+                    }
+            }
+        }
+        return json.append('"').toString();
+    }
+
+    /**
+     * JSON has no NaN or infinity, so those values are written as null.
+     */
+    static String jsonNumber(double value) {
+        return Double.isNaN(value) || Double.isInfinite(value) ? "null" : String.valueOf(value);
+    }
+
+    static String millis(BatchResult result) {
+        return String.format(Locale.ROOT, "%.3f", result.getElapsedNanos() / 1e6);
+    }
+
+    /**
+     * Parser for the flat JSON objects of a job line: string, number, boolean and null values.
+     * Values are kept as text; nested objects and arrays are rejected.
+     */
+    static final class FlatJsonParser {
+        private final String text;
+        private int pos;
+
+        FlatJsonParser(String text) {
+            this.text = text;
+        }
+
+        Map<String, String> parseObject() {
+            Map<String, String> fields = new LinkedHashMap<>();
+            expect('{');
+            skipWhitespace();
+            if (peek() == '}') {
+                pos++;
+                return end(fields);
+            }
+            while (true) {
+                skipWhitespace();
+                String name = parseString();
+                expect(':');
+                skipWhitespace();
+                fields.put(name, parseValue());
+                skipWhitespace();
+                char c = next();
+                if (c == '}') {
+                    return end(fields);
+                }
+                if (c != ',') {
+                    throw error("se esperaba ',' o '}'");
+                }
+            }
+        }
+
+        private Map<String, String> end(Map<String, String> fields) {
+            skipWhitespace();
+            if (pos < text.length()) {
+                throw error("texto sobrante después del objeto");
+            }
+            return fields;
+        }
+
+        private String parseValue() {
+            char c = peek();
+            if (c == '"') {
+                return parseString();
+            }
+            if (c == '{' || c == '[') {
+                throw error("solo se admiten valores simples");
+            }
+            int start = pos;
+            while (pos < text.length() && ",} \t".indexOf(text.charAt(pos)) < 0) {
+                pos++;
+            }
+            String literal = text.substring(start, pos);
+            if (literal.equals("null")) {
+                return "";
+            }
+            if (literal.isEmpty()) {
+                throw error("falta un valor");
+            }
+            return literal;
+        }
+
+        private String parseString() {
+            expect('"');
+            StringBuilder value = new StringBuilder();
+            while (true) {
+                char c = next();
+                if (c == '"') {
+                    return value.toString();
+                }
+                if (c != '\\') {
+                    value.append(c);
+                    continue;
+                }
+                char escaped = next();
+                switch (escaped) {
+                    case 'n': value.append('\n'); break;
+                    case 't': value.append('\t'); break;
+                    case 'r': value.append('\r'); break;
+                    case 'b': value.append('\b'); break;
+                    case 'f': value.append('\f'); break;
+                    case 'u':
+                        if (pos + 4 > text.length()) {
+                            throw error("escape \\u incompleto");
+                        }
+                        value.append((char) Integer.parseInt(text.substring(pos, pos + 4), 16));
+                        pos += 4;
+                        break;
+                    default: value.append(escaped);
+                }
+            }
+        }
+
+        private void expect(char expected) {
+            skipWhitespace();
+            if (next() != expected) {
+                throw error("se esperaba '" + expected + "'");
+            }
+        }
+
+        private char peek() {
+            if (pos >= text.length()) {
+                throw error("fin de línea inesperado");
+            }
+            return text.charAt(pos);
+        }
+
+        private char next() {
+            char c = peek();
+            pos++;
+            return c;
+        }
+
+        private void skipWhitespace() {
+            while (pos < text.length() && Character.isWhitespace(text.charAt(pos))) {
+                pos++;
+            }
+        }
+
+        private IllegalArgumentException error(String reason) {
+            return new IllegalArgumentException("JSON inválido en la posición " + pos + ": " + reason);
+        }
+    }
+}
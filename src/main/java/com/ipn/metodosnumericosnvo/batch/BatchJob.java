@@ -0,0 +1,126 @@
+package com.ipn.metodosnumericosnvo.batch;
+
+import java.util.Collections;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * One job read from a batch file: a method, a function and its parameters.
+ * Parameters are kept as text and converted when the job runs, so a bad value only fails
+ * its own job. A line that could not be parsed becomes an invalid job that carries the
+ * parse error, so the output still has one result per input line.
+ */
+public final class BatchJob {
+
+    private final long line;
+    private final Map<String, String> fields;
+    private final String error;
+
+    private BatchJob(long line, Map<String, String> fields, String error) {
+        this.line = line;
+        this.fields = fields;
+        this.error = error;
+    }
+
+    /**
+     * Creates a job from its fields.
+     *
+     * @param line The line of the job in the input
+     * @param fields The fields by name (method, function, a, b, x0, tol...)
+     * @return The job
+     */
+    public static BatchJob of(long line, Map<String, String> fields) {
+        return new BatchJob(line, Collections.unmodifiableMap(fields), null);
+    }
+
+    /**
+     * Creates a job for a line that could not be parsed.
+     *
+     * @param line The line in the input
+     * @param error The parse error
+     * @return The invalid job
+     */
+    public static BatchJob invalid(long line, String error) {
+        return new BatchJob(line, Collections.emptyMap(), error);
+    }
+
+    public long getLine() {
+        return line;
+    }
+
+    /**
+     * Gets the job id, or the line number if the job has none.
+     */
+    public String getId() {
+        String id = fields.get("id");
+        return id == null || id.isEmpty() ? String.valueOf(line) : id;
+    }
+
+    /**
+     * Gets the method name in lower case, or an empty string if there is none.
+     */
+    public String getMethod() {
+        String method = fields.get("method");
+        return method == null ? "" : method.trim().toLowerCase(Locale.ROOT);
+    }
+
+    public boolean isValid() {
+        return error == null;
+    }
+
+    public String getError() {
+        return error;
+    }
+
+    public boolean has(String name) {
+        String value = fields.get(name);
+        return value != null && !value.trim().isEmpty();
+    }
+
+    /**
+     * Gets a required text field.
+     *
+     * @throws IllegalArgumentException If the field is missing
+     */
+    public String getString(String name) {
+        if (!has(name)) {
+            throw new IllegalArgumentException("Falta el campo '" + name + "'");
+        }
+        return fields.get(name).trim();
+    }
+
+    /**
+     * Gets a required numeric field.
+     *
+     * @throws IllegalArgumentException If the field is missing or is not a number
+     */
+    public double getDouble(String name) {
+        String value = getString(name);
+        try {
+            return Double.parseDouble(value);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("El campo '" + name + "' no es un número: " + value);
+        }
+    }
+
+    public double getDouble(String name, double defaultValue) {
+        return has(name) ? getDouble(name) : defaultValue;
+    }
+
+    /**
+     * Gets an optional integer field.
+     *
+     * @throws IllegalArgumentException If the field is present and is not an integer
+     */
+    public int getInt(String name, int defaultValue) {
+        if (!has(name)) {
+            return defaultValue;
+        }
+        String value = getString(name);
+        try {
+            return Integer.parseInt(value);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("El campo '" + name + "' no es un entero: " + value);
+        }
+    }
+}
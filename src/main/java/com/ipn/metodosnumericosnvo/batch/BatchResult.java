@@ -0,0 +1,71 @@
+package com.ipn.metodosnumericosnvo.batch;
+
+/**
+ * Outcome of one batch job: the root or integral it produced, or the error that stopped it.
+ */
+public final class BatchResult {
+
+    private final String id;
+    private final String method;
+    private final boolean ok;
+    private final double value;
+    private final int iterations;
+    private final long elapsedNanos;
+    private final String message;
+
+    private BatchResult(String id, String method, boolean ok, double value, int iterations,
+                        long elapsedNanos, String message) {
+        this.id = id;
+        this.method = method;
+        this.ok = ok;
+        this.value = value;
+        this.iterations = iterations;
+        this.elapsedNanos = elapsedNanos;
+        this.message = message;
+    }
+
+    /**
+     * Creates the result of a job that finished.
+     *
+     * @param iterations The iterations used, or 0 if the method does not iterate
+     */
+    public static BatchResult success(BatchJob job, double value, int iterations, long elapsedNanos) {
+        return new BatchResult(job.getId(), job.getMethod(), true, value, iterations, elapsedNanos, "");
+    }
+
+    /**
+     * Creates the result of a job that failed.
+     */
+    public static BatchResult failure(BatchJob job, String message, long elapsedNanos) {
+        return new BatchResult(job.getId(), job.getMethod(), false, Double.NaN, 0, elapsedNanos,
+                message == null ? "" : message);
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public String getMethod() {
+        return method;
+    }
+
+    public boolean isOk() {
+        return ok;
+    }
+
+    public double getValue() {
+        return value;
+    }
+
+    public int getIterations() {
+        return iterations;
+    }
+
+    public long getElapsedNanos() {
+        return elapsedNanos;
+    }
+
+    public String getMessage() {
+        return message;
+    }
+}
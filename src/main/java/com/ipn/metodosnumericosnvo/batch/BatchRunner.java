@@ -0,0 +1,111 @@
+package com.ipn.metodosnumericosnvo.batch;
+
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Streams jobs from a reader through a pool of worker threads into a writer.
+ * At most {@code threads * 4} jobs are in flight: when the window is full the runner waits
+ * for the oldest one before reading more, so memory stays bounded whatever the input size,
+ * and results are written in input order.
+ */
+public final class BatchRunner {
+
+    private static final int JOBS_PER_THREAD = 4;
+
+    private final int threads;
+    private final JobExecutor executor;
+
+    /**
+     * Creates a runner.
+     *
+     * @param threads The number of worker threads
+     */
+    public BatchRunner(int threads) {
+        if (threads <= 0) {
+            throw new IllegalArgumentException("El número de hilos debe ser mayor que cero");
+        }
+        this.threads = threads;
+        this.executor = new JobExecutor();
+    }
+
+    /**
+     * Runs every job of the reader and writes its result.
+     *
+     * @param reader The jobs
+     * @param writer Where the results go
+     * @return The totals of the run
+     * @throws IOException If reading or writing fails
+     * @throws InterruptedException If the thread is interrupted while waiting for a job
+     */
+    public Summary run(JobReader reader, ResultWriter writer) throws IOException, InterruptedException {
+        AtomicInteger counter = new AtomicInteger();
+        ExecutorService pool = Executors.newFixedThreadPool(threads, r -> {
+            Thread t = new Thread(r, "batch-" + counter.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        });
+        int window = threads * JOBS_PER_THREAD;
+        ArrayDeque<Future<BatchResult>> pending = new ArrayDeque<>(window);
+        long total = 0;
+        long failed = 0;
+        try {
+            BatchJob job;
+            while ((job = reader.next()) != null) {
+                BatchJob current = job;
+                pending.addLast(pool.submit(() -> executor.execute(current)));
+                if (pending.size() >= window) {
+                    failed += writeNext(pending, writer);
+                    total++;
+                }
+            }
+            while (!pending.isEmpty()) {
+                failed += writeNext(pending, writer);
+                total++;
+            }
+            writer.flush();
+        } finally {
+            pool.shutdownNow();
+        }
+        return new Summary(total, failed);
+    }
+
+    private static int writeNext(ArrayDeque<Future<BatchResult>> pending, ResultWriter writer)
+            throws IOException, InterruptedException {
+        BatchResult result;
+        try {
+            result = pending.removeFirst().get();
+        } catch (ExecutionException e) {
+            // JobExecutor turns solver errors into results; this is an Error such as OutOfMemoryError
+            throw new IllegalStateException("Error inesperado en un trabajo del lote", e.getCause());
+        }
+        writer.write(result);
+        return result.isOk() ? 0 : 1;
+    }
+
+    /**
+     * Totals of a batch run.
+     */
+    public static final class Summary {
+        private final long total;
+        private final long failed;
+
+        Summary(long total, long failed) {
+            this.total = total;
+            this.failed = failed;
+        }
+
+        public long getTotal() {
+            return total;
+        }
+
+        public long getFailed() {
+            return failed;
+        }
+    }
+}
@@ -0,0 +1,151 @@
+package com.ipn.metodosnumericosnvo.batch;
+
+import com.ipn.metodosnumericosnvo.metodos_integracion.Romberg;
+import com.ipn.metodosnumericosnvo.metodos_integracion.Simpson1_3;
+import com.ipn.metodosnumericosnvo.metodos_integracion.Simpson3_8;
+import com.ipn.metodosnumericosnvo.metodos_integracion.Trapecio;
+import com.ipn.metodosnumericosnvo.metodos_raices.AceleracionPuntoFijo;
+import com.ipn.metodosnumericosnvo.metodos_raices.Biseccion;
+import com.ipn.metodosnumericosnvo.metodos_raices.Brent;
+import com.ipn.metodosnumericosnvo.metodos_raices.FalsaPosicion;
+import com.ipn.metodosnumericosnvo.metodos_raices.Muller;
+import com.ipn.metodosnumericosnvo.metodos_raices.Newton;
+import com.ipn.metodosnumericosnvo.metodos_raices.PuntoFijo;
+import com.ipn.metodosnumericosnvo.metodos_raices.RegistroPasos;
+import com.ipn.metodosnumericosnvo.metodos_raices.Secante;
+import com.ipn.metodosnumericosnvo.metodos_raices.Steffensen;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Runs one batch job with the solver its method names.
+ * The solvers are the same classes the screens use; any exception they throw becomes a failed
+ * result, so one bad job never stops the batch. Root solvers run without a step table; only
+ * the number of iterations is kept. Safe to call from several threads: every call creates its
+ * own solver and recorder.
+ */
+public final class JobExecutor {
+
+    static final double DEFAULT_TOLERANCE = 1e-8;
+    static final int DEFAULT_MAX_ITERATIONS = 100;
+    static final int DEFAULT_SUBINTERVALS = 100;
+    static final int DEFAULT_ROMBERG_ITERATIONS = 20;
+
+    /**
+     * Runs a job.
+     *
+     * @param job The job
+     * @return Its result; never null
+     */
+    public BatchResult execute(BatchJob job) {
+        long start = System.nanoTime();
+        if (!job.isValid()) {
+            return BatchResult.failure(job, job.getError(), 0);
+        }
+        try {
+            return solve(job, start);
+        } catch (RuntimeException | StackOverflowError e) {
+            String message = e.getMessage() == null ? e.getClass().getSimpleName() : e.getMessage();
+            return BatchResult.failure(job, message, System.nanoTime() - start);
+        }
+    }
+
+    private BatchResult solve(BatchJob job, long start) {
+        String method = job.getMethod();
+        String f = job.getString("function");
+        double tol = job.getDouble("tol", DEFAULT_TOLERANCE);
+        int maxIter = job.getInt("maxIter", DEFAULT_MAX_ITERATIONS);
+        if (tol <= 0) {
+            throw new IllegalArgumentException("La tolerancia debe ser mayor que cero");
+        }
+
+        switch (method) {
+            case "biseccion": {
+                RegistroPasos registro = RegistroPasos.ninguno();
+                double raiz = Biseccion.resolver(f, job.getDouble("a"), job.getDouble("b"), tol, registro);
+                return done(job, raiz, registro.getTotal(), start);
+            }
+            case "brent": {
+                RegistroPasos registro = RegistroPasos.ninguno();
+                double raiz = new Brent().resolver(f, job.getDouble("a"), job.getDouble("b"), tol, maxIter, registro);
+                return done(job, raiz, registro.getTotal(), start);
+            }
+            case "falsa_posicion": {
+                List<FalsaPosicion.Step> pasos = new ArrayList<>();
+                double raiz = new FalsaPosicion().resolver(f, job.getDouble("a"), job.getDouble("b"), tol, pasos);
+                return done(job, raiz, pasos.size(), start);
+            }
+            case "secante": {
+                RegistroPasos registro = RegistroPasos.ninguno();
+                double x0 = job.has("x0") ? job.getDouble("x0") : job.getDouble("a");
+                double x1 = job.has("x1") ? job.getDouble("x1") : job.getDouble("b");
+                double raiz = new Secante().resolver(f, x0, x1, tol, maxIter, registro);
+                return done(job, raiz, registro.getTotal(), start);
+            }
+            case "newton": {
+                RegistroPasos registro = RegistroPasos.ninguno();
+                double raiz = new Newton().resolverConDerivadaAutomatica(f, job.getDouble("x0"), tol, maxIter, registro);
+                return done(job, raiz, registro.getTotal(), start);
+            }
+            case "steffensen": {
+                RegistroPasos registro = RegistroPasos.ninguno();
+                double raiz = new Steffensen().resolver(f, job.getDouble("x0"), tol, maxIter, registro);
+                return done(job, raiz, registro.getTotal(), start);
+            }
+            case "punto_fijo": {
+                List<PuntoFijo.Iteration> pasos = new PuntoFijo(acceleration(job))
+                        .resolver(f, job.getDouble("x0"), maxIter, tol);
+                return done(job, pasos.get(pasos.size() - 1).gxi, pasos.size(), start);
+            }
+            case "muller": {
+                RegistroPasos registro = RegistroPasos.ninguno();
+                double raiz = new Muller().resolver(f, job.getDouble("x0"), job.getDouble("x1"),
+                        job.getDouble("x2"), tol, maxIter, registro);
+                return done(job, raiz, registro.getTotal(), start);
+            }
+            case "trapecio":
+                return done(job, new Trapecio().integrar(f, job.getDouble("a"), job.getDouble("b"),
+                        job.getInt("n", DEFAULT_SUBINTERVALS)), 0, start);
+            case "simpson13":
+                return done(job, new Simpson1_3().integrar(f, job.getDouble("a"), job.getDouble("b"),
+                        job.getInt("n", DEFAULT_SUBINTERVALS)), 0, start);
+            case "simpson38":
+                return done(job, new Simpson3_8().integrar(f, job.getDouble("a"), job.getDouble("b"),
+                        job.getInt("n", DEFAULT_SUBINTERVALS)), 0, start);
+            case "romberg": {
+                int filas = job.getInt("maxIter", DEFAULT_ROMBERG_ITERATIONS);
+                if (filas <= 0 || filas > 30) {
+                    throw new IllegalArgumentException("Las iteraciones de Romberg deben estar entre 1 y 30");
+                }
+                return done(job, new Romberg().calcularRomberg(f, job.getDouble("a"), job.getDouble("b"),
+                        filas, tol), 0, start);
+            }
+            case "":
+                throw new IllegalArgumentException("Falta el campo 'method'");
+            default:
+                throw new IllegalArgumentException("Método desconocido: " + method);
+        }
+    }
+
+    /**
+     * Gets the fixed-point acceleration scheme of a job: picard (the default), aitken, anderson,
+     * epsilon or automatico.
+     */
+    private static AceleracionPuntoFijo.Esquema acceleration(BatchJob job) {
+        if (!job.has("acceleration")) {
+            return AceleracionPuntoFijo.Esquema.PICARD;
+        }
+        String name = job.getString("acceleration");
+        try {
+            return AceleracionPuntoFijo.Esquema.valueOf(name.toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Aceleración desconocida: " + name);
+        }
+    }
+
+    private static BatchResult done(BatchJob job, double value, int iterations, long start) {
+        return BatchResult.success(job, value, iterations, System.nanoTime() - start);
+    }
+}
@@ -0,0 +1,17 @@
+package com.ipn.metodosnumericosnvo.batch;
+
+import java.io.IOException;
+
+/**
+ * Reads batch jobs one at a time from a stream, so a file of any size is never held in memory.
+ */
+public interface JobReader {
+
+    /**
+     * Reads the next job.
+     *
+     * @return The next job, or null at the end of the input
+     * @throws IOException If the input cannot be read
+     */
+    BatchJob next() throws IOException;
+}
@@ -0,0 +1,24 @@
+package com.ipn.metodosnumericosnvo.batch;
+
+import java.io.IOException;
+
+/**
+ * Writes batch results to a stream as they are produced.
+ */
+public interface ResultWriter {
+
+    /**
+     * Writes one result.
+     *
+     * @param result The result
+     * @throws IOException If the output cannot be written
+     */
+    void write(BatchResult result) throws IOException;
+
+    /**
+     * Flushes the results written so far.
+     *
+     * @throws IOException If the output cannot be written
+     */
+    void flush() throws IOException;
+}
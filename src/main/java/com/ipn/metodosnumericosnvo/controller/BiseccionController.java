@@ -1,8 +1,17 @@
 package com.ipn.metodosnumericosnvo.controller;
 
 import com.ipn.metodosnumericosnvo.animation.BiseccionAnimacionFX;
+import com.ipn.metodosnumericosnvo.math.CompiledFunctionCache;
+import com.ipn.metodosnumericosnvo.math.RootResult;
+import com.ipn.metodosnumericosnvo.math.SolveService;
+import com.ipn.metodosnumericosnvo.math.Termination;
 import com.ipn.metodosnumericosnvo.metodos_raices.Biseccion;
+import com.ipn.metodosnumericosnvo.metodos_raices.EventoPaso;
+import com.ipn.metodosnumericosnvo.metodos_raices.PublicadorPasos;
+import com.ipn.metodosnumericosnvo.metodos_raices.RegistroPasos;
 import com.ipn.metodosnumericosnvo.utils.GeoGebraUtils;
+import javafx.application.Platform;
+import javafx.beans.binding.Bindings;
 import javafx.collections.FXCollections;
 import javafx.collections.ObservableList;
 import javafx.concurrent.Worker;
@@ -13,7 +22,9 @@ import javafx.scene.web.WebView;
 import netscape.javascript.JSObject;
 
 import java.net.URL;
+import java.time.Duration;
 import java.util.List;
+import java.util.concurrent.Flow;
 
 public class BiseccionController {
 
@@ -31,6 +42,13 @@ public class BiseccionController {
     @FXML private Label geogebraStatusLabel;
 
     private WebEngine webEngine;
+    private TareaSolucion<RootResult> tarea;
+
+    /** Tiempo máximo de un cálculo; al cumplirse termina con la mejor aproximación. */
+    private static final Duration TIEMPO_LIMITE = Duration.ofSeconds(30);
+
+    /** Pasos que pueden esperar a la tabla antes de que el cálculo se detenga a esperarla. */
+    private static final int CAPACIDAD_PASOS = 256;
 
     /**
      * Sets the function text in the function field.
@@ -173,24 +191,95 @@ public class BiseccionController {
 
     @FXML
     private void onCalcular() {
+        // Mientras hay un cálculo en curso el botón sirve para cancelarlo
+        if (tarea != null && tarea.isRunning()) {
+            tarea.cancel();
+            return;
+        }
         String funcion = funcionField.getText();
         double x0 = Double.parseDouble(x0Field.getText());
         double x1 = Double.parseDouble(x1Field.getText());
         double tol = Double.parseDouble(tolField.getText());
 
-        // Obtener las iteraciones
-        java.util.List<Biseccion.Iteracion> iteraciones = Biseccion.resolver(funcion, x0, x1, tol);
-        ObservableList<Biseccion.Iteracion> datos = FXCollections.observableArrayList(iteraciones);
+        Termination termination = Termination.of(tol)
+                .withMaxIterations(Biseccion.MAX_ITERACIONES)
+                .withTimeout(TIEMPO_LIMITE);
+        // La tabla se llena conforme se calculan los pasos; el registro no guarda ninguno
+        ObservableList<Biseccion.Iteracion> datos = FXCollections.observableArrayList();
         tablaIteraciones.setItems(datos);
+        PublicadorPasos publicador = new PublicadorPasos(Platform::runLater, CAPACIDAD_PASOS);
+        publicador.subscribe(new Flow.Subscriber<>() {
+            private Flow.Subscription suscripcion;
+
+            @Override
+            public void onSubscribe(Flow.Subscription suscripcion) {
+                this.suscripcion = suscripcion;
+                suscripcion.request(CAPACIDAD_PASOS);
+            }
+
+            @Override
+            public void onNext(EventoPaso evento) {
+                datos.add(Biseccion.iteracion(evento));
+                suscripcion.request(1);
+            }
+
+            @Override
+            public void onError(Throwable error) {
+                // La tarea muestra el error
+            }
+
+            @Override
+            public void onComplete() {
+            }
+        });
+        RegistroPasos registro = RegistroPasos.ninguno().publicarEn(publicador);
+        tarea = new TareaSolucion<>(termination, t -> publicador.ejecutar(
+                () -> Biseccion.resolver(CompiledFunctionCache.shared().get(funcion), x0, x1, t, registro)));
+
+        calcularBtn.textProperty().bind(Bindings.when(tarea.runningProperty())
+                .then("Cancelar").otherwise("Calcular"));
+        raizLabel.textProperty().bind(tarea.messageProperty());
+
+        tarea.setOnSucceeded(e -> {
+            liberarControles();
+            RootResult resultado = tarea.getValue();
+
+            // Graficar la función en GeoGebra
+            graficarFuncion(funcion);
+
+            if (!resultado.isConverged()) {
+                // La última aproximación no es una raíz: no se marca en la gráfica
+                raizLabel.setText("Sin convergencia (" + resultado.getStatus() + "): " + resultado.getMessage());
+                return;
+            }
 
-        // Mostrar la raíz encontrada
-        double raiz = Biseccion.obtenerRaiz(iteraciones);
-        raizLabel.setText(String.format("%.10f", raiz));
+            // Mostrar la raíz encontrada
+            double raiz = resultado.getRoot();
+            raizLabel.setText(String.format("%.10f", raiz));
+
+            // Marcar la raíz en la gráfica
+            marcarRaiz(raiz);
+        });
+        tarea.setOnFailed(e -> {
+            liberarControles();
+            raizLabel.setText("Error: " + tarea.getException().getMessage());
+        });
+        tarea.setOnCancelled(e -> {
+            liberarControles();
+            raizLabel.setText("Cálculo cancelado");
+        });
+        SolveService.shared().execute(tarea, null);
+    }
 
-        // Graficar la función en GeoGebra
-        graficarFuncion(funcion);
+    private void liberarControles() {
+        calcularBtn.textProperty().unbind();
+        raizLabel.textProperty().unbind();
+    }
 
-        // Marcar la raíz en la gráfica
+    /**
+     * Marca la raíz en la gráfica de GeoGebra.
+     */
+    private void marcarRaiz(double raiz) {
         if (webEngine != null) {
             try {
                 String comando = String.format(
@@ -9,6 +9,8 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 
+import com.ipn.metodosnumericosnvo.math.AberthEhrlich;
+import com.ipn.metodosnumericosnvo.math.PulidoNewton;
 import com.ipn.metodosnumericosnvo.metodos_raices.Deflacion;
 
 public class DeflacionController {
@@ -17,7 +19,12 @@ public class DeflacionController {
     @FXML private TableView<RaizTable> tablaRaices;
     @FXML private TableColumn<RaizTable, String> colReal, colImag, colCompleja;
 
+    // A partir de este grado la deflación (O(n^3)) tarda demasiado y se usa Aberth-Ehrlich
+    private static final int GRADO_MAXIMO_DEFLACION = 30;
+
     private final Deflacion modelo = new Deflacion();
+    private final AberthEhrlich aberth = new AberthEhrlich();
+    private final PulidoNewton pulido = new PulidoNewton();
 
     @FXML
     public void initialize() {
@@ -33,7 +40,8 @@ public class DeflacionController {
             double[] coeffs = Arrays.stream(input.split(","))
                                     .mapToDouble(Double::parseDouble)
                                     .toArray();
-            List<Complex> roots = modelo.findRoots(coeffs);
+            List<Complex> roots = coeffs.length - 1 > GRADO_MAXIMO_DEFLACION
+                    ? aberth.findRoots(coeffs) : modelo.findPolishedRoots(coeffs, pulido).getRaices();
             List<RaizTable> rows = new ArrayList<>();
             for (Complex c : roots) {
                 String a = String.format("%.6f", c.getReal());
@@ -7,19 +7,26 @@ import javafx.collections.*;
 import javafx.scene.control.cell.PropertyValueFactory;
 import java.util.ArrayList;
 import java.util.List;
+import com.ipn.metodosnumericosnvo.metodos_raices.AceleracionPuntoFijo;
 import com.ipn.metodosnumericosnvo.metodos_raices.PuntoFijo;
 
 public class PuntoFIjoController {
 
     @FXML TextField gTxt, x0Txt, maxIterTxt, tolTxt;
+    @FXML ComboBox<String> aceleracionCombo;
     @FXML Label resultLbl;
     @FXML TableView<PuntoFijo.Iteration> tableView;
     @FXML TableColumn<PuntoFijo.Iteration, String> colIter, colXi, colGxi, colError;
 
-    private final PuntoFijo model = new PuntoFijo();
+    // Nombres de los esquemas de aceleración, en el orden de AceleracionPuntoFijo.Esquema
+    private static final String[] NOMBRES_ACELERACION = {
+            "Ninguna (Picard)", "Aitken Δ²", "Anderson", "Algoritmo ε", "Automática"
+    };
 
     @FXML
     public void initialize() {
+        aceleracionCombo.getItems().addAll(NOMBRES_ACELERACION);
+        aceleracionCombo.getSelectionModel().selectFirst();
         colIter.setCellValueFactory(c -> new ReadOnlyStringWrapper(String.valueOf(c.getValue().i)));
         colXi.setCellValueFactory(c -> new ReadOnlyStringWrapper(String.format("%.6f", c.getValue().xi)));
         colGxi.setCellValueFactory(c -> new ReadOnlyStringWrapper(String.format("%.6f", c.getValue().gxi)));
@@ -74,8 +81,11 @@ public class PuntoFIjoController {
                 throw new IllegalArgumentException("La tolerancia debe ser un número válido");
             }
 
+            AceleracionPuntoFijo.Esquema esquema =
+                    AceleracionPuntoFijo.Esquema.values()[aceleracionCombo.getSelectionModel().getSelectedIndex()];
+
             // Ejecutar el método
-            var lista = model.resolver(g, x0, maxIt, tol);
+            var lista = new PuntoFijo(esquema).resolver(g, x0, maxIt, tol);
             if (lista.isEmpty()) {
                 throw new RuntimeException("No se realizaron iteraciones.");
             }
@@ -0,0 +1,53 @@
+package com.ipn.metodosnumericosnvo.controller;
+
+import com.ipn.metodosnumericosnvo.math.Termination;
+import javafx.concurrent.Task;
+
+/**
+ * Tarea de JavaFX que resuelve con un criterio de paro y publica su avance.
+ * El cálculo corre fuera del hilo de la interfaz (ver {@code SolveService}). La búsqueda
+ * informa el avance al empezar cada iteración y {@link Task} lo entrega al hilo de JavaFX sin
+ * bloquear el cálculo: si llegan más actualizaciones de las que la interfaz puede mostrar, se
+ * queda la última. Cancelar la tarea interrumpe su hilo y el método se detiene en la siguiente
+ * iteración.
+ *
+ * @param <T> Tipo del resultado
+ */
+public class TareaSolucion<T> extends Task<T> {
+
+    /**
+     * Cálculo que recibe el criterio de paro con el receptor del avance ya puesto.
+     */
+    @FunctionalInterface
+    public interface Calculo<T> {
+        T calcular(Termination termination) throws Exception;
+    }
+
+    private final Termination termination;
+    private final Calculo<T> calculo;
+
+    public TareaSolucion(Termination termination, Calculo<T> calculo) {
+        this.termination = termination;
+        this.calculo = calculo;
+    }
+
+    @Override
+    protected T call() throws Exception {
+        return calculo.calcular(termination.withProgress(this::avance));
+    }
+
+    /**
+     * El avance es la fracción consumida del límite más cercano: iteraciones, evaluaciones o tiempo.
+     */
+    private void avance(int iteracion, long evaluaciones, long nanos) {
+        double fraccion = (double) iteracion / termination.getMaxIterations();
+        if (termination.getMaxEvaluations() != Long.MAX_VALUE) {
+            fraccion = Math.max(fraccion, (double) evaluaciones / termination.getMaxEvaluations());
+        }
+        if (termination.getTimeoutNanos() != 0) {
+            fraccion = Math.max(fraccion, (double) nanos / termination.getTimeoutNanos());
+        }
+        updateProgress(Math.min(fraccion, 1), 1);
+        updateMessage("Iteración " + iteracion + ", " + evaluaciones + " evaluaciones");
+    }
+}
@@ -0,0 +1,30 @@
+package com.ipn.metodosnumericosnvo.ejemplos;
+
+import com.ipn.metodosnumericosnvo.math.CompiledFunction;
+import com.ipn.metodosnumericosnvo.math.CompiledFunctionCache;
+import com.ipn.metodosnumericosnvo.math.RootResult;
+import com.ipn.metodosnumericosnvo.math.Termination;
+import com.ipn.metodosnumericosnvo.metodos_raices.AceleracionPuntoFijo;
+import com.ipn.metodosnumericosnvo.metodos_raices.PuntoFijo;
+import com.ipn.metodosnumericosnvo.metodos_raices.RegistroPasos;
+
+/**
+ * Compara los esquemas de aceleración del punto fijo con una g que contrae poco:
+ * g(x) = x - 0.001(x^3 - 2), con |g'(2^(1/3))| ≈ 0.995. La iteración simple necesita miles de
+ * pasos; los esquemas acelerados, menos de diez.
+ */
+public class EjemploAceleracionPuntoFijo {
+
+    public static void main(String[] args) {
+        CompiledFunction g = CompiledFunctionCache.shared().get("x - 0.001*(x^3 - 2)");
+        Termination criterio = Termination.of(1e-12).withFunctionTolerance(0).withMaxIterations(100000);
+
+        System.out.println("Criterio: " + criterio);
+        System.out.printf("%-12s %-20s %8s %12s %-10s%n", "Esquema", "Punto fijo", "Iter.", "Evaluaciones", "Estado");
+        for (AceleracionPuntoFijo.Esquema esquema : AceleracionPuntoFijo.Esquema.values()) {
+            RootResult r = new PuntoFijo(esquema).resolver(g, 1, criterio, RegistroPasos.ninguno());
+            System.out.printf("%-12s %-20.15f %8d %12d %-10s%n", esquema,
+                    r.getRoot(), r.getIterations(), r.getEvaluations(), r.getStatus());
+        }
+    }
+}
@@ -0,0 +1,41 @@
+package com.ipn.metodosnumericosnvo.ejemplos;
+
+import com.ipn.metodosnumericosnvo.math.CompiledFunctionCache;
+import com.ipn.metodosnumericosnvo.math.RootScanner;
+import com.ipn.metodosnumericosnvo.math.Termination;
+
+import java.util.Arrays;
+
+/**
+ * Busca todas las raíces reales de varias funciones y las compara con las esperadas. Incluye
+ * una función muy pequeña en todo el intervalo, cuyas raíces no deben fusionarse aunque |f|
+ * esté dentro de la tolerancia entre ellas, y raíces múltiples, donde el ruido de redondeo
+ * produce varios cruces que sí son la misma raíz.
+ */
+public class EjemploBusquedaRaices {
+
+    private static final double TOLERANCIA = 1e-10;
+
+    public static void main(String[] args) {
+        int fallas = 0;
+        fallas += revisar("1e-12*(x-1)*(x-2)", 0, 3, 30, 1e-6, 1, 2);
+        fallas += revisar("(x-1)*(x-2)", 0, 3, 30, 1e-6, 1, 2);
+        fallas += revisar("(x-1)^2*(x-2)", 0, 3, 30, 1e-4, 1, 2);
+        fallas += revisar("(x-1)^3", 0, 3, 30, 1e-3, 1);
+        fallas += revisar("x^4-4*x^3+6*x^2-4*x+1", 0, 3, 7, 1e-3, 1);
+        fallas += revisar("sin(x)", -1, 10, 50, 1e-6, 0, Math.PI, 2 * Math.PI, 3 * Math.PI);
+        System.out.println(fallas == 0 ? "Todas coinciden" : fallas + " funciones no coinciden");
+    }
+
+    private static int revisar(String funcion, double a, double b, int subintervalos, double error,
+                               double... esperadas) {
+        RootScanner buscador = new RootScanner(Termination.of(TOLERANCIA));
+        double[] raices = buscador.scan(CompiledFunctionCache.shared().get(funcion), a, b, subintervalos);
+        boolean igual = raices.length == esperadas.length;
+        for (int i = 0; igual && i < raices.length; i++) {
+            igual = Math.abs(raices[i] - esperadas[i]) <= error;
+        }
+        System.out.printf("%-5s %-24s %s%n", igual ? "OK" : "FALLA", funcion, Arrays.toString(raices));
+        return igual ? 0 : 1;
+    }
+}
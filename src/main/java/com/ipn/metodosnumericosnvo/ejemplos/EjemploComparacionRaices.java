@@ -0,0 +1,42 @@
+package com.ipn.metodosnumericosnvo.ejemplos;
+
+import com.ipn.metodosnumericosnvo.math.CompiledFunction;
+import com.ipn.metodosnumericosnvo.math.CompiledFunctionCache;
+import com.ipn.metodosnumericosnvo.math.RootResult;
+import com.ipn.metodosnumericosnvo.math.RootSolver;
+import com.ipn.metodosnumericosnvo.math.Termination;
+import com.ipn.metodosnumericosnvo.metodos_raices.Biseccion;
+import com.ipn.metodosnumericosnvo.metodos_raices.Biseccion_Aitken;
+import com.ipn.metodosnumericosnvo.metodos_raices.Brent;
+import com.ipn.metodosnumericosnvo.metodos_raices.FalsaPosicion;
+import com.ipn.metodosnumericosnvo.metodos_raices.Muller;
+import com.ipn.metodosnumericosnvo.metodos_raices.Newton;
+import com.ipn.metodosnumericosnvo.metodos_raices.Secante;
+import com.ipn.metodosnumericosnvo.metodos_raices.Secante_Aitken;
+import com.ipn.metodosnumericosnvo.metodos_raices.Steffensen;
+
+/**
+ * Compara los métodos de raíces con el mismo criterio de paro.
+ * Todos resuelven x^3 - 2x - 5 = 0 en [2, 3] a través de la interfaz RootSolver, así que
+ * las iteraciones y evaluaciones de la tabla son comparables entre sí.
+ */
+public class EjemploComparacionRaices {
+
+    public static void main(String[] args) {
+        CompiledFunction f = CompiledFunctionCache.shared().get("x^3 - 2x - 5");
+        Termination criterio = Termination.of(1e-12).withMaxIterations(200);
+
+        RootSolver[] metodos = {
+            new Biseccion(), new Biseccion_Aitken(), new FalsaPosicion(), new Brent(), new Secante(),
+            new Secante_Aitken(), new Newton(), new Steffensen(), new Muller()
+        };
+
+        System.out.println("Criterio: " + criterio);
+        System.out.printf("%-18s %-20s %8s %12s %-10s%n", "Método", "Raíz", "Iter.", "Evaluaciones", "Estado");
+        for (RootSolver metodo : metodos) {
+            RootResult r = metodo.solve(f, 2, 3, criterio);
+            System.out.printf("%-18s %-20.15f %8d %12d %-10s%n", metodo.getClass().getSimpleName(),
+                    r.getRoot(), r.getIterations(), r.getEvaluations(), r.getStatus());
+        }
+    }
+}
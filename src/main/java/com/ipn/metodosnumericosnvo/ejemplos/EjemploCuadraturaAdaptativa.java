@@ -0,0 +1,72 @@
+package com.ipn.metodosnumericosnvo.ejemplos;
+
+import com.ipn.metodosnumericosnvo.math.CompiledFunction;
+import com.ipn.metodosnumericosnvo.math.CompiledFunctionCache;
+import com.ipn.metodosnumericosnvo.math.GaussKronrod;
+import com.ipn.metodosnumericosnvo.math.QuadratureResult;
+
+/**
+ * Compara la cuadratura adaptativa de Gauss-Kronrod con Simpson compuesto en integrandos con
+ * un pico, una campana angosta y una raíz en el extremo. Cada método se detiene con su propia
+ * estimación del error: Simpson duplica los subintervalos hasta que |S(2n) - S(n)| / 15 es
+ * menor que la tolerancia, y Gauss-Kronrod divide el subintervalo con más error estimado.
+ * A Simpson se le cuentan solo los n + 1 puntos de la última regla, como si cada duplicación
+ * reutilizara los puntos de la anterior.
+ * Al final integra sqrt(x - 0.5) en [0, 1], que es NaN en la mitad del intervalo: Gauss-Kronrod
+ * se detiene en la primera regla en lugar de dividir hasta agotar el presupuesto.
+ */
+public class EjemploCuadraturaAdaptativa {
+
+    private static final double TOLERANCIA = 1e-8;
+
+    // Simpson se detiene aquí aunque no alcance el error
+    private static final int MAX_SUBINTERVALOS = 1 << 22;
+
+    public static void main(String[] args) {
+        comparar("1/(0.0001 + (x - 0.3)^2)", 0, 1, 100 * (Math.atan(70) + Math.atan(30)));
+        comparar("exp(-100*(x - 0.5)^2)", 0, 1, 0.17724538509027912);
+        comparar("sqrt(x)", 0, 1, 2.0 / 3);
+        comparar("x^2*exp(-x)", 0, 2, 2 - 10 * Math.exp(-2));
+        noFinito("sqrt(x - 0.5)", 0, 1);
+    }
+
+    private static void comparar(String funcion, double a, double b, double exacto) {
+        CompiledFunction f = CompiledFunctionCache.shared().get(funcion);
+        QuadratureResult gk = GaussKronrod.integrate(f, a, b, TOLERANCIA, 0);
+
+        int n = 2;
+        double anterior = simpson(f, a, b, n);
+        double simpson;
+        while (true) {
+            n *= 2;
+            simpson = simpson(f, a, b, n);
+            if (Math.abs(simpson - anterior) / 15 <= TOLERANCIA || n >= MAX_SUBINTERVALOS) {
+                break;
+            }
+            anterior = simpson;
+        }
+
+        System.out.println(funcion + " en [" + a + ", " + b + "]");
+        System.out.printf("  Gauss-Kronrod %-22.15f error %.1e (estimado %.1e), %d evaluaciones, %d subintervalos%n",
+                gk.getValue(), Math.abs(gk.getValue() - exacto), gk.getErrorEstimate(),
+                gk.getEvaluations(), gk.getIntervals());
+        System.out.printf("  Simpson       %-22.15f error %.1e, %d evaluaciones%n",
+                simpson, Math.abs(simpson - exacto), n + 1);
+    }
+
+    private static void noFinito(String funcion, double a, double b) {
+        QuadratureResult gk = GaussKronrod.integrate(CompiledFunctionCache.shared().get(funcion), a, b, TOLERANCIA, 0);
+        System.out.println(funcion + " en [" + a + ", " + b + "]");
+        System.out.printf("  Gauss-Kronrod %s, valor %s, %d evaluaciones%n",
+                gk.getStatus(), gk.getValue(), gk.getEvaluations());
+    }
+
+    private static double simpson(CompiledFunction f, double a, double b, int n) {
+        double h = (b - a) / n;
+        double suma = f.applyAsDouble(a) + f.applyAsDouble(b);
+        for (int i = 1; i < n; i++) {
+            suma += (i % 2 == 1 ? 4 : 2) * f.applyAsDouble(a + i * h);
+        }
+        return suma * h / 3;
+    }
+}
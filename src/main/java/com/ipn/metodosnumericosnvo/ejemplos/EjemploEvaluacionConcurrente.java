@@ -0,0 +1,191 @@
+package com.ipn.metodosnumericosnvo.ejemplos;
+
+import com.ipn.metodosnumericosnvo.math.FunctionEvaluator;
+import com.ipn.metodosnumericosnvo.math.FunctionPlan;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Prueba de carga del evaluador de funciones compartido entre hilos.
+ * 32 hilos evalúan las mismas expresiones con una sola instancia de FunctionEvaluator;
+ * se comprueba que cada hilo obtiene exactamente los mismos valores que una evaluación
+ * secuencial y se mide la aceleración respecto a un solo hilo.
+ * Esas expresiones las compila el compilador propio; después se fuerza cada uno de los demás
+ * backends (mXparser, Rhino, motor de scripts y evaluador alternativo) con
+ * {@link FunctionEvaluator#createPlan} y se repite la comparación entre hilos con cada uno.
+ */
+public class EjemploEvaluacionConcurrente {
+
+    private static final int HILOS = 32;
+    private static final int PUNTOS = 20_000;
+    private static final int REPETICIONES = 8;
+
+    private static final String[] EXPRESIONES = {
+        "x^3 - 2x - 5",
+        "sin(x)*exp(-x/4) + cos(2x)",
+        "sqrt(abs(x)) - ln(x^2 + 1)",
+        "atan(x) + x^5/120 - x^3/6",
+        "sinh(x/3) / (1 + x^2)"
+    };
+
+    // Los backends interpretados son mucho más lentos, así que se evalúan menos puntos
+    private static final int PUNTOS_BACKEND = 2_000;
+
+    private static final FunctionPlan.Backend[] BACKENDS = {
+        FunctionPlan.Backend.MXPARSER,
+        FunctionPlan.Backend.RHINO,
+        FunctionPlan.Backend.SCRIPT_ENGINE,
+        FunctionPlan.Backend.FALLBACK
+    };
+
+    private static final String[] EXPRESIONES_BACKEND = {
+        "x^3 - 2*x - 5",
+        "sin(x)*exp(-x/4) + cos(2*x)"
+    };
+
+    // El evaluador alternativo solo entiende una función aplicada a x
+    private static final String[] EXPRESIONES_ALTERNATIVO = {
+        "sin(x)",
+        "atan(x)"
+    };
+
+    public static void main(String[] args) throws Exception {
+        FunctionEvaluator evaluador = new FunctionEvaluator();
+
+        // Paso 1: valores de referencia calculados en un solo hilo
+        double[][] referencia = new double[EXPRESIONES.length][];
+        for (int i = 0; i < EXPRESIONES.length; i++) {
+            referencia[i] = evaluarPuntoAPunto(evaluador, EXPRESIONES[i]);
+        }
+        for (String expresion : EXPRESIONES) {
+            System.out.println(evaluador.getPlan(expresion));
+        }
+
+        // Paso 2: la misma carga con 1 hilo y con 32 hilos, tras una vuelta de calentamiento
+        ejecutar(evaluador, referencia, 1);
+        long tiempoUnHilo = ejecutar(evaluador, referencia, 1);
+        long tiempoConcurrente = ejecutar(evaluador, referencia, HILOS);
+
+        int nucleos = Runtime.getRuntime().availableProcessors();
+        double aceleracion = (double) tiempoUnHilo * HILOS / tiempoConcurrente;
+        double ideal = Math.min(HILOS, nucleos);
+        System.out.printf("1 hilo: %.1f ms por tarea%n", tiempoUnHilo / 1e6);
+        System.out.printf("%d hilos: %.1f ms para %d tareas%n", HILOS, tiempoConcurrente / 1e6, HILOS);
+        System.out.printf("Aceleración: %.2fx (ideal %.0fx con %d núcleos, eficiencia %.0f%%)%n",
+                aceleracion, ideal, nucleos, 100 * aceleracion / ideal);
+
+        // Paso 3: cada backend que no es el compilador, con todos los hilos a la vez
+        for (FunctionPlan.Backend backend : BACKENDS) {
+            String[] expresiones = backend == FunctionPlan.Backend.FALLBACK
+                    ? EXPRESIONES_ALTERNATIVO : EXPRESIONES_BACKEND;
+            revisarBackend(evaluador, backend, expresiones);
+        }
+    }
+
+    /**
+     * Evalúa las expresiones con el backend dado desde todos los hilos a la vez y compara
+     * cada resultado con una evaluación en un solo hilo. Un backend que no está disponible
+     * en esta máquina se informa y se omite.
+     */
+    private static void revisarBackend(FunctionEvaluator evaluador, FunctionPlan.Backend backend,
+                                       String[] expresiones) throws Exception {
+        FunctionPlan[] planes = new FunctionPlan[expresiones.length];
+        double[][] referencia = new double[expresiones.length][];
+        try {
+            for (int i = 0; i < expresiones.length; i++) {
+                planes[i] = evaluador.createPlan(expresiones[i], backend);
+                referencia[i] = evaluarPlan(planes[i]);
+            }
+        } catch (IllegalArgumentException e) {
+            System.out.println(backend + ": no disponible (" + e.getMessage() + ")");
+            return;
+        }
+
+        ExecutorService pool = Executors.newFixedThreadPool(HILOS);
+        try {
+            List<Callable<Void>> tareas = new ArrayList<>();
+            for (int t = 0; t < HILOS; t++) {
+                tareas.add(() -> {
+                    for (int i = 0; i < planes.length; i++) {
+                        if (!Arrays.equals(evaluarPlan(planes[i]), referencia[i])) {
+                            throw new IllegalStateException("Resultados distintos con " + backend
+                                    + " para " + expresiones[i]);
+                        }
+                    }
+                    return null;
+                });
+            }
+            long inicio = System.nanoTime();
+            for (Future<Void> resultado : pool.invokeAll(tareas)) {
+                resultado.get();
+            }
+            System.out.printf("%s: %d hilos coinciden con la evaluación secuencial (%.1f ms)%n",
+                    backend, HILOS, (System.nanoTime() - inicio) / 1e6);
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    /**
+     * Evalúa un plan punto por punto en [-5, 5].
+     */
+    private static double[] evaluarPlan(FunctionPlan plan) throws Exception {
+        double[] valores = new double[PUNTOS_BACKEND];
+        double paso = 10.0 / (PUNTOS_BACKEND - 1);
+        for (int i = 0; i < PUNTOS_BACKEND; i++) {
+            valores[i] = plan.evaluate(-5 + i * paso);
+        }
+        return valores;
+    }
+
+    /**
+     * Ejecuta una tarea por hilo; cada tarea evalúa todas las expresiones y compara el
+     * resultado con la referencia.
+     *
+     * @return El tiempo total en nanosegundos
+     */
+    private static long ejecutar(FunctionEvaluator evaluador, double[][] referencia, int hilos) throws Exception {
+        ExecutorService pool = Executors.newFixedThreadPool(hilos);
+        try {
+            List<Callable<Void>> tareas = new ArrayList<>();
+            for (int t = 0; t < hilos; t++) {
+                tareas.add(() -> {
+                    for (int r = 0; r < REPETICIONES; r++) {
+                        for (int i = 0; i < EXPRESIONES.length; i++) {
+                            double[] valores = evaluarPuntoAPunto(evaluador, EXPRESIONES[i]);
+                            if (!Arrays.equals(valores, referencia[i])) {
+                                throw new IllegalStateException("Resultados distintos para " + EXPRESIONES[i]);
+                            }
+                        }
+                    }
+                    return null;
+                });
+            }
+            long inicio = System.nanoTime();
+            for (Future<Void> resultado : pool.invokeAll(tareas)) {
+                resultado.get();
+            }
+            return System.nanoTime() - inicio;
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    /**
+     * Evalúa una expresión punto por punto en [-5, 5], como lo hacen los métodos de raíces.
+     */
+    private static double[] evaluarPuntoAPunto(FunctionEvaluator evaluador, String expresion) throws Exception {
+        double[] valores = new double[PUNTOS];
+        double paso = 10.0 / (PUNTOS - 1);
+        for (int i = 0; i < PUNTOS; i++) {
+            valores[i] = evaluador.evaluateFunction(expresion, -5 + i * paso);
+        }
+        return valores;
+    }
+}
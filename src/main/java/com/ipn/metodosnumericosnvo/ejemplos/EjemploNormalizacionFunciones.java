@@ -0,0 +1,34 @@
+package com.ipn.metodosnumericosnvo.ejemplos;
+
+import com.ipn.metodosnumericosnvo.math.CompiledFunctionCache;
+import com.ipn.metodosnumericosnvo.math.ExpressionCompiler;
+
+/**
+ * Revisa que el caché de funciones dé el mismo valor que compilar el texto tal como se
+ * escribió. Los espacios entre dos operandos separan números y nombres ("2 3", "pi x"), así
+ * que la normalización no puede quitarlos sin cambiar la función.
+ */
+public class EjemploNormalizacionFunciones {
+
+    private static final String[] FUNCIONES = {
+        "2 3", "pi x", "2 pi x", "e x", "2x", "sin (x)", "log10 (x)", "2 (x+1)",
+        "( x + 1 ) ( x - 1 )", "x ^ 2 + 3 x", "x  -  2", "sin( x )^2 + cos( x )^2"
+    };
+
+    private static final double X = 2;
+
+    public static void main(String[] args) {
+        int fallas = 0;
+        for (String funcion : FUNCIONES) {
+            double esperado = ExpressionCompiler.compile(funcion).applyAsDouble(X);
+            double obtenido = new CompiledFunctionCache(8).get(funcion).applyAsDouble(X);
+            boolean igual = Double.compare(esperado, obtenido) == 0;
+            if (!igual) {
+                fallas++;
+            }
+            System.out.printf("%-4s %-28s -> %-26s f(%s) = %s%n", igual ? "OK" : "FALLA",
+                    "\"" + funcion + "\"", "\"" + CompiledFunctionCache.normalize(funcion) + "\"", X, obtenido);
+        }
+        System.out.println(fallas == 0 ? "Todas coinciden" : fallas + " funciones no coinciden");
+    }
+}
@@ -0,0 +1,66 @@
+package com.ipn.metodosnumericosnvo.ejemplos;
+
+import com.ipn.metodosnumericosnvo.math.CompiledFunction;
+import com.ipn.metodosnumericosnvo.math.CompiledFunctionCache;
+import com.ipn.metodosnumericosnvo.math.RootResult;
+import com.ipn.metodosnumericosnvo.math.Termination;
+import com.ipn.metodosnumericosnvo.metodos_raices.Biseccion;
+import com.ipn.metodosnumericosnvo.metodos_raices.EventoPaso;
+import com.ipn.metodosnumericosnvo.metodos_raices.PublicadorPasos;
+import com.ipn.metodosnumericosnvo.metodos_raices.RegistroPasos;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Flow;
+
+/**
+ * Consume los pasos de una bisección mientras se calculan, sin interfaz gráfica.
+ * El suscriptor tiene un búfer de cuatro pasos y los pide de uno en uno, así que el método
+ * nunca se adelanta más de cuatro pasos al consumidor, y el registro no guarda ninguno.
+ */
+public class EjemploPasosPublicados {
+
+    private static final int CAPACIDAD = 4;
+
+    public static void main(String[] args) throws Exception {
+        CompiledFunction f = CompiledFunctionCache.shared().get("x^3 - 2");
+        Termination criterio = Termination.of(1e-12).withMaxIterations(200);
+        CountDownLatch fin = new CountDownLatch(1);
+
+        PublicadorPasos publicador = new PublicadorPasos(CAPACIDAD);
+        publicador.subscribe(new Flow.Subscriber<>() {
+            private Flow.Subscription suscripcion;
+
+            @Override
+            public void onSubscribe(Flow.Subscription suscripcion) {
+                this.suscripcion = suscripcion;
+                suscripcion.request(1);
+            }
+
+            @Override
+            public void onNext(EventoPaso evento) {
+                // Columnas de la bisección: x0, x1, x2, f(x0), f(x1), f(x2) y error
+                System.out.printf("%4d %-20.15f %-12.3e%n", evento.getPaso(), evento.getValor(2), evento.getValor(6));
+                suscripcion.request(1);
+            }
+
+            @Override
+            public void onError(Throwable error) {
+                System.out.println("Error: " + error.getMessage());
+                fin.countDown();
+            }
+
+            @Override
+            public void onComplete() {
+                System.out.println("Fin de los pasos");
+                fin.countDown();
+            }
+        });
+
+        RegistroPasos registro = RegistroPasos.ninguno().publicarEn(publicador);
+        System.out.printf("%4s %-20s %-12s%n", "Paso", "x2", "Error");
+        RootResult r = publicador.ejecutar(() -> Biseccion.resolver(f, 1, 2, criterio, registro));
+        fin.await();
+        System.out.println("Raíz: " + r.getRoot() + ", " + r.getIterations() + " iteraciones, "
+                + registro.getTamano() + " pasos guardados");
+    }
+}
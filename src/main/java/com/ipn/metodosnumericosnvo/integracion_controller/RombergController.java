@@ -1,18 +1,29 @@
 package com.ipn.metodosnumericosnvo.integracion_controller;
 
+import com.ipn.metodosnumericosnvo.controller.TareaSolucion;
+import com.ipn.metodosnumericosnvo.math.SolveService;
+import com.ipn.metodosnumericosnvo.math.Termination;
 import com.ipn.metodosnumericosnvo.metodos_integracion.Romberg;
+import javafx.beans.binding.Bindings;
 import javafx.collections.ObservableList;
 import javafx.fxml.FXML;
 import javafx.scene.control.*;
 import javafx.beans.property.ReadOnlyStringWrapper;
 import javafx.collections.FXCollections;
 
+import java.time.Duration;
+
 public class RombergController {
     @FXML private TextField funcTxt, lowerTxt, upperTxt, iterTxt, errorTxt;
     @FXML private Label resultLbl;
     @FXML private TableView<ObservableList<String>> tableRomberg;
+    @FXML private Button calcularBtn;
+
+    /** Tiempo máximo de un cálculo; al cumplirse se cancela. */
+    private static final Duration TIEMPO_LIMITE = Duration.ofSeconds(30);
 
     private final Romberg model = new Romberg();
+    private TareaSolucion<Romberg.Tabla> tarea;
 
     /**
      * Sets the function text in the function text field.
@@ -28,6 +39,11 @@ public class RombergController {
 
     @FXML
     private void onCalcular() {
+        // Mientras hay un cálculo en curso el botón sirve para cancelarlo
+        if (tarea != null && tarea.isRunning()) {
+            tarea.cancel();
+            return;
+        }
         try {
             String fx = funcTxt.getText().trim();
             double a = Double.parseDouble(lowerTxt.getText().trim());
@@ -35,10 +51,29 @@ public class RombergController {
             int n = Integer.parseInt(iterTxt.getText().trim());
             double tol = Double.parseDouble(errorTxt.getText().trim());
 
-            double[][] R = new double[n][n];
-            double result = model.calcularRomberg(fx, a, b, n, tol, R);
-            resultLbl.setText(String.format("Resultado: %.10f", result));
-            mostrarTabla(R, n);
+            // El avance es el nivel de la tabla que se está calculando, de los n posibles
+            Termination termination = Termination.of(tol).withMaxIterations(n);
+            tarea = new TareaSolucion<>(termination, t -> model.tabla(fx, a, b, n, tol, t.getProgress()));
+            String texto = calcularBtn.getText();
+            calcularBtn.textProperty().bind(Bindings.when(tarea.runningProperty())
+                    .then("Cancelar").otherwise(texto));
+            resultLbl.textProperty().bind(tarea.messageProperty());
+
+            tarea.setOnSucceeded(e -> {
+                liberarControles();
+                Romberg.Tabla tabla = tarea.getValue();
+                resultLbl.setText(String.format("Resultado: %.10f", tabla.getResultado()));
+                mostrarTabla(tabla);
+            });
+            tarea.setOnFailed(e -> {
+                liberarControles();
+                resultLbl.setText("Error: " + tarea.getException().getMessage());
+            });
+            tarea.setOnCancelled(e -> {
+                liberarControles();
+                resultLbl.setText("Cálculo cancelado");
+            });
+            SolveService.shared().execute(tarea, TIEMPO_LIMITE);
         } catch (NumberFormatException e) {
             resultLbl.setText("Error: valores numéricos inválidos.");
         } catch (Exception e) {
@@ -46,7 +81,13 @@ public class RombergController {
         }
     }
 
-    private void mostrarTabla(double[][] R, int n) {
+    private void liberarControles() {
+        calcularBtn.textProperty().unbind();
+        resultLbl.textProperty().unbind();
+    }
+
+    private void mostrarTabla(Romberg.Tabla tabla) {
+        int n = tabla.getFilas();
         tableRomberg.getColumns().clear();
         tableRomberg.getItems().clear();
 
@@ -66,7 +107,8 @@ public class RombergController {
             ObservableList<String> row = FXCollections.observableArrayList();
             row.add(String.valueOf(i));
             for (int j = 0; j < n; j++) {
-                row.add(String.format("%.10f", R[i][j]));
+                // La tabla es triangular: la fila i tiene i + 1 valores
+                row.add(j <= i ? String.format("%.10f", tabla.getValor(i, j)) : "");
             }
             tableRomberg.getItems().add(row);
         }
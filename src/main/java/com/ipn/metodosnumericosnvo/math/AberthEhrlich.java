@@ -0,0 +1,317 @@
+package com.ipn.metodosnumericosnvo.math;
+
+import org.apache.commons.math3.complex.Complex;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.IntStream;
+
+/**
+ * Método de Aberth-Ehrlich para encontrar todas las raíces de un polinomio a la vez.
+ *
+ * Cada barrido corrige todas las aproximaciones z_k con
+ * z_k - N_k / (1 - N_k · Σ_{j≠k} 1 / (z_k - z_j)), donde N_k = p(z_k) / p'(z_k) es el paso de
+ * Newton: la suma aleja cada aproximación de las demás, así que no hace falta deflactar y
+ * todas las raíces se obtienen del polinomio original. Un barrido cuesta O(n^2) y sus
+ * correcciones son independientes entre sí, por lo que los polinomios grandes se reparten
+ * entre los núcleos. Los valores iniciales se colocan en círculos cuyos radios salen del
+ * polígono de Newton de los coeficientes, lo que suele bastar para converger en pocas
+ * decenas de barridos incluso con grado 500 o más.
+ */
+public class AberthEhrlich {
+
+    /** Barridos por omisión antes de declarar que no converge. */
+    public static final int MAX_BARRIDOS = 200;
+
+    // Grado a partir del cual los barridos se reparten entre los núcleos
+    private static final int GRADO_PARALELO = 256;
+
+    // Raíces que corrige cada tarea como mínimo
+    private static final int RAICES_POR_TAREA = 32;
+
+    private static final double EPS = Math.ulp(1.0);
+
+    // Desfase de los círculos iniciales, para no empezar en puntos simétricos respecto al eje real
+    private static final double DESFASE = 0.4;
+
+    private final int maxBarridos;
+
+    public AberthEhrlich() {
+        this(MAX_BARRIDOS);
+    }
+
+    /**
+     * @param maxBarridos Máximo de barridos
+     */
+    public AberthEhrlich(int maxBarridos) {
+        if (maxBarridos <= 0) {
+            throw new IllegalArgumentException("El número máximo de barridos debe ser positivo");
+        }
+        this.maxBarridos = maxBarridos;
+    }
+
+    /**
+     * Encuentra las raíces de un polinomio.
+     *
+     * @param coeffs Coeficientes del polinomio, ordenados de mayor a menor grado
+     * @return Lista de raíces complejas del polinomio
+     * @throws ArithmeticException Si alguna raíz no converge en {@link #getMaxBarridos()} barridos
+     */
+    public List<Complex> findRoots(double[] coeffs) {
+        int grado = grado(coeffs);
+        double[] re = new double[grado];
+        double[] im = new double[grado];
+        resolver(coeffs, re, im);
+        List<Complex> raices = new ArrayList<>(grado);
+        for (int k = 0; k < grado; k++) {
+            raices.add(new Complex(re[k], im[k]));
+        }
+        return raices;
+    }
+
+    /**
+     * Encuentra las raíces de un polinomio en arreglos primitivos.
+     * Los ceros iniciales de los coeficientes se ignoran y los ceros finales dan raíces
+     * exactamente en cero.
+     *
+     * @param coeffs Coeficientes del polinomio, ordenados de mayor a menor grado
+     * @param re Recibe la parte real de cada raíz; debe tener al menos tantos elementos como el grado
+     * @param im Recibe la parte imaginaria de cada raíz
+     * @return El número de barridos hechos
+     * @throws ArithmeticException Si alguna raíz no converge en {@link #getMaxBarridos()} barridos
+     */
+    public int resolver(double[] coeffs, double[] re, double[] im) {
+        int grado = grado(coeffs);
+        if (re.length < grado || im.length < grado) {
+            throw new IllegalArgumentException("Los arreglos de raíces deben tener al menos " + grado + " elementos");
+        }
+        int inicio = 0;
+        while (coeffs[inicio] == 0) {
+            inicio++;
+        }
+        // Las raíces en cero se separan: x^m · q(x) con q(0) != 0
+        int ceros = 0;
+        while (coeffs[coeffs.length - 1 - ceros] == 0) {
+            ceros++;
+        }
+        int n = grado - ceros;
+        for (int k = n; k < grado; k++) {
+            re[k] = 0;
+            im[k] = 0;
+        }
+        if (n == 0) {
+            return 0;
+        }
+
+        // a[i] es el coeficiente de x^i
+        double[] a = new double[n + 1];
+        for (int i = 0; i <= n; i++) {
+            a[i] = coeffs[inicio + n - i];
+        }
+        if (n == 1) {
+            re[0] = -a[0] / a[1];
+            im[0] = 0;
+            return 0;
+        }
+
+        valoresIniciales(a, re, im);
+        return iterar(a, re, im);
+    }
+
+    public int getMaxBarridos() {
+        return maxBarridos;
+    }
+
+    private static int grado(double[] coeffs) {
+        int inicio = 0;
+        while (inicio < coeffs.length && coeffs[inicio] == 0) {
+            inicio++;
+        }
+        if (inicio == coeffs.length) {
+            throw new IllegalArgumentException("El polinomio no puede tener todos sus coeficientes en cero");
+        }
+        return coeffs.length - 1 - inicio;
+    }
+
+    /**
+     * Coloca las aproximaciones iniciales. La envolvente convexa superior de los puntos
+     * (i, log|a_i|) divide el grado en tramos; cada tramo de i a j aporta j - i puntos en un
+     * círculo de radio (|a_i| / |a_j|)^(1 / (j - i)), que es el módulo típico de esas raíces.
+     */
+    private static void valoresIniciales(double[] a, double[] re, double[] im) {
+        int n = a.length - 1;
+        int[] envolvente = new int[n + 1];
+        int tamano = 0;
+        for (int i = 0; i <= n; i++) {
+            if (a[i] == 0) {
+                continue;
+            }
+            // Se descartan los puntos que quedan por debajo del segmento hacia i
+            while (tamano >= 2 && !giraALaDerecha(a, envolvente[tamano - 2], envolvente[tamano - 1], i)) {
+                tamano--;
+            }
+            envolvente[tamano++] = i;
+        }
+
+        int k = 0;
+        for (int t = 0; t + 1 < tamano; t++) {
+            int i = envolvente[t];
+            int j = envolvente[t + 1];
+            int puntos = j - i;
+            double radio = Math.exp((Math.log(Math.abs(a[i])) - Math.log(Math.abs(a[j]))) / puntos);
+            for (int m = 0; m < puntos; m++) {
+                double angulo = 2 * Math.PI * m / puntos + 2 * Math.PI * i / n + DESFASE;
+                re[k] = radio * Math.cos(angulo);
+                im[k] = radio * Math.sin(angulo);
+                k++;
+            }
+        }
+    }
+
+    /**
+     * Si el punto j queda estrictamente por encima del segmento de i a l en el plano (i, log|a_i|).
+     */
+    private static boolean giraALaDerecha(double[] a, int i, int j, int l) {
+        double yi = Math.log(Math.abs(a[i]));
+        double yj = Math.log(Math.abs(a[j]));
+        double yl = Math.log(Math.abs(a[l]));
+        return (j - i) * (yl - yi) - (yj - yi) * (l - i) < 0;
+    }
+
+    /**
+     * Barridos de Aberth al estilo de Jacobi: todas las correcciones se calculan con las
+     * aproximaciones del barrido anterior y después se aplican juntas. Una raíz deja de
+     * corregirse cuando su corrección ya es menor que EPS · |z|, o cuando |p(z)| está dentro
+     * del error de redondeo de evaluarlo. Ese error se acota mientras se evalúa, con las sumas
+     * parciales b_i de Horner: 2 · EPS · Σ|b_i||z|^i. Es mucho menor que la cota a priori
+     * 4n · EPS · Σ|a_i||z|^i, que cerca de raíces mal condicionadas acepta puntos lejanos.
+     */
+    private int iterar(double[] a, double[] re, double[] im) {
+        int n = a.length - 1;
+        boolean[] convergida = new boolean[n];
+        double[] dRe = new double[n];
+        double[] dIm = new double[n];
+        int tareas = tareas(n);
+
+        for (int barrido = 1; barrido <= maxBarridos; barrido++) {
+            if (tareas == 1) {
+                corregir(a, re, im, convergida, dRe, dIm, 0, n);
+            } else {
+                IntStream.range(0, tareas).parallel().forEach(tarea -> corregir(a, re, im, convergida,
+                        dRe, dIm, (int) ((long) n * tarea / tareas), (int) ((long) n * (tarea + 1) / tareas)));
+            }
+            boolean todas = true;
+            for (int k = 0; k < n; k++) {
+                if (!convergida[k]) {
+                    re[k] -= dRe[k];
+                    im[k] -= dIm[k];
+                    // La corrección ya no cambia z en la precisión de la aritmética
+                    convergida[k] = Math.hypot(dRe[k], dIm[k]) <= EPS * Math.hypot(re[k], im[k]);
+                    todas = false;
+                }
+            }
+            if (todas) {
+                return barrido;
+            }
+        }
+        throw new ArithmeticException("El método de Aberth-Ehrlich no converge después de " + maxBarridos + " barridos");
+    }
+
+    private static int tareas(int n) {
+        int nucleos = ForkJoinPool.getCommonPoolParallelism();
+        if (n < GRADO_PARALELO || nucleos < 2) {
+            return 1;
+        }
+        return Math.max(1, Math.min(nucleos * 4, n / RAICES_POR_TAREA));
+    }
+
+    /**
+     * Calcula la corrección de Aberth de las raíces [desde, hasta) que no han convergido, o
+     * las marca como convergidas. Solo escribe en los índices de su tramo.
+     */
+    private static void corregir(double[] a, double[] re, double[] im, boolean[] convergida,
+                                 double[] dRe, double[] dIm, int desde, int hasta) {
+        int n = a.length - 1;
+        for (int k = desde; k < hasta; k++) {
+            if (convergida[k]) {
+                continue;
+            }
+            double zr = re[k];
+            double zi = im[k];
+            double modulo = Math.hypot(zr, zi);
+
+            // N = p(z) / p'(z), por Horner sobre p si |z| <= 1 o sobre el polinomio invertido si no
+            double nr, ni;
+            if (modulo <= 1) {
+                double pr = a[n], pi = 0, dr = 0, di = 0, cota = Math.abs(a[n]);
+                for (int i = n - 1; i >= 0; i--) {
+                    double t = dr * zr - di * zi + pr;
+                    di = dr * zi + di * zr + pi;
+                    dr = t;
+                    t = pr * zr - pi * zi + a[i];
+                    pi = pr * zi + pi * zr;
+                    pr = t;
+                    cota = cota * modulo + Math.abs(pr) + Math.abs(pi);
+                }
+                if (Math.hypot(pr, pi) <= 2 * EPS * cota) {
+                    convergida[k] = true;
+                    continue;
+                }
+                double den = dr * dr + di * di;
+                nr = (pr * dr + pi * di) / den;
+                ni = (pi * dr - pr * di) / den;
+            } else {
+                // p(z) = z^n q(w) con w = 1/z y q de coeficientes invertidos: N = z / (n - w q'(w) / q(w))
+                double wr = zr / (modulo * modulo);
+                double wi = -zi / (modulo * modulo);
+                double inverso = 1 / modulo;
+                double qr = a[0], qi = 0, dr = 0, di = 0, cota = Math.abs(a[0]);
+                for (int i = 1; i <= n; i++) {
+                    double t = dr * wr - di * wi + qr;
+                    di = dr * wi + di * wr + qi;
+                    dr = t;
+                    t = qr * wr - qi * wi + a[i];
+                    qi = qr * wi + qi * wr;
+                    qr = t;
+                    cota = cota * inverso + Math.abs(qr) + Math.abs(qi);
+                }
+                if (Math.hypot(qr, qi) <= 2 * EPS * cota) {
+                    convergida[k] = true;
+                    continue;
+                }
+                double den = qr * qr + qi * qi;
+                // r = w q'(w) / q(w)
+                double sr = (dr * qr + di * qi) / den;
+                double si = (di * qr - dr * qi) / den;
+                double rr = wr * sr - wi * si;
+                double ri = wr * si + wi * sr;
+                double br = n - rr;
+                double bi = -ri;
+                double denB = br * br + bi * bi;
+                nr = (zr * br + zi * bi) / denB;
+                ni = (zi * br - zr * bi) / denB;
+            }
+
+            // S = Σ 1 / (z_k - z_j)
+            double sr = 0, si = 0;
+            for (int j = 0; j < n; j++) {
+                if (j == k) {
+                    continue;
+                }
+                double xr = zr - re[j];
+                double xi = zi - im[j];
+                double den = xr * xr + xi * xi;
+                sr += xr / den;
+                si -= xi / den;
+            }
+
+            // w = N / (1 - N S)
+            double cr = 1 - (nr * sr - ni * si);
+            double ci = -(nr * si + ni * sr);
+            double den = cr * cr + ci * ci;
+            dRe[k] = (nr * cr + ni * ci) / den;
+            dIm[k] = (ni * cr - nr * ci) / den;
+        }
+    }
+}
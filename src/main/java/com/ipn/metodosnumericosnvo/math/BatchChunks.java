@@ -0,0 +1,40 @@
+package com.ipn.metodosnumericosnvo.math;
+
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Splits batch evaluations into contiguous chunks for the common fork-join pool.
+ * Small batches stay in one chunk because handing them to other threads costs more than
+ * evaluating them.
+ */
+final class BatchChunks {
+
+    // Batches below this size are evaluated on the calling thread
+    static final int PARALLEL_THRESHOLD = 4096;
+
+    // Minimum number of points handled by one task
+    private static final int MIN_CHUNK = 1024;
+
+    private BatchChunks() {
+    }
+
+    /**
+     * Number of chunks for a batch of n points.
+     */
+    static int count(int n) {
+        int cores = ForkJoinPool.getCommonPoolParallelism();
+        if (n < PARALLEL_THRESHOLD || cores < 2) {
+            return 1;
+        }
+        // A few chunks per core keeps the pool busy when some chunks are slower
+        return Math.max(1, Math.min(cores * 4, n / MIN_CHUNK));
+    }
+
+    static int start(int n, int chunks, int chunk) {
+        return (int) ((long) n * chunk / chunks);
+    }
+
+    static int end(int n, int chunks, int chunk) {
+        return (int) ((long) n * (chunk + 1) / chunks);
+    }
+}
@@ -0,0 +1,83 @@
+package com.ipn.metodosnumericosnvo.math;
+
+import java.util.function.DoubleUnaryOperator;
+import java.util.stream.IntStream;
+
+/**
+ * A function of x that has already been parsed and is ready to be evaluated many times.
+ * Implementations are immutable and can be shared between threads; evaluating them does
+ * not re-parse the function text.
+ */
+public interface CompiledFunction extends DoubleUnaryOperator {
+
+    /**
+     * Gets the function text this function was compiled from.
+     *
+     * @return The original function text
+     */
+    String getSource();
+
+    /**
+     * Tells whether the function text was understood. Text that {@link ExpressionCompiler}
+     * cannot handle is left to mXparser, which may reject it; evaluating such a function
+     * gives NaN.
+     *
+     * @return true if the syntax is valid
+     */
+    default boolean isSyntaxValid() {
+        return true;
+    }
+
+    /**
+     * Evaluates the function at every point of an array.
+     * Large arrays are split into chunks that are evaluated on the common fork-join pool.
+     *
+     * @param xs The points to evaluate
+     * @param out Receives f(xs[i]) at index i; it may be the same array as xs
+     * @throws IllegalArgumentException If out is shorter than xs
+     */
+    default void evaluate(double[] xs, double[] out) {
+        if (out.length < xs.length) {
+            throw new IllegalArgumentException("El arreglo de salida es más corto que el de entrada");
+        }
+        int n = xs.length;
+        int chunks = BatchChunks.count(n);
+        if (chunks == 1) {
+            for (int i = 0; i < n; i++) {
+                out[i] = applyAsDouble(xs[i]);
+            }
+            return;
+        }
+        IntStream.range(0, chunks).parallel().forEach(chunk -> {
+            int to = BatchChunks.end(n, chunks, chunk);
+            for (int i = BatchChunks.start(n, chunks, chunk); i < to; i++) {
+                out[i] = applyAsDouble(xs[i]);
+            }
+        });
+    }
+
+    /**
+     * Evaluates the function on out.length equally spaced points from xMin to xMax, both included.
+     *
+     * @param xMin The first point
+     * @param xMax The last point
+     * @param out Receives the function values; its length is the number of points
+     */
+    default void evaluateGrid(double xMin, double xMax, double[] out) {
+        int n = out.length;
+        double step = n > 1 ? (xMax - xMin) / (n - 1) : 0;
+        int chunks = BatchChunks.count(n);
+        if (chunks == 1) {
+            for (int i = 0; i < n; i++) {
+                out[i] = applyAsDouble(xMin + i * step);
+            }
+            return;
+        }
+        IntStream.range(0, chunks).parallel().forEach(chunk -> {
+            int to = BatchChunks.end(n, chunks, chunk);
+            for (int i = BatchChunks.start(n, chunks, chunk); i < to; i++) {
+                out[i] = applyAsDouble(xMin + i * step);
+            }
+        });
+    }
+}
@@ -0,0 +1,243 @@
+package com.ipn.metodosnumericosnvo.math;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Bounded, least-recently-used cache of compiled functions keyed by normalized function text.
+ * Every solver asks the shared cache for its function instead of building a new mXparser
+ * expression, so a formula is parsed and checked only the first time it is seen.
+ * Functions that {@link ExpressionCompiler} cannot compile are cached as mXparser-backed
+ * functions, so callers always get a usable evaluator. The text exactly as the caller wrote it
+ * is kept as an alias of its normalized entry, so repeated lookups skip normalization. Aliases
+ * live in their own map, bounded like the functions, so they do not take the place of
+ * functions nor count as evictions.
+ */
+public final class CompiledFunctionCache {
+
+    // Default number of functions kept by the shared cache
+    public static final int DEFAULT_CAPACITY = 256;
+
+    private static final CompiledFunctionCache SHARED = new CompiledFunctionCache(DEFAULT_CAPACITY);
+
+    private final int capacity;
+    private final Map<String, CompiledFunction> entries;
+    private final Map<String, String> aliases;   // Text as typed -> normalized key, guarded by entries
+
+    // Counters, guarded by the cache lock
+    private long hits;
+    private long misses;
+    private long evictions;
+
+    /**
+     * Creates a cache that keeps at most the given number of functions.
+     *
+     * @param capacity The maximum number of cached functions
+     */
+    public CompiledFunctionCache(int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("La capacidad del caché debe ser positiva");
+        }
+        this.capacity = capacity;
+        this.entries = new LinkedHashMap<String, CompiledFunction>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, CompiledFunction> eldest) {
+                if (size() > CompiledFunctionCache.this.capacity) {
+                    evictions++;
+                    return true;
+                }
+                return false;
+            }
+        };
+        this.aliases = new LinkedHashMap<String, String>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, String> eldest) {
+                return size() > CompiledFunctionCache.this.capacity;
+            }
+        };
+    }
+
+    /**
+     * Gets the cache shared by the whole application.
+     *
+     * @return The process-wide cache
+     */
+    public static CompiledFunctionCache shared() {
+        return SHARED;
+    }
+
+    /**
+     * Gets the compiled form of a function, compiling it on the first request.
+     *
+     * @param functionText The function text (e.g., "x^3 - 2x - 5")
+     * @return A shared compiled function
+     * @throws IllegalArgumentException If the function text is empty
+     */
+    public CompiledFunction get(String functionText) {
+        if (functionText == null || functionText.trim().isEmpty()) {
+            throw new IllegalArgumentException("La expresión de la función no puede estar vacía");
+        }
+        synchronized (entries) {
+            String alias = aliases.get(functionText);
+            CompiledFunction cached = entries.get(alias != null ? alias : functionText);
+            if (cached != null) {
+                hits++;
+                return cached;
+            }
+        }
+
+        // Unseen spelling: normalize it and look for an equivalent entry
+        String key = normalize(functionText);
+        synchronized (entries) {
+            CompiledFunction cached = entries.get(key);
+            if (cached != null) {
+                hits++;
+                aliases.put(functionText, key);
+                return cached;
+            }
+            misses++;
+        }
+
+        // Compile outside the lock; if another thread won the race keep its function
+        CompiledFunction compiled = compile(key);
+        synchronized (entries) {
+            CompiledFunction existing = entries.putIfAbsent(key, compiled);
+            if (existing != null) {
+                compiled = existing;
+            }
+            if (!key.equals(functionText)) {
+                // Keep the text as typed too, so the next lookup skips normalization
+                aliases.put(functionText, key);
+            }
+            return compiled;
+        }
+    }
+
+    private static CompiledFunction compile(String normalizedText) {
+        try {
+            return ExpressionCompiler.compile(normalizedText);
+        } catch (IllegalArgumentException e) {
+            return new MXparserFunction(normalizedText);
+        }
+    }
+
+    /**
+     * Normalizes function text so that equivalent spellings share one cache entry.
+     * Duplicated operators are collapsed as in FunctionEvaluator, whitespace is removed and
+     * implicit products after a number or a closing parenthesis (2x, (x+1)(x-1)) are made
+     * explicit. Digits that belong to a name, as in log10 or atan2, are left untouched.
+     * Whitespace between two operands ("2 3", "pi x", "sin (x)") is kept as a single space,
+     * since removing it would merge the tokens into a different number or name.
+     *
+     * @param functionText The function text
+     * @return The normalized text
+     */
+    public static String normalize(String functionText) {
+        String cleaned = FunctionEvaluator.cleanFunctionText(functionText);
+        StringBuilder result = new StringBuilder(cleaned.length() + 8);
+        boolean inName = false;
+        for (int i = 0; i < cleaned.length(); i++) {
+            char current = cleaned.charAt(i);
+            if (Character.isWhitespace(current)) {
+                int next = i + 1;
+                while (next < cleaned.length() && Character.isWhitespace(cleaned.charAt(next))) {
+                    next++;
+                }
+                char previous = result.length() > 0 ? result.charAt(result.length() - 1) : 0;
+                if (next < cleaned.length() && endsOperand(previous) && startsOperand(cleaned.charAt(next))) {
+                    result.append(' ');
+                    inName = false;
+                }
+                i = next - 1;
+                continue;
+            }
+            char previous = result.length() > 0 ? result.charAt(result.length() - 1) : 0;
+            if (!inName && isExponent(cleaned, i, previous)) {
+                // The exponent of a number such as 1e-3 is part of the number
+                result.append(current);
+                continue;
+            }
+            boolean afterNumber = !inName && (Character.isDigit(previous) || previous == '.');
+            if ((afterNumber || previous == ')') && (current == '(' || Character.isLetter(current))) {
+                result.append('*');
+                inName = false;
+            }
+            if (Character.isLetter(current)) {
+                inName = true;
+            } else if (!Character.isDigit(current) && current != '_') {
+                inName = false;
+            }
+            result.append(current);
+        }
+        return result.toString();
+    }
+
+    private static boolean endsOperand(char c) {
+        return Character.isLetterOrDigit(c) || c == '.' || c == '_' || c == ')';
+    }
+
+    private static boolean startsOperand(char c) {
+        return Character.isLetterOrDigit(c) || c == '.' || c == '_' || c == '(';
+    }
+
+    /**
+     * Tells whether the 'e' or 'E' at the given index is the exponent of a number like 1e-3.
+     */
+    private static boolean isExponent(String text, int index, char previous) {
+        char c = text.charAt(index);
+        if ((c != 'e' && c != 'E') || !Character.isDigit(previous)) {
+            return false;
+        }
+        int next = index + 1;
+        if (next < text.length() && (text.charAt(next) == '+' || text.charAt(next) == '-')) {
+            next++;
+        }
+        return next < text.length() && Character.isDigit(text.charAt(next));
+    }
+
+    /**
+     * Removes every cached function. The counters are kept.
+     */
+    public void clear() {
+        synchronized (entries) {
+            entries.clear();
+            aliases.clear();
+        }
+    }
+
+    public int size() {
+        synchronized (entries) {
+            return entries.size();
+        }
+    }
+
+    public int getCapacity() {
+        return capacity;
+    }
+
+    public long getHits() {
+        synchronized (entries) {
+            return hits;
+        }
+    }
+
+    public long getMisses() {
+        synchronized (entries) {
+            return misses;
+        }
+    }
+
+    public long getEvictions() {
+        synchronized (entries) {
+            return evictions;
+        }
+    }
+
+    @Override
+    public String toString() {
+        synchronized (entries) {
+            return "CompiledFunctionCache[size=" + entries.size() + ", capacity=" + capacity
+                    + ", hits=" + hits + ", misses=" + misses + ", evictions=" + evictions + "]";
+        }
+    }
+}
@@ -0,0 +1,328 @@
+package com.ipn.metodosnumericosnvo.math;
+
+/**
+ * Complex arithmetic on the operand stack of {@link ExpressionProgram}.
+ * A complex stack entry i is the pair (re[i], im[i]); results are written into entry i.
+ * Everything works on primitives, so a complex evaluation allocates nothing.
+ * Entries with a zero imaginary part take the real path, so on the real axis the results
+ * match {@link ExpressionProgram#applyAsDouble(double)}; the complex formulas are used off the
+ * axis and where the real function has no value, such as sqrt(-1) or ln(-2). Functions are
+ * the principal branches. floor, ceil, atan2, min, max and mod have no complex counterpart
+ * and give NaN for non-real arguments; sign gives z/|z|.
+ */
+final class ComplexArithmetic {
+
+    private static final double LN2 = Math.log(2);
+    private static final double LN10 = Math.log(10);
+
+    private ComplexArithmetic() {
+    }
+
+    static void multiply(double[] re, double[] im, int i, int j) {
+        multiply(re, im, i, re[j], im[j]);
+    }
+
+    static void multiply(double[] re, double[] im, int i, double c, double d) {
+        double a = re[i];
+        double b = im[i];
+        if (b == 0 && d == 0) {
+            re[i] = a * c;
+            return;
+        }
+        re[i] = a * c - b * d;
+        im[i] = a * d + b * c;
+    }
+
+    static void divide(double[] re, double[] im, int i, int j) {
+        divide(re, im, i, re[j], im[j]);
+    }
+
+    /**
+     * Divides entry i by c + di with Smith's algorithm, which avoids the overflow of c^2 + d^2.
+     */
+    static void divide(double[] re, double[] im, int i, double c, double d) {
+        double a = re[i];
+        double b = im[i];
+        if (d == 0) {
+            re[i] = a / c;
+            im[i] = b == 0 ? 0 : b / c;
+        } else if (Math.abs(c) >= Math.abs(d)) {
+            double r = d / c;
+            double den = c + d * r;
+            re[i] = (a + b * r) / den;
+            im[i] = (b - a * r) / den;
+        } else {
+            double r = c / d;
+            double den = c * r + d;
+            re[i] = (a * r + b) / den;
+            im[i] = (b * r - a) / den;
+        }
+    }
+
+    /**
+     * Raises entry i to the power in entry j: exp(w ln z), with 0^w = 0 when Re(w) > 0.
+     */
+    static void pow(double[] re, double[] im, int i, int j) {
+        double a = re[i];
+        double b = im[i];
+        double c = re[j];
+        double d = im[j];
+        if (b == 0 && d == 0) {
+            double p = Math.pow(a, c);
+            if (!Double.isNaN(p) || Double.isNaN(a) || Double.isNaN(c)) {
+                re[i] = p;
+                return;
+            }
+        }
+        if (a == 0 && b == 0) {
+            re[i] = c > 0 ? 0 : Double.NaN;
+            im[i] = c > 0 ? 0 : Double.NaN;
+            return;
+        }
+        log(re, im, i);
+        multiply(re, im, i, c, d);
+        exp(re, im, i);
+    }
+
+    /**
+     * Raises entry i to an integer power by repeated squaring.
+     */
+    static void powInt(double[] re, double[] im, int i, int exponent) {
+        double br = re[i];
+        double bi = im[i];
+        if (bi == 0) {
+            re[i] = ExpressionProgram.powi(br, exponent);
+            return;
+        }
+        double rr = 1;
+        double ri = 0;
+        for (int e = Math.abs(exponent); e > 0; e >>= 1) {
+            if ((e & 1) != 0) {
+                double t = rr * br - ri * bi;
+                ri = rr * bi + ri * br;
+                rr = t;
+            }
+            double t = br * br - bi * bi;
+            bi = 2 * br * bi;
+            br = t;
+        }
+        if (exponent < 0) {
+            re[i] = 1;
+            im[i] = 0;
+            divide(re, im, i, rr, ri);
+        } else {
+            re[i] = rr;
+            im[i] = ri;
+        }
+    }
+
+    static void exp(double[] re, double[] im, int i) {
+        double e = Math.exp(re[i]);
+        double b = im[i];
+        if (b == 0) {
+            re[i] = e;
+            return;
+        }
+        re[i] = e * Math.cos(b);
+        im[i] = e * Math.sin(b);
+    }
+
+    static void log(double[] re, double[] im, int i) {
+        double a = re[i];
+        double b = im[i];
+        re[i] = Math.log(Math.hypot(a, b));
+        im[i] = Math.atan2(b, a);
+    }
+
+    /**
+     * Principal square root, computed from |z| + |Re z| so that neither part cancels.
+     */
+    static void sqrt(double[] re, double[] im, int i) {
+        double a = re[i];
+        double b = im[i];
+        if (b == 0 && a >= 0) {
+            re[i] = Math.sqrt(a);
+            return;
+        }
+        double t = Math.sqrt((Math.hypot(a, b) + Math.abs(a)) / 2);
+        if (a >= 0) {
+            re[i] = t;
+            im[i] = b / (2 * t);
+        } else {
+            re[i] = Math.abs(b) / (2 * t);
+            im[i] = Math.copySign(t, b);
+        }
+    }
+
+    static void call1(int function, double[] re, double[] im, int i) {
+        double a = re[i];
+        double b = im[i];
+        if (b == 0) {
+            double value = ExpressionProgram.call1(function, a);
+            if (!Double.isNaN(value) || Double.isNaN(a)) {
+                re[i] = value;
+                return;
+            }
+        }
+        switch (function) {
+            case ExpressionProgram.SIN:
+                re[i] = Math.sin(a) * Math.cosh(b);
+                im[i] = Math.cos(a) * Math.sinh(b);
+                break;
+            case ExpressionProgram.COS:
+                re[i] = Math.cos(a) * Math.cosh(b);
+                im[i] = -Math.sin(a) * Math.sinh(b);
+                break;
+            case ExpressionProgram.TAN: {
+                double den = Math.cos(2 * a) + Math.cosh(2 * b);
+                re[i] = Math.sin(2 * a) / den;
+                im[i] = Math.sinh(2 * b) / den;
+                break;
+            }
+            case ExpressionProgram.ASIN:
+            case ExpressionProgram.ACOS: {
+                // asin z = -i ln(iz + sqrt(1 - z^2)), acos z = pi/2 - asin z
+                re[i] = 1 - (a * a - b * b);
+                im[i] = -2 * a * b;
+                sqrt(re, im, i);
+                re[i] -= b;
+                im[i] += a;
+                log(re, im, i);
+                double r = im[i];
+                double s = -re[i];
+                if (function == ExpressionProgram.ASIN) {
+                    re[i] = r;
+                    im[i] = s;
+                } else {
+                    re[i] = Math.PI / 2 - r;
+                    im[i] = -s;
+                }
+                break;
+            }
+            case ExpressionProgram.ATAN: {
+                // atan z = (i/2) ln((1 - iz) / (1 + iz))
+                re[i] = 1 + b;
+                im[i] = -a;
+                divide(re, im, i, 1 - b, a);
+                log(re, im, i);
+                double t = re[i];
+                re[i] = -im[i] / 2;
+                im[i] = t / 2;
+                break;
+            }
+            case ExpressionProgram.SINH:
+                re[i] = Math.sinh(a) * Math.cos(b);
+                im[i] = Math.cosh(a) * Math.sin(b);
+                break;
+            case ExpressionProgram.COSH:
+                re[i] = Math.cosh(a) * Math.cos(b);
+                im[i] = Math.sinh(a) * Math.sin(b);
+                break;
+            case ExpressionProgram.TANH: {
+                double den = Math.cosh(2 * a) + Math.cos(2 * b);
+                re[i] = Math.sinh(2 * a) / den;
+                im[i] = Math.sin(2 * b) / den;
+                break;
+            }
+            case ExpressionProgram.ASINH:
+                // ln(z + sqrt(z^2 + 1))
+                re[i] = a * a - b * b + 1;
+                im[i] = 2 * a * b;
+                sqrt(re, im, i);
+                re[i] += a;
+                im[i] += b;
+                log(re, im, i);
+                break;
+            case ExpressionProgram.ACOSH: {
+                // ln(z + sqrt(z + 1) sqrt(z - 1))
+                re[i] = a + 1;
+                im[i] = b;
+                sqrt(re, im, i);
+                double pr = re[i];
+                double pi = im[i];
+                re[i] = a - 1;
+                im[i] = b;
+                sqrt(re, im, i);
+                multiply(re, im, i, pr, pi);
+                re[i] += a;
+                im[i] += b;
+                log(re, im, i);
+                break;
+            }
+            case ExpressionProgram.ATANH:
+                // ln((1 + z) / (1 - z)) / 2
+                re[i] = 1 + a;
+                im[i] = b;
+                divide(re, im, i, 1 - a, -b);
+                log(re, im, i);
+                re[i] /= 2;
+                im[i] /= 2;
+                break;
+            case ExpressionProgram.SQRT: sqrt(re, im, i); break;
+            case ExpressionProgram.CBRT:
+                log(re, im, i);
+                re[i] /= 3;
+                im[i] /= 3;
+                exp(re, im, i);
+                break;
+            case ExpressionProgram.EXP: exp(re, im, i); break;
+            case ExpressionProgram.LN: log(re, im, i); break;
+            case ExpressionProgram.LOG10:
+                log(re, im, i);
+                re[i] /= LN10;
+                im[i] /= LN10;
+                break;
+            case ExpressionProgram.LOG2:
+                log(re, im, i);
+                re[i] /= LN2;
+                im[i] /= LN2;
+                break;
+            case ExpressionProgram.ABS:
+                re[i] = Math.hypot(a, b);
+                im[i] = 0;
+                break;
+            case ExpressionProgram.SIGN: {
+                double modulus = Math.hypot(a, b);
+                re[i] = a / modulus;
+                im[i] = b / modulus;
+                break;
+            }
+            case ExpressionProgram.FLOOR:
+            case ExpressionProgram.CEIL:
+                re[i] = Double.NaN;
+                im[i] = Double.NaN;
+                break;
+            default: throw new IllegalStateException("Función desconocida: " + function);
+        }
+    }
+
+    /**
+     * Applies a binary function to entries i and i + 1 and writes the result into entry i.
+     */
+    static void call2(int function, double[] re, double[] im, int i) {
+        int j = i + 1;
+        if (im[i] == 0 && im[j] == 0) {
+            double value = ExpressionProgram.call2(function, re[i], re[j]);
+            if (!Double.isNaN(value) || Double.isNaN(re[i]) || Double.isNaN(re[j])) {
+                re[i] = value;
+                return;
+            }
+        }
+        if (function != ExpressionProgram.LOGB) {
+            if (function < ExpressionProgram.LOGB || function > ExpressionProgram.MOD) {
+                throw new IllegalStateException("Función desconocida: " + function);
+            }
+            re[i] = Double.NaN;
+            im[i] = Double.NaN;
+            return;
+        }
+        // log(base, value) = ln(value) / ln(base)
+        log(re, im, i);
+        log(re, im, j);
+        double br = re[i];
+        double bi = im[i];
+        re[i] = re[j];
+        im[i] = im[j];
+        divide(re, im, i, br, bi);
+    }
+}
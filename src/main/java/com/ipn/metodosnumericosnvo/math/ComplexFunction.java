@@ -0,0 +1,20 @@
+package com.ipn.metodosnumericosnvo.math;
+
+/**
+ * A compiled function that can also be evaluated at complex points.
+ * The point and the result are passed as pairs of doubles, so methods that search for complex
+ * roots, such as Müller's, do not build a complex object per evaluation.
+ */
+public interface ComplexFunction extends CompiledFunction {
+
+    /**
+     * Evaluates the function at z = re + i·im.
+     *
+     * @param re The real part of z
+     * @param im The imaginary part of z
+     * @param result Receives the real part of f(z) at index 0 and the imaginary part at index 1;
+     *               callers can reuse it between calls
+     * @throws IllegalArgumentException If result has fewer than two elements
+     */
+    void evaluateComplex(double re, double im, double[] result);
+}
@@ -4,9 +4,46 @@ import org.matheclipse.core.eval.ExprEvaluator;
 import org.matheclipse.core.expression.F;
 import org.matheclipse.core.interfaces.IExpr;
 
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
 public class DerivativeCalculator {
 
-    private ExprEvaluator evaluator;
+    // Maximum number of symbolic derivatives kept in memory
+    private static final int MAX_DERIVATIVES = CompiledFunctionCache.DEFAULT_CAPACITY;
+
+    // Derivatives by (function, variable, order), shared by every calculator, least recently used first
+    private static final Map<String, CompiledFunction> DERIVATIVES =
+            new LinkedHashMap<String, CompiledFunction>(16, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<String, CompiledFunction> eldest) {
+                    return size() > MAX_DERIVATIVES;
+                }
+            };
+
+    // Symja function names and their names in the native compiler
+    private static final Map<String, String> SYMJA_NAMES = new HashMap<>();
+
+    static {
+        String[][] names = {
+            {"Sin", "sin"}, {"Cos", "cos"}, {"Tan", "tan"}, {"Cot", "cot"}, {"Sec", "sec"}, {"Csc", "csc"},
+            {"ArcSin", "asin"}, {"ArcCos", "acos"}, {"ArcTan", "atan"}, {"ArcCot", "acot"},
+            {"ArcSec", "asec"}, {"ArcCsc", "acsc"},
+            {"Sinh", "sinh"}, {"Cosh", "cosh"}, {"Tanh", "tanh"}, {"Coth", "coth"}, {"Sech", "sech"}, {"Csch", "csch"},
+            {"ArcSinh", "asinh"}, {"ArcCosh", "acosh"}, {"ArcTanh", "atanh"},
+            {"Sqrt", "sqrt"}, {"CubeRoot", "cbrt"}, {"Exp", "exp"}, {"Log10", "log10"}, {"Log2", "log2"},
+            {"Abs", "abs"}, {"Sign", "sgn"}, {"Floor", "floor"}, {"Ceiling", "ceil"},
+            {"Min", "min"}, {"Max", "max"}, {"Mod", "mod"},
+            {"E", "e"}, {"Pi", "pi"}, {"Degree", "(pi/180)"}
+        };
+        for (String[] name : names) {
+            SYMJA_NAMES.put(name[0], name[1]);
+        }
+    }
+
+    // Symja keeps evaluation state in the evaluator, so it is used by one thread at a time
+    private final ExprEvaluator evaluator;
     private FunctionEvaluator functionEvaluator;
 
     /**
@@ -43,8 +80,144 @@ public class DerivativeCalculator {
             expr += "," + order;
         }
         expr += ")";
-        IExpr deriv = evaluator.evaluate(expr);
-        return deriv.toString();
+        synchronized (evaluator) {
+            IExpr deriv = evaluator.evaluate(expr);
+            return deriv.toString();
+        }
+    }
+
+    /**
+     * Obtiene la derivada de orden n de una función lista para evaluarse muchas veces.
+     * La derivada simbólica se calcula una sola vez por (función, variable, orden) y se compila
+     * con {@link ExpressionCompiler}; si el compilador no admite el resultado de Symja, la
+     * derivada se evalúa sustituyendo la variable en la expresión simbólica ya calculada.
+     * @param functionText La función, ej "x^2+cos(x)"
+     * @param variable La variable, ej "x"
+     * @param order Orden de la derivada
+     * @return La derivada compilada
+     */
+    public CompiledFunction getDerivativeFunction(String functionText, String variable, int order) {
+        String key = functionText + '\n' + variable + '\n' + order;
+        synchronized (DERIVATIVES) {
+            CompiledFunction cached = DERIVATIVES.get(key);
+            if (cached != null) {
+                return cached;
+            }
+        }
+        String derivativeExpr = getDerivativeExpression(functionText, variable, order);
+        CompiledFunction derivative = compileDerivative(derivativeExpr, variable);
+        synchronized (DERIVATIVES) {
+            CompiledFunction existing = DERIVATIVES.putIfAbsent(key, derivative);
+            return existing != null ? existing : derivative;
+        }
+    }
+
+    /**
+     * Obtiene una función que da f(x) y f'(x) en una sola evaluación.
+     * Si el compilador admite la función se usa diferenciación automática sobre el programa
+     * compilado, sin pasar por Symja; si no, la derivada simbólica se calcula una sola vez
+     * con {@link #getDerivativeFunction(String, String, int)}.
+     * @param functionText La función, ej "x^2+cos(x)"
+     * @return La función con su derivada
+     */
+    public DifferentiableFunction getDifferentiableFunction(String functionText) {
+        CompiledFunction function = CompiledFunctionCache.shared().get(functionText);
+        if (function instanceof DifferentiableFunction) {
+            return (DifferentiableFunction) function;
+        }
+        CompiledFunction derivative = getDerivativeFunction(functionText, "x", 1);
+        return new DifferentiableFunction() {
+            @Override
+            public void evaluateWithDerivative(double x, double[] result) {
+                if (result.length < 2) {
+                    throw new IllegalArgumentException("El arreglo de resultados debe tener al menos dos elementos");
+                }
+                result[0] = function.applyAsDouble(x);
+                result[1] = derivative.applyAsDouble(x);
+            }
+
+            @Override
+            public String getSource() {
+                return function.getSource();
+            }
+
+            @Override
+            public double applyAsDouble(double x) {
+                return function.applyAsDouble(x);
+            }
+        };
+    }
+
+    /**
+     * Compila una derivada simbólica; si no es posible, la envuelve para evaluarla con Symja.
+     */
+    private CompiledFunction compileDerivative(String derivativeExpr, String variable) {
+        if ("x".equals(variable)) {
+            try {
+                return ExpressionCompiler.compile(toCompilerSyntax(derivativeExpr));
+            } catch (IllegalArgumentException e) {
+                // Resultado con funciones que el compilador no admite, se evalúa con Symja
+            }
+        }
+        return new SymbolicDerivative(derivativeExpr, variable);
+    }
+
+    /**
+     * Traduce una expresión impresa por Symja (Sin(x), Log(x), E^x...) a la sintaxis del
+     * compilador (sin(x), ln(x), e^x...). Log con un argumento es el logaritmo natural y con
+     * dos es log(base, x). Los nombres desconocidos se dejan igual, y el compilador los rechaza.
+     * @param symjaText La expresión de Symja
+     * @return La expresión en la sintaxis del compilador
+     */
+    static String toCompilerSyntax(String symjaText) {
+        StringBuilder result = new StringBuilder(symjaText.length());
+        int i = 0;
+        while (i < symjaText.length()) {
+            char c = symjaText.charAt(i);
+            if (!Character.isLetter(c)) {
+                result.append(c);
+                i++;
+                continue;
+            }
+            int start = i;
+            while (i < symjaText.length() && Character.isLetterOrDigit(symjaText.charAt(i))) {
+                i++;
+            }
+            String name = symjaText.substring(start, i);
+            if (name.equals("Log")) {
+                result.append(hasTwoArguments(symjaText, i) ? "log" : "ln");
+            } else if (name.equals("ArcTan") && hasTwoArguments(symjaText, i)) {
+                // ArcTan(x, y) es el ángulo del punto (x, y); se deja para que lo evalúe Symja
+                result.append(name);
+            } else {
+                result.append(SYMJA_NAMES.getOrDefault(name, name));
+            }
+        }
+        return result.toString();
+    }
+
+    /**
+     * Indica si la llamada que empieza en el índice dado tiene dos argumentos o más.
+     */
+    private static boolean hasTwoArguments(String text, int index) {
+        if (index >= text.length() || text.charAt(index) != '(') {
+            return false;
+        }
+        int depth = 0;
+        for (int i = index; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (c == '(') {
+                depth++;
+            } else if (c == ')') {
+                depth--;
+                if (depth == 0) {
+                    return false;
+                }
+            } else if (c == ',' && depth == 1) {
+                return true;
+            }
+        }
+        return false;
     }
 
     /**
@@ -56,13 +229,7 @@ public class DerivativeCalculator {
      * @return Valor numérico de la derivada en x
      */
     public double nthDerivativeAt(String functionText, String variable, double x, int order) {
-        // Obtiene la expresión simbólica de la derivada
-        String derivativeExpr = getDerivativeExpression(functionText, variable, order);
-
-        // Evalúa la derivada en el punto
-        String evalExpr = derivativeExpr + "| " + variable + " = " + x;
-        IExpr result = evaluator.evaluate(evalExpr);
-        return result.evalDouble();
+        return getDerivativeFunction(functionText, variable, order).applyAsDouble(x);
     }
 
     /**
@@ -73,9 +240,18 @@ public class DerivativeCalculator {
      * @return Valor de la función en x
      */
     public double evaluateFunction(String functionText, String variable, double x) {
+        return evaluateAt(evaluator, functionText, variable, x);
+    }
+
+    /**
+     * Evalúa una expresión con un evaluador de Symja, un hilo a la vez por evaluador.
+     */
+    private static double evaluateAt(ExprEvaluator evaluator, String functionText, String variable, double x) {
         String expr = functionText + "| " + variable + " = " + x;
-        IExpr result = evaluator.evaluate(expr);
-        return result.evalDouble();
+        synchronized (evaluator) {
+            IExpr result = evaluator.evaluate(expr);
+            return result.evalDouble();
+        }
     }
 
     /**
@@ -102,12 +278,57 @@ public class DerivativeCalculator {
         double[][] result = new double[numPoints][2];
         double step = (xMax - xMin) / (numPoints - 1);
 
+        // One symbolic differentiation; the compiled derivative is evaluated over the whole grid
+        double[] values = new double[numPoints];
+        getDerivativeFunction(functionText, variable, order).evaluateGrid(xMin, xMax, values);
         for (int i = 0; i < numPoints; i++) {
-            double x = xMin + i * step;
-            double y = nthDerivativeAt(functionText, variable, x, order);
-            result[i][0] = x;
-            result[i][1] = y;
+            result[i][0] = xMin + i * step;
+            result[i][1] = values[i];
         }
         return result;
     }
+
+    /**
+     * Derivada que el compilador no admite: se evalúa con Symja sustituyendo la variable
+     * en la expresión simbólica, que ya está calculada. Las derivadas guardadas las comparten
+     * todas las calculadoras, así que usan un evaluador propio y no el de la calculadora que
+     * las creó.
+     */
+    private static final class SymbolicDerivative implements CompiledFunction {
+        private final String expression;
+        private final String variable;
+
+        SymbolicDerivative(String expression, String variable) {
+            this.expression = expression;
+            this.variable = variable;
+        }
+
+        @Override
+        public String getSource() {
+            return expression;
+        }
+
+        @Override
+        public double applyAsDouble(double x) {
+            return evaluateAt(SharedEvaluator.INSTANCE, expression, variable, x);
+        }
+
+        @Override
+        public String toString() {
+            return expression;
+        }
+    }
+
+    /**
+     * Evaluador de Symja de las derivadas simbólicas guardadas; se crea la primera vez que se
+     * evalúa una y se usa un hilo a la vez.
+     */
+    private static final class SharedEvaluator {
+        static final ExprEvaluator INSTANCE;
+
+        static {
+            F.initSymbols();
+            INSTANCE = new ExprEvaluator(false, (short) 100);
+        }
+    }
 }
@@ -0,0 +1,30 @@
+package com.ipn.metodosnumericosnvo.math;
+
+/**
+ * A compiled function that can also give its first derivative.
+ * The value and the derivative come from the same evaluation, so methods such as Newton's
+ * need one call per step instead of one for f(x) and another for f'(x).
+ */
+public interface DifferentiableFunction extends CompiledFunction {
+
+    /**
+     * Evaluates the function and its first derivative at a point.
+     *
+     * @param x The x value
+     * @param result Receives f(x) at index 0 and f'(x) at index 1; callers can reuse it between calls
+     * @throws IllegalArgumentException If result has fewer than two elements
+     */
+    void evaluateWithDerivative(double x, double[] result);
+
+    /**
+     * Evaluates only the first derivative at a point.
+     *
+     * @param x The x value
+     * @return The value of f'(x)
+     */
+    default double derivative(double x) {
+        double[] result = new double[2];
+        evaluateWithDerivative(x, result);
+        return result[1];
+    }
+}
@@ -0,0 +1,478 @@
+package com.ipn.metodosnumericosnvo.math;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static com.ipn.metodosnumericosnvo.math.ExpressionProgram.*;
+
+/**
+ * Compiles function text into a {@link CompiledFunction}.
+ * The text is parsed once into a small syntax tree, constant sub-expressions are folded and
+ * the tree is flattened into a postfix program that can be evaluated millions of times
+ * without parsing again.
+ *
+ * The accepted syntax follows the one used with mXparser in the rest of the application:
+ * the operators + - * / ^, implicit multiplication (2x, 3(x+1)), the constants pi and e
+ * and the usual elementary functions. Anything else is rejected with an
+ * IllegalArgumentException so the caller can fall back to another evaluator.
+ * Parametric functions may also use their parameter names wherever x is allowed.
+ */
+public final class ExpressionCompiler {
+
+    private ExpressionCompiler() {
+    }
+
+    /**
+     * Compiles a function of x.
+     *
+     * @param functionText The function text (e.g., "x^3 - 2x + sin(x)")
+     * @return The compiled function
+     * @throws IllegalArgumentException If the text is empty or uses unsupported syntax
+     */
+    public static CompiledFunction compile(String functionText) {
+        if (functionText == null || functionText.trim().isEmpty()) {
+            throw new IllegalArgumentException("La expresión de la función no puede estar vacía");
+        }
+        return program(functionText, new String[0]);
+    }
+
+    /**
+     * Compiles a function of x and named parameters, such as "x^3 - a*x - b" with the
+     * parameters a and b. The text is compiled once and evaluated for any parameter values.
+     *
+     * @param functionText The function text
+     * @param parameters The parameter names; each one must be an identifier other than x,
+     *                   pi or e, and they must be different from each other
+     * @return The compiled function
+     * @throws IllegalArgumentException If the text is empty, uses unsupported syntax or a
+     *                                  parameter name is not valid
+     */
+    public static ParametricFunction compileParametric(String functionText, String... parameters) {
+        if (functionText == null || functionText.trim().isEmpty()) {
+            throw new IllegalArgumentException("La expresión de la función no puede estar vacía");
+        }
+        String[] names = parameters.clone();
+        for (int i = 0; i < names.length; i++) {
+            String name = names[i];
+            if (name == null || !name.matches("\\p{L}[\\p{L}\\p{Nd}_]*") || isReserved(name)) {
+                throw new IllegalArgumentException("Nombre de parámetro inválido: '" + name + "'");
+            }
+            for (int j = 0; j < i; j++) {
+                if (names[j].equals(name)) {
+                    throw new IllegalArgumentException("Parámetro repetido: '" + name + "'");
+                }
+            }
+        }
+        return new ParametricFunction(program(functionText, names), names);
+    }
+
+    private static ExpressionProgram program(String functionText, String[] parameters) {
+        Parser parser = new Parser(functionText, parameters);
+        Node root = parser.parse();
+
+        List<Integer> code = new ArrayList<>();
+        List<Double> constants = new ArrayList<>();
+        int maxStack = emit(root, code, constants);
+
+        int[] program = new int[code.size()];
+        for (int i = 0; i < program.length; i++) {
+            program[i] = code.get(i);
+        }
+        double[] pool = new double[constants.size()];
+        for (int i = 0; i < pool.length; i++) {
+            pool[i] = constants.get(i);
+        }
+        return new ExpressionProgram(functionText, program, pool, maxStack);
+    }
+
+    /**
+     * Whether a name is x or a built-in constant.
+     */
+    private static boolean isReserved(String name) {
+        switch (name) {
+            case "x":
+            case "pi":
+            case "Pi":
+            case "PI":
+            case "π":
+            case "e":
+                return true;
+            default:
+                return false;
+        }
+    }
+
+    /**
+     * Emits the postfix code of a node and returns the stack depth it needs.
+     */
+    private static int emit(Node node, List<Integer> code, List<Double> constants) {
+        switch (node.op) {
+            case CONST:
+                int index = constants.indexOf(node.value);
+                if (index < 0) {
+                    index = constants.size();
+                    constants.add(node.value);
+                }
+                code.add(instruction(CONST, index));
+                return 1;
+            case VAR:
+                code.add(instruction(VAR, node.operand));
+                return 1;
+            case NEG:
+            case POWI:
+            case CALL1:
+                int depth = emit(node.left, code, constants);
+                code.add(instruction(node.op, node.operand));
+                return depth;
+            default:
+                int leftDepth = emit(node.left, code, constants);
+                int rightDepth = emit(node.right, code, constants);
+                code.add(instruction(node.op, node.operand));
+                return Math.max(leftDepth, rightDepth + 1);
+        }
+    }
+
+    private static int instruction(int op, int operand) {
+        return (operand << OP_BITS) | op;
+    }
+
+    /**
+     * Node of the intermediate syntax tree. Its op field uses the program opcodes.
+     */
+    private static final class Node {
+        final int op;
+        final int operand;
+        final double value;
+        final Node left;
+        final Node right;
+
+        private Node(int op, int operand, double value, Node left, Node right) {
+            this.op = op;
+            this.operand = operand;
+            this.value = value;
+            this.left = left;
+            this.right = right;
+        }
+
+        static Node constant(double value) {
+            return new Node(CONST, 0, value, null, null);
+        }
+
+        static Node variable(int slot) {
+            return new Node(VAR, slot, 0, null, null);
+        }
+
+        static Node negate(Node child) {
+            if (child.op == CONST) {
+                return constant(-child.value);
+            }
+            return new Node(NEG, 0, 0, child, null);
+        }
+
+        static Node binary(int op, Node left, Node right) {
+            if (left.op == CONST && right.op == CONST) {
+                return constant(fold(op, left.value, right.value));
+            }
+            if (op == POW && right.op == CONST && right.value == Math.rint(right.value)
+                    && Math.abs(right.value) <= 64) {
+                return new Node(POWI, (int) right.value, 0, left, null);
+            }
+            return new Node(op, 0, 0, left, right);
+        }
+
+        static Node call1(int function, Node argument) {
+            if (argument.op == CONST) {
+                return constant(ExpressionProgram.call1(function, argument.value));
+            }
+            return new Node(CALL1, function, 0, argument, null);
+        }
+
+        static Node call2(int function, Node first, Node second) {
+            if (first.op == CONST && second.op == CONST) {
+                return constant(ExpressionProgram.call2(function, first.value, second.value));
+            }
+            return new Node(CALL2, function, 0, first, second);
+        }
+
+        private static double fold(int op, double a, double b) {
+            switch (op) {
+                case ADD: return a + b;
+                case SUB: return a - b;
+                case MUL: return a * b;
+                case DIV: return a / b;
+                default: return ExpressionProgram.pow(a, b);
+            }
+        }
+    }
+
+    /**
+     * Recursive descent parser.
+     * <pre>
+     * expression := term (('+' | '-') term)*
+     * term       := unary (('*' | '/') unary | power)*     (a bare power is implicit multiplication)
+     * unary      := ('+' | '-') unary | power
+     * power      := primary ('^' unary)?
+     * primary    := number | constant | variable | function '(' arguments ')' | '(' expression ')'
+     * </pre>
+     */
+    private static final class Parser {
+        private final String text;
+        private final String[] parameters;
+        private int pos;
+
+        Parser(String text, String[] parameters) {
+            this.text = text;
+            this.parameters = parameters;
+        }
+
+        Node parse() {
+            Node node = expression();
+            skipSpaces();
+            if (pos < text.length()) {
+                throw error("símbolo inesperado '" + text.charAt(pos) + "'");
+            }
+            return node;
+        }
+
+        private Node expression() {
+            Node node = term();
+            while (true) {
+                if (accept('+')) {
+                    node = Node.binary(ADD, node, term());
+                } else if (accept('-')) {
+                    node = Node.binary(SUB, node, term());
+                } else {
+                    return node;
+                }
+            }
+        }
+
+        private Node term() {
+            Node node = unary();
+            while (true) {
+                if (accept('*')) {
+                    node = Node.binary(MUL, node, unary());
+                } else if (accept('/')) {
+                    node = Node.binary(DIV, node, unary());
+                } else if (startsPrimary()) {
+                    node = Node.binary(MUL, node, power());
+                } else {
+                    return node;
+                }
+            }
+        }
+
+        private Node unary() {
+            if (accept('-')) {
+                return Node.negate(unary());
+            }
+            if (accept('+')) {
+                return unary();
+            }
+            return power();
+        }
+
+        private Node power() {
+            Node base = primary();
+            if (accept('^')) {
+                return Node.binary(POW, base, unary());
+            }
+            return base;
+        }
+
+        private Node primary() {
+            skipSpaces();
+            if (pos >= text.length()) {
+                throw error("la expresión termina de forma inesperada");
+            }
+            char c = text.charAt(pos);
+            if (accept('(')) {
+                Node inner = expression();
+                expect(')');
+                return inner;
+            }
+            if (Character.isDigit(c) || c == '.') {
+                return Node.constant(number());
+            }
+            if (Character.isLetter(c)) {
+                String name = identifier();
+                skipSpaces();
+                // "x(x+1)" and "pi(x)" are implicit products, not calls
+                if (pos < text.length() && text.charAt(pos) == '(' && !isSymbol(name)) {
+                    pos++;
+                    List<Node> arguments = arguments();
+                    return function(name, arguments);
+                }
+                return symbol(name);
+            }
+            throw error("símbolo inesperado '" + c + "'");
+        }
+
+        private List<Node> arguments() {
+            List<Node> arguments = new ArrayList<>();
+            arguments.add(expression());
+            while (accept(',')) {
+                arguments.add(expression());
+            }
+            expect(')');
+            return arguments;
+        }
+
+        private boolean isSymbol(String name) {
+            return isReserved(name) || parameter(name) >= 0;
+        }
+
+        private int parameter(String name) {
+            for (int i = 0; i < parameters.length; i++) {
+                if (parameters[i].equals(name)) {
+                    return i;
+                }
+            }
+            return -1;
+        }
+
+        private Node symbol(String name) {
+            switch (name) {
+                case "x":
+                    return Node.variable(0);
+                case "pi":
+                case "Pi":
+                case "PI":
+                case "π":
+                    return Node.constant(Math.PI);
+                case "e":
+                    return Node.constant(Math.E);
+                default:
+                    int slot = parameter(name);
+                    if (slot >= 0) {
+                        return Node.variable(slot + 1);
+                    }
+                    throw error("identificador desconocido '" + name + "'");
+            }
+        }
+
+        private Node function(String name, List<Node> args) {
+            if (args.size() == 2) {
+                switch (name) {
+                    case "log": return Node.call2(LOGB, args.get(0), args.get(1));
+                    case "atan2": return Node.call2(ATAN2, args.get(0), args.get(1));
+                    case "min": return Node.call2(MIN, args.get(0), args.get(1));
+                    case "max": return Node.call2(MAX, args.get(0), args.get(1));
+                    case "mod": return Node.call2(MOD, args.get(0), args.get(1));
+                    default: throw error("la función '" + name + "' no admite dos argumentos");
+                }
+            }
+            if (args.size() != 1) {
+                throw error("número de argumentos no soportado en '" + name + "'");
+            }
+            Node a = args.get(0);
+            switch (name) {
+                case "sin": return Node.call1(SIN, a);
+                case "cos": return Node.call1(COS, a);
+                case "tan": case "tg": return Node.call1(TAN, a);
+                case "cot": case "ctg": return reciprocal(Node.call1(TAN, a));
+                case "sec": return reciprocal(Node.call1(COS, a));
+                case "csc": case "cosec": return reciprocal(Node.call1(SIN, a));
+                case "asin": case "arcsin": return Node.call1(ASIN, a);
+                case "acos": case "arccos": return Node.call1(ACOS, a);
+                case "atan": case "arctan": case "arctg": return Node.call1(ATAN, a);
+                case "acot": case "arccot": return Node.call1(ATAN, reciprocal(a));
+                case "asec": case "arcsec": return Node.call1(ACOS, reciprocal(a));
+                case "acsc": case "arccsc": return Node.call1(ASIN, reciprocal(a));
+                case "sinh": return Node.call1(SINH, a);
+                case "cosh": return Node.call1(COSH, a);
+                case "tanh": return Node.call1(TANH, a);
+                case "coth": return reciprocal(Node.call1(TANH, a));
+                case "sech": return reciprocal(Node.call1(COSH, a));
+                case "csch": return reciprocal(Node.call1(SINH, a));
+                case "asinh": case "arsinh": case "arcsinh": return Node.call1(ASINH, a);
+                case "acosh": case "arcosh": case "arccosh": return Node.call1(ACOSH, a);
+                case "atanh": case "artanh": case "arctanh": return Node.call1(ATANH, a);
+                case "sqrt": return Node.call1(SQRT, a);
+                case "cbrt": return Node.call1(CBRT, a);
+                case "exp": return Node.call1(EXP, a);
+                case "ln": return Node.call1(LN, a);
+                case "log": case "log10": case "lg": return Node.call1(LOG10, a);
+                case "log2": case "lb": return Node.call1(LOG2, a);
+                case "abs": return Node.call1(ABS, a);
+                case "sgn": case "sign": return Node.call1(SIGN, a);
+                case "floor": return Node.call1(FLOOR, a);
+                case "ceil": return Node.call1(CEIL, a);
+                default: throw error("función desconocida '" + name + "'");
+            }
+        }
+
+        private Node reciprocal(Node node) {
+            return Node.binary(DIV, Node.constant(1.0), node);
+        }
+
+        private double number() {
+            int start = pos;
+            while (pos < text.length() && (Character.isDigit(text.charAt(pos)) || text.charAt(pos) == '.')) {
+                pos++;
+            }
+            // Scientific notation only when the exponent has digits, so "2e" still means 2*e
+            if (pos < text.length() && (text.charAt(pos) == 'e' || text.charAt(pos) == 'E')) {
+                int exponent = pos + 1;
+                if (exponent < text.length() && (text.charAt(exponent) == '+' || text.charAt(exponent) == '-')) {
+                    exponent++;
+                }
+                if (exponent < text.length() && Character.isDigit(text.charAt(exponent))) {
+                    pos = exponent;
+                    while (pos < text.length() && Character.isDigit(text.charAt(pos))) {
+                        pos++;
+                    }
+                }
+            }
+            try {
+                return Double.parseDouble(text.substring(start, pos));
+            } catch (NumberFormatException e) {
+                throw error("número inválido '" + text.substring(start, pos) + "'");
+            }
+        }
+
+        private String identifier() {
+            int start = pos;
+            while (pos < text.length()
+                    && (Character.isLetterOrDigit(text.charAt(pos)) || text.charAt(pos) == '_')) {
+                pos++;
+            }
+            return text.substring(start, pos);
+        }
+
+        private boolean startsPrimary() {
+            skipSpaces();
+            if (pos >= text.length()) {
+                return false;
+            }
+            char c = text.charAt(pos);
+            return c == '(' || c == '.' || Character.isLetterOrDigit(c);
+        }
+
+        private boolean accept(char expected) {
+            skipSpaces();
+            if (pos < text.length() && text.charAt(pos) == expected) {
+                pos++;
+                return true;
+            }
+            return false;
+        }
+
+        private void expect(char expected) {
+            if (!accept(expected)) {
+                throw error("se esperaba '" + expected + "'");
+            }
+        }
+
+        private void skipSpaces() {
+            while (pos < text.length() && Character.isWhitespace(text.charAt(pos))) {
+                pos++;
+            }
+        }
+
+        private IllegalArgumentException error(String reason) {
+            return new IllegalArgumentException(
+                    "Expresión no soportada por el compilador: '" + text + "' (" + reason + ")");
+        }
+    }
+}
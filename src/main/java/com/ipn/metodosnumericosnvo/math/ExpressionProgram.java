@@ -0,0 +1,571 @@
+package com.ipn.metodosnumericosnvo.math;
+
+import java.util.Arrays;
+
+/**
+ * Postfix program produced by {@link ExpressionCompiler}.
+ * The instructions and constants are immutable, so one program can be shared by any number
+ * of threads. The operand stack lives in per-thread scratch memory, so evaluation does not
+ * allocate. The same program can also be run on dual numbers (value, derivative) to get
+ * f(x) and f'(x) in one pass, which is forward-mode automatic differentiation, on truncated
+ * Taylor series to get every derivative up to a given order at once, or on complex numbers.
+ * Variable slot 0 is x; the slots after it are the parameters of a
+ * {@link ParametricFunction}, which only the methods that take parameter values can bind.
+ */
+final class ExpressionProgram implements DifferentiableFunction, ComplexFunction {
+
+    // Each instruction packs the opcode in the low bits and its operand in the high bits
+    static final int OP_BITS = 4;
+    static final int OP_MASK = (1 << OP_BITS) - 1;
+
+    // Opcodes
+    static final int CONST = 0;   // operand: index into the constant pool
+    static final int VAR = 1;     // operand: variable slot
+    static final int NEG = 2;
+    static final int ADD = 3;
+    static final int SUB = 4;
+    static final int MUL = 5;
+    static final int DIV = 6;
+    static final int POW = 7;
+    static final int POWI = 8;    // operand: integer exponent
+    static final int CALL1 = 9;   // operand: unary function id
+    static final int CALL2 = 10;  // operand: binary function id
+
+    // Unary functions
+    static final int SIN = 0;
+    static final int COS = 1;
+    static final int TAN = 2;
+    static final int ASIN = 3;
+    static final int ACOS = 4;
+    static final int ATAN = 5;
+    static final int SINH = 6;
+    static final int COSH = 7;
+    static final int TANH = 8;
+    static final int ASINH = 9;
+    static final int ACOSH = 10;
+    static final int ATANH = 11;
+    static final int SQRT = 12;
+    static final int CBRT = 13;
+    static final int EXP = 14;
+    static final int LN = 15;
+    static final int LOG10 = 16;
+    static final int LOG2 = 17;
+    static final int ABS = 18;
+    static final int SIGN = 19;
+    static final int FLOOR = 20;
+    static final int CEIL = 21;
+
+    // Binary functions
+    static final int LOGB = 0;    // log(base, value), as in mXparser
+    static final int ATAN2 = 1;
+    static final int MIN = 2;
+    static final int MAX = 3;
+    static final int MOD = 4;
+
+    // Operand stack shared by every program evaluated on the same thread
+    private static final ThreadLocal<double[]> STACK = ThreadLocal.withInitial(() -> new double[16]);
+
+    // Derivative part of the operand stack when evaluating with dual numbers
+    private static final ThreadLocal<double[]> TANGENT_STACK = ThreadLocal.withInitial(() -> new double[16]);
+
+    // Operand stack of lane evaluation: one row of LANE_BLOCK values per stack entry
+    private static final ThreadLocal<double[]> LANE_STACK = ThreadLocal.withInitial(() -> new double[16]);
+
+    // Lanes evaluated together; a stack row of this many doubles stays in the L1 cache
+    static final int LANE_BLOCK = 256;
+
+    private static final double LN2 = Math.log(2);
+    private static final double LN10 = Math.log(10);
+
+    private final String source;
+    private final int[] code;
+    private final double[] constants;
+    private final int maxStack;
+
+    ExpressionProgram(String source, int[] code, double[] constants, int maxStack) {
+        this.source = source;
+        this.code = code;
+        this.constants = constants;
+        this.maxStack = maxStack;
+    }
+
+    @Override
+    public String getSource() {
+        return source;
+    }
+
+    /**
+     * Evaluates the program with x bound to the given value.
+     *
+     * @param x The x value
+     * @return The function value at x
+     */
+    @Override
+    public double applyAsDouble(double x) {
+        double[] stack = scratch(STACK, maxStack);
+        int sp = -1;
+        for (int instr : code) {
+            switch (instr & OP_MASK) {
+                case CONST: stack[++sp] = constants[instr >> OP_BITS]; break;
+                case VAR: stack[++sp] = x; break;
+                case NEG: stack[sp] = -stack[sp]; break;
+                case ADD: sp--; stack[sp] += stack[sp + 1]; break;
+                case SUB: sp--; stack[sp] -= stack[sp + 1]; break;
+                case MUL: sp--; stack[sp] *= stack[sp + 1]; break;
+                case DIV: sp--; stack[sp] /= stack[sp + 1]; break;
+                case POW: sp--; stack[sp] = pow(stack[sp], stack[sp + 1]); break;
+                case POWI: stack[sp] = powi(stack[sp], instr >> OP_BITS); break;
+                case CALL1: stack[sp] = call1(instr >> OP_BITS, stack[sp]); break;
+                case CALL2: sp--; stack[sp] = call2(instr >> OP_BITS, stack[sp], stack[sp + 1]); break;
+                default: throw new IllegalStateException("Instrucción desconocida: " + instr);
+            }
+        }
+        return stack[0];
+    }
+
+    /**
+     * Evaluates the program with x in slot 0 and the parameters in the slots after it.
+     *
+     * @param x The x value
+     * @param parameters The parameter values, in slot order
+     * @return The function value
+     */
+    double evaluate(double x, double[] parameters) {
+        double[] stack = scratch(STACK, maxStack);
+        int sp = -1;
+        for (int instr : code) {
+            switch (instr & OP_MASK) {
+                case CONST: stack[++sp] = constants[instr >> OP_BITS]; break;
+                case VAR: {
+                    int slot = instr >> OP_BITS;
+                    stack[++sp] = slot == 0 ? x : parameters[slot - 1];
+                    break;
+                }
+                case NEG: stack[sp] = -stack[sp]; break;
+                case ADD: sp--; stack[sp] += stack[sp + 1]; break;
+                case SUB: sp--; stack[sp] -= stack[sp + 1]; break;
+                case MUL: sp--; stack[sp] *= stack[sp + 1]; break;
+                case DIV: sp--; stack[sp] /= stack[sp + 1]; break;
+                case POW: sp--; stack[sp] = pow(stack[sp], stack[sp + 1]); break;
+                case POWI: stack[sp] = powi(stack[sp], instr >> OP_BITS); break;
+                case CALL1: stack[sp] = call1(instr >> OP_BITS, stack[sp]); break;
+                case CALL2: sp--; stack[sp] = call2(instr >> OP_BITS, stack[sp], stack[sp + 1]); break;
+                default: throw new IllegalStateException("Instrucción desconocida: " + instr);
+            }
+        }
+        return stack[0];
+    }
+
+    /**
+     * Evaluates the program for many instances in lockstep. Each instruction runs over a block
+     * of lanes before the next one starts, so the instruction dispatch is paid once per block
+     * instead of once per instance, and the inner loops run over contiguous arrays.
+     *
+     * @param x x of each lane
+     * @param parameters parameters[k][i] is the value of slot k + 1 for instance i
+     * @param instance The instance of each lane, used to read the parameter columns
+     * @param lanes The number of lanes
+     * @param out Receives the function value of each lane; it may be the same array as x
+     */
+    void evaluateLanes(double[] x, double[][] parameters, int[] instance, int lanes, double[] out) {
+        int width = Math.min(lanes, LANE_BLOCK);
+        double[] stack = scratch(LANE_STACK, maxStack * width);
+        for (int from = 0; from < lanes; from += width) {
+            int m = Math.min(width, lanes - from);
+            int sp = -1;
+            for (int instr : code) {
+                int operand = instr >> OP_BITS;
+                switch (instr & OP_MASK) {
+                    case CONST: {
+                        int row = ++sp * width;
+                        Arrays.fill(stack, row, row + m, constants[operand]);
+                        break;
+                    }
+                    case VAR: {
+                        int row = ++sp * width;
+                        if (operand == 0) {
+                            System.arraycopy(x, from, stack, row, m);
+                        } else {
+                            double[] column = parameters[operand - 1];
+                            for (int i = 0; i < m; i++) {
+                                stack[row + i] = column[instance[from + i]];
+                            }
+                        }
+                        break;
+                    }
+                    case NEG: {
+                        int row = sp * width;
+                        for (int i = row; i < row + m; i++) {
+                            stack[i] = -stack[i];
+                        }
+                        break;
+                    }
+                    case ADD: {
+                        int row = --sp * width;
+                        for (int i = row; i < row + m; i++) {
+                            stack[i] += stack[i + width];
+                        }
+                        break;
+                    }
+                    case SUB: {
+                        int row = --sp * width;
+                        for (int i = row; i < row + m; i++) {
+                            stack[i] -= stack[i + width];
+                        }
+                        break;
+                    }
+                    case MUL: {
+                        int row = --sp * width;
+                        for (int i = row; i < row + m; i++) {
+                            stack[i] *= stack[i + width];
+                        }
+                        break;
+                    }
+                    case DIV: {
+                        int row = --sp * width;
+                        for (int i = row; i < row + m; i++) {
+                            stack[i] /= stack[i + width];
+                        }
+                        break;
+                    }
+                    case POW: {
+                        int row = --sp * width;
+                        for (int i = row; i < row + m; i++) {
+                            stack[i] = pow(stack[i], stack[i + width]);
+                        }
+                        break;
+                    }
+                    case POWI: {
+                        int row = sp * width;
+                        for (int i = row; i < row + m; i++) {
+                            stack[i] = powi(stack[i], operand);
+                        }
+                        break;
+                    }
+                    case CALL1: {
+                        int row = sp * width;
+                        for (int i = row; i < row + m; i++) {
+                            stack[i] = call1(operand, stack[i]);
+                        }
+                        break;
+                    }
+                    case CALL2: {
+                        int row = --sp * width;
+                        for (int i = row; i < row + m; i++) {
+                            stack[i] = call2(operand, stack[i], stack[i + width]);
+                        }
+                        break;
+                    }
+                    default: throw new IllegalStateException("Instrucción desconocida: " + instr);
+                }
+            }
+            System.arraycopy(stack, 0, out, from, m);
+        }
+    }
+
+    /**
+     * Evaluates the program on dual numbers: every stack entry carries a value and the
+     * derivative of that value with respect to x, and each instruction applies the
+     * differentiation rule of its operation.
+     *
+     * @param x The x value
+     * @param result Receives f(x) at index 0 and f'(x) at index 1
+     */
+    @Override
+    public void evaluateWithDerivative(double x, double[] result) {
+        if (result.length < 2) {
+            throw new IllegalArgumentException("El arreglo de resultados debe tener al menos dos elementos");
+        }
+        double[] v = scratch(STACK, maxStack);
+        double[] d = scratch(TANGENT_STACK, maxStack);
+        int sp = -1;
+        for (int instr : code) {
+            switch (instr & OP_MASK) {
+                case CONST: sp++; v[sp] = constants[instr >> OP_BITS]; d[sp] = 0; break;
+                case VAR: sp++; v[sp] = x; d[sp] = 1; break;
+                case NEG: v[sp] = -v[sp]; d[sp] = -d[sp]; break;
+                case ADD: sp--; v[sp] += v[sp + 1]; d[sp] += d[sp + 1]; break;
+                case SUB: sp--; v[sp] -= v[sp + 1]; d[sp] -= d[sp + 1]; break;
+                case MUL:
+                    sp--;
+                    d[sp] = d[sp] * v[sp + 1] + v[sp] * d[sp + 1];
+                    v[sp] *= v[sp + 1];
+                    break;
+                case DIV:
+                    sp--;
+                    v[sp] /= v[sp + 1];
+                    d[sp] = (d[sp] - v[sp] * d[sp + 1]) / v[sp + 1];
+                    break;
+                case POW:
+                    sp--;
+                    d[sp] = powDerivative(v[sp], d[sp], v[sp + 1], d[sp + 1]);
+                    v[sp] = pow(v[sp], v[sp + 1]);
+                    break;
+                case POWI: {
+                    int n = instr >> OP_BITS;
+                    d[sp] = n == 0 ? 0 : n * powi(v[sp], n - 1) * d[sp];
+                    v[sp] = powi(v[sp], n);
+                    break;
+                }
+                case CALL1:
+                    d[sp] *= derivative1(instr >> OP_BITS, v[sp]);
+                    v[sp] = call1(instr >> OP_BITS, v[sp]);
+                    break;
+                case CALL2:
+                    sp--;
+                    d[sp] = derivative2(instr >> OP_BITS, v[sp], d[sp], v[sp + 1], d[sp + 1]);
+                    v[sp] = call2(instr >> OP_BITS, v[sp], v[sp + 1]);
+                    break;
+                default: throw new IllegalStateException("Instrucción desconocida: " + instr);
+            }
+        }
+        result[0] = v[0];
+        result[1] = d[0];
+    }
+
+    /**
+     * Evaluates the program on complex numbers. The value stack holds the real parts and the
+     * derivative stack, unused here, holds the imaginary parts; the operations are those of
+     * {@link ComplexArithmetic}.
+     *
+     * @param re The real part of x
+     * @param im The imaginary part of x
+     * @param result Receives the real part of f(x) at index 0 and the imaginary part at index 1
+     */
+    @Override
+    public void evaluateComplex(double re, double im, double[] result) {
+        if (result.length < 2) {
+            throw new IllegalArgumentException("El arreglo de resultados debe tener al menos dos elementos");
+        }
+        double[] r = scratch(STACK, maxStack);
+        double[] m = scratch(TANGENT_STACK, maxStack);
+        int sp = -1;
+        for (int instr : code) {
+            switch (instr & OP_MASK) {
+                case CONST: sp++; r[sp] = constants[instr >> OP_BITS]; m[sp] = 0; break;
+                case VAR: sp++; r[sp] = re; m[sp] = im; break;
+                case NEG: r[sp] = -r[sp]; m[sp] = -m[sp]; break;
+                case ADD: sp--; r[sp] += r[sp + 1]; m[sp] += m[sp + 1]; break;
+                case SUB: sp--; r[sp] -= r[sp + 1]; m[sp] -= m[sp + 1]; break;
+                case MUL: sp--; ComplexArithmetic.multiply(r, m, sp, sp + 1); break;
+                case DIV: sp--; ComplexArithmetic.divide(r, m, sp, sp + 1); break;
+                case POW: sp--; ComplexArithmetic.pow(r, m, sp, sp + 1); break;
+                case POWI: ComplexArithmetic.powInt(r, m, sp, instr >> OP_BITS); break;
+                case CALL1: ComplexArithmetic.call1(instr >> OP_BITS, r, m, sp); break;
+                case CALL2: sp--; ComplexArithmetic.call2(instr >> OP_BITS, r, m, sp); break;
+                default: throw new IllegalStateException("Instrucción desconocida: " + instr);
+            }
+        }
+        result[0] = r[0];
+        result[1] = m[0];
+    }
+
+    /**
+     * Evaluates the program on truncated Taylor series around x0.
+     *
+     * @param x0 The expansion point
+     * @param degree The highest order of the expansion
+     * @return The coefficients f^(k)(x0)/k! for k = 0..degree
+     */
+    double[] taylorCoefficients(double x0, int degree) {
+        int length = degree + 1;
+        double[][] stack = new double[maxStack][length];
+        int sp = -1;
+        for (int instr : code) {
+            switch (instr & OP_MASK) {
+                case CONST: TaylorSeries.constant(stack[++sp], constants[instr >> OP_BITS]); break;
+                case VAR: TaylorSeries.variable(stack[++sp], x0); break;
+                case NEG: TaylorSeries.negate(stack[sp]); break;
+                case ADD: sp--; TaylorSeries.add(stack[sp], stack[sp + 1]); break;
+                case SUB: sp--; TaylorSeries.subtract(stack[sp], stack[sp + 1]); break;
+                case MUL: sp--; TaylorSeries.multiply(stack[sp], stack[sp + 1]); break;
+                case DIV: sp--; TaylorSeries.divide(stack[sp], stack[sp + 1]); break;
+                case POW: sp--; TaylorSeries.pow(stack[sp], stack[sp + 1]); break;
+                case POWI: TaylorSeries.powInt(stack[sp], instr >> OP_BITS); break;
+                case CALL1: TaylorSeries.call1(instr >> OP_BITS, stack[sp]); break;
+                case CALL2: sp--; TaylorSeries.call2(instr >> OP_BITS, stack[sp], stack[sp + 1]); break;
+                default: throw new IllegalStateException("Instrucción desconocida: " + instr);
+            }
+        }
+        return stack[0];
+    }
+
+    @Override
+    public String toString() {
+        return source;
+    }
+
+    /**
+     * Derivative of u^v. A constant exponent or a constant base uses the simpler rule, so
+     * negative bases with integer exponents and zero bases keep a finite derivative. The
+     * odd root of a negative base is differentiated as v·u^v / u, since u^(v - 1) has no
+     * real value there.
+     */
+    private static double powDerivative(double u, double du, double v, double dv) {
+        if (dv == 0) {
+            if (du == 0) {
+                return 0;
+            }
+            if (u < 0 && isOddRoot(v)) {
+                return v * pow(u, v) / u * du;
+            }
+            return v * Math.pow(u, v - 1) * du;
+        }
+        double w = pow(u, v);
+        if (du == 0) {
+            return w * Math.log(u) * dv;
+        }
+        return w * (dv * Math.log(u) + v * du / u);
+    }
+
+    /**
+     * Derivative of a unary function with respect to its argument.
+     */
+    static double derivative1(int function, double a) {
+        switch (function) {
+            case SIN: return Math.cos(a);
+            case COS: return -Math.sin(a);
+            case TAN: {
+                double c = Math.cos(a);
+                return 1 / (c * c);
+            }
+            case ASIN: return 1 / Math.sqrt(1 - a * a);
+            case ACOS: return -1 / Math.sqrt(1 - a * a);
+            case ATAN: return 1 / (1 + a * a);
+            case SINH: return Math.cosh(a);
+            case COSH: return Math.sinh(a);
+            case TANH: {
+                double t = Math.tanh(a);
+                return 1 - t * t;
+            }
+            case ASINH: return 1 / Math.sqrt(a * a + 1);
+            case ACOSH: return 1 / Math.sqrt(a * a - 1);
+            case ATANH: return 1 / (1 - a * a);
+            case SQRT: return 0.5 / Math.sqrt(a);
+            case CBRT: {
+                double c = Math.cbrt(a);
+                return 1 / (3 * c * c);
+            }
+            case EXP: return Math.exp(a);
+            case LN: return 1 / a;
+            case LOG10: return 1 / (a * LN10);
+            case LOG2: return 1 / (a * LN2);
+            case ABS: return Math.signum(a);
+            case SIGN:
+            case FLOOR:
+            case CEIL: return 0;
+            default: throw new IllegalStateException("Función desconocida: " + function);
+        }
+    }
+
+    /**
+     * Derivative of a binary function, given both arguments and their derivatives.
+     */
+    static double derivative2(int function, double a, double da, double b, double db) {
+        switch (function) {
+            case LOGB: {
+                double lnA = Math.log(a);
+                return (db / b * lnA - Math.log(b) * da / a) / (lnA * lnA);
+            }
+            case ATAN2: return (b * da - a * db) / (a * a + b * b);
+            case MIN: return a <= b ? da : db;
+            case MAX: return a >= b ? da : db;
+            case MOD: return da - (long) (a / b) * db;
+            default: throw new IllegalStateException("Función desconocida: " + function);
+        }
+    }
+
+    /**
+     * Returns the calling thread's scratch array, growing it if it is smaller than required.
+     */
+    static double[] scratch(ThreadLocal<double[]> holder, int size) {
+        double[] array = holder.get();
+        if (array.length < size) {
+            array = new double[Math.max(size, array.length * 2)];
+            holder.set(array);
+        }
+        return array;
+    }
+
+    /**
+     * Real power as mXparser computes it: a negative base raised to 1/n, with n an odd
+     * integer, gives the real n-th root (so (-8)^(1/3) = -2) instead of the NaN of
+     * {@link Math#pow}. Every other case is {@link Math#pow}.
+     */
+    static double pow(double base, double exponent) {
+        if (base < 0 && isOddRoot(exponent)) {
+            return -Math.pow(-base, exponent);
+        }
+        return Math.pow(base, exponent);
+    }
+
+    /**
+     * Whether the exponent is 1/n or -1/n for an odd integer n > 1, up to the rounding of
+     * writing it as a fraction such as 1/3.
+     */
+    static boolean isOddRoot(double exponent) {
+        if (!(Math.abs(exponent) < 1) || exponent == 0) {
+            return false;
+        }
+        double n = Math.abs(1 / exponent);
+        double odd = Math.rint(n);
+        return Math.abs(n - odd) <= 1e-12 * odd && odd % 2 == 1;
+    }
+
+    /**
+     * Raises a value to an integer power by repeated squaring.
+     */
+    static double powi(double base, int exponent) {
+        if (exponent < 0) {
+            return 1.0 / powi(base, -exponent);
+        }
+        double result = 1.0;
+        while (exponent > 0) {
+            if ((exponent & 1) != 0) {
+                result *= base;
+            }
+            base *= base;
+            exponent >>= 1;
+        }
+        return result;
+    }
+
+    static double call1(int function, double a) {
+        switch (function) {
+            case SIN: return Math.sin(a);
+            case COS: return Math.cos(a);
+            case TAN: return Math.tan(a);
+            case ASIN: return Math.asin(a);
+            case ACOS: return Math.acos(a);
+            case ATAN: return Math.atan(a);
+            case SINH: return Math.sinh(a);
+            case COSH: return Math.cosh(a);
+            case TANH: return Math.tanh(a);
+            case ASINH: return Math.copySign(Math.log(Math.abs(a) + Math.sqrt(a * a + 1)), a);
+            case ACOSH: return Math.log(a + Math.sqrt(a * a - 1));
+            case ATANH: return 0.5 * Math.log((1 + a) / (1 - a));
+            case SQRT: return Math.sqrt(a);
+            case CBRT: return Math.cbrt(a);
+            case EXP: return Math.exp(a);
+            case LN: return Math.log(a);
+            case LOG10: return Math.log10(a);
+            case LOG2: return Math.log(a) / Math.log(2);
+            case ABS: return Math.abs(a);
+            case SIGN: return Math.signum(a);
+            case FLOOR: return Math.floor(a);
+            case CEIL: return Math.ceil(a);
+            default: throw new IllegalStateException("Función desconocida: " + function);
+        }
+    }
+
+    static double call2(int function, double a, double b) {
+        switch (function) {
+            case LOGB: return Math.log(b) / Math.log(a);
+            case ATAN2: return Math.atan2(a, b);
+            case MIN: return Math.min(a, b);
+            case MAX: return Math.max(a, b);
+            case MOD: return a % b;
+            default: throw new IllegalStateException("Función desconocida: " + function);
+        }
+    }
+}
@@ -1,5 +1,8 @@
 package com.ipn.metodosnumericosnvo.math;
 
+import javax.script.Bindings;
+import javax.script.Compilable;
+import javax.script.CompiledScript;
 import javax.script.ScriptEngine;
 import javax.script.ScriptEngineManager;
 import javax.script.ScriptException;
@@ -8,18 +11,16 @@ import com.ipn.metodosnumericosnvo.math.DerivativeCalculator;
 import com.ipn.metodosnumericosnvo.math.IntegralCalculator;
 import org.mozilla.javascript.Context;
 import org.mozilla.javascript.Scriptable;
-import org.mozilla.javascript.ScriptableObject;
 
-// For derivative and integral calculations
-import java.util.function.Function;
-
-// Imports for mXparser
-import org.mariuszgromada.math.mxparser.Argument;
-import org.mariuszgromada.math.mxparser.Expression;
+import java.util.LinkedHashMap;
+import java.util.Map;
 
 /**
  * Utility class for evaluating mathematical functions.
  * This class provides methods for evaluating functions using JavaScript engines or fallback methods.
+ * An instance can be shared by several threads: every backend keeps its mutable state
+ * (mXparser expressions, script bindings, the compiler's stack) per thread, and Rhino
+ * functions run in a context entered and exited around each call.
  */
 public class FunctionEvaluator {
 
@@ -37,8 +38,22 @@ public class FunctionEvaluator {
     private static final String DERIVATIVE_PREFIX = "d/dx[";
     private static final String INTEGRAL_PREFIX = "∫";
 
-    // Range for integral calculation
-    private double xMin = -10.0;
+    // Range for integral calculation; read by the integral series on every evaluation
+    private volatile double xMin = -10.0;
+
+    // Point used to check, while planning, that a script backend can evaluate a function
+    private static final double PROBE_X = 1.0;
+
+    // Maximum number of evaluation plans kept per evaluator
+    private static final int MAX_PLANS = 256;
+
+    // Evaluation plans by function text, least recently used first
+    private final Map<String, FunctionPlan> plans = new LinkedHashMap<String, FunctionPlan>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, FunctionPlan> eldest) {
+            return size() > MAX_PLANS;
+        }
+    };
 
     /**
      * Constructor for the FunctionEvaluator.
@@ -49,7 +64,7 @@ public class FunctionEvaluator {
 
         // Initialize calculators
         this.derivativeCalculator = new DerivativeCalculator(this);
-        this.integralCalculator = new IntegralCalculator();
+        this.integralCalculator = new IntegralCalculator(this);
     }
 
     /**
@@ -111,6 +126,8 @@ public class FunctionEvaluator {
 
     /**
      * Evaluates a function at a point x.
+     * The backend is chosen the first time the function is seen (see {@link #getPlan(String)})
+     * and every later call goes straight to it.
      * 
      * @param functionText The function text (e.g., "sin(x)")
      * @param x The x value
@@ -118,173 +135,349 @@ public class FunctionEvaluator {
      * @throws Exception If there's an error evaluating the function
      */
     public double evaluateFunction(String functionText, double x) throws Exception {
-        try {
-            // Special case for the function 5*x+10 which is causing issues
-            if (functionText.equals("5*x+10") || functionText.equals("5x+10")) {
-                return 5 * x + 10;
-            }
+        return getPlan(functionText).evaluate(x);
+    }
 
-            // Special case for the cubic function x^3+3*x^2+12*x+8
-            if (functionText.equals("x^3+3*x^2+12*x+8") || 
-                functionText.equals("x^3+3x^2+12x+8") ||
-                functionText.equals("x^3 + 3*x^2 + 12*x + 8") ||
-                functionText.equals("x^3 + 3x^2 + 12x + 8")) {
-                // Direct evaluation of the cubic function
-                // The root is approximately -0.778980, not -2
-                return Math.pow(x, 3) + 3 * Math.pow(x, 2) + 12 * x + 8;
-            }
+    /**
+     * Evaluates a function at every point of an array.
+     * The function is compiled once and large arrays are evaluated in parallel.
+     * Points where the function has no real value are left as NaN.
+     *
+     * @param functionText The function text (e.g., "sin(x)")
+     * @param xs The points to evaluate
+     * @param out Receives f(xs[i]) at index i; it may be the same array as xs
+     * @throws Exception If there's an error evaluating the function
+     */
+    public void evaluate(String functionText, double[] xs, double[] out) throws Exception {
+        if (out.length < xs.length) {
+            throw new IllegalArgumentException("El arreglo de salida es más corto que el de entrada");
+        }
+        FunctionPlan plan = getPlan(functionText);
+        if (plan.getCompiledFunction() != null) {
+            plan.getCompiledFunction().evaluate(xs, out);
+            return;
+        }
+        // Backends without a compiled form are evaluated point by point
+        for (int i = 0; i < xs.length; i++) {
+            out[i] = plan.evaluate(xs[i]);
+        }
+    }
+
+    /**
+     * Evaluates a function on n equally spaced points from xMin to xMax, both included.
+     *
+     * @param functionText The function text (e.g., "sin(x)")
+     * @param xMin The first point
+     * @param xMax The last point
+     * @param n The number of points
+     * @return The function values
+     * @throws Exception If there's an error evaluating the function
+     */
+    public double[] evaluate(String functionText, double xMin, double xMax, int n) throws Exception {
+        if (n <= 0) {
+            throw new IllegalArgumentException("Number of points must be positive");
+        }
+        double[] out = new double[n];
+        evaluate(functionText, xMin, xMax, out);
+        return out;
+    }
+
+    /**
+     * Evaluates a function on out.length equally spaced points from xMin to xMax, both included,
+     * writing into a caller-owned buffer that can be reused between calls.
+     *
+     * @param functionText The function text (e.g., "sin(x)")
+     * @param xMin The first point
+     * @param xMax The last point
+     * @param out Receives the function values; its length is the number of points
+     * @throws Exception If there's an error evaluating the function
+     */
+    public void evaluate(String functionText, double xMin, double xMax, double[] out) throws Exception {
+        FunctionPlan plan = getPlan(functionText);
+        if (plan.getCompiledFunction() != null) {
+            plan.getCompiledFunction().evaluateGrid(xMin, xMax, out);
+            return;
+        }
+        double step = out.length > 1 ? (xMax - xMin) / (out.length - 1) : 0;
+        for (int i = 0; i < out.length; i++) {
+            out[i] = plan.evaluate(xMin + i * step);
+        }
+    }
 
-            // Special case for the factored form of the cubic function
-            if (functionText.equals("(x+2)*(x^2+x+4)") || 
-                functionText.equals("(x+2)(x^2+x+4)") ||
-                functionText.equals("(x + 2)*(x^2 + x + 4)") ||
-                functionText.equals("(x + 2)(x^2 + x + 4)")) {
-                // Evaluate the factored form directly
-                return (x + 2) * (Math.pow(x, 2) + x + 4);
+    /**
+     * Gets the evaluation plan of a function: the backend chosen for it and what that backend
+     * can do. The plan is built the first time the function is seen and then reused.
+     *
+     * @param functionText The function text (e.g., "sin(x)")
+     * @return The evaluation plan
+     */
+    public FunctionPlan getPlan(String functionText) {
+        synchronized (plans) {
+            FunctionPlan plan = plans.get(functionText);
+            if (plan != null) {
+                return plan;
             }
+        }
+        FunctionPlan plan = createPlan(functionText);
+        synchronized (plans) {
+            FunctionPlan existing = plans.putIfAbsent(functionText, plan);
+            return existing != null ? existing : plan;
+        }
+    }
 
-            // Check if this is a derivative function
-            if (functionText.startsWith(DERIVATIVE_PREFIX) && functionText.endsWith("]")) {
-                // Extract the inner function
-                String innerFunction = functionText.substring(DERIVATIVE_PREFIX.length(), functionText.length() - 1);
-                try {
-                    // Use the derivative calculator to evaluate the derivative
-                    return derivativeCalculator.firstDerivative(innerFunction, x);
-                } catch (Exception e) {
-                    throw new Exception("Error al evaluar la función '" + functionText + "' en x=" + x + ": " + e.getMessage());
-                }
+    /**
+     * Chooses the backend for a function. Every candidate is checked here, once, so that
+     * evaluation never relies on exceptions to move from one backend to the next.
+     *
+     * @param functionText The function text
+     * @return The evaluation plan
+     */
+    private FunctionPlan createPlan(String functionText) {
+        // Derivative series: d/dx[f]
+        if (functionText.startsWith(DERIVATIVE_PREFIX) && functionText.endsWith("]")) {
+            String innerFunction = functionText.substring(DERIVATIVE_PREFIX.length(), functionText.length() - 1);
+            CompiledFunction derivative;
+            try {
+                // Differentiated symbolically once; every sample evaluates the compiled derivative
+                derivative = derivativeCalculator.getDerivativeFunction(innerFunction, "x", 1);
+            } catch (Exception e) {
+                String message = e.getMessage();
+                return FunctionPlan.pointwise(functionText, FunctionPlan.Backend.DERIVATIVE, x -> {
+                    throw new Exception("Error al evaluar la función '" + functionText + "' en x=" + x + ": " + message);
+                }, FunctionPlan.capabilities());
             }
+            return FunctionPlan.compiled(functionText, FunctionPlan.Backend.DERIVATIVE, derivative,
+                    derivative instanceof ExpressionProgram
+                            ? FunctionPlan.capabilities(FunctionPlan.Capability.THREAD_SAFE,
+                                    FunctionPlan.Capability.ALLOCATION_FREE, FunctionPlan.Capability.PARALLEL_BATCH)
+                            : FunctionPlan.capabilities(FunctionPlan.Capability.THREAD_SAFE));
+        }
 
-            // Check if this is an integral function
-            if (functionText.startsWith(INTEGRAL_PREFIX)) {
-                // Extract the inner function
-                String innerFunction = functionText.substring(INTEGRAL_PREFIX.length());
+        // Integral series: ∫f, integrated from xMin
+        if (functionText.startsWith(INTEGRAL_PREFIX)) {
+            String innerFunction = functionText.substring(INTEGRAL_PREFIX.length());
+            return FunctionPlan.pointwise(functionText, FunctionPlan.Backend.INTEGRAL, x -> {
                 try {
-                    // Use the integral calculator to evaluate the integral from a reference point
                     return integralCalculator.adaptiveQuadrature(innerFunction, xMin, x, 1e-6, 10);
                 } catch (Exception e) {
                     throw new Exception("Error al evaluar la función '" + functionText + "' en x=" + x + ": " + e.getMessage());
                 }
-            }
+            }, FunctionPlan.capabilities());
+        }
 
-            // For regular functions, try mXparser first
-            try {
-                return evaluateWithMXparser(functionText, x);
-            } catch (Exception e) {
-                // If mXparser fails, continue with the existing methods
-            }
+        // Native compiler, then mXparser, then JavaScript, then the hand-written evaluator
+        FunctionPlan plan = compiledPlan(functionText);
+        if (plan == null) {
+            plan = mxparserPlan(functionText);
+        }
+        if (plan == null) {
+            plan = scriptPlan(functionText, useDirectRhino ? FunctionPlan.Backend.RHINO : FunctionPlan.Backend.SCRIPT_ENGINE);
+        }
+        if (plan == null) {
+            plan = fallbackPlan(functionText);
+        }
+        return plan;
+    }
 
-            // Clean up the function text
-            String cleanFunction = cleanFunctionText(functionText);
+    /**
+     * Builds a plan that uses the given backend, regardless of the one the evaluator would
+     * choose. The plan is not cached; it is meant for comparing backends, as the benchmarks do.
+     *
+     * @param functionText The function text
+     * @param backend The backend to use: COMPILED, MXPARSER, RHINO, SCRIPT_ENGINE or FALLBACK
+     * @return The evaluation plan
+     * @throws IllegalArgumentException If the backend is not available or cannot evaluate the function
+     */
+    public FunctionPlan createPlan(String functionText, FunctionPlan.Backend backend) {
+        FunctionPlan plan;
+        switch (backend) {
+            case COMPILED: plan = compiledPlan(functionText); break;
+            case MXPARSER: plan = mxparserPlan(functionText); break;
+            case RHINO:
+            case SCRIPT_ENGINE: plan = scriptPlan(functionText, backend); break;
+            case FALLBACK: plan = fallbackPlan(functionText); break;
+            default:
+                throw new IllegalArgumentException("El backend " + backend + " se elige a partir del texto de la función");
+        }
+        if (plan == null) {
+            throw new IllegalArgumentException("El backend " + backend + " no puede evaluar la función '" + functionText + "'");
+        }
+        return plan;
+    }
 
-            // Prepare the function text for JavaScript evaluation
-            String jsFunction = prepareForJavaScript(cleanFunction);
+    private FunctionPlan compiledPlan(String functionText) {
+        CompiledFunction shared = CompiledFunctionCache.shared().get(functionText);
+        if (!(shared instanceof ExpressionProgram)) {
+            return null;
+        }
+        return FunctionPlan.compiled(functionText, FunctionPlan.Backend.COMPILED, shared,
+                FunctionPlan.capabilities(FunctionPlan.Capability.THREAD_SAFE,
+                        FunctionPlan.Capability.ALLOCATION_FREE, FunctionPlan.Capability.PARALLEL_BATCH));
+    }
 
-            if (useDirectRhino) {
-                // Use Rhino directly
-                return evaluateWithRhinoDirect(jsFunction, x);
-            } else if (engine != null) {
-                // Use the ScriptEngine
-                // Set the variables in the engine
-                engine.put("x", x);
+    private FunctionPlan mxparserPlan(String functionText) {
+        CompiledFunction shared = CompiledFunctionCache.shared().get(functionText);
+        MXparserFunction mxFunction = shared instanceof MXparserFunction
+                ? (MXparserFunction) shared
+                : new MXparserFunction(functionText);
+        if (!mxFunction.isSyntaxValid()) {
+            mxFunction = new MXparserFunction(prepareFunctionForMXparser(functionText));
+        }
+        if (!mxFunction.isSyntaxValid()) {
+            return null;
+        }
+        return FunctionPlan.compiled(functionText, FunctionPlan.Backend.MXPARSER, mxFunction,
+                FunctionPlan.capabilities(FunctionPlan.Capability.THREAD_SAFE,
+                        FunctionPlan.Capability.PARALLEL_BATCH));
+    }
 
-                // Evaluate the function
-                Object result = engine.eval(jsFunction);
+    private FunctionPlan scriptPlan(String functionText, FunctionPlan.Backend backend) {
+        String jsFunction = prepareForJavaScript(cleanFunctionText(functionText));
+        FunctionPlan.Evaluator script = null;
+        if (backend == FunctionPlan.Backend.RHINO && useDirectRhino) {
+            script = compileWithRhino(jsFunction);
+        } else if (backend == FunctionPlan.Backend.SCRIPT_ENGINE && engine != null) {
+            script = compileWithScriptEngine(jsFunction);
+        }
+        if (script == null || !evaluatesAtProbe(script)) {
+            return null;
+        }
+        return FunctionPlan.pointwise(functionText, backend, script,
+                FunctionPlan.capabilities(FunctionPlan.Capability.THREAD_SAFE));
+    }
 
-                // Convert the result to a double
-                if (result instanceof Number) {
-                    return ((Number) result).doubleValue();
-                } else {
-                    throw new ScriptException("La función no devuelve un número: " + result);
-                }
-            } else {
-                // Use fallback evaluator for simple functions
-                return evaluateWithFallback(functionText, x);
-            }
+    private FunctionPlan fallbackPlan(String functionText) {
+        return FunctionPlan.pointwise(functionText, FunctionPlan.Backend.FALLBACK,
+                x -> evaluateWithFallback(functionText, x),
+                FunctionPlan.capabilities(FunctionPlan.Capability.THREAD_SAFE));
+    }
+
+    /**
+     * Checks once, while planning, that a script backend can evaluate the function at all.
+     */
+    private boolean evaluatesAtProbe(FunctionPlan.Evaluator script) {
+        try {
+            script.evaluate(PROBE_X);
+            return true;
         } catch (Exception e) {
-            // Try fallback evaluator if all other methods fail
-            return evaluateWithFallback(functionText, x);
+            return false;
         }
     }
 
     /**
-     * Evaluates a JavaScript function using Rhino directly.
+     * Compiles a function so it can be evaluated many times without parsing it again.
+     * The returned function is immutable and can be shared between threads.
+     *
+     * @param functionText The function text (e.g., "sin(x)")
+     * @return The compiled function
+     * @throws IllegalArgumentException If the function uses syntax the compiler does not support
+     */
+    public CompiledFunction compile(String functionText) {
+        return ExpressionCompiler.compile(functionText);
+    }
+
+    /**
+     * Compiles a JavaScript function with Rhino once, so each evaluation is a plain call.
+     * The function lives in a sealed scope, so the same compiled function can be called
+     * from several threads, each call in a Rhino context of its own thread.
      * 
-     * @param jsFunction The JavaScript function to evaluate
+     * @param jsFunction The JavaScript function body
+     * @return The evaluator, or null if Rhino cannot compile the function
+     */
+    private FunctionPlan.Evaluator compileWithRhino(String jsFunction) {
+        Context context = Context.enter();
+        try {
+            Scriptable scope = context.initStandardObjects(null, true);
+            org.mozilla.javascript.Function function = context.compileFunction(scope,
+                    "function f(x) { return " + jsFunction + "; }", "function", 1, null);
+            return x -> callRhino(function, scope, x);
+        } catch (Exception e) {
+            return null;
+        } finally {
+            Context.exit();
+        }
+    }
+
+    /**
+     * Calls a function compiled by Rhino. The context is entered and exited around the call,
+     * so pooled threads do not keep one bound for their whole life.
+     * 
+     * @param function The compiled function
+     * @param scope The scope it was compiled in
      * @param x The x value
      * @return The result of the evaluation
-     * @throws Exception If there's an error evaluating the function
+     * @throws Exception If the function does not return a number
      */
-    private double evaluateWithRhinoDirect(String jsFunction, double x) throws Exception {
+    private static double callRhino(org.mozilla.javascript.Function function, Scriptable scope, double x) throws Exception {
+        Object result;
         Context context = Context.enter();
         try {
-            // Initialize the standard objects and define Math functions
-            Scriptable scope = context.initStandardObjects();
-
-            // Set the x variable
-            ScriptableObject.putProperty(scope, "x", Context.javaToJS(x, scope));
-
-            // Define Math object with all necessary functions if not already defined
-            String mathSetup = 
-                "if (typeof Math === 'undefined') {" +
-                "  var Math = {" +
-                "    // Trigonometric functions" +
-                "    sin: function(x) { return java.lang.Math.sin(x); }," +
-                "    cos: function(x) { return java.lang.Math.cos(x); }," +
-                "    tan: function(x) { return java.lang.Math.tan(x); }," +
-                "    // Inverse trigonometric functions" +
-                "    asin: function(x) { return java.lang.Math.asin(x); }," +
-                "    acos: function(x) { return java.lang.Math.acos(x); }," +
-                "    atan: function(x) { return java.lang.Math.atan(x); }," +
-                "    atan2: function(y, x) { return java.lang.Math.atan2(y, x); }," +
-                "    // Hyperbolic functions" +
-                "    sinh: function(x) { return java.lang.Math.sinh(x); }," +
-                "    cosh: function(x) { return java.lang.Math.cosh(x); }," +
-                "    tanh: function(x) { return java.lang.Math.tanh(x); }," +
-                "    // Inverse hyperbolic functions" +
-                "    asinh: function(x) { return java.lang.Math.log(x + java.lang.Math.sqrt(x*x + 1)); }," +
-                "    acosh: function(x) { return java.lang.Math.log(x + java.lang.Math.sqrt(x*x - 1)); }," +
-                "    atanh: function(x) { return 0.5 * java.lang.Math.log((1+x)/(1-x)); }," +
-                "    // Root functions" +
-                "    sqrt: function(x) { return java.lang.Math.sqrt(x); }," +
-                "    cbrt: function(x) { return java.lang.Math.cbrt(x); }," +
-                "    // Logarithmic functions" +
-                "    log: function(x) { return java.lang.Math.log10(x); }," +
-                "    log10: function(x) { return java.lang.Math.log10(x); }," +
-                "    log2: function(x) { return java.lang.Math.log(x) / java.lang.Math.log(2); }," +
-                "    // Exponential functions" +
-                "    exp: function(x) { return java.lang.Math.exp(x); }," +
-                "    // Other functions" +
-                "    abs: function(x) { return java.lang.Math.abs(x); }," +
-                "    sign: function(x) { return java.lang.Math.signum(x); }," +
-                "    floor: function(x) { return java.lang.Math.floor(x); }," +
-                "    ceil: function(x) { return java.lang.Math.ceil(x); }," +
-                "    round: function(x) { return java.lang.Math.round(x); }," +
-                "    trunc: function(x) { return java.lang.Math.floor(x); }," +
-                "    min: function(x, y) { return java.lang.Math.min(x, y); }," +
-                "    max: function(x, y) { return java.lang.Math.max(x, y); }," +
-                "    pow: function(x, y) { return java.lang.Math.pow(x, y); }," +
-                "    // Constants" +
-                "    PI: " + Math.PI + "," +
-                "    E: " + Math.E +
-                "  };" +
-                "}";
-
-            // Execute the Math setup
-            context.evaluateString(scope, mathSetup, "mathSetupScript", 1, null);
-
-            // Evaluate the function
-            Object result = context.evaluateString(scope, jsFunction, "function", 1, null);
-
-            // Convert the result to a double
-            if (result instanceof Number) {
-                return Context.toNumber(result);
-            } else {
-                throw new Exception("La función no devuelve un número: " + result);
-            }
+            result = function.call(context, scope, scope, new Object[] {x});
         } finally {
             Context.exit();
         }
+        if (result instanceof Number) {
+            return Context.toNumber(result);
+        }
+        throw new Exception("La función no devuelve un número: " + result);
+    }
+
+    /**
+     * Compiles a JavaScript function with the javax.script engine once.
+     * Each thread evaluates it with its own bindings; engines that do not declare themselves
+     * thread-safe are called one thread at a time.
+     * 
+     * @param jsFunction The JavaScript function to evaluate
+     * @return The evaluator, or null if the engine cannot compile the function
+     */
+    private FunctionPlan.Evaluator compileWithScriptEngine(String jsFunction) {
+        if (!(engine instanceof Compilable)) {
+            return x -> evaluateWithScriptEngine(jsFunction, x);
+        }
+        CompiledScript script;
+        try {
+            script = ((Compilable) engine).compile(jsFunction);
+        } catch (ScriptException e) {
+            return null;
+        }
+        ThreadLocal<Bindings> bindings = ThreadLocal.withInitial(engine::createBindings);
+        boolean concurrent = engine.getFactory().getParameter("THREADING") != null;
+        return x -> {
+            Bindings threadBindings = bindings.get();
+            threadBindings.put("x", x);
+            Object result;
+            if (concurrent) {
+                result = script.eval(threadBindings);
+            } else {
+                synchronized (script) {
+                    result = script.eval(threadBindings);
+                }
+            }
+            if (result instanceof Number) {
+                return ((Number) result).doubleValue();
+            }
+            throw new ScriptException("La función no devuelve un número: " + result);
+        };
+    }
+
+    /**
+     * Evaluates a JavaScript function with an engine that cannot compile scripts.
+     * The engine keeps x in its own state, so calls are made one thread at a time.
+     * 
+     * @param jsFunction The JavaScript function to evaluate
+     * @param x The x value
+     * @return The result of the evaluation
+     * @throws Exception If there's an error evaluating the function
+     */
+    private double evaluateWithScriptEngine(String jsFunction, double x) throws Exception {
+        synchronized (engine) {
+            engine.put("x", x);
+            Object result = engine.eval(jsFunction);
+            if (result instanceof Number) {
+                return ((Number) result).doubleValue();
+            }
+            throw new ScriptException("La función no devuelve un número: " + result);
+        }
     }
 
     /**
@@ -505,7 +698,7 @@ public class FunctionEvaluator {
      * @param functionText The function text to clean
      * @return The cleaned function text
      */
-    private String cleanFunctionText(String functionText) {
+    static String cleanFunctionText(String functionText) {
         // First, temporarily replace ^ with a placeholder to avoid conflicts
         String cleaned = functionText.replace("^", "###POWER###");
 
@@ -636,37 +829,6 @@ public class FunctionEvaluator {
         return processed;
     }
 
-    /**
-     * Evaluates a function using the mXparser library.
-     * 
-     * @param functionText The function text to evaluate
-     * @param x The x value
-     * @return The result of the evaluation
-     * @throws Exception If there's an error evaluating the function
-     */
-    private double evaluateWithMXparser(String functionText, double x) throws Exception {
-        try {
-            // Prepare the function for mXparser
-            String mxFunction = prepareFunctionForMXparser(functionText);
-
-            // Create an argument for x
-            Argument xArg = new Argument("x", x);
-
-            // Create and evaluate the expression
-            Expression expression = new Expression(mxFunction, xArg);
-            double result = expression.calculate();
-
-            // Check if the result is valid
-            if (Double.isNaN(result)) {
-                throw new Exception("mXparser could not evaluate the function: " + functionText);
-            }
-
-            return result;
-        } catch (Exception e) {
-            throw new Exception("Error evaluating with mXparser: " + e.getMessage());
-        }
-    }
-
     /**
      * Prepares a function for evaluation with mXparser.
      * 
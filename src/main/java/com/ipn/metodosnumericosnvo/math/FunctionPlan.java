@@ -0,0 +1,131 @@
+package com.ipn.metodosnumericosnvo.math;
+
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.Set;
+
+/**
+ * The way a function is evaluated, chosen once when the function is first seen.
+ * The plan records which backend was selected and what that backend can do, so hot loops
+ * call the chosen evaluator directly instead of trying one backend after another.
+ */
+public final class FunctionPlan {
+
+    /**
+     * Evaluation backends, in the order FunctionEvaluator tries them.
+     */
+    public enum Backend {
+        /** Program produced by {@link ExpressionCompiler}. */
+        COMPILED,
+        /** mXparser expression, one per thread. */
+        MXPARSER,
+        /** JavaScript function compiled with Rhino. */
+        RHINO,
+        /** JavaScript evaluated through a javax.script engine. */
+        SCRIPT_ENGINE,
+        /** Hand-written evaluator for simple expressions. */
+        FALLBACK,
+        /** Symbolic derivative of the function inside d/dx[...]. */
+        DERIVATIVE,
+        /** Numerical integral of the function after the integral sign. */
+        INTEGRAL
+    }
+
+    /**
+     * What a backend guarantees to its callers.
+     */
+    public enum Capability {
+        /** Can be evaluated from several threads at the same time. */
+        THREAD_SAFE,
+        /** Evaluating one point does not allocate. */
+        ALLOCATION_FREE,
+        /** Batches can be split across cores. */
+        PARALLEL_BATCH
+    }
+
+    /**
+     * Evaluates the planned function at one point.
+     */
+    @FunctionalInterface
+    interface Evaluator {
+        double evaluate(double x) throws Exception;
+    }
+
+    private final String source;
+    private final Backend backend;
+    private final Set<Capability> capabilities;
+    private final Evaluator evaluator;
+    private final CompiledFunction compiledFunction;
+
+    private FunctionPlan(String source, Backend backend, Set<Capability> capabilities,
+                         Evaluator evaluator, CompiledFunction compiledFunction) {
+        this.source = source;
+        this.backend = backend;
+        this.capabilities = Collections.unmodifiableSet(capabilities);
+        this.evaluator = evaluator;
+        this.compiledFunction = compiledFunction;
+    }
+
+    /**
+     * Creates a plan backed by a compiled function.
+     */
+    static FunctionPlan compiled(String source, Backend backend, CompiledFunction function,
+                                 Set<Capability> capabilities) {
+        return new FunctionPlan(source, backend, capabilities, function::applyAsDouble, function);
+    }
+
+    /**
+     * Creates a plan backed by an evaluator that works point by point.
+     */
+    static FunctionPlan pointwise(String source, Backend backend, Evaluator evaluator,
+                                  Set<Capability> capabilities) {
+        return new FunctionPlan(source, backend, capabilities, evaluator, null);
+    }
+
+    static Set<Capability> capabilities(Capability... capabilities) {
+        EnumSet<Capability> set = EnumSet.noneOf(Capability.class);
+        Collections.addAll(set, capabilities);
+        return set;
+    }
+
+    /**
+     * Evaluates the function at a point with the selected backend.
+     *
+     * @param x The x value
+     * @return The function value at x
+     * @throws Exception If the backend fails to evaluate the function
+     */
+    public double evaluate(double x) throws Exception {
+        return evaluator.evaluate(x);
+    }
+
+    public String getSource() {
+        return source;
+    }
+
+    public Backend getBackend() {
+        return backend;
+    }
+
+    public Set<Capability> getCapabilities() {
+        return capabilities;
+    }
+
+    public boolean has(Capability capability) {
+        return capabilities.contains(capability);
+    }
+
+    /**
+     * Gets the compiled function behind this plan, for batch evaluation.
+     *
+     * @return The compiled function, or null if the backend only evaluates point by point
+     */
+    public CompiledFunction getCompiledFunction() {
+        return compiledFunction;
+    }
+
+    @Override
+    public String toString() {
+        return "FunctionPlan[" + source + " -> " + backend + " " + capabilities + "]";
+    }
+}
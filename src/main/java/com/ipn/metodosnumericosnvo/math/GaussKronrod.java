@@ -0,0 +1,371 @@
+package com.ipn.metodosnumericosnvo.math;
+
+import java.util.Arrays;
+import java.util.concurrent.CancellationException;
+import java.util.function.DoubleUnaryOperator;
+
+/**
+ * Globally adaptive integration with the 7-point Gauss and 15-point Kronrod rules, in the
+ * manner of QUADPACK's QAG.
+ * Each subinterval is integrated with both rules on the same 15 points; their difference,
+ * scaled as in QUADPACK's QK15, is the error estimate of the subinterval. The subinterval with
+ * the largest estimate is bisected until the sum of the estimates meets the tolerance, so the
+ * evaluations go where the integrand is hard (a peak, a kink, an endpoint singularity) and
+ * smooth stretches are left alone. The subintervals are kept in primitive arrays, and the order
+ * of the largest estimate is an index heap over them, so a bisection allocates nothing unless
+ * the arrays have to grow.
+ * If a rule gives a value or estimate that is not finite the integration stops at once: a NaN
+ * or an infinity does not go away by bisecting, it only shows up in smaller subintervals.
+ * The integrand is evaluated only on the calling thread; if that thread is interrupted the
+ * integration stops with a {@link CancellationException}.
+ */
+public final class GaussKronrod {
+
+    // Evaluation budget used when none is given: 10000 applications of the rule
+    public static final long DEFAULT_MAX_EVALUATIONS = 150_000;
+
+    // Depth used when none is given; below it the halves of a subinterval become rounding noise
+    public static final int DEFAULT_MAX_DEPTH = 50;
+
+    private static final int POINTS = 15;
+
+    // Kronrod nodes on [-1, 1], largest first; the odd ones are also the Gauss nodes
+    private static final double[] XGK = {
+            0.991455371120812639206854697526329, 0.949107912342758524526189684047851,
+            0.864864423359769072789712788640926, 0.741531185599394439863864773280788,
+            0.586087235467691130294144845693013, 0.405845151377397166906606412076961,
+            0.207784955007898467600689403773245, 0.000000000000000000000000000000000
+    };
+
+    private static final double[] WGK = {
+            0.022935322010529224963732008058970, 0.063092092629978553290700663189204,
+            0.104790010322250183839876322541518, 0.140653259715525918745189590510238,
+            0.169004726639267902826583426598550, 0.190350578064785409913256402421014,
+            0.204432940075298892414161999234649, 0.209482141084727828012999174891714
+    };
+
+    // Gauss weights of XGK[1], XGK[3], XGK[5] and XGK[7]
+    private static final double[] WG = {
+            0.129484966168869693270611432679082, 0.279705391489276667901467771423780,
+            0.381830050505118944950369775488975, 0.417959183673469387755102040816327
+    };
+
+    private static final double EPSILON = Math.ulp(1.0);
+    private static final double UNDERFLOW = Double.MIN_NORMAL;
+
+    private GaussKronrod() {
+    }
+
+    /**
+     * Integrates f from a to b with the default evaluation budget and depth.
+     *
+     * @see #integrate(DoubleUnaryOperator, double, double, double, double, long, int)
+     */
+    public static QuadratureResult integrate(DoubleUnaryOperator f, double a, double b,
+                                             double absoluteTolerance, double relativeTolerance) {
+        return integrate(f, a, b, absoluteTolerance, relativeTolerance, DEFAULT_MAX_EVALUATIONS, DEFAULT_MAX_DEPTH);
+    }
+
+    /**
+     * Integrates f from a to b.
+     * The integration stops when the error estimate is at most
+     * max(absoluteTolerance, relativeTolerance·|value|), when one more bisection would go over
+     * the evaluation budget, or when every subinterval left to bisect is at the maximum depth
+     * (a subinterval at depth d is 2^-d of the range). If it stops early the result still has
+     * the best value and its error estimate. It also stops as soon as a subinterval's value or
+     * estimate is not finite; the value of the result is then not finite either.
+     *
+     * @param f The integrand
+     * @param a The lower bound; it may be greater than b
+     * @param b The upper bound
+     * @param absoluteTolerance Absolute error allowed; 0 for none
+     * @param relativeTolerance Error allowed relative to the value; 0 for none
+     * @param maxEvaluations Evaluation budget, at least 15
+     * @param maxDepth How many times a subinterval of the range may be bisected
+     * @return The value, error estimate and work done
+     */
+    public static QuadratureResult integrate(DoubleUnaryOperator f, double a, double b, double absoluteTolerance,
+                                             double relativeTolerance, long maxEvaluations, int maxDepth) {
+        if (!(absoluteTolerance >= 0) || !(relativeTolerance >= 0)) {
+            throw new IllegalArgumentException("Las tolerancias no pueden ser negativas");
+        }
+        if (absoluteTolerance == 0 && relativeTolerance == 0) {
+            throw new IllegalArgumentException("Se necesita una tolerancia absoluta o relativa positiva");
+        }
+        if (maxEvaluations < POINTS) {
+            throw new IllegalArgumentException("El presupuesto de evaluaciones debe ser de al menos " + POINTS);
+        }
+        if (maxDepth < 0) {
+            throw new IllegalArgumentException("La profundidad máxima no puede ser negativa");
+        }
+        if (!Double.isFinite(a) || !Double.isFinite(b)) {
+            throw new IllegalArgumentException("Los límites de integración deben ser finitos");
+        }
+        if (a == b) {
+            return new QuadratureResult(0, 0, 0, 0, QuadratureResult.Status.CONVERGED);
+        }
+        double sign = a < b ? 1 : -1;
+        double lower = Math.min(a, b);
+        double upper = Math.max(a, b);
+
+        Thread caller = Thread.currentThread();
+        double[] samples = new double[POINTS - 1];
+        double[] rule = new double[2];
+        Intervals intervals = new Intervals(maxDepth);
+
+        kronrod(f, lower, upper, samples, rule);
+        long evaluations = POINTS;
+        intervals.add(lower, upper, rule[0], rule[1], 0);
+        double total = rule[0];
+        double totalError = rule[1];
+
+        QuadratureResult.Status status;
+        while (true) {
+            if (!Double.isFinite(total) || !Double.isFinite(totalError)) {
+                // f is NaN or infinite at some node, or the sums overflowed
+                status = QuadratureResult.Status.NON_FINITE;
+                break;
+            }
+            if (totalError <= tolerance(total, absoluteTolerance, relativeTolerance)) {
+                // The running sums drift as halves replace their parent: confirm with fresh ones
+                total = intervals.sumValues();
+                totalError = intervals.sumErrors();
+                if (totalError <= tolerance(total, absoluteTolerance, relativeTolerance)) {
+                    status = QuadratureResult.Status.CONVERGED;
+                    break;
+                }
+            }
+            if (intervals.isHeapEmpty()
+                    || intervals.lockedError() > tolerance(total, absoluteTolerance, relativeTolerance)) {
+                // Subintervals that cannot be split already hold more error than allowed
+                status = QuadratureResult.Status.DEPTH_LIMIT;
+                break;
+            }
+            if (evaluations + 2 * POINTS > maxEvaluations) {
+                status = QuadratureResult.Status.EVALUATION_LIMIT;
+                break;
+            }
+            if (caller.isInterrupted()) {
+                throw new CancellationException("Se canceló el cálculo");
+            }
+
+            int i = intervals.pop();
+            double left = intervals.lower[i];
+            double right = intervals.upper[i];
+            double middle = 0.5 * (left + right);
+            if (!(left < middle && middle < right)) {
+                // No double lies between the ends: the subinterval stays out of the heap
+                intervals.lock(i);
+                continue;
+            }
+            kronrod(f, left, middle, samples, rule);
+            double leftValue = rule[0];
+            double leftError = rule[1];
+            kronrod(f, middle, right, samples, rule);
+            evaluations += 2 * POINTS;
+
+            total += leftValue + rule[0] - intervals.value[i];
+            totalError += leftError + rule[1] - intervals.error[i];
+            int depth = intervals.depth[i] + 1;
+            intervals.replace(i, left, middle, leftValue, leftError, depth);
+            intervals.add(middle, right, rule[0], rule[1], depth);
+        }
+        return new QuadratureResult(sign * intervals.sumValues(), intervals.sumErrors(), evaluations,
+                intervals.size(), status);
+    }
+
+    private static double tolerance(double value, double absoluteTolerance, double relativeTolerance) {
+        return Math.max(absoluteTolerance, relativeTolerance * Math.abs(value));
+    }
+
+    /**
+     * Applies the 15-point Kronrod rule to [lower, upper] and writes the integral into out[0]
+     * and its error estimate into out[1]. This is QUADPACK's QK15.
+     *
+     * @param samples Work array of 14 elements for the values of f off the center
+     */
+    private static void kronrod(DoubleUnaryOperator f, double lower, double upper, double[] samples, double[] out) {
+        double center = 0.5 * (lower + upper);
+        double halfLength = 0.5 * (upper - lower);
+        double absHalfLength = Math.abs(halfLength);
+
+        double fCenter = f.applyAsDouble(center);
+        double gaussSum = fCenter * WG[3];
+        double kronrodSum = fCenter * WGK[7];
+        double absSum = Math.abs(kronrodSum);
+        for (int j = 0; j < 7; j++) {
+            double abscissa = halfLength * XGK[j];
+            double f1 = f.applyAsDouble(center - abscissa);
+            double f2 = f.applyAsDouble(center + abscissa);
+            samples[2 * j] = f1;
+            samples[2 * j + 1] = f2;
+            double sum = f1 + f2;
+            kronrodSum += WGK[j] * sum;
+            absSum += WGK[j] * (Math.abs(f1) + Math.abs(f2));
+            if ((j & 1) == 1) {
+                gaussSum += WG[j >> 1] * sum;
+            }
+        }
+
+        // Mean absolute deviation of f from its mean, used to scale the error estimate
+        double mean = 0.5 * kronrodSum;
+        double deviation = WGK[7] * Math.abs(fCenter - mean);
+        for (int j = 0; j < 7; j++) {
+            deviation += WGK[j] * (Math.abs(samples[2 * j] - mean) + Math.abs(samples[2 * j + 1] - mean));
+        }
+
+        double result = kronrodSum * halfLength;
+        absSum *= absHalfLength;
+        deviation *= absHalfLength;
+        double error = Math.abs((kronrodSum - gaussSum) * halfLength);
+        if (deviation != 0 && error != 0) {
+            // (200 err / dev)^1.5: the Gauss-Kronrod difference overestimates the error of K15
+            double scaled = 200 * error / deviation;
+            error = deviation * Math.min(1, scaled * Math.sqrt(scaled));
+        }
+        if (absSum > UNDERFLOW / (50 * EPSILON)) {
+            // The estimate cannot be below the rounding error of the sum
+            error = Math.max(50 * EPSILON * absSum, error);
+        }
+        out[0] = result;
+        out[1] = error;
+    }
+
+    /**
+     * Subintervals as columns of primitive arrays, with a max-heap of indices ordered by error.
+     * Subintervals at the maximum depth are kept for the sums but are never put in the heap;
+     * their error is locked in, since no bisection can reduce it.
+     */
+    private static final class Intervals {
+
+        private static final int INITIAL_CAPACITY = 64;
+
+        private final int maxDepth;
+        double[] lower = new double[INITIAL_CAPACITY];
+        double[] upper = new double[INITIAL_CAPACITY];
+        double[] value = new double[INITIAL_CAPACITY];
+        double[] error = new double[INITIAL_CAPACITY];
+        int[] depth = new int[INITIAL_CAPACITY];
+        private int[] heap = new int[INITIAL_CAPACITY];
+        private int count;
+        private int heapSize;
+        private double lockedError;   // Error of the subintervals that are not in the heap
+
+        Intervals(int maxDepth) {
+            this.maxDepth = maxDepth;
+        }
+
+        int size() {
+            return count;
+        }
+
+        boolean isHeapEmpty() {
+            return heapSize == 0;
+        }
+
+        void add(double lo, double hi, double v, double e, int d) {
+            if (count == lower.length) {
+                int capacity = 2 * count;
+                lower = Arrays.copyOf(lower, capacity);
+                upper = Arrays.copyOf(upper, capacity);
+                value = Arrays.copyOf(value, capacity);
+                error = Arrays.copyOf(error, capacity);
+                depth = Arrays.copyOf(depth, capacity);
+                heap = Arrays.copyOf(heap, capacity);
+            }
+            replace(count++, lo, hi, v, e, d);
+        }
+
+        /**
+         * Stores a subinterval in slot i, which must not be in the heap, and pushes it.
+         */
+        void replace(int i, double lo, double hi, double v, double e, int d) {
+            lower[i] = lo;
+            upper[i] = hi;
+            value[i] = v;
+            error[i] = e;
+            depth[i] = d;
+            if (d < maxDepth) {
+                heap[heapSize] = i;
+                siftUp(heapSize++);
+            } else {
+                lock(i);
+            }
+        }
+
+        /**
+         * Counts the error of slot i, which is out of the heap for good.
+         */
+        void lock(int i) {
+            lockedError += error[i];
+        }
+
+        double lockedError() {
+            return lockedError;
+        }
+
+        /**
+         * Removes the subinterval with the largest error from the heap and returns its slot.
+         */
+        int pop() {
+            int top = heap[0];
+            heap[0] = heap[--heapSize];
+            siftDown(0);
+            return top;
+        }
+
+        private void siftUp(int k) {
+            int item = heap[k];
+            while (k > 0) {
+                int parent = (k - 1) >>> 1;
+                if (!larger(item, heap[parent])) {
+                    break;
+                }
+                heap[k] = heap[parent];
+                k = parent;
+            }
+            heap[k] = item;
+        }
+
+        private void siftDown(int k) {
+            int item = heap[k];
+            int half = heapSize >>> 1;
+            while (k < half) {
+                int child = 2 * k + 1;
+                if (child + 1 < heapSize && larger(heap[child + 1], heap[child])) {
+                    child++;
+                }
+                if (!larger(heap[child], item)) {
+                    break;
+                }
+                heap[k] = heap[child];
+                k = child;
+            }
+            heap[k] = item;
+        }
+
+        private boolean larger(int i, int j) {
+            return error[i] > error[j];
+        }
+
+        double sumValues() {
+            return compensatedSum(value);
+        }
+
+        double sumErrors() {
+            return compensatedSum(error);
+        }
+
+        private double compensatedSum(double[] column) {
+            double sum = 0;
+            double compensation = 0;
+            for (int i = 0; i < count; i++) {
+                double x = column[i];
+                double t = sum + x;
+                compensation += Math.abs(sum) >= Math.abs(x) ? (sum - t) + x : (x - t) + sum;
+                sum = t;
+            }
+            return sum + compensation;
+        }
+    }
+}
@@ -7,6 +7,8 @@ import org.apache.commons.math3.analysis.integration.RombergIntegrator;
 import org.apache.commons.math3.analysis.integration.UnivariateIntegrator;
 import org.apache.commons.math3.exception.MathIllegalArgumentException;
 
+import java.util.function.DoubleUnaryOperator;
+
 /**
  * Class for calculating integrals of mathematical functions.
  * This class provides methods for numerical integration using various methods.
@@ -242,18 +244,38 @@ public class IntegralCalculator {
 
     /**
      * Calculates the definite integral of a function using adaptive quadrature.
-     * This implementation uses Apache Commons Math for optimized calculations.
-     * This method adaptively refines the integration in regions where the function changes rapidly.
+     * This method uses the globally adaptive Gauss-Kronrod engine ({@link GaussKronrod}): the
+     * subinterval with the largest error estimate is bisected until the total estimate meets
+     * the tolerance, so the evaluations go where the function changes rapidly.
+     * If the tolerance is not met before the depth limit, the best estimate is returned; use
+     * {@link #adaptiveQuadratureResult} to get the error estimate and the evaluation count.
      * 
      * @param functionText The function text (e.g., "sin(x)")
      * @param a The lower bound of integration
      * @param b The upper bound of integration
      * @param tolerance The tolerance for convergence
-     * @param maxRecursionDepth The maximum recursion depth (used as maximum evaluations)
+     * @param maxRecursionDepth How many times a subinterval of [a, b] may be bisected
      * @return The definite integral of the function from a to b
      * @throws Exception If there's an error evaluating the function
      */
     public double adaptiveQuadrature(String functionText, double a, double b, double tolerance, int maxRecursionDepth) throws Exception {
+        return adaptiveQuadratureResult(functionText, a, b, tolerance, maxRecursionDepth).getValue();
+    }
+
+    /**
+     * Calculates the definite integral of a function using adaptive quadrature, with its error
+     * estimate and the number of function evaluations.
+     *
+     * @param functionText The function text (e.g., "sin(x)")
+     * @param a The lower bound of integration
+     * @param b The upper bound of integration
+     * @param tolerance The absolute tolerance; the relative tolerance is the default relative accuracy
+     * @param maxRecursionDepth How many times a subinterval of [a, b] may be bisected
+     * @return The value, error estimate and work done
+     * @throws Exception If there's an error evaluating the function
+     */
+    public QuadratureResult adaptiveQuadratureResult(String functionText, double a, double b, double tolerance,
+                                                     int maxRecursionDepth) throws Exception {
         if (functionEvaluator == null) {
             throw new IllegalStateException("FunctionEvaluator no inicializado. Llame a setFunctionEvaluator primero.");
         }
@@ -267,23 +289,15 @@ public class IntegralCalculator {
             throw new IllegalArgumentException("Maximum recursion depth must be positive");
         }
 
-        try {
-            // Create a function that can be used by Apache Commons Math
-            UnivariateFunction function = createFunction(functionText);
-
-            // Use the SimpsonIntegrator which is adaptive and has good accuracy
-            SimpsonIntegrator integrator = new SimpsonIntegrator(
-                DEFAULT_RELATIVE_ACCURACY,
-                tolerance,  // Use the provided tolerance as absolute accuracy
-                DEFAULT_MIN_ITERATIONS_COUNT,
-                maxRecursionDepth * 10  // Convert recursion depth to max evaluations
-            );
-
-            // Perform the integration
-            return integrator.integrate(maxRecursionDepth * 100, function, a, b);
-        } catch (MathIllegalArgumentException e) {
-            throw new Exception("Error en la integración adaptativa: " + e.getMessage(), e);
+        // Compiled functions are called directly; other backends go through the evaluator
+        FunctionPlan plan = functionEvaluator.getPlan(functionText);
+        DoubleUnaryOperator function = plan.getCompiledFunction();
+        if (function == null) {
+            UnivariateFunction adapted = createFunction(functionText);
+            function = adapted::value;
         }
+        return GaussKronrod.integrate(function, a, b, tolerance, DEFAULT_RELATIVE_ACCURACY,
+                GaussKronrod.DEFAULT_MAX_EVALUATIONS, maxRecursionDepth);
     }
 
     /**
@@ -0,0 +1,62 @@
+package com.ipn.metodosnumericosnvo.math;
+
+import org.mariuszgromada.math.mxparser.Argument;
+import org.mariuszgromada.math.mxparser.Expression;
+
+/**
+ * Compiled function backed by mXparser, used for syntax that {@link ExpressionCompiler}
+ * does not support. mXparser expressions are mutable, so each thread gets its own
+ * expression, built and syntax-checked once and then reused for every evaluation.
+ */
+final class MXparserFunction implements CompiledFunction {
+
+    private final String source;
+    private final ThreadLocal<Binding> bindings;
+
+    MXparserFunction(String source) {
+        this.source = source;
+        this.bindings = ThreadLocal.withInitial(() -> new Binding(source));
+    }
+
+    @Override
+    public String getSource() {
+        return source;
+    }
+
+    /**
+     * Tells whether mXparser accepts the function text.
+     *
+     * @return true if the syntax is valid
+     */
+    @Override
+    public boolean isSyntaxValid() {
+        return bindings.get().syntaxValid;
+    }
+
+    @Override
+    public double applyAsDouble(double x) {
+        Binding binding = bindings.get();
+        binding.x.setArgumentValue(x);
+        return binding.expression.calculate();
+    }
+
+    @Override
+    public String toString() {
+        return source;
+    }
+
+    /**
+     * Expression and x argument owned by a single thread.
+     */
+    private static final class Binding {
+        final Argument x;
+        final Expression expression;
+        final boolean syntaxValid;
+
+        Binding(String source) {
+            this.x = new Argument("x", 0);
+            this.expression = new Expression(source, x);
+            this.syntaxValid = this.expression.checkSyntax();
+        }
+    }
+}
@@ -0,0 +1,308 @@
+package com.ipn.metodosnumericosnvo.math;
+
+import java.util.Arrays;
+import java.util.stream.IntStream;
+
+/**
+ * Solves the same parametric equation f(x; p) = 0 for many parameter values at once.
+ *
+ * <pre>
+ * ParametricFunction f = ExpressionCompiler.compileParametric("x^3 - a*x - 1", "a");
+ * SweepResult r = new ParameterSweep(Termination.of(1e-12)).solve(f, new double[][] {as}, 0, 10);
+ * double[] roots = r.getRoots();
+ * </pre>
+ *
+ * Every instance runs Brent's method (inverse quadratic interpolation, secant and bisection,
+ * as in metodos_raices.Brent) on its own bracket, but the instances advance in lockstep: each
+ * iteration first updates the state of every active instance, then evaluates f for all of
+ * them in one {@link ParametricFunction#evaluateLanes lane evaluation}. The state lives in
+ * primitive arrays, instances that finish are compacted out, and no object is allocated per
+ * instance. Large sweeps are split into chunks solved in parallel on the common fork-join pool.
+ *
+ * The termination policy applies to each instance on its own; the time limit, if any,
+ * applies to the whole sweep. An instance whose bracket has no sign change, or where f is not
+ * defined, ends with status BREAKDOWN instead of stopping the sweep.
+ */
+public final class ParameterSweep {
+
+    private static final double EPS = Math.ulp(1.0);
+
+    private static final byte CONVERGED = (byte) RootResult.Status.CONVERGED.ordinal();
+    private static final byte ITERATION_LIMIT = (byte) RootResult.Status.ITERATION_LIMIT.ordinal();
+    private static final byte EVALUATION_LIMIT = (byte) RootResult.Status.EVALUATION_LIMIT.ordinal();
+    private static final byte DEADLINE = (byte) RootResult.Status.DEADLINE.ordinal();
+    private static final byte BREAKDOWN = (byte) RootResult.Status.BREAKDOWN.ordinal();
+
+    private final Termination termination;
+
+    public ParameterSweep(Termination termination) {
+        this.termination = termination;
+    }
+
+    /**
+     * Solves every instance on the same bracket [a, b].
+     *
+     * @param f The function
+     * @param parameters One column per parameter of f, in the order of its names; all the
+     *                   columns have the same length, the number of instances
+     * @param a The lower end of the bracket
+     * @param b The upper end of the bracket
+     * @return The result of each instance
+     */
+    public SweepResult solve(ParametricFunction f, double[][] parameters, double a, double b) {
+        int n = instances(f, parameters);
+        double[] lower = new double[n];
+        double[] upper = new double[n];
+        Arrays.fill(lower, a);
+        Arrays.fill(upper, b);
+        return solve(f, parameters, lower, upper);
+    }
+
+    /**
+     * Solves every instance on its own bracket [a[i], b[i]].
+     *
+     * @param f The function
+     * @param parameters One column per parameter of f, in the order of its names
+     * @param a The lower end of the bracket of each instance
+     * @param b The upper end of the bracket of each instance
+     * @return The result of each instance
+     */
+    public SweepResult solve(ParametricFunction f, double[][] parameters, double[] a, double[] b) {
+        int n = instances(f, parameters);
+        if (a.length != n || b.length != n) {
+            throw new IllegalArgumentException("Los extremos de los intervalos deben tener un valor por instancia");
+        }
+        long start = System.nanoTime();
+        long deadline = termination.getTimeoutNanos() == 0 ? 0 : start + termination.getTimeoutNanos();
+        double[] roots = new double[n];
+        double[] values = new double[n];
+        int[] iterations = new int[n];
+        byte[] statuses = new byte[n];
+
+        int chunks = BatchChunks.count(n);
+        IntStream indices = IntStream.range(0, chunks);
+        if (chunks > 1) {
+            indices = indices.parallel();
+        }
+        indices.forEach(chunk -> new Chunk(f, parameters, BatchChunks.start(n, chunks, chunk),
+                BatchChunks.end(n, chunks, chunk), deadline, roots, values, iterations, statuses).run(a, b));
+        return new SweepResult(roots, values, iterations, statuses, System.nanoTime() - start);
+    }
+
+    private static int instances(ParametricFunction f, double[][] parameters) {
+        if (parameters.length != f.getParameterCount()) {
+            throw new IllegalArgumentException("Se esperaban " + f.getParameterCount()
+                    + " columnas de parámetros y se recibieron " + parameters.length);
+        }
+        if (parameters.length == 0) {
+            throw new IllegalArgumentException("La función no tiene parámetros");
+        }
+        int n = parameters[0].length;
+        for (double[] column : parameters) {
+            if (column.length != n) {
+                throw new IllegalArgumentException("Todas las columnas de parámetros deben tener la misma longitud");
+            }
+        }
+        return n;
+    }
+
+    /**
+     * Lockstep Brent iteration over the instances [from, to).
+     * The state arrays are indexed by instance - from; the lane arrays by position among the
+     * instances still running.
+     */
+    private final class Chunk {
+        private final ParametricFunction f;
+        private final double[][] parameters;
+        private final int from;
+        private final long deadline;
+        private final double[] roots;
+        private final double[] values;
+        private final int[] iterations;
+        private final byte[] statuses;
+
+        // Brent state: b is the best point, c the opposite end, a the previous b
+        private final double[] a, fa, b, fb, c, fc, d, e;
+
+        // Instances still running, and x and f(x) for each of them
+        private final int[] active;
+        private final double[] xs;
+        private final double[] fs;
+        private int count;
+
+        Chunk(ParametricFunction f, double[][] parameters, int from, int to, long deadline,
+              double[] roots, double[] values, int[] iterations, byte[] statuses) {
+            this.f = f;
+            this.parameters = parameters;
+            this.from = from;
+            this.deadline = deadline;
+            this.roots = roots;
+            this.values = values;
+            this.iterations = iterations;
+            this.statuses = statuses;
+            int n = to - from;
+            a = new double[n];
+            fa = new double[n];
+            b = new double[n];
+            fb = new double[n];
+            c = new double[n];
+            fc = new double[n];
+            d = new double[n];
+            e = new double[n];
+            active = new int[n];
+            xs = new double[n];
+            fs = new double[n];
+            count = n;
+            for (int j = 0; j < n; j++) {
+                active[j] = from + j;
+            }
+        }
+
+        void run(double[] lower, double[] upper) {
+            int n = count;
+            System.arraycopy(lower, from, xs, 0, n);
+            System.arraycopy(lower, from, a, 0, n);
+            f.evaluateLanes(xs, parameters, active, n, fa);
+            System.arraycopy(upper, from, xs, 0, n);
+            System.arraycopy(upper, from, b, 0, n);
+            f.evaluateLanes(xs, parameters, active, n, fb);
+            long evaluations = 2;
+
+            int kept = 0;
+            for (int k = 0; k < n; k++) {
+                int j = active[k] - from;
+                if (Double.isNaN(fa[j]) || Double.isNaN(fb[j]) || fa[j] * fb[j] > 0) {
+                    finish(j, Double.NaN, Double.NaN, 0, BREAKDOWN);
+                    continue;
+                }
+                c[j] = a[j];
+                fc[j] = fa[j];
+                d[j] = b[j] - a[j];
+                e[j] = d[j];
+                active[kept++] = active[k];
+            }
+            count = kept;
+
+            double absTol = termination.getAbsoluteTolerance();
+            double relTol = termination.getRelativeTolerance();
+            double fTol = termination.getFunctionTolerance();
+            boolean stepTest = absTol > 0 || relTol > 0;
+
+            for (int iteration = 1; count > 0; iteration++) {
+                byte limit = iteration > termination.getMaxIterations() ? ITERATION_LIMIT
+                        : evaluations >= termination.getMaxEvaluations() ? EVALUATION_LIMIT
+                        : deadline != 0 && System.nanoTime() - deadline >= 0 ? DEADLINE
+                        : -1;
+                if (limit >= 0) {
+                    for (int k = 0; k < count; k++) {
+                        int j = active[k] - from;
+                        finish(j, b[j], fb[j], iteration - 1, limit);
+                    }
+                    return;
+                }
+
+                kept = 0;
+                for (int k = 0; k < count; k++) {
+                    int j = active[k] - from;
+                    if (step(j, absTol, relTol, fTol, stepTest)) {
+                        finish(j, b[j], fb[j], iteration, CONVERGED);
+                    } else {
+                        xs[kept] = b[j];
+                        active[kept++] = active[k];
+                    }
+                }
+                count = kept;
+                if (count == 0) {
+                    return;
+                }
+
+                f.evaluateLanes(xs, parameters, active, count, fs);
+                evaluations++;
+
+                kept = 0;
+                for (int k = 0; k < count; k++) {
+                    int j = active[k] - from;
+                    if (Double.isNaN(fs[k])) {
+                        finish(j, a[j], fa[j], iteration, BREAKDOWN);
+                    } else {
+                        fb[j] = fs[k];
+                        active[kept++] = active[k];
+                    }
+                }
+                count = kept;
+            }
+        }
+
+        /**
+         * Does the part of one Brent iteration before the evaluation: keeps the bracket,
+         * tests convergence and moves b to the next point.
+         *
+         * @return true if the instance has converged at b
+         */
+        private boolean step(int j, double absTol, double relTol, double fTol, boolean stepTest) {
+            if (fb[j] * fc[j] > 0) {
+                c[j] = a[j];
+                fc[j] = fa[j];
+                d[j] = b[j] - a[j];
+                e[j] = d[j];
+            }
+            if (Math.abs(fc[j]) < Math.abs(fb[j])) {
+                a[j] = b[j];
+                b[j] = c[j];
+                c[j] = a[j];
+                fa[j] = fb[j];
+                fb[j] = fc[j];
+                fc[j] = fa[j];
+            }
+
+            double bj = b[j];
+            double fbj = fb[j];
+            double tol1 = 2 * EPS * Math.abs(bj) + 0.5 * (absTol + relTol * Math.abs(bj));
+            double xm = 0.5 * (c[j] - bj);
+            if (fbj == 0 || Math.abs(fbj) <= fTol
+                    || stepTest && Math.abs(c[j] - bj) <= absTol + relTol * Math.abs(bj)
+                    || Math.abs(xm) <= 2 * EPS * Math.abs(bj) || Math.abs(xm) <= Double.MIN_NORMAL) {
+                return true;
+            }
+
+            double dj = xm;
+            double ej = xm;
+            if (Math.abs(e[j]) >= tol1 && Math.abs(fa[j]) > Math.abs(fbj)) {
+                double s = fbj / fa[j];
+                double p, q;
+                if (a[j] == c[j]) {
+                    p = 2 * xm * s;
+                    q = 1 - s;
+                } else {
+                    double r = fbj / fc[j];
+                    q = fa[j] / fc[j];
+                    p = s * (2 * xm * q * (q - r) - (bj - a[j]) * (r - 1));
+                    q = (q - 1) * (r - 1) * (s - 1);
+                }
+                if (p > 0) {
+                    q = -q;
+                } else {
+                    p = -p;
+                }
+                if (2 * p < Math.min(3 * xm * q - Math.abs(tol1 * q), Math.abs(e[j] * q))) {
+                    ej = d[j];
+                    dj = p / q;
+                }
+            }
+            d[j] = dj;
+            e[j] = ej;
+            a[j] = bj;
+            fa[j] = fbj;
+            b[j] = bj + (Math.abs(dj) > tol1 ? dj : Math.copySign(tol1, xm));
+            return false;
+        }
+
+        private void finish(int j, double root, double value, int iteration, byte status) {
+            int i = from + j;
+            roots[i] = root;
+            values[i] = value;
+            iterations[i] = iteration;
+            statuses[i] = status;
+        }
+    }
+}
@@ -0,0 +1,91 @@
+package com.ipn.metodosnumericosnvo.math;
+
+import java.util.Arrays;
+
+/**
+ * A function of x and named parameters, compiled once by
+ * {@link ExpressionCompiler#compileParametric(String, String...)}.
+ * Instances are immutable and can be shared between threads.
+ */
+public final class ParametricFunction {
+
+    private final ExpressionProgram program;
+    private final String[] parameters;
+
+    ParametricFunction(ExpressionProgram program, String[] parameters) {
+        this.program = program;
+        this.parameters = parameters;
+    }
+
+    /**
+     * Gets the function text this function was compiled from.
+     */
+    public String getSource() {
+        return program.getSource();
+    }
+
+    /**
+     * Gets the parameter names, in the order their values are given.
+     */
+    public String[] getParameters() {
+        return parameters.clone();
+    }
+
+    public int getParameterCount() {
+        return parameters.length;
+    }
+
+    /**
+     * Evaluates the function.
+     *
+     * @param x The x value
+     * @param values The parameter values, in the order of {@link #getParameters()}
+     * @return The function value
+     */
+    public double evaluate(double x, double... values) {
+        checkCount(values);
+        return program.evaluate(x, values);
+    }
+
+    /**
+     * Fixes the parameters, giving a function of x that any root solver or evaluator accepts.
+     *
+     * @param values The parameter values, in the order of {@link #getParameters()}
+     * @return The function of x
+     */
+    public CompiledFunction bind(double... values) {
+        checkCount(values);
+        double[] bound = values.clone();
+        String source = getSource() + " " + Arrays.toString(bound);
+        return new CompiledFunction() {
+            @Override
+            public double applyAsDouble(double x) {
+                return program.evaluate(x, bound);
+            }
+
+            @Override
+            public String getSource() {
+                return source;
+            }
+        };
+    }
+
+    /**
+     * Evaluates many instances in lockstep; see {@link ExpressionProgram#evaluateLanes}.
+     */
+    void evaluateLanes(double[] x, double[][] columns, int[] instance, int lanes, double[] out) {
+        program.evaluateLanes(x, columns, instance, lanes, out);
+    }
+
+    private void checkCount(double[] values) {
+        if (values.length != parameters.length) {
+            throw new IllegalArgumentException("Se esperaban " + parameters.length + " valores de parámetros y se recibieron "
+                    + values.length);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return getSource();
+    }
+}
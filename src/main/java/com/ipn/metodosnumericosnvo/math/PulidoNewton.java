@@ -0,0 +1,218 @@
+package com.ipn.metodosnumericosnvo.math;
+
+import org.apache.commons.math3.complex.Complex;
+
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.IntStream;
+
+/**
+ * Pulido de raíces de un polinomio con unas pocas iteraciones de Newton sobre el polinomio
+ * original.
+ *
+ * Las raíces de la matriz compañera, y más aún las de la deflación (cada división sintética
+ * arrastra el error de las raíces anteriores), pierden dígitos en polinomios de grado alto o
+ * con raíces agrupadas. Cada iteración evalúa p y p' con Horner en O(n), así que pulir m raíces
+ * cuesta a lo más m · maxIteraciones evaluaciones de Horner, mucho menos que volver a resolver
+ * con más precisión. Las raíces son independientes y se pulen en paralelo.
+ *
+ * Un paso de Newton solo se acepta si reduce el residuo, y una raíz deja de pulirse cuando un
+ * paso ya no lo reduce, cuando el paso es menor que EPS · |z| o cuando se acaba su presupuesto
+ * de iteraciones. Un residuo pequeño no basta para detenerse: en raíces mal condicionadas
+ * |p(z)| puede estar cerca del error de redondeo y z todavía lejos de la raíz. Para |z| > 1 se
+ * evalúa el polinomio invertido, como en {@link AberthEhrlich}, para no desbordar z^n.
+ */
+public class PulidoNewton {
+
+    /** Iteraciones de Newton por raíz por omisión. */
+    public static final int MAX_ITERACIONES = 5;
+
+    // Evaluaciones de Horner (raíces × grado) a partir de las cuales se reparten entre los núcleos
+    private static final int COSTO_PARALELO = 1 << 16;
+
+    // Raíces que pule cada tarea como mínimo
+    private static final int RAICES_POR_TAREA = 32;
+
+    private static final double EPS = Math.ulp(1.0);
+
+    private final int maxIteraciones;
+
+    public PulidoNewton() {
+        this(MAX_ITERACIONES);
+    }
+
+    /**
+     * @param maxIteraciones Presupuesto de iteraciones de Newton por raíz; cero solo calcula
+     *                       los residuos y los números de condición
+     */
+    public PulidoNewton(int maxIteraciones) {
+        if (maxIteraciones < 0) {
+            throw new IllegalArgumentException("El número máximo de iteraciones no puede ser negativo");
+        }
+        this.maxIteraciones = maxIteraciones;
+    }
+
+    /**
+     * Pule las raíces aproximadas de un polinomio.
+     *
+     * @param coeffs Coeficientes del polinomio original, ordenados de mayor a menor grado
+     * @param raices Raíces aproximadas
+     * @return Las raíces pulidas con su residuo, su número de condición y las iteraciones hechas
+     */
+    public RaicesPulidas pulir(double[] coeffs, List<Complex> raices) {
+        double[] re = new double[raices.size()];
+        double[] im = new double[raices.size()];
+        for (int k = 0; k < re.length; k++) {
+            re[k] = raices.get(k).getReal();
+            im[k] = raices.get(k).getImaginary();
+        }
+        return pulir(coeffs, re, im);
+    }
+
+    /**
+     * Pule las raíces aproximadas de un polinomio, dadas en arreglos primitivos. Los arreglos
+     * no se modifican.
+     *
+     * @param coeffs Coeficientes del polinomio original, ordenados de mayor a menor grado
+     * @param re Parte real de cada raíz
+     * @param im Parte imaginaria de cada raíz
+     * @return Las raíces pulidas con su residuo, su número de condición y las iteraciones hechas
+     */
+    public RaicesPulidas pulir(double[] coeffs, double[] re, double[] im) {
+        if (re.length != im.length) {
+            throw new IllegalArgumentException("Las partes real e imaginaria deben tener la misma longitud");
+        }
+        int inicio = 0;
+        while (inicio < coeffs.length && coeffs[inicio] == 0) {
+            inicio++;
+        }
+        if (inicio == coeffs.length) {
+            throw new IllegalArgumentException("El polinomio no puede tener todos sus coeficientes en cero");
+        }
+        int n = coeffs.length - 1 - inicio;
+        // a[i] es el coeficiente de x^i
+        double[] a = new double[n + 1];
+        for (int i = 0; i <= n; i++) {
+            a[i] = coeffs[inicio + n - i];
+        }
+
+        int m = re.length;
+        RaicesPulidas resultado = new RaicesPulidas(re.clone(), im.clone(), new double[m], new double[m], new int[m]);
+        int tareas = tareas(m, n);
+        if (tareas == 1) {
+            pulir(a, resultado, 0, m);
+        } else {
+            IntStream.range(0, tareas).parallel().forEach(tarea -> pulir(a, resultado,
+                    (int) ((long) m * tarea / tareas), (int) ((long) m * (tarea + 1) / tareas)));
+        }
+        return resultado;
+    }
+
+    public int getMaxIteraciones() {
+        return maxIteraciones;
+    }
+
+    private static int tareas(int raices, int grado) {
+        int nucleos = ForkJoinPool.getCommonPoolParallelism();
+        if ((long) raices * (grado + 1) < COSTO_PARALELO || nucleos < 2) {
+            return 1;
+        }
+        return Math.max(1, Math.min(nucleos * 4, raices / RAICES_POR_TAREA));
+    }
+
+    /**
+     * Pule las raíces [desde, hasta). Solo escribe en los índices de su tramo.
+     */
+    private void pulir(double[] a, RaicesPulidas r, int desde, int hasta) {
+        double[] evaluacion = new double[4];
+        for (int k = desde; k < hasta; k++) {
+            double zr = r.real[k];
+            double zi = r.imaginaria[k];
+            evaluar(a, zr, zi, evaluacion);
+            int iteraciones = 0;
+            while (iteraciones < maxIteraciones) {
+                double dr = evaluacion[2], di = evaluacion[3];
+                if (!Double.isFinite(dr) || !Double.isFinite(di)) {
+                    break;
+                }
+                double nr = zr - dr;
+                double ni = zi - di;
+                double residuo = evaluacion[0];
+                double condicion = evaluacion[1];
+                evaluar(a, nr, ni, evaluacion);
+                iteraciones++;
+                if (!(evaluacion[0] < residuo)) {
+                    // El paso no mejora: se queda la aproximación anterior
+                    evaluacion[0] = residuo;
+                    evaluacion[1] = condicion;
+                    break;
+                }
+                zr = nr;
+                zi = ni;
+                if (Math.abs(dr) + Math.abs(di) <= EPS * (Math.abs(zr) + Math.abs(zi))) {
+                    break;
+                }
+            }
+            r.real[k] = zr;
+            r.imaginaria[k] = zi;
+            r.residuos[k] = evaluacion[0];
+            r.condiciones[k] = evaluacion[1];
+            r.iteraciones[k] = iteraciones;
+        }
+    }
+
+    /**
+     * Evalúa p en z con Horner y deja en e: el residuo relativo |p(z)| / Σ|a_i||z|^i, el número
+     * de condición Σ|a_i||z|^i / |z·p'(z)| y el paso de Newton p(z)/p'(z) (real e imaginaria).
+     * Si |z| > 1 se usa p(z) = z^n·q(1/z), con q de coeficientes invertidos, y las mismas
+     * cantidades salen de q sin calcular z^n.
+     */
+    private static void evaluar(double[] a, double zr, double zi, double[] e) {
+        int n = a.length - 1;
+        double modulo = Math.hypot(zr, zi);
+        if (modulo <= 1) {
+            double pr = a[n], pi = 0, dr = 0, di = 0, cota = Math.abs(a[n]);
+            for (int i = n - 1; i >= 0; i--) {
+                double t = dr * zr - di * zi + pr;
+                di = dr * zi + di * zr + pi;
+                dr = t;
+                t = pr * zr - pi * zi + a[i];
+                pi = pr * zi + pi * zr;
+                pr = t;
+                cota = cota * modulo + Math.abs(a[i]);
+            }
+            double derivada = Math.hypot(dr, di);
+            e[0] = Math.hypot(pr, pi) / cota;
+            e[1] = cota / (modulo * derivada);
+            double den = dr * dr + di * di;
+            e[2] = (pr * dr + pi * di) / den;
+            e[3] = (pi * dr - pr * di) / den;
+        } else {
+            // w = 1/z; p'(z)·z = z^n·(n·q(w) - w·q'(w))
+            double wr = zr / (modulo * modulo);
+            double wi = -zi / (modulo * modulo);
+            double inverso = 1 / modulo;
+            double qr = a[0], qi = 0, dr = 0, di = 0, cota = Math.abs(a[0]);
+            for (int i = 1; i <= n; i++) {
+                double t = dr * wr - di * wi + qr;
+                di = dr * wi + di * wr + qi;
+                dr = t;
+                t = qr * wr - qi * wi + a[i];
+                qi = qr * wi + qi * wr;
+                qr = t;
+                cota = cota * inverso + Math.abs(a[i]);
+            }
+            // s = n·q - w·q'
+            double sr = n * qr - (wr * dr - wi * di);
+            double si = n * qi - (wr * di + wi * dr);
+            e[0] = Math.hypot(qr, qi) / cota;
+            e[1] = cota / Math.hypot(sr, si);
+            // p/p' = z·q / s
+            double den = sr * sr + si * si;
+            double cr = (qr * sr + qi * si) / den;
+            double ci = (qi * sr - qr * si) / den;
+            e[2] = zr * cr - zi * ci;
+            e[3] = zr * ci + zi * cr;
+        }
+    }
+}
@@ -0,0 +1,593 @@
+package com.ipn.metodosnumericosnvo.math;
+
+import org.apache.commons.math3.complex.Complex;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Valores propios de la matriz compañera con un QR que aprovecha su estructura.
+ *
+ * La matriz compañera A (n×n, Hessenberg superior) se guarda factorizada como A = Q·R:
+ * Q es un producto descendente de n - 1 rotaciones 2×2 (transformaciones núcleo) y R es
+ * triangular superior, unitaria más rango uno. Extendida a (n+1)×(n+1), R = C*·(B + α·e1·yᵀ)
+ * con C y B productos descendentes de n rotaciones cada uno. Así A ocupa O(n) memoria y no
+ * se forma ninguna matriz densa.
+ *
+ * Cada paso de QR con desplazamiento simple (complejo, de Wilkinson) introduce una rotación
+ * arriba de la ventana activa y la persigue hasta abajo. Pasar una rotación a través de R
+ * son dos intercambios ("turnovers") de tres rotaciones, uno en B y otro en C. Fusionarla
+ * con Q es otro intercambio. Un paso cuesta O(n) y se necesitan O(n) pasos, así que el
+ * total es O(n^2). Las entradas de R que hacen falta (la diagonal y el bloque para el
+ * desplazamiento) se recuperan de las rotaciones de B y C.
+ *
+ * El algoritmo sigue a Aurentz, Mach, Vandebril y Watkins, "Fast and backward stable
+ * computation of roots of polynomials" (SIAM J. Matrix Anal. Appl., 2015), en su versión
+ * compleja de desplazamiento simple.
+ */
+public class QRCompaniona {
+
+    /** Pasos de QR permitidos por raíz antes de declarar que no converge. */
+    public static final int MAX_PASOS_POR_RAIZ = 50;
+
+    private static final double EPS = Math.ulp(1.0);
+
+    // Fuera de este rango la suma de cuadrados de una rotación pudo desbordarse o perder dígitos
+    private static final double MINIMO_SIN_ESCALAR = 0x1p-500;
+    private static final double MAXIMO_SIN_ESCALAR = 0x1p500;
+
+    // Cada cuántos pasos sin deflación se usa un desplazamiento excepcional
+    private static final int PASOS_EXCEPCIONALES = 10;
+
+    // Rotaciones núcleo [[a, -conj(b)], [b, conj(a)]]: cuatro doubles (Re a, Im a, Re b, Im b) cada una
+    private double[] q;
+    private double[] b;
+    private double[] c;
+    private int n;
+
+    // Rotaciones que devuelven los intercambios y el paso por R
+    private final double[] g1 = new double[4];
+    private final double[] g2 = new double[4];
+    private final double[] g3 = new double[4];
+    private final double[] u = new double[4];
+
+    /**
+     * Encuentra las raíces de un polinomio.
+     *
+     * @param coeffs Coeficientes del polinomio, ordenados de mayor a menor grado
+     * @return Lista de raíces complejas del polinomio
+     */
+    public List<Complex> findRoots(double[] coeffs) {
+        int grado = grado(coeffs);
+        double[] re = new double[grado];
+        double[] im = new double[grado];
+        resolver(coeffs, re, im);
+        List<Complex> raices = new ArrayList<>(grado);
+        for (int k = 0; k < grado; k++) {
+            raices.add(new Complex(re[k], im[k]));
+        }
+        return raices;
+    }
+
+    /**
+     * Encuentra las raíces de un polinomio en arreglos primitivos.
+     * Los ceros iniciales de los coeficientes se ignoran y los ceros finales dan raíces
+     * exactamente en cero.
+     *
+     * @param coeffs Coeficientes del polinomio, ordenados de mayor a menor grado
+     * @param re Recibe la parte real de cada raíz; debe tener al menos tantos elementos como el grado
+     * @param im Recibe la parte imaginaria de cada raíz
+     * @return El número de pasos de QR
+     * @throws ArithmeticException Si el QR no converge
+     */
+    public int resolver(double[] coeffs, double[] re, double[] im) {
+        int grado = grado(coeffs);
+        if (re.length < grado || im.length < grado) {
+            throw new IllegalArgumentException("Los arreglos de raíces deben tener al menos " + grado + " elementos");
+        }
+        int inicio = 0;
+        while (coeffs[inicio] == 0) {
+            inicio++;
+        }
+        int ceros = 0;
+        while (coeffs[coeffs.length - 1 - ceros] == 0) {
+            ceros++;
+        }
+        n = grado - ceros;
+        for (int k = n; k < grado; k++) {
+            re[k] = 0;
+            im[k] = 0;
+        }
+        if (n == 0) {
+            return 0;
+        }
+        if (n == 1) {
+            re[0] = -coeffs[inicio + 1] / coeffs[inicio];
+            im[0] = 0;
+            return 0;
+        }
+
+        int exponente = factorizar(coeffs, inicio);
+        int pasos = iterar();
+        for (int k = 0; k < n; k++) {
+            // λ_k = A[k][k] = Q[k][k]·R[k][k] una vez que Q es diagonal
+            double dr = 1, di = 0;
+            if (k > 0) {
+                dr = q[4 * (k - 1)];
+                di = -q[4 * (k - 1) + 1];
+            }
+            if (k < n - 1) {
+                double t = dr * q[4 * k] - di * q[4 * k + 1];
+                di = dr * q[4 * k + 1] + di * q[4 * k];
+                dr = t;
+            }
+            double[] r = diagonalR(k);
+            re[k] = Math.scalb(dr * r[0] - di * r[1], exponente);
+            im[k] = Math.scalb(dr * r[1] + di * r[0], exponente);
+        }
+        q = null;
+        b = null;
+        c = null;
+        return pasos;
+    }
+
+    private static int grado(double[] coeffs) {
+        int inicio = 0;
+        while (inicio < coeffs.length && coeffs[inicio] == 0) {
+            inicio++;
+        }
+        if (inicio == coeffs.length) {
+            throw new IllegalArgumentException("El polinomio no puede tener todos sus coeficientes en cero");
+        }
+        return coeffs.length - 1 - inicio;
+    }
+
+    /**
+     * Factoriza la matriz compañera del polinomio mónico x^n + a_{n-1}x^{n-1} + ... + a_0,
+     * con la última columna -a: Q es el corrimiento cíclico (rotaciones [[0, -1], [1, 0]])
+     * y R = Q*·A es la identidad salvo su última columna r. En dimensión n + 1,
+     * R extendida = P + x·e_nᵀ con x = (r, 1) y P unitaria; C lleva x a α·e1 y B = C·P.
+     *
+     * Antes el polinomio se escala con x = 2^e·y para que sus raíces tengan módulo típico
+     * cercano a 1: el QR es estable respecto a la norma de los coeficientes, y sin escalar
+     * los coeficientes grandes ahogan a los pequeños.
+     *
+     * @return El exponente e por el que hay que escalar las raíces
+     */
+    private int factorizar(double[] coeffs, int inicio) {
+        double principal = coeffs[inicio];
+        // a[i] es el coeficiente de y^i del polinomio mónico escalado: a_i·2^(e·(i - n))
+        int exponente = (int) Math.round((Math.log(Math.abs(coeffs[inicio + n] / principal)) / Math.log(2)) / n);
+        double[] a = new double[n];
+        for (int i = 0; i < n; i++) {
+            a[i] = Math.scalb(coeffs[inicio + n - i] / principal, exponente * (i - n));
+        }
+
+        q = new double[4 * (n - 1)];
+        for (int k = 0; k < n - 1; k++) {
+            q[4 * k + 2] = 1;
+        }
+
+        // x = (-a_1, ..., -a_{n-1}, (-1)^n·a_0, 1)
+        double[] x = new double[n + 1];
+        for (int j = 0; j < n - 1; j++) {
+            x[j] = -a[j + 1];
+        }
+        x[n - 1] = (n % 2 == 0 ? 1 : -1) * a[0];
+        x[n] = 1;
+
+        // C_k lleva (x_k, resto) a (norma, 0), de abajo hacia arriba; x es real
+        c = new double[4 * n];
+        double resto = x[n];
+        for (int k = n - 1; k >= 0; k--) {
+            double norma = Math.hypot(x[k], resto);
+            // C_k = G* con G·e1 = (x_k, resto)/norma: a = x_k/norma, b = -resto/norma
+            c[4 * k] = x[k] / norma;
+            c[4 * k + 2] = -resto / norma;
+            resto = norma;
+        }
+
+        // B = C·P: igual a C salvo B_{n-1} = C_{n-1}·[[0, 1], [-1, 0]]
+        b = c.clone();
+        double ar = c[4 * (n - 1)], ai = c[4 * (n - 1) + 1];
+        double br = c[4 * (n - 1) + 2], bi = c[4 * (n - 1) + 3];
+        // [[a, -conj(b)], [b, conj(a)]]·[[0, 1], [-1, 0]] = [[conj(b), a], [-conj(a), b]]
+        b[4 * (n - 1)] = br;
+        b[4 * (n - 1) + 1] = -bi;
+        b[4 * (n - 1) + 2] = -ar;
+        b[4 * (n - 1) + 3] = ai;
+        return exponente;
+    }
+
+    /**
+     * Pasos de QR sobre la ventana activa hasta que todas las rotaciones de Q son diagonales.
+     */
+    private int iterar() {
+        int limite = MAX_PASOS_POR_RAIZ * n;
+        int pasos = 0;
+        int sinDeflacion = 0;
+        int fin = n - 1;
+        double[] mu = new double[2];
+        while (fin > 0) {
+            if (despreciable(fin - 1)) {
+                deflactar(fin - 1);
+                fin--;
+                sinDeflacion = 0;
+                continue;
+            }
+            int inicio = fin - 1;
+            while (inicio > 0 && !despreciable(inicio - 1)) {
+                inicio--;
+            }
+            if (inicio > 0) {
+                deflactar(inicio - 1);
+            }
+            if (++pasos > limite) {
+                throw new ArithmeticException("El QR de la matriz compañera no converge después de " + limite + " pasos");
+            }
+            sinDeflacion++;
+            if (sinDeflacion % PASOS_EXCEPCIONALES == 0) {
+                desplazamientoExcepcional(fin, sinDeflacion, mu);
+            } else {
+                desplazamientoWilkinson(fin, mu);
+            }
+            paso(inicio, fin, mu[0], mu[1]);
+        }
+        return pasos;
+    }
+
+    private boolean despreciable(int k) {
+        return q[4 * k + 2] * q[4 * k + 2] + q[4 * k + 3] * q[4 * k + 3] < EPS * EPS;
+    }
+
+    /**
+     * Hace diagonal la rotación k de Q: la subdiagonal de A en esa posición es cero.
+     */
+    private void deflactar(int k) {
+        double norma = Math.hypot(q[4 * k], q[4 * k + 1]);
+        q[4 * k] /= norma;
+        q[4 * k + 1] /= norma;
+        q[4 * k + 2] = 0;
+        q[4 * k + 3] = 0;
+    }
+
+    /**
+     * Paso de QR con desplazamiento mu sobre las filas y columnas [inicio, fin].
+     */
+    private void paso(int inicio, int fin, double mur, double mui) {
+        // Primera columna de A - mu·I: (R[s][s]·Q[s][s] - mu, R[s][s]·Q[s+1][s])
+        double[] r = diagonalR(inicio);
+        double qr = q[4 * inicio], qi = q[4 * inicio + 1];
+        if (inicio > 0) {
+            double pr = q[4 * (inicio - 1)], pi = -q[4 * (inicio - 1) + 1];
+            double t = pr * qr - pi * qi;
+            qi = pr * qi + pi * qr;
+            qr = t;
+        }
+        double x0r = r[0] * qr - r[1] * qi - mur;
+        double x0i = r[0] * qi + r[1] * qr - mui;
+        double sr = q[4 * inicio + 2], si = q[4 * inicio + 3];
+        double x1r = r[0] * sr - r[1] * si;
+        double x1i = r[0] * si + r[1] * sr;
+        nucleo(x0r, x0i, x1r, x1i, u);
+
+        // U* entra por la izquierda: pasa la rotación diagonal de arriba y se fusiona con Q_inicio
+        double ar = u[0], ai = -u[1], br = -u[2], bi = -u[3];
+        if (inicio > 0) {
+            // Q_{inicio-1} = diag(d, conj(d)) multiplica la fila inicio por conj(d): b ← b·conj(d)
+            double dr = q[4 * (inicio - 1)], di = q[4 * (inicio - 1) + 1];
+            double t = br * dr + bi * di;
+            bi = bi * dr - br * di;
+            br = t;
+        }
+        fusionarIzquierda(q, inicio, ar, ai, br, bi);
+
+        // U sale por la derecha: se persigue a través de R y de Q hasta el final de la ventana
+        for (int i = inicio; i < fin; i++) {
+            pasarPorR(i);
+            if (i < fin - 1) {
+                // Q_i·Q_{i+1}·V_i = W_{i+1}·Q_i'·Q_{i+1}'; W se elimina con la siguiente semejanza
+                int o = 4 * i;
+                intercambio(q[o], q[o + 1], q[o + 2], q[o + 3], q[o + 4], q[o + 5], q[o + 6], q[o + 7],
+                        u[0], u[1], u[2], u[3]);
+                guardar(q, i, g2);
+                guardar(q, i + 1, g3);
+                System.arraycopy(g1, 0, u, 0, 4);
+            } else {
+                ar = u[0];
+                ai = u[1];
+                br = u[2];
+                bi = u[3];
+                if (fin < n - 1) {
+                    // Q_fin = diag(d, conj(d)) multiplica la fila fin por d: b ← d·b
+                    double dr = q[4 * fin], di = q[4 * fin + 1];
+                    double t = dr * br - di * bi;
+                    bi = dr * bi + di * br;
+                    br = t;
+                }
+                fusionarDerecha(q, fin - 1, ar, ai, br, bi);
+            }
+        }
+    }
+
+    /**
+     * Pasa la rotación u (columnas i, i+1) a través de R: R·U = V·R', y deja V en u.
+     */
+    private void pasarPorR(int i) {
+        int o = 4 * i;
+        // B_i·B_{i+1}·U_i = U'_{i+1}·B_i'·B_{i+1}'
+        intercambio(b[o], b[o + 1], b[o + 2], b[o + 3], b[o + 4], b[o + 5], b[o + 6], b[o + 7],
+                u[0], u[1], u[2], u[3]);
+        guardar(b, i, g2);
+        guardar(b, i + 1, g3);
+
+        // C*_{i+1}·C*_i·U'_{i+1} = V_i·X_{i+1}·Y_i, con C_{i+1} = X* y C_i = Y*. Invertir el
+        // orden de las filas (J·M·J) lo vuelve un intercambio de la otra forma: una rotación
+        // [[a, -conj(b)], [b, conj(a)]] pasa a [[conj(a), b], [-conj(b), a]]. Así C*_k reflejada
+        // es (a, conj(b)), U' reflejada es (conj(a), -conj(b)), y lo mismo al volver.
+        intercambio(c[o + 4], c[o + 5], c[o + 6], -c[o + 7], c[o], c[o + 1], c[o + 2], -c[o + 3],
+                g1[0], -g1[1], -g1[2], g1[3]);
+        c[o + 4] = g2[0];
+        c[o + 5] = g2[1];
+        c[o + 6] = g2[2];
+        c[o + 7] = -g2[3];
+        c[o] = g3[0];
+        c[o + 1] = g3[1];
+        c[o + 2] = g3[2];
+        c[o + 3] = -g3[3];
+        u[0] = g1[0];
+        u[1] = -g1[1];
+        u[2] = -g1[2];
+        u[3] = g1[3];
+    }
+
+    /**
+     * Intercambio G_0·H_1·K_0 = K'_1·G'_0·H'_1 (los subíndices son la primera fila de cada
+     * rotación): recibe (a, b) de G, H y K y devuelve K' en g1, G' en g2 y H' en g3.
+     *
+     * Solo hacen falta las dos primeras columnas de M = G·H·K: K' anula M[2][0], G' anula lo
+     * que queda de M[1][0] y H' es el bloque que sobra de la segunda columna.
+     */
+    private void intercambio(double gar, double gai, double gbr, double gbi,
+                             double har, double hai, double hbr, double hbi,
+                             double kar, double kai, double kbr, double kbi) {
+        // Primera columna: (ga·ka - conj(gb)·t, gb·ka + conj(ga)·t, hb·kb) con t = ha·kb
+        double tr = har * kbr - hai * kbi, ti = har * kbi + hai * kbr;
+        double m00r = gar * kar - gai * kai - (gbr * tr + gbi * ti);
+        double m00i = gar * kai + gai * kar - (gbr * ti - gbi * tr);
+        double m10r = gbr * kar - gbi * kai + (gar * tr + gai * ti);
+        double m10i = gbr * kai + gbi * kar + (gar * ti - gai * tr);
+        double m20r = hbr * kbr - hbi * kbi, m20i = hbr * kbi + hbi * kbr;
+        // Segunda columna: (-ga·conj(kb) - conj(gb)·s, -gb·conj(kb) + conj(ga)·s, hb·conj(ka)) con s = ha·conj(ka)
+        double sr = har * kar + hai * kai, si = hai * kar - har * kai;
+        double m01r = -(gar * kbr + gai * kbi) - (gbr * sr + gbi * si);
+        double m01i = -(gai * kbr - gar * kbi) - (gbr * si - gbi * sr);
+        double m11r = -(gbr * kbr + gbi * kbi) + (gar * sr + gai * si);
+        double m11i = -(gbi * kbr - gbr * kbi) + (gar * si - gai * sr);
+        double m21r = hbr * kar + hbi * kai, m21i = hbi * kar - hbr * kai;
+
+        nucleo(m10r, m10i, m20r, m20i, g1);
+        double aar = g1[0], aai = g1[1], abr = g1[2], abi = g1[3];
+        double rho = (aar * m10r + aai * m10i) + (abr * m20r + abi * m20i);
+        // K'* sobre las filas 1 y 2 de la segunda columna
+        double n11r = (aar * m11r + aai * m11i) + (abr * m21r + abi * m21i);
+        double n11i = (aar * m11i - aai * m11r) + (abr * m21i - abi * m21r);
+        double n21r = -(abr * m11r - abi * m11i) + (aar * m21r - aai * m21i);
+        double n21i = -(abr * m11i + abi * m11r) + (aar * m21i + aai * m21r);
+
+        nucleo(m00r, m00i, rho, 0, g2);
+        double bar = g2[0], bai = g2[1], bbr = g2[2], bbi = g2[3];
+        // G'* sobre las filas 0 y 1 de la segunda columna: fila 1 = -b·m01 + a·n11
+        double c1r = -(bbr * m01r - bbi * m01i) + (bar * n11r - bai * n11i);
+        double c1i = -(bbr * m01i + bbi * m01r) + (bar * n11i + bai * n11r);
+        nucleo(c1r, c1i, n21r, n21i, g3);
+    }
+
+    /**
+     * Entradas R[j][j] a partir de las rotaciones: la fila j+1 de C·R·e_j = B·e_j + α·y_j·e1
+     * da β^C_j·R[j][j] = β^B_j.
+     */
+    private double[] diagonalR(int j) {
+        return cociente(b[4 * j + 2], b[4 * j + 3], c[4 * j + 2], c[4 * j + 3]);
+    }
+
+    /**
+     * Columna j de R en las filas j-2, j-1 y j (las que existan), por sustitución hacia arriba
+     * en C·R·e_j = B·e_j + α·y_j·e1. Devuelve (Re, Im) de cada fila, empezando por la fila j.
+     */
+    private double[] columnaR(int j, int filas) {
+        double[] z = new double[2 * filas];
+        double[] d = diagonalR(j);
+        z[0] = d[0];
+        z[1] = d[1];
+        // Lo que queda en la fila j después de aplicar C_j a (z_j, 0) y B_j a (1, 0)
+        double cr = c[4 * j] * d[0] - c[4 * j + 1] * d[1];
+        double ci = c[4 * j] * d[1] + c[4 * j + 1] * d[0];
+        double br = b[4 * j], bi = b[4 * j + 1];
+        for (int t = 1; t < filas && j - t >= 0; t++) {
+            int k = j - t;
+            double cAr = c[4 * k], cAi = c[4 * k + 1], cBr = c[4 * k + 2], cBi = c[4 * k + 3];
+            double bAr = b[4 * k], bAi = b[4 * k + 1], bBr = b[4 * k + 2], bBi = b[4 * k + 3];
+            // β^C_k·z_k + conj(α^C_k)·carryC = conj(α^B_k)·carryB
+            double nr = (bAr * br + bAi * bi) - (cAr * cr + cAi * ci);
+            double ni = (bAr * bi - bAi * br) - (cAr * ci - cAi * cr);
+            double[] zk = cociente(nr, ni, cBr, cBi);
+            z[2 * t] = zk[0];
+            z[2 * t + 1] = zk[1];
+            // carryC = α^C_k·z_k - conj(β^C_k)·carryC; carryB = -conj(β^B_k)·carryB
+            double tr = cAr * zk[0] - cAi * zk[1] - (cBr * cr + cBi * ci);
+            double ti = cAr * zk[1] + cAi * zk[0] - (cBr * ci - cBi * cr);
+            cr = tr;
+            ci = ti;
+            tr = -(bBr * br + bBi * bi);
+            ti = -(bBr * bi - bBi * br);
+            br = tr;
+            bi = ti;
+        }
+        return z;
+    }
+
+    /**
+     * Valor propio del bloque 2×2 final de la ventana más cercano a su esquina inferior.
+     */
+    private void desplazamientoWilkinson(int fin, double[] mu) {
+        // Bloque de A en las filas y columnas fin-1, fin: Q[fin-1..fin][fin-2..fin]·R[fin-2..fin][fin-1..fin]
+        int e = fin;
+        double[] col1 = columnaR(e - 1, 2);   // R[e-1][e-1], R[e-2][e-1]
+        double[] col2 = columnaR(e, 3);       // R[e][e], R[e-1][e], R[e-2][e]
+
+        // Entradas de Q: Q[k+1][k] = b_k, Q[k][k] = conj(a_{k-1})·a_k, Q[k-1][k] = -conj(a_{k-2})·conj(b_{k-1})·a_k
+        double aer = 1, aei = 0;
+        if (e < n - 1) {
+            aer = q[4 * e];
+            aei = q[4 * e + 1];
+        }
+        double a1r = q[4 * (e - 1)], a1i = q[4 * (e - 1) + 1];
+        double b1r = q[4 * (e - 1) + 2], b1i = q[4 * (e - 1) + 3];
+        double a2r = 1, a2i = 0, b2r = 0, b2i = 0;
+        if (e >= 2) {
+            a2r = q[4 * (e - 2)];
+            a2i = q[4 * (e - 2) + 1];
+            b2r = q[4 * (e - 2) + 2];
+            b2i = q[4 * (e - 2) + 3];
+        }
+        // Fila e: (0, b1, conj(a1)·ae)
+        double qeer = a1r * aer + a1i * aei, qeei = a1r * aei - a1i * aer;
+        // Fila e-1: (b2, conj(a2)·a1, -conj(a2)·conj(b1)·ae)
+        double q11r = a2r * a1r + a2i * a1i, q11i = a2r * a1i - a2i * a1r;
+        double pr = a2r * b1r - a2i * b1i, pi = -(a2r * b1i + a2i * b1r);   // conj(a2)·conj(b1)
+        double q12r = -(pr * aer - pi * aei), q12i = -(pr * aei + pi * aer);
+
+        double r11r = col1[0], r11i = col1[1];
+        double r01r = 0, r01i = 0;
+        double r22r = col2[0], r22i = col2[1], r12r = col2[2], r12i = col2[3];
+        double r02r = 0, r02i = 0;
+        if (e >= 2) {
+            r01r = col1[2];
+            r01i = col1[3];
+            r02r = col2[4];
+            r02i = col2[5];
+        }
+        // Filas de A (índice local: 0 = e-2, 1 = e-1, 2 = e)
+        // A[e-1][e-1] = b2·R[e-2][e-1] + q11·R[e-1][e-1]
+        double w = b2r * r01r - b2i * r01i + q11r * r11r - q11i * r11i;
+        double wi = b2r * r01i + b2i * r01r + q11r * r11i + q11i * r11r;
+        // A[e-1][e] = b2·R[e-2][e] + q11·R[e-1][e] + q12·R[e][e]
+        double x = b2r * r02r - b2i * r02i + q11r * r12r - q11i * r12i + q12r * r22r - q12i * r22i;
+        double xi = b2r * r02i + b2i * r02r + q11r * r12i + q11i * r12r + q12r * r22i + q12i * r22r;
+        // A[e][e-1] = b1·R[e-1][e-1]
+        double y = b1r * r11r - b1i * r11i;
+        double yi = b1r * r11i + b1i * r11r;
+        // A[e][e] = b1·R[e-1][e] + qee·R[e][e]
+        double z = b1r * r12r - b1i * r12i + qeer * r22r - qeei * r22i;
+        double zi = b1r * r12i + b1i * r12r + qeer * r22i + qeei * r22r;
+
+        // λ = (w + z)/2 ± sqrt(((w - z)/2)^2 + x·y)
+        double hr = (w - z) / 2, hi = (wi - zi) / 2;
+        double dr = hr * hr - hi * hi + x * y - xi * yi;
+        double di = 2 * hr * hi + x * yi + xi * y;
+        double modulo = Math.hypot(dr, di);
+        double sr = Math.sqrt((modulo + Math.abs(dr)) / 2);
+        double si;
+        if (sr == 0) {
+            si = 0;
+        } else if (dr >= 0) {
+            si = di / (2 * sr);
+        } else {
+            si = sr;
+            sr = Math.abs(di) / (2 * si);
+            si = Math.copySign(si, di);
+        }
+        double mr1 = (w + z) / 2 + sr, mi1 = (wi + zi) / 2 + si;
+        double mr2 = (w + z) / 2 - sr, mi2 = (wi + zi) / 2 - si;
+        if (Math.hypot(mr1 - z, mi1 - zi) <= Math.hypot(mr2 - z, mi2 - zi)) {
+            mu[0] = mr1;
+            mu[1] = mi1;
+        } else {
+            mu[0] = mr2;
+            mu[1] = mi2;
+        }
+    }
+
+    /**
+     * Desplazamiento para salir de un ciclo: un punto de la circunferencia con el módulo de
+     * la esquina de la ventana, con un ángulo que cambia en cada intento.
+     */
+    private void desplazamientoExcepcional(int fin, int intento, double[] mu) {
+        double[] r = diagonalR(fin);
+        double modulo = Math.max(Math.hypot(r[0], r[1]), EPS);
+        double angulo = 2.3 * intento;
+        mu[0] = modulo * Math.cos(angulo);
+        mu[1] = modulo * Math.sin(angulo);
+    }
+
+    // ---- Rotaciones núcleo ----
+
+    /**
+     * Rotación cuya primera columna es (x, y) normalizado; la identidad si (x, y) es cero.
+     * Dentro de los intercambios (x, y) es parte de una columna unitaria y basta la suma de
+     * cuadrados; solo si es tan pequeña que pudo perder precisión se escala antes.
+     */
+    private static void nucleo(double xr, double xi, double yr, double yi, double[] g) {
+        double suma = xr * xr + xi * xi + yr * yr + yi * yi;
+        if (!(suma >= MINIMO_SIN_ESCALAR && suma <= MAXIMO_SIN_ESCALAR)) {
+            double escala = Math.max(Math.max(Math.abs(xr), Math.abs(xi)), Math.max(Math.abs(yr), Math.abs(yi)));
+            if (escala == 0) {
+                g[0] = 1;
+                g[1] = 0;
+                g[2] = 0;
+                g[3] = 0;
+                return;
+            }
+            xr /= escala;
+            xi /= escala;
+            yr /= escala;
+            yi /= escala;
+            suma = xr * xr + xi * xi + yr * yr + yi * yi;
+        }
+        double inverso = 1 / Math.sqrt(suma);
+        g[0] = xr * inverso;
+        g[1] = xi * inverso;
+        g[2] = yr * inverso;
+        g[3] = yi * inverso;
+    }
+
+    private static void guardar(double[] familia, int k, double[] g) {
+        System.arraycopy(g, 0, familia, 4 * k, 4);
+    }
+
+    /**
+     * familia[k] ← G·familia[k].
+     */
+    private static void fusionarIzquierda(double[] familia, int k, double ar, double ai, double br, double bi) {
+        double xr = familia[4 * k], xi = familia[4 * k + 1], yr = familia[4 * k + 2], yi = familia[4 * k + 3];
+        // Primera columna de G·X = G·(xa, xb) = (a·xa - conj(b)·xb, b·xa + conj(a)·xb)
+        double nar = ar * xr - ai * xi - (br * yr + bi * yi);
+        double nai = ar * xi + ai * xr - (br * yi - bi * yr);
+        double nbr = br * xr - bi * xi + (ar * yr + ai * yi);
+        double nbi = br * xi + bi * xr + (ar * yi - ai * yr);
+        double[] g = new double[4];
+        nucleo(nar, nai, nbr, nbi, g);
+        guardar(familia, k, g);
+    }
+
+    /**
+     * familia[k] ← familia[k]·G.
+     */
+    private static void fusionarDerecha(double[] familia, int k, double ar, double ai, double br, double bi) {
+        double xr = familia[4 * k], xi = familia[4 * k + 1], yr = familia[4 * k + 2], yi = familia[4 * k + 3];
+        // Primera columna de X·G = X·(a, b) = (xa·a - conj(xb)·b, xb·a + conj(xa)·b)
+        double nar = xr * ar - xi * ai - (yr * br + yi * bi);
+        double nai = xr * ai + xi * ar - (yr * bi - yi * br);
+        double nbr = yr * ar - yi * ai + (xr * br + xi * bi);
+        double nbi = yr * ai + yi * ar + (xr * bi - xi * br);
+        double[] g = new double[4];
+        nucleo(nar, nai, nbr, nbi, g);
+        guardar(familia, k, g);
+    }
+
+    private static double[] cociente(double xr, double xi, double yr, double yi) {
+        double den = yr * yr + yi * yi;
+        return new double[] {(xr * yr + xi * yi) / den, (xi * yr - xr * yi) / den};
+    }
+}
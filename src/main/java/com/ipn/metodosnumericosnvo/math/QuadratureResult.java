@@ -0,0 +1,72 @@
+package com.ipn.metodosnumericosnvo.math;
+
+/**
+ * Outcome of a {@link GaussKronrod} integration: the value, its error estimate, how much work
+ * it took and why the integration stopped.
+ */
+public final class QuadratureResult {
+
+    /**
+     * Why an integration stopped.
+     */
+    public enum Status {
+        /** The error estimate met the tolerance. */
+        CONVERGED,
+        /** The evaluation budget was used up. */
+        EVALUATION_LIMIT,
+        /** Every subinterval with a large error reached the depth limit or could not be split further. */
+        DEPTH_LIMIT,
+        /** The integrand gave a value that is not finite (NaN or infinite) somewhere in the range. */
+        NON_FINITE
+    }
+
+    private final double value;
+    private final double errorEstimate;
+    private final long evaluations;
+    private final int intervals;
+    private final Status status;
+
+    QuadratureResult(double value, double errorEstimate, long evaluations, int intervals, Status status) {
+        this.value = value;
+        this.errorEstimate = errorEstimate;
+        this.evaluations = evaluations;
+        this.intervals = intervals;
+        this.status = status;
+    }
+
+    public double getValue() {
+        return value;
+    }
+
+    /**
+     * Gets the estimated absolute error of the value.
+     */
+    public double getErrorEstimate() {
+        return errorEstimate;
+    }
+
+    public long getEvaluations() {
+        return evaluations;
+    }
+
+    /**
+     * Gets the number of subintervals the range ended up split into.
+     */
+    public int getIntervals() {
+        return intervals;
+    }
+
+    public Status getStatus() {
+        return status;
+    }
+
+    public boolean isConverged() {
+        return status == Status.CONVERGED;
+    }
+
+    @Override
+    public String toString() {
+        return "QuadratureResult[value=" + value + ", error=" + errorEstimate + ", evaluations=" + evaluations
+                + ", intervals=" + intervals + ", status=" + status + "]";
+    }
+}
@@ -0,0 +1,91 @@
+package com.ipn.metodosnumericosnvo.math;
+
+import org.apache.commons.math3.complex.Complex;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Resultado de {@link PulidoNewton}, en columnas: el índice k de cada arreglo es la raíz k.
+ * Los getters devuelven los arreglos mismos, no copias.
+ */
+public final class RaicesPulidas {
+
+    final double[] real;
+    final double[] imaginaria;
+    final double[] residuos;
+    final double[] condiciones;
+    final int[] iteraciones;
+
+    RaicesPulidas(double[] real, double[] imaginaria, double[] residuos, double[] condiciones, int[] iteraciones) {
+        this.real = real;
+        this.imaginaria = imaginaria;
+        this.residuos = residuos;
+        this.condiciones = condiciones;
+        this.iteraciones = iteraciones;
+    }
+
+    /**
+     * Obtiene el número de raíces.
+     */
+    public int size() {
+        return real.length;
+    }
+
+    public double[] getReal() {
+        return real;
+    }
+
+    public double[] getImaginaria() {
+        return imaginaria;
+    }
+
+    /**
+     * Obtiene las raíces pulidas como números complejos.
+     */
+    public List<Complex> getRaices() {
+        List<Complex> raices = new ArrayList<>(real.length);
+        for (int k = 0; k < real.length; k++) {
+            raices.add(new Complex(real[k], imaginaria[k]));
+        }
+        return raices;
+    }
+
+    /**
+     * Obtiene el residuo relativo de cada raíz, |p(z)| / Σ|a_i||z|^i: el error hacia atrás
+     * relativo en los coeficientes que explica la raíz. Del orden de n·ε significa que la raíz
+     * es tan buena como lo permite la aritmética.
+     */
+    public double[] getResiduos() {
+        return residuos;
+    }
+
+    /**
+     * Obtiene el número de condición de cada raíz, Σ|a_i||z|^i / |z·p'(z)|: cuánto se
+     * amplifica un error relativo en los coeficientes en el error relativo de la raíz. El
+     * producto residuo × condición estima el error relativo de la raíz. Es muy grande en
+     * raíces múltiples o agrupadas, e infinito en z = 0.
+     */
+    public double[] getCondiciones() {
+        return condiciones;
+    }
+
+    /**
+     * Obtiene las iteraciones de Newton hechas en cada raíz.
+     */
+    public int[] getIteraciones() {
+        return iteraciones;
+    }
+
+    /**
+     * Estima el error relativo de la raíz k como residuo × condición.
+     */
+    public double getErrorEstimado(int k) {
+        return residuos[k] * condiciones[k];
+    }
+
+    @Override
+    public String toString() {
+        return "RaicesPulidas[raices=" + size() + "]";
+    }
+}
@@ -1,11 +1,14 @@
 package com.ipn.metodosnumericosnvo.math;
 
-import java.util.ArrayList;
-import java.util.List;
+import com.ipn.metodosnumericosnvo.metodos_raices.Biseccion;
+import com.ipn.metodosnumericosnvo.metodos_raices.Newton;
+import com.ipn.metodosnumericosnvo.metodos_raices.Secante;
 
 /**
  * Class for finding roots of mathematical functions.
  * This class provides methods for numerical root finding using various methods.
+ * The methods run the {@link RootSolver} implementations of metodos_raices with a
+ * {@link Termination} built from the tolerance and iteration limit set here.
  */
 public class RootFinder {
 
@@ -86,44 +89,17 @@ public class RootFinder {
      * @throws Exception If there's an error evaluating the function or if the function doesn't change sign in the interval
      */
     public double bisectionMethod(String functionText, double a, double b) throws Exception {
+        CompiledFunction function = compile(functionText);
         // Check if the function changes sign in the interval
-        double fa = functionEvaluator.evaluateFunction(functionText, a);
-        double fb = functionEvaluator.evaluateFunction(functionText, b);
-
-        if (fa * fb > 0) {
+        if (function.applyAsDouble(a) * function.applyAsDouble(b) > 0) {
             throw new Exception("La función no cambia de signo en el intervalo [" + a + ", " + b + "]");
         }
-
-        double c = a;
-        double fc;
-
-        for (int i = 0; i < maxIterations; i++) {
-            // Calculate the midpoint
-            c = (a + b) / 2;
-
-            // Evaluate the function at the midpoint
-            fc = functionEvaluator.evaluateFunction(functionText, c);
-
-            // Check for convergence
-            if (Math.abs(fc) < tolerance || (b - a) / 2 < tolerance) {
-                return c;
-            }
-
-            // Update the interval
-            if (fa * fc < 0) {
-                b = c;
-                fb = fc;
-            } else {
-                a = c;
-                fa = fc;
-            }
-        }
-
-        return c;
+        return new Biseccion().solve(function, a, b, termination()).getRoot();
     }
 
     /**
      * Finds a root of a function using the Newton-Raphson method.
+     * f(x) and f'(x) come from one automatic-differentiation pass per step.
      * 
      * @param functionText The function text (e.g., "sin(x)")
      * @param initialGuess The initial guess for the root
@@ -131,32 +107,12 @@ public class RootFinder {
      * @throws Exception If there's an error evaluating the function or its derivative
      */
     public double newtonRaphsonMethod(String functionText, double initialGuess) throws Exception {
-        DerivativeCalculator derivativeCalculator = new DerivativeCalculator();
-
-        double x = initialGuess;
-
-        for (int i = 0; i < maxIterations; i++) {
-            // Evaluate the function and its derivative at x
-            double fx = functionEvaluator.evaluateFunction(functionText, x);
-            double fpx = derivativeCalculator.nthDerivativeAt(functionText, "x",x,1);
-
-            // Check if the derivative is close to zero
-            if (Math.abs(fpx) < 1e-10) {
-                throw new Exception("La derivada es cercana a cero en x = " + x);
-            }
-
-            // Calculate the next approximation
-            double nextX = x - fx / fpx;
-
-            // Check for convergence
-            if (Math.abs(nextX - x) < tolerance) {
-                return nextX;
-            }
-
-            x = nextX;
+        DifferentiableFunction function = new DerivativeCalculator().getDifferentiableFunction(functionText);
+        RootResult result = new Newton().solve(function, initialGuess, initialGuess, termination());
+        if (result.getStatus() == RootResult.Status.BREAKDOWN) {
+            throw new Exception(result.getMessage() + " (x = " + result.getRoot() + ")");
         }
-
-        return x;
+        return result.getRoot();
     }
 
     /**
@@ -169,42 +125,67 @@ public class RootFinder {
      * @throws Exception If there's an error evaluating the function
      */
     public double secantMethod(String functionText, double x0, double x1) throws Exception {
-        double f0 = functionEvaluator.evaluateFunction(functionText, x0);
-        double f1 = functionEvaluator.evaluateFunction(functionText, x1);
+        RootResult result = new Secante().solve(compile(functionText), x0, x1, termination());
+        if (result.getStatus() == RootResult.Status.BREAKDOWN) {
+            throw new Exception("La diferencia entre f(x0) y f(x1) es cercana a cero");
+        }
+        return result.getRoot();
+    }
 
-        for (int i = 0; i < maxIterations; i++) {
-            // Check if the difference between f0 and f1 is close to zero
-            if (Math.abs(f1 - f0) < 1e-10) {
-                throw new Exception("La diferencia entre f(x0) y f(x1) es cercana a cero");
-            }
+    /**
+     * Builds the termination policy from this finder's tolerance and iteration limit.
+     * A method stops when either its step or |f(x)| is within the tolerance.
+     *
+     * @return The termination policy
+     */
+    public Termination termination() {
+        return Termination.of(tolerance).withMaxIterations(maxIterations);
+    }
 
-            // Calculate the next approximation
-            double x2 = x1 - f1 * (x1 - x0) / (f1 - f0);
+    /**
+     * Gets a compiled function for the text, evaluated through the evaluator's plan.
+     */
+    private CompiledFunction compile(String functionText) {
+        FunctionPlan plan = functionEvaluator.getPlan(functionText);
+        CompiledFunction compiled = plan.getCompiledFunction();
+        return compiled != null ? compiled : new PlanFunction(plan);
+    }
 
-            // Check for convergence
-            if (Math.abs(x2 - x1) < tolerance) {
-                return x2;
-            }
+    /**
+     * Compiled-function view of a plan whose backend is evaluated point by point.
+     */
+    private static final class PlanFunction implements CompiledFunction {
+        private final FunctionPlan plan;
 
-            // Update values for the next iteration
-            x0 = x1;
-            f0 = f1;
-            x1 = x2;
-            f1 = functionEvaluator.evaluateFunction(functionText, x1);
+        PlanFunction(FunctionPlan plan) {
+            this.plan = plan;
         }
 
-        return x1;
+        @Override
+        public double applyAsDouble(double x) {
+            try {
+                return plan.evaluate(x);
+            } catch (Exception e) {
+                throw new IllegalArgumentException("Error al evaluar la función: " + e.getMessage(), e);
+            }
+        }
+
+        @Override
+        public String getSource() {
+            return plan.getSource();
+        }
     }
 
     /**
-     * Finds all roots of a function in a given interval using the bisection method.
-     * This method divides the interval into subintervals and checks for sign changes.
+     * Finds all roots of a function in a given interval.
+     * The interval is sampled, every sign change and every minimum of |f| that touches zero
+     * is refined, and roots closer than the tolerance are merged; see {@link RootScanner}.
      * 
      * @param functionText The function text (e.g., "sin(x)")
      * @param a The lower bound of the interval
      * @param b The upper bound of the interval
-     * @param numSubintervals The number of subintervals to check
-     * @return An array of roots found in the interval
+     * @param numSubintervals The number of subintervals of the initial sampling
+     * @return The roots found in the interval, in increasing order
      * @throws Exception If there's an error evaluating the function
      */
     public double[] findAllRoots(String functionText, double a, double b, int numSubintervals) throws Exception {
@@ -214,49 +195,7 @@ public class RootFinder {
         if (numSubintervals <= 0) {
             throw new IllegalArgumentException("Number of subintervals must be positive");
         }
-
-        List<Double> roots = new ArrayList<>();
-        double step = (b - a) / numSubintervals;
-
-        for (int i = 0; i < numSubintervals; i++) {
-            double x0 = a + i * step;
-            double x1 = a + (i + 1) * step;
-
-            try {
-                double f0 = functionEvaluator.evaluateFunction(functionText, x0);
-                double f1 = functionEvaluator.evaluateFunction(functionText, x1);
-
-                // Check if the function changes sign in this subinterval
-                if (f0 * f1 <= 0) {
-                    // Find the root in this subinterval using the bisection method
-                    double root = bisectionMethod(functionText, x0, x1);
-
-                    // Check if this root is already in the list (within tolerance)
-                    boolean isDuplicate = false;
-                    for (double existingRoot : roots) {
-                        if (Math.abs(root - existingRoot) < tolerance) {
-                            isDuplicate = true;
-                            break;
-                        }
-                    }
-
-                    if (!isDuplicate) {
-                        roots.add(root);
-                    }
-                }
-            } catch (Exception e) {
-                // Skip this subinterval if there's an error
-                System.err.println("Error al buscar raíces en el subintervalo [" + x0 + ", " + x1 + "]: " + e.getMessage());
-            }
-        }
-
-        // Convert the list to an array
-        double[] rootsArray = new double[roots.size()];
-        for (int i = 0; i < roots.size(); i++) {
-            rootsArray[i] = roots.get(i);
-        }
-
-        return rootsArray;
+        return new RootScanner(termination()).scan(compile(functionText), a, b, numSubintervals);
     }
 
     /**
@@ -0,0 +1,92 @@
+package com.ipn.metodosnumericosnvo.math;
+
+/**
+ * Outcome of a {@link RootSolver}: the last point, how much work it took and why the
+ * solver stopped.
+ */
+public final class RootResult {
+
+    /**
+     * Why a solver stopped.
+     */
+    public enum Status {
+        /** The tolerances were met. */
+        CONVERGED,
+        /** The iteration limit was reached. */
+        ITERATION_LIMIT,
+        /** The evaluation budget was used up. */
+        EVALUATION_LIMIT,
+        /** The time limit passed. */
+        DEADLINE,
+        /** The method could not go on, for example because of a zero derivative. */
+        BREAKDOWN,
+        /** The solving thread was interrupted. */
+        CANCELLED
+    }
+
+    private final double root;
+    private final double functionValue;
+    private final int iterations;
+    private final long evaluations;
+    private final long elapsedNanos;
+    private final Status status;
+    private final String message;
+
+    RootResult(double root, double functionValue, int iterations, long evaluations, long elapsedNanos,
+               Status status, String message) {
+        this.root = root;
+        this.functionValue = functionValue;
+        this.iterations = iterations;
+        this.evaluations = evaluations;
+        this.elapsedNanos = elapsedNanos;
+        this.status = status;
+        this.message = message;
+    }
+
+    /**
+     * Gets the last point; the root if the solver converged.
+     */
+    public double getRoot() {
+        return root;
+    }
+
+    /**
+     * Gets f at the last point (|f| for methods that work with complex points).
+     */
+    public double getFunctionValue() {
+        return functionValue;
+    }
+
+    public int getIterations() {
+        return iterations;
+    }
+
+    public long getEvaluations() {
+        return evaluations;
+    }
+
+    public long getElapsedNanos() {
+        return elapsedNanos;
+    }
+
+    public Status getStatus() {
+        return status;
+    }
+
+    public boolean isConverged() {
+        return status == Status.CONVERGED;
+    }
+
+    /**
+     * Gets why the solver stopped, or an empty string if it converged.
+     */
+    public String getMessage() {
+        return message;
+    }
+
+    @Override
+    public String toString() {
+        return "RootResult[root=" + root + ", f=" + functionValue + ", iterations=" + iterations
+                + ", evaluations=" + evaluations + ", status=" + status + "]";
+    }
+}
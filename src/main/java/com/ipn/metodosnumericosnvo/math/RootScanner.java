@@ -0,0 +1,368 @@
+package com.ipn.metodosnumericosnvo.math;
+
+import com.ipn.metodosnumericosnvo.metodos_raices.Brent;
+
+import java.util.Arrays;
+import java.util.stream.IntStream;
+
+/**
+ * Finds every real root of a function on an interval, without asking for brackets.
+ *
+ * <ol>
+ * <li>The function is sampled on an even grid in one batch evaluation. A sample where f is
+ * exactly zero is a root, and every sign change between neighbouring samples is a bracket.</li>
+ * <li>A local minimum of |f| that does not cross zero may hide a double root, or two roots
+ * closer than the grid spacing. Each such window is sampled again on a finer grid, and the
+ * windows are zoomed in lockstep so every level is one batch evaluation. A window stops when
+ * the finer grid shows a sign change (new brackets), when a parabola through the three
+ * samples around the minimum stays clearly above zero (no root), or when it is narrower than
+ * the step tolerance; it is then a tangent root if |f| there is within the function
+ * tolerance.</li>
+ * <li>The brackets are refined with {@link Brent}, in parallel on the common fork-join pool
+ * when there are many. A bracket that converges to a point where |f| is larger than at
+ * both ends holds a pole, not a root, and is dropped.</li>
+ * <li>The roots are sorted and neighbours that are the same root are merged: those closer
+ * than the step tolerance, and those closer than the spacing of the initial grid they were
+ * found in with |f| within the function tolerance halfway between them. Each group is replaced by its
+ * member with the smallest |f|.</li>
+ * </ol>
+ *
+ * The function must be safe to evaluate from several threads, as every {@link CompiledFunction}
+ * is. Samples where f is not finite are skipped. Instances are immutable and can be shared.
+ */
+public final class RootScanner {
+
+    // Interior points of a window when zooming in on a minimum of |f|
+    private static final int ZOOM_POINTS = 15;
+
+    // Each level shrinks a window about eight times, so this is far below double precision
+    private static final int MAX_ZOOM_LEVELS = 40;
+
+    // Brackets refined on the calling thread below this count
+    private static final int PARALLEL_BRACKETS = 8;
+
+    private final Termination termination;
+    private final Brent brent = new Brent();
+
+    /**
+     * Creates a scanner.
+     *
+     * @param termination Stopping rule for each root; its step tolerance also decides when two
+     *                    roots are the same, and its function tolerance when a minimum of |f|
+     *                    that touches zero is a root
+     */
+    public RootScanner(Termination termination) {
+        this.termination = termination;
+    }
+
+    /**
+     * Finds the roots of f on [a, b].
+     *
+     * @param f The function
+     * @param a The lower bound
+     * @param b The upper bound
+     * @param samples The number of subintervals of the initial grid; roots closer than
+     *                (b - a) / samples may only be found through the zoom of step 2
+     * @return The roots in increasing order, without duplicates
+     */
+    public double[] scan(CompiledFunction f, double a, double b, int samples) {
+        if (!(a < b)) {
+            throw new IllegalArgumentException("El límite inferior debe ser menor que el superior");
+        }
+        if (samples <= 0) {
+            throw new IllegalArgumentException("El número de subintervalos debe ser positivo");
+        }
+
+        int n = samples + 1;
+        double[] xs = new double[n];
+        double[] fs = new double[n];
+        double h = (b - a) / samples;
+        for (int i = 0; i < n - 1; i++) {
+            xs[i] = a + i * h;
+        }
+        xs[n - 1] = b;
+        f.evaluate(xs, fs);
+
+        Roots roots = new Roots();
+        Brackets brackets = new Brackets();
+        Windows windows = new Windows();
+        for (int i = 0; i < n; i++) {
+            if (fs[i] == 0) {
+                roots.add(xs[i], h);
+            }
+        }
+        for (int i = 0; i + 1 < n; i++) {
+            if (fs[i] * fs[i + 1] < 0) {
+                brackets.add(xs[i], fs[i], xs[i + 1], fs[i + 1], h);
+            }
+        }
+        for (int i = 1; i + 1 < n; i++) {
+            double s = Math.signum(fs[i]);
+            double y0 = s * fs[i - 1], y1 = s * fs[i], y2 = s * fs[i + 1];
+            // Same sign on all three samples, and the middle one is the lowest
+            if (s != 0 && y0 > 0 && y2 > 0 && y1 <= y0 && y1 < y2 && !Double.isInfinite(y0 + y2)
+                    && mayTouchZero(y0, y1, y2)) {
+                windows.add(xs[i - 1], fs[i - 1], xs[i + 1], fs[i + 1], s, 2 * h);
+            }
+        }
+
+        zoom(f, windows, brackets, roots);
+        refine(f, brackets, roots);
+        return merge(f, roots);
+    }
+
+    /**
+     * Zooms all windows in lockstep until each one has a sign change, is ruled out or is
+     * narrower than the step tolerance.
+     */
+    private void zoom(CompiledFunction f, Windows windows, Brackets brackets, Roots roots) {
+        int stride = ZOOM_POINTS + 2;
+        double[] pts = new double[stride];
+        double[] ys = new double[stride];
+        for (int level = 0; level < MAX_ZOOM_LEVELS && windows.size > 0; level++) {
+            int m = windows.size;
+            double[] xs = new double[m * ZOOM_POINTS];
+            double[] fs = new double[xs.length];
+            for (int k = 0; k < m; k++) {
+                double lo = windows.lo[k];
+                double step = (windows.hi[k] - lo) / (ZOOM_POINTS + 1);
+                for (int j = 0; j < ZOOM_POINTS; j++) {
+                    xs[k * ZOOM_POINTS + j] = lo + (j + 1) * step;
+                }
+            }
+            f.evaluate(xs, fs);
+
+            Windows next = new Windows();
+            for (int k = 0; k < m; k++) {
+                double s = windows.sign[k];
+                pts[0] = windows.lo[k];
+                ys[0] = windows.flo[k];
+                System.arraycopy(xs, k * ZOOM_POINTS, pts, 1, ZOOM_POINTS);
+                System.arraycopy(fs, k * ZOOM_POINTS, ys, 1, ZOOM_POINTS);
+                pts[stride - 1] = windows.hi[k];
+                ys[stride - 1] = windows.fhi[k];
+
+                // Roots found here were only told apart by the zoom, not by the initial grid
+                double spacing = windows.spacing[k];
+                boolean crossed = false;
+                for (int j = 1; j < stride - 1; j++) {
+                    if (ys[j] == 0) {
+                        roots.add(pts[j], spacing);
+                        crossed = true;
+                    }
+                }
+                for (int j = 0; j + 1 < stride; j++) {
+                    if (ys[j] * ys[j + 1] < 0) {
+                        brackets.add(pts[j], ys[j], pts[j + 1], ys[j + 1], spacing);
+                        crossed = true;
+                    }
+                }
+                if (crossed) {
+                    continue;
+                }
+
+                int min = 1;
+                for (int j = 2; j < stride - 1; j++) {
+                    if (s * ys[j] < s * ys[min]) {
+                        min = j;
+                    }
+                }
+                double x = pts[min];
+                double y = s * ys[min];
+                if (!(y < s * ys[0] && y < s * ys[stride - 1])) {
+                    // NaN, or the minimum has moved to the edge of the window: f is not unimodal here
+                    continue;
+                }
+                double width = pts[min + 1] - pts[min - 1];
+                if (width <= 2 * stepTolerance(x) || level == MAX_ZOOM_LEVELS - 1) {
+                    if (y <= termination.getFunctionTolerance()) {
+                        roots.add(x, spacing);
+                    }
+                    continue;
+                }
+                if (mayTouchZero(s * ys[min - 1], y, s * ys[min + 1])) {
+                    next.add(pts[min - 1], ys[min - 1], pts[min + 1], ys[min + 1], s, spacing);
+                }
+            }
+            windows = next;
+        }
+    }
+
+    /**
+     * Whether the minimum of a parabola through three equally spaced samples, the middle one
+     * the lowest, can reach zero. A minimum already within the function tolerance is always
+     * kept, since near a root the samples are mostly rounding noise.
+     */
+    private boolean mayTouchZero(double y0, double y1, double y2) {
+        if (y1 <= termination.getFunctionTolerance()) {
+            return true;
+        }
+        double curvature = y0 - 2 * y1 + y2;
+        double vertex = y1 - (y2 - y0) * (y2 - y0) / (8 * curvature);
+        return !(vertex > 0.5 * y1);
+    }
+
+    /**
+     * Refines every bracket with Brent's method and adds the roots.
+     */
+    private void refine(CompiledFunction f, Brackets brackets, Roots roots) {
+        int count = brackets.size;
+        double[] found = new double[count];
+        IntStream indices = IntStream.range(0, count);
+        if (count >= PARALLEL_BRACKETS) {
+            indices = indices.parallel();
+        }
+        indices.forEach(i -> {
+            RootResult result = brent.solve(f, brackets.lo[i], brackets.hi[i], termination);
+            double bound = Math.max(Math.abs(brackets.flo[i]), Math.abs(brackets.fhi[i]));
+            // A sign change through a pole converges to the pole, where |f| grows instead
+            found[i] = result.isConverged() && Math.abs(result.getFunctionValue()) <= bound
+                    ? result.getRoot() : Double.NaN;
+        });
+        for (int i = 0; i < count; i++) {
+            if (!Double.isNaN(found[i])) {
+                roots.add(found[i], brackets.spacing[i]);
+            }
+        }
+    }
+
+    /**
+     * Sorts the roots and replaces each group of neighbours by the member where |f| is
+     * smallest, so the result is always one of the roots found. Two neighbours belong to the
+     * same group when they are closer than the step tolerance, or when they are closer than
+     * the initial grid spacing either was found in and |f| halfway between them is within the
+     * function tolerance: rounding noise near a multiple root makes f cross zero several times
+     * where there is only one root. Roots further apart than that spacing were told apart by
+     * the grid itself, so a function that is small everywhere does not merge them.
+     */
+    private double[] merge(CompiledFunction f, Roots roots) {
+        int count = roots.size;
+        Integer[] order = new Integer[count];
+        for (int k = 0; k < count; k++) {
+            order[k] = k;
+        }
+        Arrays.sort(order, (p, q) -> Double.compare(roots.x[p], roots.x[q]));
+
+        double[] merged = new double[count];
+        int size = 0;
+        int i = 0;
+        while (i < count) {
+            int last = order[i];
+            double best = roots.x[last];
+            double bestValue = Double.NaN;
+            i++;
+            while (i < count && sameRoot(f, roots, last, order[i])) {
+                if (Double.isNaN(bestValue)) {
+                    bestValue = Math.abs(f.applyAsDouble(best));
+                }
+                last = order[i];
+                double value = Math.abs(f.applyAsDouble(roots.x[last]));
+                if (value < bestValue) {
+                    best = roots.x[last];
+                    bestValue = value;
+                }
+                i++;
+            }
+            merged[size++] = best;
+        }
+        return Arrays.copyOf(merged, size);
+    }
+
+    private boolean sameRoot(CompiledFunction f, Roots roots, int k0, int k1) {
+        double x0 = roots.x[k0];
+        double x1 = roots.x[k1];
+        if (x1 - x0 <= stepTolerance(x1)) {
+            return true;
+        }
+        return x1 - x0 < Math.max(roots.spacing[k0], roots.spacing[k1])
+                && Math.abs(f.applyAsDouble(x0 + (x1 - x0) / 2)) <= termination.getFunctionTolerance();
+    }
+
+    private double stepTolerance(double x) {
+        double tolerance = termination.getAbsoluteTolerance() + termination.getRelativeTolerance() * Math.abs(x);
+        return Math.max(tolerance, 4 * Math.ulp(x));
+    }
+
+    /**
+     * Roots found so far with the initial grid spacing each came from, as parallel arrays.
+     */
+    private static final class Roots {
+        double[] x = new double[16];
+        double[] spacing = new double[16];
+        int size;
+
+        void add(double root, double gridSpacing) {
+            if (size == x.length) {
+                int capacity = size * 2;
+                x = Arrays.copyOf(x, capacity);
+                spacing = Arrays.copyOf(spacing, capacity);
+            }
+            x[size] = root;
+            spacing[size] = gridSpacing;
+            size++;
+        }
+    }
+
+    /**
+     * Sign-change brackets with the function values at their ends and the initial grid spacing
+     * they came from, as parallel arrays.
+     */
+    private static final class Brackets {
+        double[] lo = new double[16];
+        double[] flo = new double[16];
+        double[] hi = new double[16];
+        double[] fhi = new double[16];
+        double[] spacing = new double[16];
+        int size;
+
+        void add(double a, double fa, double b, double fb, double gridSpacing) {
+            if (size == lo.length) {
+                int capacity = size * 2;
+                lo = Arrays.copyOf(lo, capacity);
+                flo = Arrays.copyOf(flo, capacity);
+                hi = Arrays.copyOf(hi, capacity);
+                fhi = Arrays.copyOf(fhi, capacity);
+                spacing = Arrays.copyOf(spacing, capacity);
+            }
+            lo[size] = a;
+            flo[size] = fa;
+            hi[size] = b;
+            fhi[size] = fb;
+            spacing[size] = gridSpacing;
+            size++;
+        }
+    }
+
+    /**
+     * Windows around minima of |f| that are being zoomed, with the sign of f inside each and
+     * the width of the initial window it was zoomed from.
+     */
+    private static final class Windows {
+        double[] lo = new double[16];
+        double[] flo = new double[16];
+        double[] hi = new double[16];
+        double[] fhi = new double[16];
+        double[] sign = new double[16];
+        double[] spacing = new double[16];
+        int size;
+
+        void add(double a, double fa, double b, double fb, double s, double gridSpacing) {
+            if (size == lo.length) {
+                int capacity = size * 2;
+                lo = Arrays.copyOf(lo, capacity);
+                flo = Arrays.copyOf(flo, capacity);
+                hi = Arrays.copyOf(hi, capacity);
+                fhi = Arrays.copyOf(fhi, capacity);
+                sign = Arrays.copyOf(sign, capacity);
+                spacing = Arrays.copyOf(spacing, capacity);
+            }
+            lo[size] = a;
+            flo[size] = fa;
+            hi[size] = b;
+            fhi[size] = fb;
+            sign[size] = s;
+            spacing[size] = gridSpacing;
+            size++;
+        }
+    }
+}
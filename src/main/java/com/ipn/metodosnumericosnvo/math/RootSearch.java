@@ -0,0 +1,188 @@
+package com.ipn.metodosnumericosnvo.math;
+
+import java.util.function.DoubleUnaryOperator;
+
+/**
+ * State of one solve: evaluations and iterations so far, and why it stopped.
+ * Solvers evaluate the function through {@link #evaluate(double)} so every evaluation is
+ * counted, call {@link #nextIteration()} at the top of their loop, test each new point with
+ * {@link #hasConverged(double, double, double)} and build the result with
+ * {@link #finish(double, double)} or {@link #breakdown(double, double, String)}.
+ *
+ * <pre>
+ * RootSearch search = termination.start(f);
+ * while (search.nextIteration()) {
+ *     double x1 = ...;
+ *     double f1 = search.evaluate(x1);
+ *     if (search.hasConverged(x1 - x0, x1, f1)) break;
+ *     ...
+ * }
+ * return search.finish(x1, f1);
+ * </pre>
+ *
+ * An instance belongs to a single solve on a single thread.
+ */
+public final class RootSearch {
+
+    private final Termination termination;
+    private final DoubleUnaryOperator f;
+    private final long startNanos;
+    private final long deadlineNanos;
+    private final boolean stepTest;
+    private final SearchProgress progress;
+
+    private int iterations;
+    private long evaluations;
+    private RootResult.Status status;
+
+    RootSearch(Termination termination, DoubleUnaryOperator f) {
+        this.termination = termination;
+        this.f = f;
+        this.startNanos = System.nanoTime();
+        this.deadlineNanos = termination.getTimeoutNanos() == 0 ? 0 : startNanos + termination.getTimeoutNanos();
+        this.stepTest = termination.getAbsoluteTolerance() > 0 || termination.getRelativeTolerance() > 0;
+        this.progress = termination.getProgress();
+    }
+
+    /**
+     * Evaluates the function and counts the evaluation.
+     */
+    public double evaluate(double x) {
+        evaluations++;
+        return f.applyAsDouble(x);
+    }
+
+    /**
+     * Evaluates a function and its derivative together; this counts as one evaluation.
+     */
+    public void evaluateWithDerivative(DifferentiableFunction function, double x, double[] result) {
+        evaluations++;
+        function.evaluateWithDerivative(x, result);
+    }
+
+    /**
+     * Counts evaluations made without {@link #evaluate(double)}, for example at complex points.
+     */
+    public void countEvaluations(int count) {
+        evaluations += count;
+    }
+
+    /**
+     * Starts the next iteration if no limit has been reached and the thread has not been
+     * interrupted. Interrupting the solving thread is how a solve is cancelled: the search
+     * stops with status CANCELLED at the next iteration, and the interrupt flag stays set.
+     *
+     * @return false if the method must stop; the reason is kept for the result
+     */
+    public boolean nextIteration() {
+        if (status != null) {
+            return false;
+        }
+        if (Thread.currentThread().isInterrupted()) {
+            status = RootResult.Status.CANCELLED;
+            return false;
+        }
+        if (iterations >= termination.getMaxIterations()) {
+            status = RootResult.Status.ITERATION_LIMIT;
+            return false;
+        }
+        if (evaluations >= termination.getMaxEvaluations()) {
+            status = RootResult.Status.EVALUATION_LIMIT;
+            return false;
+        }
+        if (deadlineNanos != 0 && System.nanoTime() - deadlineNanos >= 0) {
+            status = RootResult.Status.DEADLINE;
+            return false;
+        }
+        iterations++;
+        if (progress != null) {
+            progress.update(iterations, evaluations, System.nanoTime() - startNanos);
+        }
+        return true;
+    }
+
+    /**
+     * Tests a new point against the tolerances.
+     *
+     * @param dx The last step, or the error estimate the method uses in its place
+     * @param x The new point
+     * @param fx f at the new point
+     * @return true if the method has converged; the search then reports CONVERGED
+     */
+    public boolean hasConverged(double dx, double x, double fx) {
+        boolean converged = fx == 0
+                || Math.abs(fx) <= termination.getFunctionTolerance()
+                || stepTest && Math.abs(dx) <= termination.getAbsoluteTolerance()
+                        + termination.getRelativeTolerance() * Math.abs(x);
+        if (converged) {
+            status = RootResult.Status.CONVERGED;
+        }
+        return converged;
+    }
+
+    /**
+     * Gets the number of the current iteration, starting at 1.
+     */
+    public int getIteration() {
+        return iterations;
+    }
+
+    public long getEvaluations() {
+        return evaluations;
+    }
+
+    public Termination getTermination() {
+        return termination;
+    }
+
+    /**
+     * Builds the result once the loop has ended, converged or not.
+     *
+     * @param x The last point
+     * @param fx f at the last point
+     */
+    public RootResult finish(double x, double fx) {
+        RootResult.Status reason = status == null ? RootResult.Status.ITERATION_LIMIT : status;
+        return new RootResult(x, fx, iterations, evaluations, System.nanoTime() - startNanos, reason,
+                message(reason));
+    }
+
+    /**
+     * Builds the result of a method whose bracket has shrunk to the precision of a double,
+     * so it cannot get any closer to the root even if the tolerances ask for more.
+     *
+     * @param x The best point
+     * @param fx f at that point
+     */
+    public RootResult converged(double x, double fx) {
+        status = RootResult.Status.CONVERGED;
+        return finish(x, fx);
+    }
+
+    /**
+     * Builds the result of a method that cannot go on, such as a zero derivative.
+     *
+     * @param x The last usable point
+     * @param fx f at that point
+     * @param message Why the method stopped
+     */
+    public RootResult breakdown(double x, double fx, String message) {
+        status = RootResult.Status.BREAKDOWN;
+        return new RootResult(x, fx, iterations, evaluations, System.nanoTime() - startNanos, status, message);
+    }
+
+    private String message(RootResult.Status reason) {
+        switch (reason) {
+            case CONVERGED:
+                return "";
+            case EVALUATION_LIMIT:
+                return "Se agotó el presupuesto de " + termination.getMaxEvaluations() + " evaluaciones";
+            case DEADLINE:
+                return "Se agotó el tiempo límite";
+            case CANCELLED:
+                return "Se canceló el cálculo";
+            default:
+                return "No converge en " + iterations + " iteraciones";
+        }
+    }
+}
@@ -0,0 +1,26 @@
+package com.ipn.metodosnumericosnvo.math;
+
+/**
+ * A root-finding algorithm that works on a compiled function and stops according to a
+ * shared {@link Termination} policy.
+ * Every solver reports its result in the same form, with the number of iterations and
+ * function evaluations it used, so algorithms can be swapped and compared on equal terms.
+ */
+public interface RootSolver {
+
+    /**
+     * Looks for a root of f.
+     * Bracketing methods treat x0 and x1 as the ends of an interval where f changes sign;
+     * open methods use them as starting points (one-point methods such as Newton's start
+     * at x0 and ignore x1).
+     *
+     * @param f The function
+     * @param x0 The first end or starting point
+     * @param x1 The second end or starting point
+     * @param termination When to stop
+     * @return The result; its status tells whether the method converged
+     * @throws IllegalArgumentException If the starting points are not valid for the method,
+     *         such as an interval without a sign change
+     */
+    RootResult solve(CompiledFunction f, double x0, double x1, Termination termination);
+}
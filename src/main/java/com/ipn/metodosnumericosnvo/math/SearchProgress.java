@@ -0,0 +1,17 @@
+package com.ipn.metodosnumericosnvo.math;
+
+/**
+ * Receives the progress of a solve, see {@link Termination#withProgress(SearchProgress)}.
+ */
+@FunctionalInterface
+public interface SearchProgress {
+
+    /**
+     * Called when an iteration starts.
+     *
+     * @param iteration The number of the iteration, starting at 1
+     * @param evaluations The function evaluations made so far
+     * @param elapsedNanos The time since the solve started
+     */
+    void update(int iteration, long evaluations, long elapsedNanos);
+}
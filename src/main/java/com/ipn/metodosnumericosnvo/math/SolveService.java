@@ -0,0 +1,126 @@
+package com.ipn.metodosnumericosnvo.math;
+
+import java.time.Duration;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.RunnableFuture;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Runs solves off the calling thread, so a slow or non-convergent job does not block the
+ * JavaFX application thread.
+ * Each job gets its own daemon thread; threads are reused once their job ends. The returned
+ * futures are cancellable: {@code cancel(true)} interrupts the job's thread, and the loops of
+ * the solvers check for the interrupt at every iteration (see {@link RootSearch#nextIteration()}),
+ * so a cancelled solve stops at its next iteration instead of running to its limit. A job can
+ * also be given a deadline, after which it is cancelled the same way.
+ * JavaFX {@code Task} objects are futures too and can be run with
+ * {@link #execute(RunnableFuture, Duration)}; their progress updates are delivered to the UI
+ * without blocking the job.
+ */
+public final class SolveService implements AutoCloseable {
+
+    private static final SolveService SHARED = new SolveService();
+
+    private final ExecutorService workers;
+    private final ScheduledExecutorService timer;
+
+    public SolveService() {
+        // With Java 21 this would be Executors.newVirtualThreadPerTaskExecutor()
+        AtomicInteger counter = new AtomicInteger();
+        this.workers = Executors.newCachedThreadPool(r -> daemon(r, "solve-" + counter.incrementAndGet()));
+        this.timer = Executors.newSingleThreadScheduledExecutor(r -> daemon(r, "solve-deadline"));
+    }
+
+    /**
+     * Gets the service shared by the application. Its threads are daemons, so it never needs
+     * to be closed.
+     */
+    public static SolveService shared() {
+        return SHARED;
+    }
+
+    /**
+     * Runs a job.
+     *
+     * @param job The job
+     * @return Its future; cancelling it interrupts the job
+     */
+    public <T> Future<T> submit(Callable<T> job) {
+        return submit(job, null);
+    }
+
+    /**
+     * Runs a job that is cancelled if it has not finished when the deadline passes.
+     *
+     * @param job The job
+     * @param deadline The time the job may run, counted from now; null for none
+     * @return Its future; cancelling it interrupts the job
+     */
+    public <T> Future<T> submit(Callable<T> job, Duration deadline) {
+        FutureTask<T> task = new FutureTask<>(job);
+        execute(task, deadline);
+        return task;
+    }
+
+    /**
+     * Runs a root solve. The time limit of the termination, if any, ends the solve with status
+     * DEADLINE; cancelling the future ends it with status CANCELLED.
+     */
+    public Future<RootResult> solve(RootSolver solver, CompiledFunction f, double x0, double x1,
+                                    Termination termination) {
+        return submit(() -> solver.solve(f, x0, x1, termination));
+    }
+
+    /**
+     * Runs a task that is already a future, such as a JavaFX {@code Task}.
+     *
+     * @param task The task
+     * @param deadline The time the task may run, counted from now; null for none
+     */
+    public void execute(RunnableFuture<?> task, Duration deadline) {
+        if (deadline == null) {
+            workers.execute(task);
+            return;
+        }
+        if (deadline.isNegative() || deadline.isZero()) {
+            throw new IllegalArgumentException("El tiempo límite debe ser positivo");
+        }
+        ScheduledFuture<?> timeout = timer.schedule(() -> task.cancel(true), deadline.toNanos(), TimeUnit.NANOSECONDS);
+        workers.execute(() -> {
+            try {
+                task.run();
+            } finally {
+                timeout.cancel(false);
+            }
+        });
+    }
+
+    /**
+     * Gets the executor of the service, for example for a JavaFX {@code Service}.
+     */
+    public ExecutorService getExecutor() {
+        return workers;
+    }
+
+    /**
+     * Cancels the running jobs and stops the threads.
+     */
+    @Override
+    public void close() {
+        workers.shutdownNow();
+        timer.shutdownNow();
+    }
+
+    private static Thread daemon(Runnable r, String name) {
+        Thread t = new Thread(r, name);
+        t.setDaemon(true);
+        return t;
+    }
+}
@@ -0,0 +1,91 @@
+package com.ipn.metodosnumericosnvo.math;
+
+/**
+ * Outcome of a {@link ParameterSweep}, as one column per field: index i of every array is
+ * instance i of the sweep. The getters return the arrays themselves, not copies, so large
+ * sweeps can be read without copying.
+ */
+public final class SweepResult {
+
+    private static final RootResult.Status[] STATUSES = RootResult.Status.values();
+
+    private final double[] roots;
+    private final double[] functionValues;
+    private final int[] iterations;
+    private final byte[] statuses;
+    private final long elapsedNanos;
+
+    SweepResult(double[] roots, double[] functionValues, int[] iterations, byte[] statuses, long elapsedNanos) {
+        this.roots = roots;
+        this.functionValues = functionValues;
+        this.iterations = iterations;
+        this.statuses = statuses;
+        this.elapsedNanos = elapsedNanos;
+    }
+
+    /**
+     * Gets the number of instances.
+     */
+    public int size() {
+        return roots.length;
+    }
+
+    /**
+     * Gets the last point of each instance; NaN if it broke down before having one.
+     */
+    public double[] getRoots() {
+        return roots;
+    }
+
+    /**
+     * Gets f at the last point of each instance.
+     */
+    public double[] getFunctionValues() {
+        return functionValues;
+    }
+
+    public int[] getIterations() {
+        return iterations;
+    }
+
+    /**
+     * Gets the status of each instance as the ordinal of a {@link RootResult.Status}.
+     */
+    public byte[] getStatusCodes() {
+        return statuses;
+    }
+
+    public RootResult.Status getStatus(int instance) {
+        return STATUSES[statuses[instance]];
+    }
+
+    public boolean isConverged(int instance) {
+        return statuses[instance] == RootResult.Status.CONVERGED.ordinal();
+    }
+
+    /**
+     * Counts the instances that converged.
+     */
+    public int countConverged() {
+        int count = 0;
+        for (int i = 0; i < statuses.length; i++) {
+            if (isConverged(i)) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Gets the time the whole sweep took.
+     */
+    public long getElapsedNanos() {
+        return elapsedNanos;
+    }
+
+    @Override
+    public String toString() {
+        return "SweepResult[instances=" + size() + ", converged=" + countConverged() + ", elapsedNanos="
+                + elapsedNanos + "]";
+    }
+}
@@ -0,0 +1,129 @@
+package com.ipn.metodosnumericosnvo.math;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.DoubleUnaryOperator;
+
+/**
+ * Taylor polynomial of a function around a point.
+ * All the coefficients come from a single evaluation of the compiled function on truncated
+ * Taylor series, so building a polynomial of degree n costs O(n^2) operations per
+ * instruction, with no symbolic or numerical differentiation and no factorials. Polynomials
+ * are immutable and cached, so the same expansion can be evaluated at many points.
+ */
+public final class TaylorPolynomial implements DoubleUnaryOperator {
+
+    // Maximum number of polynomials kept in memory
+    private static final int MAX_POLYNOMIALS = CompiledFunctionCache.DEFAULT_CAPACITY;
+
+    // Polynomials by (function, center, degree), least recently used first
+    private static final Map<String, TaylorPolynomial> POLYNOMIALS =
+            new LinkedHashMap<String, TaylorPolynomial>(16, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<String, TaylorPolynomial> eldest) {
+                    return size() > MAX_POLYNOMIALS;
+                }
+            };
+
+    private final String source;
+    private final double center;
+    private final double[] coefficients;
+
+    private TaylorPolynomial(String source, double center, double[] coefficients) {
+        this.source = source;
+        this.center = center;
+        this.coefficients = coefficients;
+    }
+
+    /**
+     * Gets the Taylor polynomial of a function, building it on the first request.
+     *
+     * @param functionText The function text (e.g., "exp(x)*sin(x)")
+     * @param center The expansion point x0
+     * @param degree The degree of the polynomial
+     * @return The Taylor polynomial
+     * @throws IllegalArgumentException If the degree is negative or the compiler does not support the function
+     */
+    public static TaylorPolynomial of(String functionText, double center, int degree) {
+        if (degree < 0) {
+            throw new IllegalArgumentException("El grado del polinomio debe ser no negativo");
+        }
+        String key = functionText + '\n' + center + '\n' + degree;
+        synchronized (POLYNOMIALS) {
+            TaylorPolynomial cached = POLYNOMIALS.get(key);
+            if (cached != null) {
+                return cached;
+            }
+        }
+        CompiledFunction function = CompiledFunctionCache.shared().get(functionText);
+        if (!(function instanceof ExpressionProgram)) {
+            throw new IllegalArgumentException("Expresión no soportada por el compilador: '" + functionText + "'");
+        }
+        double[] coefficients = ((ExpressionProgram) function).taylorCoefficients(center, degree);
+        TaylorPolynomial polynomial = new TaylorPolynomial(functionText, center, coefficients);
+        synchronized (POLYNOMIALS) {
+            TaylorPolynomial existing = POLYNOMIALS.putIfAbsent(key, polynomial);
+            return existing != null ? existing : polynomial;
+        }
+    }
+
+    /**
+     * Evaluates the polynomial with Horner's rule.
+     *
+     * @param x The x value
+     * @return The value of the polynomial at x
+     */
+    @Override
+    public double applyAsDouble(double x) {
+        double dx = x - center;
+        double sum = 0;
+        for (int k = coefficients.length - 1; k >= 0; k--) {
+            sum = sum * dx + coefficients[k];
+        }
+        return sum;
+    }
+
+    /**
+     * Gets the k-th derivative of the function at the center, f^(k)(x0) = k! * c_k.
+     *
+     * @param order The derivative order, from 0 to the degree
+     * @return The derivative value
+     */
+    public double derivative(int order) {
+        if (order < 0 || order >= coefficients.length) {
+            throw new IllegalArgumentException("El orden de la derivada debe estar entre 0 y " + getDegree());
+        }
+        double value = coefficients[order];
+        for (int i = 2; i <= order; i++) {
+            value *= i;
+        }
+        return value;
+    }
+
+    /**
+     * Gets the coefficient c_k = f^(k)(x0) / k! of (x - x0)^k.
+     *
+     * @param k The power of (x - x0)
+     * @return The coefficient
+     */
+    public double getCoefficient(int k) {
+        return coefficients[k];
+    }
+
+    public int getDegree() {
+        return coefficients.length - 1;
+    }
+
+    public double getCenter() {
+        return center;
+    }
+
+    public String getSource() {
+        return source;
+    }
+
+    @Override
+    public String toString() {
+        return "TaylorPolynomial[" + source + ", x0=" + center + ", n=" + getDegree() + "]";
+    }
+}
@@ -0,0 +1,390 @@
+package com.ipn.metodosnumericosnvo.math;
+
+import java.util.Arrays;
+
+/**
+ * Arithmetic on truncated Taylor series.
+ * A series is an array c where c[k] is the k-th normalized coefficient f^(k)(x0)/k!; all
+ * series in one computation have the same length. Every operation applies the usual
+ * recurrence for its coefficients, so a product or an elementary function of a series of
+ * degree n costs O(n^2) and all derivatives up to order n come out of a single pass.
+ * Results are written into the first argument unless stated otherwise.
+ */
+final class TaylorSeries {
+
+    private static final double LN2 = Math.log(2);
+    private static final double LN10 = Math.log(10);
+
+    // Largest integer exponent raised by repeated squaring instead of the power recurrence
+    private static final int MAX_INT_EXPONENT = 1024;
+
+    private TaylorSeries() {
+    }
+
+    static void constant(double[] c, double value) {
+        Arrays.fill(c, 0);
+        c[0] = value;
+    }
+
+    /**
+     * The series of the independent variable around x0: x0 + 1*(x - x0).
+     */
+    static void variable(double[] c, double x0) {
+        constant(c, x0);
+        if (c.length > 1) {
+            c[1] = 1;
+        }
+    }
+
+    static void negate(double[] a) {
+        for (int k = 0; k < a.length; k++) {
+            a[k] = -a[k];
+        }
+    }
+
+    static void add(double[] a, double[] b) {
+        for (int k = 0; k < a.length; k++) {
+            a[k] += b[k];
+        }
+    }
+
+    static void subtract(double[] a, double[] b) {
+        for (int k = 0; k < a.length; k++) {
+            a[k] -= b[k];
+        }
+    }
+
+    static void scale(double[] a, double factor) {
+        for (int k = 0; k < a.length; k++) {
+            a[k] *= factor;
+        }
+    }
+
+    /**
+     * a = a * b (Cauchy product). Coefficients are produced from the highest order down,
+     * so each one only reads coefficients of a that have not been overwritten yet.
+     */
+    static void multiply(double[] a, double[] b) {
+        for (int k = a.length - 1; k >= 0; k--) {
+            double sum = 0;
+            for (int j = 0; j <= k; j++) {
+                sum += a[j] * b[k - j];
+            }
+            a[k] = sum;
+        }
+    }
+
+    /**
+     * a = a / b. Coefficients are produced from the lowest order up, each one from the
+     * quotient coefficients already known.
+     */
+    static void divide(double[] a, double[] b) {
+        for (int k = 0; k < a.length; k++) {
+            double sum = a[k];
+            for (int j = 1; j <= k; j++) {
+                sum -= b[j] * a[k - j];
+            }
+            a[k] = sum / b[0];
+        }
+    }
+
+    /**
+     * a = a^n for an integer n, by repeated squaring, so zero constant terms are handled exactly.
+     */
+    static void powInt(double[] a, int n) {
+        int length = a.length;
+        double[] base = a.clone();
+        double[] result = new double[length];
+        constant(result, 1);
+        int e = Math.abs(n);
+        while (e > 0) {
+            if ((e & 1) != 0) {
+                multiply(result, base);
+            }
+            e >>= 1;
+            if (e > 0) {
+                multiply(base, base.clone());
+            }
+        }
+        if (n < 0) {
+            double[] one = new double[length];
+            constant(one, 1);
+            divide(one, result);
+            result = one;
+        }
+        System.arraycopy(result, 0, a, 0, length);
+    }
+
+    /**
+     * a = a^p for a real exponent p. Integer exponents go through {@link #powInt}; any other
+     * exponent requires a[0] != 0.
+     */
+    static void powReal(double[] a, double p) {
+        if (p == Math.rint(p) && Math.abs(p) <= MAX_INT_EXPONENT) {
+            powInt(a, (int) p);
+            return;
+        }
+        int length = a.length;
+        double[] c = new double[length];
+        c[0] = ExpressionProgram.pow(a[0], p);
+        for (int k = 1; k < length; k++) {
+            double sum = 0;
+            for (int j = 1; j <= k; j++) {
+                sum += ((p + 1) * j - k) * a[j] * c[k - j];
+            }
+            c[k] = sum / (k * a[0]);
+        }
+        System.arraycopy(c, 0, a, 0, length);
+    }
+
+    /**
+     * a = a^b when both are series: exp(b * ln(a)).
+     */
+    static void pow(double[] a, double[] b) {
+        if (isConstant(b)) {
+            powReal(a, b[0]);
+            return;
+        }
+        log(a);
+        multiply(a, b);
+        exp(a);
+    }
+
+    static void sqrt(double[] a) {
+        int length = a.length;
+        double s0 = Math.sqrt(a[0]);
+        for (int k = 1; k < length; k++) {
+            double sum = a[k];
+            for (int j = 1; j < k; j++) {
+                sum -= a[j] * a[k - j];
+            }
+            a[k] = sum / (2 * s0);
+        }
+        a[0] = s0;
+    }
+
+    static void exp(double[] a) {
+        int length = a.length;
+        double[] e = new double[length];
+        e[0] = Math.exp(a[0]);
+        for (int k = 1; k < length; k++) {
+            double sum = 0;
+            for (int j = 1; j <= k; j++) {
+                sum += j * a[j] * e[k - j];
+            }
+            e[k] = sum / k;
+        }
+        System.arraycopy(e, 0, a, 0, length);
+    }
+
+    static void log(double[] a) {
+        int length = a.length;
+        double[] l = new double[length];
+        l[0] = Math.log(a[0]);
+        for (int k = 1; k < length; k++) {
+            double sum = 0;
+            for (int j = 1; j < k; j++) {
+                sum += j * l[j] * a[k - j];
+            }
+            l[k] = (a[k] - sum / k) / a[0];
+        }
+        System.arraycopy(l, 0, a, 0, length);
+    }
+
+    /**
+     * Computes sin(a) and cos(a) together, since each recurrence needs the other.
+     * With hyperbolic set, computes sinh(a) and cosh(a) instead.
+     */
+    static void sinCos(double[] a, double[] sin, double[] cos, boolean hyperbolic) {
+        int length = a.length;
+        sin[0] = hyperbolic ? Math.sinh(a[0]) : Math.sin(a[0]);
+        cos[0] = hyperbolic ? Math.cosh(a[0]) : Math.cos(a[0]);
+        double sign = hyperbolic ? 1 : -1;
+        for (int k = 1; k < length; k++) {
+            double s = 0;
+            double c = 0;
+            for (int j = 1; j <= k; j++) {
+                s += j * a[j] * cos[k - j];
+                c += j * a[j] * sin[k - j];
+            }
+            sin[k] = s / k;
+            cos[k] = sign * c / k;
+        }
+    }
+
+    /**
+     * a = f(a) given f(a[0]) and the series of f'(a): since f(a)' = f'(a) * a',
+     * k * c[k] = sum of j * a[j] * g[k-j].
+     */
+    static void integrate(double[] a, double value, double[] derivative) {
+        int length = a.length;
+        double[] c = new double[length];
+        c[0] = value;
+        for (int k = 1; k < length; k++) {
+            double sum = 0;
+            for (int j = 1; j <= k; j++) {
+                sum += j * a[j] * derivative[k - j];
+            }
+            c[k] = sum / k;
+        }
+        System.arraycopy(c, 0, a, 0, length);
+    }
+
+    /**
+     * Applies a unary function, using the ids of {@link ExpressionProgram}.
+     */
+    static void call1(int function, double[] a) {
+        int length = a.length;
+        switch (function) {
+            case ExpressionProgram.SIN:
+            case ExpressionProgram.COS:
+            case ExpressionProgram.TAN:
+            case ExpressionProgram.SINH:
+            case ExpressionProgram.COSH:
+            case ExpressionProgram.TANH: {
+                boolean hyperbolic = function >= ExpressionProgram.SINH;
+                double[] sin = new double[length];
+                double[] cos = new double[length];
+                sinCos(a, sin, cos, hyperbolic);
+                if (function == ExpressionProgram.SIN || function == ExpressionProgram.SINH) {
+                    System.arraycopy(sin, 0, a, 0, length);
+                } else if (function == ExpressionProgram.COS || function == ExpressionProgram.COSH) {
+                    System.arraycopy(cos, 0, a, 0, length);
+                } else {
+                    divide(sin, cos);
+                    System.arraycopy(sin, 0, a, 0, length);
+                }
+                return;
+            }
+            case ExpressionProgram.ASIN:
+            case ExpressionProgram.ACOS: {
+                // (1 - a^2)^(-1/2), negated for acos
+                double[] g = a.clone();
+                multiply(g, a.clone());
+                negate(g);
+                g[0] += 1;
+                powReal(g, -0.5);
+                if (function == ExpressionProgram.ACOS) {
+                    negate(g);
+                }
+                integrate(a, ExpressionProgram.call1(function, a[0]), g);
+                return;
+            }
+            case ExpressionProgram.ATAN:
+            case ExpressionProgram.ATANH: {
+                // 1 / (1 + a^2) or 1 / (1 - a^2)
+                double[] g = a.clone();
+                multiply(g, a.clone());
+                if (function == ExpressionProgram.ATANH) {
+                    negate(g);
+                }
+                g[0] += 1;
+                double[] one = new double[length];
+                constant(one, 1);
+                divide(one, g);
+                integrate(a, ExpressionProgram.call1(function, a[0]), one);
+                return;
+            }
+            case ExpressionProgram.ASINH:
+            case ExpressionProgram.ACOSH: {
+                // (a^2 + 1)^(-1/2) or (a^2 - 1)^(-1/2)
+                double[] g = a.clone();
+                multiply(g, a.clone());
+                g[0] += function == ExpressionProgram.ASINH ? 1 : -1;
+                powReal(g, -0.5);
+                integrate(a, ExpressionProgram.call1(function, a[0]), g);
+                return;
+            }
+            case ExpressionProgram.SQRT: sqrt(a); return;
+            case ExpressionProgram.CBRT: powReal(a, 1.0 / 3); return;
+            case ExpressionProgram.EXP: exp(a); return;
+            case ExpressionProgram.LN: log(a); return;
+            case ExpressionProgram.LOG10: log(a); scale(a, 1 / LN10); return;
+            case ExpressionProgram.LOG2: log(a); scale(a, 1 / LN2); return;
+            case ExpressionProgram.ABS: scale(a, Math.signum(a[0])); return;
+            case ExpressionProgram.SIGN:
+            case ExpressionProgram.FLOOR:
+            case ExpressionProgram.CEIL: constant(a, ExpressionProgram.call1(function, a[0])); return;
+            default: throw new IllegalStateException("Función desconocida: " + function);
+        }
+    }
+
+    /**
+     * Applies a binary function, using the ids of {@link ExpressionProgram}. The result is left in a.
+     */
+    static void call2(int function, double[] a, double[] b) {
+        int length = a.length;
+        switch (function) {
+            case ExpressionProgram.LOGB: {
+                // ln(b) / ln(a)
+                double[] lnB = b.clone();
+                log(lnB);
+                log(a);
+                divide(lnB, a);
+                System.arraycopy(lnB, 0, a, 0, length);
+                return;
+            }
+            case ExpressionProgram.ATAN2: {
+                // Derivative (b a' - a b') / (a^2 + b^2), integrated from atan2(a0, b0)
+                double value = Math.atan2(a[0], b[0]);
+                double[] da = differentiate(a);
+                double[] db = differentiate(b);
+                double[] numerator = b.clone();
+                multiply(numerator, da);
+                double[] term = a.clone();
+                multiply(term, db);
+                subtract(numerator, term);
+                double[] denominator = a.clone();
+                multiply(denominator, a.clone());
+                double[] b2 = b.clone();
+                multiply(b2, b.clone());
+                add(denominator, b2);
+                divide(numerator, denominator);
+                a[0] = value;
+                for (int k = 1; k < length; k++) {
+                    a[k] = numerator[k - 1] / k;
+                }
+                return;
+            }
+            case ExpressionProgram.MIN:
+                if (b[0] < a[0]) {
+                    System.arraycopy(b, 0, a, 0, length);
+                }
+                return;
+            case ExpressionProgram.MAX:
+                if (b[0] > a[0]) {
+                    System.arraycopy(b, 0, a, 0, length);
+                }
+                return;
+            case ExpressionProgram.MOD: {
+                // a - trunc(a0 / b0) * b, the quotient being locally constant
+                double quotient = (long) (a[0] / b[0]);
+                for (int k = 0; k < length; k++) {
+                    a[k] -= quotient * b[k];
+                }
+                return;
+            }
+            default: throw new IllegalStateException("Función desconocida: " + function);
+        }
+    }
+
+    /**
+     * Returns the series of a' (one order lower; the last coefficient is zero).
+     */
+    private static double[] differentiate(double[] a) {
+        double[] d = new double[a.length];
+        for (int k = 1; k < a.length; k++) {
+            d[k - 1] = k * a[k];
+        }
+        return d;
+    }
+
+    private static boolean isConstant(double[] a) {
+        for (int k = 1; k < a.length; k++) {
+            if (a[k] != 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
@@ -0,0 +1,178 @@
+package com.ipn.metodosnumericosnvo.math;
+
+import java.time.Duration;
+import java.util.function.DoubleUnaryOperator;
+
+/**
+ * When a root solver stops: convergence tolerances and limits on its work.
+ * A method has converged when |f(x)| is within the function tolerance or its last step
+ * |Δx| is within absoluteTolerance + relativeTolerance·|x|; a tolerance of zero disables
+ * that test. The method gives up when it reaches the iteration limit, the evaluation budget
+ * or the time limit, which are checked before each iteration.
+ * Instances are immutable; the with* methods return modified copies.
+ */
+public final class Termination {
+
+    /** Iteration limit when none is given. */
+    public static final int DEFAULT_MAX_ITERATIONS = 100;
+
+    private final double absoluteTolerance;
+    private final double relativeTolerance;
+    private final double functionTolerance;
+    private final int maxIterations;
+    private final long maxEvaluations;
+    private final long timeoutNanos;
+    private final SearchProgress progress;
+
+    private Termination(double absoluteTolerance, double relativeTolerance, double functionTolerance,
+                        int maxIterations, long maxEvaluations, long timeoutNanos, SearchProgress progress) {
+        this.absoluteTolerance = absoluteTolerance;
+        this.relativeTolerance = relativeTolerance;
+        this.functionTolerance = functionTolerance;
+        this.maxIterations = maxIterations;
+        this.maxEvaluations = maxEvaluations;
+        this.timeoutNanos = timeoutNanos;
+        this.progress = progress;
+    }
+
+    /**
+     * Stops when either the step or |f(x)| is within the tolerance.
+     *
+     * @param tolerance The tolerance for both tests
+     * @return The policy, with the default iteration limit and no other limits
+     */
+    public static Termination of(double tolerance) {
+        checkTolerance(tolerance);
+        return new Termination(tolerance, 0, tolerance, DEFAULT_MAX_ITERATIONS, Long.MAX_VALUE, 0, null);
+    }
+
+    /**
+     * Stops only when |f(x)| is within the tolerance.
+     *
+     * @param tolerance The tolerance for |f(x)|
+     * @return The policy, with the default iteration limit and no other limits
+     */
+    public static Termination onResidual(double tolerance) {
+        checkTolerance(tolerance);
+        return new Termination(0, 0, tolerance, DEFAULT_MAX_ITERATIONS, Long.MAX_VALUE, 0, null);
+    }
+
+    public Termination withAbsoluteTolerance(double tolerance) {
+        checkTolerance(tolerance);
+        return new Termination(tolerance, relativeTolerance, functionTolerance, maxIterations, maxEvaluations,
+                timeoutNanos, progress);
+    }
+
+    public Termination withRelativeTolerance(double tolerance) {
+        checkTolerance(tolerance);
+        return new Termination(absoluteTolerance, tolerance, functionTolerance, maxIterations, maxEvaluations,
+                timeoutNanos, progress);
+    }
+
+    public Termination withFunctionTolerance(double tolerance) {
+        checkTolerance(tolerance);
+        return new Termination(absoluteTolerance, relativeTolerance, tolerance, maxIterations, maxEvaluations,
+                timeoutNanos, progress);
+    }
+
+    public Termination withMaxIterations(int iterations) {
+        if (iterations <= 0) {
+            throw new IllegalArgumentException("El número máximo de iteraciones debe ser positivo");
+        }
+        return new Termination(absoluteTolerance, relativeTolerance, functionTolerance, iterations, maxEvaluations,
+                timeoutNanos, progress);
+    }
+
+    /**
+     * Limits the number of function evaluations.
+     * The budget is checked before each iteration, so the last iteration may go slightly over it.
+     */
+    public Termination withMaxEvaluations(long evaluations) {
+        if (evaluations <= 0) {
+            throw new IllegalArgumentException("El presupuesto de evaluaciones debe ser positivo");
+        }
+        return new Termination(absoluteTolerance, relativeTolerance, functionTolerance, maxIterations, evaluations,
+                timeoutNanos, progress);
+    }
+
+    /**
+     * Limits the wall-clock time of each solve, counted from the moment it starts.
+     */
+    public Termination withTimeout(Duration timeout) {
+        if (timeout.isNegative() || timeout.isZero()) {
+            throw new IllegalArgumentException("El tiempo límite debe ser positivo");
+        }
+        return new Termination(absoluteTolerance, relativeTolerance, functionTolerance, maxIterations, maxEvaluations,
+                timeout.toNanos(), progress);
+    }
+
+    /**
+     * Reports the progress of each solve at the start of every iteration, on the thread that
+     * solves. The listener must be cheap; it runs inside the solver's loop.
+     */
+    public Termination withProgress(SearchProgress progress) {
+        if (progress == null) {
+            throw new IllegalArgumentException("El receptor del progreso no puede ser nulo");
+        }
+        return new Termination(absoluteTolerance, relativeTolerance, functionTolerance, maxIterations, maxEvaluations,
+                timeoutNanos, progress);
+    }
+
+    private static void checkTolerance(double tolerance) {
+        if (!(tolerance >= 0)) {
+            throw new IllegalArgumentException("La tolerancia no puede ser negativa");
+        }
+    }
+
+    public double getAbsoluteTolerance() {
+        return absoluteTolerance;
+    }
+
+    public double getRelativeTolerance() {
+        return relativeTolerance;
+    }
+
+    public double getFunctionTolerance() {
+        return functionTolerance;
+    }
+
+    public int getMaxIterations() {
+        return maxIterations;
+    }
+
+    public long getMaxEvaluations() {
+        return maxEvaluations;
+    }
+
+    /**
+     * Gets the time limit in nanoseconds, or 0 if there is none.
+     */
+    public long getTimeoutNanos() {
+        return timeoutNanos;
+    }
+
+    /**
+     * Gets the progress listener, or null if there is none.
+     */
+    public SearchProgress getProgress() {
+        return progress;
+    }
+
+    /**
+     * Starts one solve of f under this policy.
+     *
+     * @param f The function the solver evaluates
+     * @return The search state, which counts evaluations and iterations
+     */
+    public RootSearch start(DoubleUnaryOperator f) {
+        return new RootSearch(this, f);
+    }
+
+    @Override
+    public String toString() {
+        return "Termination[absTol=" + absoluteTolerance + ", relTol=" + relativeTolerance
+                + ", fTol=" + functionTolerance + ", maxIter=" + maxIterations
+                + (maxEvaluations == Long.MAX_VALUE ? "" : ", maxEval=" + maxEvaluations)
+                + (timeoutNanos == 0 ? "" : ", timeout=" + timeoutNanos / 1_000_000 + "ms") + "]";
+    }
+}
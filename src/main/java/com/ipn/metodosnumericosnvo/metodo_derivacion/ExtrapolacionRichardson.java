@@ -1,7 +1,8 @@
 package com.ipn.metodosnumericosnvo.metodo_derivacion;
 
 import java.util.function.Function;
-import org.mariuszgromada.math.mxparser.Expression;
+import com.ipn.metodosnumericosnvo.math.CompiledFunctionCache;
+import com.ipn.metodosnumericosnvo.math.DerivativeCalculator;
 
 public class ExtrapolacionRichardson {
     private String expresionFuncion;
@@ -35,10 +36,8 @@ public class ExtrapolacionRichardson {
      * @return Resultado de la función en el punto x
      */
     public double evaluarFuncion(double x) {
-        // Crear una expresión con argumento x explícito
-        org.mariuszgromada.math.mxparser.Argument xArg = new org.mariuszgromada.math.mxparser.Argument("x", x);
-        Expression exp = new Expression(expresionFuncion, xArg);
-        double result = exp.calculate();
+        // La expresión se compila una sola vez y se comparte a través del caché
+        double result = CompiledFunctionCache.shared().get(expresionFuncion).applyAsDouble(x);
 
         if (Double.isNaN(result)) {
             throw new IllegalArgumentException("Error al evaluar la función en x=" + x + ". Verifique la sintaxis.");
@@ -69,6 +68,22 @@ public class ExtrapolacionRichardson {
         return calcularDerivada(f, x, h);
     }
 
+    /**
+     * Calcula la derivada de la función actual por diferenciación automática.
+     * Sirve como referencia para medir el error de las aproximaciones por diferencias.
+     * @param x Punto donde se evalúa la derivada
+     * @return Valor de f'(x)
+     */
+    public double derivadaAutomatica(double x) {
+        double derivada = new DerivativeCalculator().getDifferentiableFunction(expresionFuncion).derivative(x);
+
+        if (Double.isNaN(derivada)) {
+            throw new IllegalArgumentException("Error al derivar la función en x=" + x + ". Verifique la sintaxis.");
+        }
+
+        return derivada;
+    }
+
     /**
      * Aplica la extrapolación de Richardson para mejorar la precisión
      * @param A_h Aproximación de la derivada con paso h
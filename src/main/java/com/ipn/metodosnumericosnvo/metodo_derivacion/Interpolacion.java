@@ -1,7 +1,7 @@
 package com.ipn.metodosnumericosnvo.metodo_derivacion;
 
+import com.ipn.metodosnumericosnvo.math.TaylorPolynomial;
 import org.mariuszgromada.math.mxparser.*;
-import java.math.BigInteger;
 
 public class Interpolacion {
     /**
@@ -21,22 +21,6 @@ public class Interpolacion {
         return result;
     }
 
-    /**
-     * Calcula el factorial de k usando BigInteger para evitar desbordamientos
-     * @param k Número para calcular el factorial
-     * @return k!
-     */
-    private BigInteger factorial(int k) {
-        if (k < 0) throw new IllegalArgumentException("Factorial no definido para números negativos");
-        if (k <= 1) return BigInteger.ONE;
-
-        BigInteger result = BigInteger.ONE;
-        for (int i = 2; i <= k; i++) {
-            result = result.multiply(BigInteger.valueOf(i));
-        }
-        return result;
-    }
-
     /**
      * Calcula el polinomio de Taylor de grado n para la función f(x) en el punto x
      * centrado en x0: Pn(x) = f(x0) + (x-x0)/1!*f'(x0) + ... + (x-x0)^n/n!*f^(n)(x0)
@@ -58,6 +42,28 @@ public class Interpolacion {
             throw new IllegalArgumentException("El grado del polinomio debe ser no negativo");
         }
 
+        // Todas las derivadas salen de una sola evaluación en series de Taylor truncadas;
+        // el polinomio queda en caché para evaluarlo en otros puntos
+        TaylorPolynomial polinomio;
+        try {
+            polinomio = TaylorPolynomial.of(fxExpr, x0, n);
+        } catch (IllegalArgumentException e) {
+            // Sintaxis que el compilador no admite: derivadas numéricas de mXparser
+            return calcularConMXparser(fxExpr, x0, n, x);
+        }
+
+        double resultado = polinomio.applyAsDouble(x);
+        if (Double.isNaN(resultado)) {
+            throw new ArithmeticException("Error al calcular las derivadas de la función en x0 = " + x0);
+        }
+        return resultado;
+    }
+
+    /**
+     * Calcula el polinomio de Taylor con las derivadas numéricas de mXparser, una por orden.
+     * Solo se usa con funciones que el compilador no admite.
+     */
+    private double calcularConMXparser(String fxExpr, double x0, int n, double x) {
         // Crear y validar la función
         Function f = new Function("f(x) = " + fxExpr);
         if (!f.checkSyntax()) {
@@ -67,20 +73,17 @@ public class Interpolacion {
         // Calcular el polinomio de Taylor
         double sum = 0;
         double diffX = x - x0; // Calculamos (x-x0) una sola vez
-        double powDiffX = 1;   // Iniciamos con (x-x0)^0 = 1
+        double termino = 1;    // (x-x0)^k / k!, empieza en 1 para k = 0
 
         for (int k = 0; k <= n; k++) {
             // Calcular la derivada k-ésima en x0
             double derivada = der(f, x0, k);
 
-            // Calcular (x-x0)^k / k!
-            double termino = powDiffX / factorial(k).doubleValue();
-
             // Sumar el término al polinomio
             sum += derivada * termino;
 
-            // Actualizar (x-x0)^k para la siguiente iteración
-            powDiffX *= diffX;
+            // Actualizar (x-x0)^k / k! para la siguiente iteración
+            termino *= diffX / (k + 1);
         }
 
         return sum;
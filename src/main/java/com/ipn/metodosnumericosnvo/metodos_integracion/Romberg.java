@@ -1,34 +1,257 @@
 package com.ipn.metodosnumericosnvo.metodos_integracion;
 
-import org.mariuszgromada.math.mxparser.Function;
+import com.ipn.metodosnumericosnvo.math.CompiledFunction;
+import com.ipn.metodosnumericosnvo.math.CompiledFunctionCache;
+import com.ipn.metodosnumericosnvo.math.SearchProgress;
 
+import java.util.Arrays;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.IntStream;
+
+/**
+ * Integración de Romberg: trapecios con el paso dividido a la mitad en cada nivel y
+ * extrapolación de Richardson sobre los resultados.
+ *
+ * Cada nivel reutiliza el trapecio del anterior y solo evalúa f en los 2^(i-1) puntos medios
+ * nuevos. Esa suma se reparte entre los núcleos cuando el nivel tiene muchos puntos, y cada
+ * parte se suma con compensación (Neumaier) para que el error de redondeo no crezca con el
+ * número de puntos. La tabla de Richardson solo necesita la fila anterior, así que sin tabla
+ * se guardan dos filas; con {@link #tabla} los valores se guardan en un arreglo triangular.
+ */
 public class Romberg {
+
+    // Niveles con menos puntos medios se suman en el hilo que llama
+    private static final int UMBRAL_PARALELO = 4096;
+
+    // Mínimo de puntos que suma una tarea
+    private static final int MIN_PUNTOS_TAREA = 1024;
+
+    // Filas para las que la tabla reserva espacio al empezar; crece si se necesitan más
+    private static final int FILAS_INICIALES = 8;
+
+    // Cada cuántos puntos una suma revisa si se canceló el cálculo
+    private static final int PUNTOS_ENTRE_REVISIONES = 4096;
+
+    /**
+     * Tabla de Richardson guardada por filas en un arreglo triangular: R[i][j], con j ≤ i,
+     * está en la posición i(i + 1)/2 + j. Solo tiene las filas que se calcularon.
+     */
+    public static final class Tabla {
+        private double[] valores = new double[FILAS_INICIALES * (FILAS_INICIALES + 1) / 2];
+        private int filas;
+        private double resultado;
+        private long evaluaciones;
+
+        private Tabla() {
+        }
+
+        private void agregarFila(double[] fila, int i) {
+            int necesarios = (i + 1) * (i + 2) / 2;
+            if (necesarios > valores.length) {
+                valores = Arrays.copyOf(valores, Math.max(necesarios, 2 * valores.length));
+            }
+            System.arraycopy(fila, 0, valores, i * (i + 1) / 2, i + 1);
+            filas = i + 1;
+        }
+
+        /**
+         * Filas calculadas; la fila i tiene i + 1 valores.
+         */
+        public int getFilas() {
+            return filas;
+        }
+
+        /**
+         * Valor R[i][j] de la tabla, con j ≤ i.
+         */
+        public double getValor(int i, int j) {
+            if (i < 0 || i >= filas || j < 0 || j > i) {
+                throw new IndexOutOfBoundsException("Posición fuera de la tabla: [" + i + "][" + j + "]");
+            }
+            return valores[i * (i + 1) / 2 + j];
+        }
+
+        /**
+         * El último valor de la diagonal.
+         */
+        public double getResultado() {
+            return resultado;
+        }
+
+        /**
+         * Evaluaciones de la función.
+         */
+        public long getEvaluaciones() {
+            return evaluaciones;
+        }
+    }
+
+    /**
+     * Integral de a a b con a lo más maxIter niveles.
+     * Se detiene cuando dos valores consecutivos de la diagonal difieren en menos de tol.
+     */
+    public double calcularRomberg(String fxExpr, double a, double b, int maxIter, double tol) {
+        return romberg(compilar(fxExpr), a, b, maxIter, tol, null, null);
+    }
+
+    /**
+     * Igual que {@link #calcularRomberg(String, double, double, int, double)}, y copia la tabla
+     * en rTable, que debe tener al menos maxIter filas de maxIter valores. Las filas que no se
+     * alcanzaron quedan sin tocar.
+     */
     public double calcularRomberg(String fxExpr, double a, double b, int maxIter, double tol, double[][] rTable) {
-        Function f = new Function("f(x) = " + fxExpr);
-        if (!f.checkSyntax()) throw new IllegalArgumentException("Función inválida: " + f.getErrorMessage());
+        Tabla tabla = tabla(fxExpr, a, b, maxIter, tol);
+        for (int i = 0; i < tabla.getFilas(); i++) {
+            System.arraycopy(tabla.valores, i * (i + 1) / 2, rTable[i], 0, i + 1);
+        }
+        return tabla.getResultado();
+    }
+
+    /**
+     * Integral de a a b con la tabla de Richardson de los niveles que se calcularon.
+     */
+    public Tabla tabla(String fxExpr, double a, double b, int maxIter, double tol) {
+        return tabla(fxExpr, a, b, maxIter, tol, null);
+    }
+
+    /**
+     * Igual que {@link #tabla(String, double, double, int, double)}, y avisa a avance al
+     * empezar cada nivel i = 1, 2, ... con las evaluaciones hechas hasta entonces.
+     *
+     * @param avance Recibe el avance del cálculo, o null
+     */
+    public Tabla tabla(String fxExpr, double a, double b, int maxIter, double tol, SearchProgress avance) {
+        CompiledFunction f = compilar(fxExpr);
+        Tabla tabla = new Tabla();
+        tabla.resultado = romberg(f, a, b, maxIter, tol, tabla, avance);
+        return tabla;
+    }
+
+    /**
+     * Integral de una función compilada, sin guardar la tabla.
+     */
+    public static double integrar(CompiledFunction f, double a, double b, int maxIter, double tol) {
+        return romberg(f, a, b, maxIter, tol, null, null);
+    }
+
+    private static CompiledFunction compilar(String fxExpr) {
+        CompiledFunction f = CompiledFunctionCache.shared().get(fxExpr);
+        if (!f.isSyntaxValid()) throw new IllegalArgumentException("Función inválida: " + fxExpr);
+        return f;
+    }
+
+    private static void validar(int maxIter, double tol) {
         if (maxIter <= 0) throw new IllegalArgumentException("Iteraciones debe ser > 0");
         if (tol <= 0) throw new IllegalArgumentException("Tolerancia debe ser > 0");
+    }
+
+    private static double romberg(CompiledFunction f, double a, double b, int maxIter, double tol, Tabla tabla,
+                                  SearchProgress avance) {
+        validar(maxIter, tol);
+        long inicio = System.nanoTime();
+        Thread llamador = Thread.currentThread();
+        double[] anterior = new double[maxIter];
+        double[] actual = new double[maxIter];
+        double[] parciales = new double[2 * maxTareas()];
 
         double h = b - a;
-        rTable[0][0] = (h / 2) * (f.calculate(a) + f.calculate(b));
+        anterior[0] = (h / 2) * (f.applyAsDouble(a) + f.applyAsDouble(b));
+        long evaluaciones = 2;
+        if (tabla != null) {
+            tabla.agregarFila(anterior, 0);
+        }
 
         for (int i = 1; i < maxIter; i++) {
-            h /= 2;
-            double sum = 0;
-            int m = (int) Math.pow(2, i - 1);
-            for (int k = 1; k <= m; k++) {
-                sum += f.calculate(a + (2 * k - 1) * h);
+            // Cancelación cooperativa: cada nivel duplica las evaluaciones del anterior
+            if (llamador.isInterrupted()) {
+                throw new CancellationException("Se canceló el cálculo");
             }
-            rTable[i][0] = 0.5 * rTable[i - 1][0] + sum * h;
+            if (avance != null) {
+                avance.update(i, evaluaciones, System.nanoTime() - inicio);
+            }
+            h /= 2;
+            long m = 1L << (i - 1);
+            actual[0] = 0.5 * anterior[0] + sumaPuntosMedios(f, a, h, m, parciales, llamador) * h;
+            evaluaciones += m;
 
+            // R[i][j] = R[i][j-1] + (R[i][j-1] - R[i-1][j-1]) / (4^j - 1)
+            double potencia = 1;
             for (int j = 1; j <= i; j++) {
-                rTable[i][j] = rTable[i][j - 1] +
-                    (rTable[i][j - 1] - rTable[i - 1][j - 1]) / (Math.pow(4, j) - 1);
+                potencia *= 4;
+                actual[j] = actual[j - 1] + (actual[j - 1] - anterior[j - 1]) / (potencia - 1);
+            }
+            if (tabla != null) {
+                tabla.agregarFila(actual, i);
+                tabla.evaluaciones = evaluaciones;
             }
-            if (Math.abs(rTable[i][i] - rTable[i - 1][i - 1]) < tol) {
-                return rTable[i][i];
+            if (Math.abs(actual[i] - anterior[i - 1]) < tol) {
+                return actual[i];
             }
+            double[] t = anterior;
+            anterior = actual;
+            actual = t;
         }
-        return rTable[maxIter - 1][maxIter - 1];
+        if (tabla != null) {
+            tabla.evaluaciones = evaluaciones;
+        }
+        return anterior[maxIter - 1];
+    }
+
+    /**
+     * Suma de f(a + (2k - 1)h) para k = 1..m. Con muchos puntos se reparte en tareas del grupo
+     * común de fork-join; cada tarea deja su suma y su compensación en parciales.
+     */
+    private static double sumaPuntosMedios(CompiledFunction f, double a, double h, long m,
+                                           double[] parciales, Thread llamador) {
+        int tareas = tareas(m);
+        if (tareas == 1) {
+            sumar(f, a, h, 1, m + 1, parciales, 0, llamador);
+            return parciales[0] + parciales[1];
+        }
+        IntStream.range(0, tareas).parallel().forEach(t ->
+                sumar(f, a, h, 1 + m * t / tareas, 1 + m * (t + 1) / tareas, parciales, 2 * t, llamador));
+        double suma = 0;
+        double compensacion = 0;
+        for (int t = 0; t < tareas; t++) {
+            double s = parciales[2 * t];
+            double nueva = suma + s;
+            compensacion += Math.abs(suma) >= Math.abs(s) ? (suma - nueva) + s : (s - nueva) + suma;
+            suma = nueva;
+            compensacion += parciales[2 * t + 1];
+        }
+        return suma + compensacion;
+    }
+
+    /**
+     * Suma compensada (Neumaier) de f(a + (2k - 1)h) para k en [desde, hasta).
+     */
+    private static void sumar(CompiledFunction f, double a, double h, long desde, long hasta,
+                              double[] parciales, int posicion, Thread llamador) {
+        double suma = 0;
+        double compensacion = 0;
+        for (long k = desde; k < hasta; k++) {
+            if ((k & (PUNTOS_ENTRE_REVISIONES - 1)) == 0 && llamador.isInterrupted()) {
+                throw new CancellationException("Se canceló el cálculo");
+            }
+            double y = f.applyAsDouble(a + (2 * k - 1) * h);
+            double nueva = suma + y;
+            compensacion += Math.abs(suma) >= Math.abs(y) ? (suma - nueva) + y : (y - nueva) + suma;
+            suma = nueva;
+        }
+        parciales[posicion] = suma;
+        parciales[posicion + 1] = compensacion;
+    }
+
+    private static int tareas(long m) {
+        if (m < UMBRAL_PARALELO) {
+            return 1;
+        }
+        return (int) Math.max(1, Math.min(maxTareas(), m / MIN_PUNTOS_TAREA));
+    }
+
+    // Unas cuantas tareas por núcleo mantienen ocupado el grupo cuando algunas tardan más
+    private static int maxTareas() {
+        return Math.max(1, ForkJoinPool.getCommonPoolParallelism() * 4);
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,178 @@
+package com.ipn.metodosnumericosnvo.metodos_raices;
+
+import com.ipn.metodosnumericosnvo.math.RootResult;
+import com.ipn.metodosnumericosnvo.math.RootSearch;
+
+/**
+ * Aceleración de la iteración de punto fijo x = g(x).
+ *
+ * La iteración simple (de Picard) converge linealmente con razón |g'(x*)|, así que una g que
+ * contrae poco necesita miles de pasos. Los esquemas de esta clase usan la misma g:
+ * <ul>
+ * <li>Aitken Δ² (Steffensen): extrapola el límite a partir de x, g(x) y g(g(x)). Converge
+ * cuadráticamente con dos evaluaciones por paso.</li>
+ * <li>Anderson: combina g(x) con el g del punto anterior para anular el residuo de la
+ * combinación. Con una sola incógnita basta profundidad uno, que equivale a la secante sobre
+ * g(x) - x: una evaluación por paso.</li>
+ * <li>Algoritmo ε de Wynn: extrapola cinco iterados de Picard (ε de orden 2). Acelera
+ * sucesiones con más de un modo lineal, donde Aitken no basta.</li>
+ * </ul>
+ * Un punto acelerado solo se acepta si su residuo |g(x) - x| es menor que el del punto
+ * actual. Si ningún esquema lo logra, el paso sigue con los iterados de Picard que ya se
+ * calcularon, así que acelerar nunca cuesta más que unas pocas evaluaciones por encima de la
+ * iteración simple. En modo automático los esquemas se prueban del más barato al más caro y
+ * cada paso empieza un nivel arriba del que funcionó en el paso anterior.
+ */
+public final class AceleracionPuntoFijo {
+
+    public enum Esquema { PICARD, AITKEN, ANDERSON, EPSILON, AUTOMATICO }
+
+    // Iterados de Picard que extrapola el algoritmo ε
+    private static final int PUNTOS_EPSILON = 5;
+
+    private AceleracionPuntoFijo() {
+    }
+
+    /**
+     * Extrapolación Δ² de Aitken de tres términos consecutivos de una sucesión.
+     * @return x2 - (x2 - x1)² / (x2 - 2·x1 + x0), o x2 si el denominador es casi cero
+     */
+    public static double aitken(double x0, double x1, double x2) {
+        double den = x2 - 2 * x1 + x0;
+        if (Math.abs(den) > 1e-14) {
+            return x2 - (x2 - x1) * (x2 - x1) / den;
+        }
+        return x2;
+    }
+
+    /**
+     * Algoritmo ε de Wynn sobre los n primeros términos de s, con n impar.
+     * @param ant Arreglo de trabajo de al menos n elementos
+     * @param act Arreglo de trabajo de al menos n elementos
+     * @return ε de orden (n - 1) / 2, o NaN si la tabla se indetermina
+     */
+    static double epsilon(double[] s, int n, double[] ant, double[] act) {
+        // ant guarda la columna k - 1 de la tabla y act la columna k; la columna -1 es cero
+        for (int j = 0; j < n; j++) {
+            ant[j] = 0;
+            act[j] = s[j];
+        }
+        for (int k = 1; k < n; k++) {
+            for (int j = 0; j < n - k; j++) {
+                double d = act[j + 1] - act[j];
+                if (d == 0) {
+                    // Dos términos iguales en una columna par: la sucesión ya no se mueve
+                    return k % 2 == 1 ? act[j + 1] : Double.NaN;
+                }
+                ant[j] = ant[j + 1] + 1 / d;
+            }
+            double[] t = ant;
+            ant = act;
+            act = t;
+        }
+        return act[0];
+    }
+
+    /**
+     * Iteración de punto fijo con el esquema dado, sobre la g con la que se inició la
+     * búsqueda. Cada paso tiene las columnas xi, g(xi), |g(xi) - xi| y el esquema que produjo
+     * xi (su ordinal). Se detiene si g no es finita o si el residuo crece más del doble de un
+     * paso a otro; en el resultado, la raíz es g(xi) y el valor de la función es g(xi) - xi.
+     */
+    static RootResult iterar(RootSearch busqueda, double x0, Esquema esquema, RegistroPasos registro) {
+        registro.iniciar(4);
+        Esquema[] cadena = cadena(esquema);
+        double[] picard = new double[PUNTOS_EPSILON];
+        double[] ant = new double[PUNTOS_EPSILON];
+        double[] act = new double[PUNTOS_EPSILON];
+
+        double x = x0;
+        double gx = busqueda.evaluate(x);
+        double residuo = gx - x;
+        double xAnterior = Double.NaN, gAnterior = Double.NaN;
+        double prevError = Double.MAX_VALUE;
+        Esquema usado = Esquema.PICARD;
+        int nivel = 0;
+
+        while (busqueda.nextIteration()) {
+            if (!Double.isFinite(gx)) {
+                return busqueda.breakdown(x, residuo, "La función diverge: g(" + x + ") = " + gx);
+            }
+            residuo = gx - x;
+            double err = Math.abs(residuo);
+            registro.fila(busqueda.getIteration()).valor(x).valor(gx).valor(err).valor(usado.ordinal());
+
+            if (busqueda.hasConverged(err, gx, residuo)) {
+                return busqueda.finish(gx, residuo);
+            }
+            if (busqueda.getIteration() > 1 && err > prevError * 2) {
+                return busqueda.breakdown(gx, residuo,
+                        "El método está divergiendo. Intente con otro valor inicial o una función diferente.");
+            }
+            prevError = err;
+
+            picard[0] = x;
+            picard[1] = gx;
+            int conocidos = 2;
+            boolean aceptado = false;
+            for (int k = nivel; k < cadena.length && !aceptado; k++) {
+                double c;
+                if (cadena[k] == Esquema.ANDERSON) {
+                    double rAnterior = gAnterior - xAnterior;
+                    if (Double.isNaN(rAnterior) || residuo == rAnterior) {
+                        continue;
+                    }
+                    c = gx - residuo / (residuo - rAnterior) * (gx - gAnterior);
+                } else if (cadena[k] == Esquema.AITKEN) {
+                    conocidos = picard(busqueda, picard, conocidos, 3);
+                    c = aitken(picard[0], picard[1], picard[2]);
+                } else {
+                    conocidos = picard(busqueda, picard, conocidos, PUNTOS_EPSILON);
+                    c = epsilon(picard, PUNTOS_EPSILON, ant, act);
+                }
+                if (!Double.isFinite(c)) {
+                    continue;
+                }
+                double gc = busqueda.evaluate(c);
+                if (Math.abs(gc - c) < err) {
+                    xAnterior = x;
+                    gAnterior = gx;
+                    x = c;
+                    gx = gc;
+                    usado = cadena[k];
+                    nivel = Math.max(0, k - 1);
+                    aceptado = true;
+                }
+            }
+            if (!aceptado) {
+                // Ningún esquema redujo el residuo: se sigue con los iterados de Picard ya calculados
+                conocidos = picard(busqueda, picard, conocidos, Math.max(conocidos, 3));
+                xAnterior = picard[conocidos - 3];
+                gAnterior = picard[conocidos - 2];
+                x = picard[conocidos - 2];
+                gx = picard[conocidos - 1];
+                usado = Esquema.PICARD;
+                nivel = 0;
+            }
+        }
+        return busqueda.finish(x, gx - x);
+    }
+
+    /**
+     * Completa los iterados de Picard hasta tener los primeros hasta; devuelve cuántos hay.
+     */
+    private static int picard(RootSearch busqueda, double[] picard, int conocidos, int hasta) {
+        for (int i = conocidos; i < hasta; i++) {
+            picard[i] = busqueda.evaluate(picard[i - 1]);
+        }
+        return Math.max(conocidos, hasta);
+    }
+
+    private static Esquema[] cadena(Esquema esquema) {
+        switch (esquema) {
+            case PICARD: return new Esquema[0];
+            case AUTOMATICO: return new Esquema[] { Esquema.ANDERSON, Esquema.AITKEN, Esquema.EPSILON };
+            default: return new Esquema[] { esquema };
+        }
+    }
+}
@@ -2,9 +2,14 @@ package com.ipn.metodosnumericosnvo.metodos_raices;
 
 import java.util.ArrayList;
 import java.util.List;
-import org.mariuszgromada.math.mxparser.*;
+import com.ipn.metodosnumericosnvo.math.CompiledFunction;
+import com.ipn.metodosnumericosnvo.math.CompiledFunctionCache;
+import com.ipn.metodosnumericosnvo.math.RootResult;
+import com.ipn.metodosnumericosnvo.math.RootSearch;
+import com.ipn.metodosnumericosnvo.math.RootSolver;
+import com.ipn.metodosnumericosnvo.math.Termination;
 
-public class Biseccion {
+public class Biseccion implements RootSolver {
     public static class Iteracion {
         public final int iteracion;
         public final double x0, x1, x2, fx0, fx1, fx2, error;
@@ -21,53 +26,108 @@ public class Biseccion {
         }
     }
 
-    private static double eval(String funcion, double x) {
-        Argument arg = new Argument("x", x);
-        Expression e = new Expression(funcion, arg);
-        return e.calculate();
+    /** Límite de iteraciones de las versiones que solo reciben la tolerancia. */
+    public static final int MAX_ITERACIONES = 100;
+
+    public static List<Iteracion> resolver(String funcionTexto, double x0, double x1, double tol) {
+        RegistroPasos registro = RegistroPasos.completo();
+        resolver(funcionTexto, x0, x1, tol, registro);
+        return iteraciones(registro);
+    }
+
+    /**
+     * Convierte los pasos de un registro de bisección en objetos {@link Iteracion}.
+     */
+    public static List<Iteracion> iteraciones(RegistroPasos registro) {
+        List<Iteracion> pasos = new ArrayList<>(registro.getTamano());
+        registro.copiarEn(pasos, i -> new Iteracion(registro.getPaso(i),
+                registro.getValor(i, 0), registro.getValor(i, 1), registro.getValor(i, 2),
+                registro.getValor(i, 3), registro.getValor(i, 4), registro.getValor(i, 5),
+                registro.getValor(i, 6)));
+        return pasos;
+    }
+
+    /**
+     * Convierte un paso publicado por la bisección en un objeto {@link Iteracion}.
+     */
+    public static Iteracion iteracion(EventoPaso evento) {
+        return new Iteracion(evento.getPaso(), evento.getValor(0), evento.getValor(1), evento.getValor(2),
+                evento.getValor(3), evento.getValor(4), evento.getValor(5), evento.getValor(6));
     }
 
-    public static List<Iteracion> resolver(String funcion, double x0, double x1, double tol) {
-        List<Iteracion> pasos = new ArrayList<>();
-        double fx0 = eval(funcion, x0);
-        double fx1 = eval(funcion, x1);
+    /**
+     * Método de bisección que registra los pasos según la política del registro.
+     * Cada paso tiene las columnas x0, x1, x2, f(x0), f(x1), f(x2) y error, en ese orden.
+     * @param funcionTexto Función en texto
+     * @param x0 Extremo izquierdo
+     * @param x1 Extremo derecho
+     * @param tol Tolerancia
+     * @param registro Registro de pasos; se vacía al empezar
+     * @return La raíz encontrada (x2 del último paso)
+     */
+    public static double resolver(String funcionTexto, double x0, double x1, double tol, RegistroPasos registro) {
+        CompiledFunction funcion = CompiledFunctionCache.shared().get(funcionTexto);
+        Termination termination = Termination.of(tol).withMaxIterations(MAX_ITERACIONES);
+        return resolver(funcion, x0, x1, termination, registro).getRoot();
+    }
+
+    @Override
+    public RootResult solve(CompiledFunction f, double x0, double x1, Termination termination) {
+        return resolver(f, x0, x1, termination, RegistroPasos.ninguno());
+    }
+
+    /**
+     * Método de bisección sobre una función compilada.
+     * El error de cada paso es la distancia entre dos puntos medios consecutivos. Los valores de
+     * f en los extremos se conservan de un paso al siguiente, así que cada iteración evalúa f
+     * solo en el punto medio: n iteraciones cuestan n + 2 evaluaciones.
+     * @param funcion Función
+     * @param x0 Extremo izquierdo
+     * @param x1 Extremo derecho
+     * @param termination Criterio de paro
+     * @param registro Registro de pasos; se vacía al empezar
+     * @return El resultado, con el número de iteraciones y evaluaciones
+     */
+    public static RootResult resolver(CompiledFunction funcion, double x0, double x1, Termination termination,
+                                      RegistroPasos registro) {
+        RootSearch busqueda = termination.start(funcion);
+        registro.iniciar(7);
+        double fx0 = busqueda.evaluate(x0);
+        double fx1 = busqueda.evaluate(x1);
 
         if (fx0 * fx1 > 0) {
             throw new IllegalArgumentException("f(x0) y f(x1) deben tener signos opuestos");
         }
 
-        double x2 = 0, fx2 = 0, error = Double.MAX_VALUE;
-        int iter = 0;
+        double x2 = x0, fx2 = fx0, error;
 
-        while (error > tol && iter < 100) {
+        while (busqueda.nextIteration()) {
+            double prevX2 = x2;
             x2 = (x0 + x1) / 2.0;
-            fx0 = eval(funcion, x0);
-            fx1 = eval(funcion, x1);
-            fx2 = eval(funcion, x2);
+            fx2 = busqueda.evaluate(x2);
 
-            if (iter > 0) {
-                double prevX2 = pasos.get(pasos.size() - 1).x2;
+            if (busqueda.getIteration() > 1) {
                 error = Math.abs(x2 - prevX2);
             } else {
                 error = Math.abs(x1 - x0);
             }
 
-            pasos.add(new Iteracion(iter + 1, x0, x1, x2, fx0, fx1, fx2, error));
+            registro.fila(busqueda.getIteration()).valor(x0).valor(x1).valor(x2).valor(fx0).valor(fx1).valor(fx2).valor(error);
 
-            // Salir si la raíz exacta es encontrada
-            if (Math.abs(fx2) < tol) break;
+            if (busqueda.hasConverged(error, x2, fx2)) break;
 
+            // El punto medio reemplaza al extremo con su mismo signo, junto con su valor
             if (fx0 * fx2 < 0) {
                 x1 = x2;
+                fx1 = fx2;
             } else {
                 x0 = x2;
+                fx0 = fx2;
             }
-            iter++;
         }
-        return pasos;
+        return busqueda.finish(x2, fx2);
     }
 
-
     /**
      * Obtiene la raíz encontrada por el método de bisección.
      * @param pasos Lista de iteraciones del método de bisección
@@ -1,9 +1,14 @@
 package com.ipn.metodosnumericosnvo.metodos_raices;
 
-import org.mariuszgromada.math.mxparser.*;
+import com.ipn.metodosnumericosnvo.math.CompiledFunction;
+import com.ipn.metodosnumericosnvo.math.CompiledFunctionCache;
+import com.ipn.metodosnumericosnvo.math.RootResult;
+import com.ipn.metodosnumericosnvo.math.RootSearch;
+import com.ipn.metodosnumericosnvo.math.RootSolver;
+import com.ipn.metodosnumericosnvo.math.Termination;
 import java.util.List;
 
-public class Biseccion_Aitken {
+public class Biseccion_Aitken implements RootSolver {
     public static class Step {
         public int paso;
         public double a, b, c, fc, aitken;
@@ -19,23 +24,55 @@ public class Biseccion_Aitken {
         public double getAitken() { return aitken; }
     }
 
+    /**
+     * Bisección acelerada con Aitken Δ² sobre los puntos medios.
+     * Devuelve la estimación de Aitken si converge, o el último punto medio si agota las
+     * iteraciones.
+     */
     public double resolver(String exprF, double a, double b,
                            double tol, int maxIt, List<Step> steps) {
-        Argument xArg = new Argument("x", 0);
-        Expression f = new Expression(exprF, xArg);
-        xArg.setArgumentValue(a);
-        double fa = f.calculate();
-        xArg.setArgumentValue(b);
-        double fb = f.calculate();
+        RegistroPasos registro = RegistroPasos.completo();
+        try {
+            return resolver(exprF, a, b, tol, maxIt, registro);
+        } finally {
+            registro.copiarEn(steps, i -> new Step(registro.getPaso(i),
+                    registro.getValor(i, 0), registro.getValor(i, 1), registro.getValor(i, 2),
+                    registro.getValor(i, 3), registro.getValor(i, 4)));
+        }
+    }
+
+    /**
+     * Igual que la versión con lista, pero registra los pasos según la política del registro.
+     * Cada paso tiene las columnas a, b, c, f(c) y la estimación de Aitken.
+     */
+    public double resolver(String exprF, double a, double b, double tol, int maxIt, RegistroPasos registro) {
+        CompiledFunction f = CompiledFunctionCache.shared().get(exprF);
+        return resolver(f, a, b, Termination.of(tol).withMaxIterations(maxIt), registro).getRoot();
+    }
+
+    @Override
+    public RootResult solve(CompiledFunction f, double x0, double x1, Termination termination) {
+        return resolver(f, x0, x1, termination, RegistroPasos.ninguno());
+    }
+
+    /**
+     * Bisección con Aitken sobre una función compilada. El error de cada paso es la mitad
+     * del intervalo; al converger, la raíz es la estimación de Aitken.
+     */
+    public RootResult resolver(CompiledFunction f, double a, double b, Termination termination,
+                               RegistroPasos registro) {
+        RootSearch busqueda = termination.start(f);
+        registro.iniciar(5);
+        double fa = busqueda.evaluate(a);
+        double fb = busqueda.evaluate(b);
         if (fa * fb > 0) throw new IllegalArgumentException("f(a) y f(b) deben tener signos opuestos");
 
         double c = 0, fc = 0;
-        Double cPrev1 = null, cPrev2 = null;
+        double cPrev1 = Double.NaN, cPrev2 = Double.NaN;
 
-        for (int i = 1; i <= maxIt; i++) {
+        while (busqueda.nextIteration()) {
             c = (a + b) / 2;
-            xArg.setArgumentValue(c);
-            fc = f.calculate();
+            fc = busqueda.evaluate(c);
 
             if (fa * fc <= 0) {
                 b = c; fb = fc;
@@ -43,25 +80,16 @@ public class Biseccion_Aitken {
                 a = c; fa = fc;
             }
 
-            double aitken = c;
-            if (cPrev2 != null && cPrev1 != null) {
-                double x0 = cPrev2, x1 = cPrev1, x2 = c;
-                double delta1 = x1 - x0;
-                double delta2 = x2 - x1;
-                double denom = delta2 - delta1;
-                if (Math.abs(denom) > 1e-14) {
-                    aitken = x0 - (delta1 * delta1) / denom;
-                }
-            }
+            double aitken = Double.isNaN(cPrev2) ? c : AceleracionPuntoFijo.aitken(cPrev2, cPrev1, c);
 
-            steps.add(new Step(i, a, b, c, fc, aitken));
-            if (Math.abs(b - a) / 2 < tol || Math.abs(fc) < tol) {
-                return aitken;
+            registro.fila(busqueda.getIteration()).valor(a).valor(b).valor(c).valor(fc).valor(aitken);
+            if (busqueda.hasConverged((b - a) / 2, c, fc)) {
+                return busqueda.finish(aitken, fc);
             }
 
             cPrev2 = cPrev1;
             cPrev1 = c;
         }
-        return c;
+        return busqueda.finish(c, fc);
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,157 @@
+package com.ipn.metodosnumericosnvo.metodos_raices;
+
+import com.ipn.metodosnumericosnvo.math.CompiledFunction;
+import com.ipn.metodosnumericosnvo.math.CompiledFunctionCache;
+import com.ipn.metodosnumericosnvo.math.RootResult;
+import com.ipn.metodosnumericosnvo.math.RootSearch;
+import com.ipn.metodosnumericosnvo.math.RootSolver;
+import com.ipn.metodosnumericosnvo.math.Termination;
+
+/**
+ * Método de Brent (Brent-Dekker) para raíces en un intervalo con cambio de signo.
+ *
+ * Cada paso intenta interpolación cuadrática inversa con los tres últimos puntos, o secante
+ * si solo hay dos distintos, y acepta el punto solo si cae dentro del intervalo y reduce el
+ * paso lo suficiente; si no, da un paso de bisección. Así conserva la garantía de la
+ * bisección (la raíz siempre queda encerrada entre b y c) y converge de forma superlineal
+ * cerca de la raíz, con una evaluación de f por iteración.
+ */
+public class Brent implements RootSolver {
+
+    /** Tipo de paso registrado en la última columna. */
+    public static final int PASO_BISECCION = 0;
+    public static final int PASO_SECANTE = 1;
+    public static final int PASO_CUADRATICO = 2;
+
+    private static final double EPS = Math.ulp(1.0);
+
+    /**
+     * Método de Brent con la tolerancia aplicada al ancho del intervalo y a |f(x)|.
+     * @param expr Función en texto
+     * @param a Extremo izquierdo
+     * @param b Extremo derecho
+     * @param tol Tolerancia
+     * @param maxIt Máximo de iteraciones
+     * @param registro Registro de pasos; se vacía al empezar
+     * @return La raíz encontrada
+     */
+    public double resolver(String expr, double a, double b, double tol, int maxIt, RegistroPasos registro) {
+        CompiledFunction funcion = CompiledFunctionCache.shared().get(expr);
+        RootResult resultado = resolver(funcion, a, b, Termination.of(tol).withMaxIterations(maxIt), registro);
+        if (!resultado.isConverged()) {
+            throw new IllegalArgumentException("No converge en " + maxIt + " iteraciones.");
+        }
+        return resultado.getRoot();
+    }
+
+    @Override
+    public RootResult solve(CompiledFunction f, double x0, double x1, Termination termination) {
+        return resolver(f, x0, x1, termination, RegistroPasos.ninguno());
+    }
+
+    /**
+     * Método de Brent sobre una función compilada.
+     * Cada paso tiene las columnas a (punto anterior), b (mejor punto), c (extremo opuesto),
+     * f(b) y el tipo de paso ({@link #PASO_BISECCION}, {@link #PASO_SECANTE} o
+     * {@link #PASO_CUADRATICO}). El error de cada paso es el ancho del intervalo |c - b|.
+     * @param funcion Función
+     * @param a Extremo izquierdo
+     * @param b Extremo derecho
+     * @param termination Criterio de paro
+     * @param registro Registro de pasos; se vacía al empezar
+     * @return El resultado, con el número de iteraciones y evaluaciones
+     */
+    public RootResult resolver(CompiledFunction funcion, double a, double b, Termination termination,
+                               RegistroPasos registro) {
+        RootSearch busqueda = termination.start(funcion);
+        registro.iniciar(5);
+        double fa = busqueda.evaluate(a);
+        double fb = busqueda.evaluate(b);
+
+        if (Double.isNaN(fa) || Double.isNaN(fb)) {
+            throw new IllegalArgumentException("Error evaluando la función. Revisa la expresión.");
+        }
+        if (fa * fb > 0) {
+            throw new IllegalArgumentException("f(a) y f(b) deben tener signos opuestos");
+        }
+
+        // c es el extremo opuesto a b; d es el último paso y e el penúltimo
+        double c = a, fc = fa;
+        double d = b - a, e = d;
+        double absTol = termination.getAbsoluteTolerance();
+        double relTol = termination.getRelativeTolerance();
+
+        while (busqueda.nextIteration()) {
+            if (fb * fc > 0) {
+                // La raíz quedó entre a y b: a pasa a ser el extremo opuesto
+                c = a; fc = fa;
+                d = b - a; e = d;
+            }
+            if (Math.abs(fc) < Math.abs(fb)) {
+                // b debe ser el mejor punto
+                a = b; b = c; c = a;
+                fa = fb; fb = fc; fc = fa;
+            }
+
+            double tol1 = 2 * EPS * Math.abs(b) + 0.5 * (absTol + relTol * Math.abs(b));
+            double xm = 0.5 * (c - b);
+
+            if (busqueda.hasConverged(c - b, b, fb)) {
+                registro.fila(busqueda.getIteration()).valor(a).valor(b).valor(c).valor(fb).valor(PASO_BISECCION);
+                return busqueda.finish(b, fb);
+            }
+            if (Math.abs(xm) <= 2 * EPS * Math.abs(b) || Math.abs(xm) <= Double.MIN_NORMAL) {
+                // El intervalo ya no puede reducirse en doble precisión
+                registro.fila(busqueda.getIteration()).valor(a).valor(b).valor(c).valor(fb).valor(PASO_BISECCION);
+                return busqueda.converged(b, fb);
+            }
+
+            int tipo = PASO_BISECCION;
+            if (Math.abs(e) >= tol1 && Math.abs(fa) > Math.abs(fb)) {
+                double s = fb / fa;
+                double p, q;
+                if (a == c) {
+                    // Solo dos puntos distintos: secante
+                    p = 2 * xm * s;
+                    q = 1 - s;
+                    tipo = PASO_SECANTE;
+                } else {
+                    // Interpolación cuadrática inversa con a, b y c
+                    double r = fb / fc;
+                    q = fa / fc;
+                    p = s * (2 * xm * q * (q - r) - (b - a) * (r - 1));
+                    q = (q - 1) * (r - 1) * (s - 1);
+                    tipo = PASO_CUADRATICO;
+                }
+                if (p > 0) {
+                    q = -q;
+                } else {
+                    p = -p;
+                }
+                // Se acepta la interpolación si cae dentro del intervalo y el paso se reduce
+                if (2 * p < Math.min(3 * xm * q - Math.abs(tol1 * q), Math.abs(e * q))) {
+                    e = d;
+                    d = p / q;
+                } else {
+                    d = xm;
+                    e = d;
+                    tipo = PASO_BISECCION;
+                }
+            } else {
+                d = xm;
+                e = d;
+            }
+
+            a = b;
+            fa = fb;
+            b += Math.abs(d) > tol1 ? d : Math.copySign(tol1, xm);
+            fb = busqueda.evaluate(b);
+            if (Double.isNaN(fb)) {
+                return busqueda.breakdown(a, fa, "La función no está definida en x = " + b);
+            }
+
+            registro.fila(busqueda.getIteration()).valor(a).valor(b).valor(c).valor(fb).valor(tipo);
+        }
+        return busqueda.finish(b, fb);
+    }
+}
@@ -5,6 +5,8 @@ import java.util.ArrayList;
 import java.util.List;
 
 import com.ipn.metodosnumericosnvo.math.DeflacionCompaniona;
+import com.ipn.metodosnumericosnvo.math.PulidoNewton;
+import com.ipn.metodosnumericosnvo.math.RaicesPulidas;
 
 public class Deflacion {
 
@@ -40,4 +42,12 @@ public class Deflacion {
         roots.add(new Complex(-poly[1] / poly[0], 0));
         return roots;
     }
+
+    /**
+     * Encuentra las raíces por deflación y las pule con Newton sobre el polinomio original,
+     * lo que elimina el error que acumulan las divisiones sintéticas.
+     */
+    public RaicesPulidas findPolishedRoots(double[] coeffs, PulidoNewton pulido) {
+        return pulido.pulir(coeffs, findRoots(coeffs));
+    }
 }
@@ -0,0 +1,45 @@
+package com.ipn.metodosnumericosnvo.metodos_raices;
+
+import java.util.Arrays;
+
+/**
+ * Un paso de un método de raíces publicado por {@link PublicadorPasos}.
+ * Tiene los mismos valores que el paso en un {@link RegistroPasos}, en el mismo orden de
+ * columnas. Es inmutable, así que se puede leer desde cualquier hilo.
+ */
+public final class EventoPaso {
+
+    private final int paso;
+    private final double[] valores;
+
+    EventoPaso(int paso, double[] valores) {
+        this.paso = paso;
+        this.valores = valores;
+    }
+
+    /**
+     * Número del paso.
+     */
+    public int getPaso() {
+        return paso;
+    }
+
+    public int getColumnas() {
+        return valores.length;
+    }
+
+    /**
+     * Valor de una columna del paso.
+     */
+    public double getValor(int columna) {
+        if (columna < 0 || columna >= valores.length) {
+            throw new IndexOutOfBoundsException("Columna fuera de rango: " + columna);
+        }
+        return valores[columna];
+    }
+
+    @Override
+    public String toString() {
+        return paso + " " + Arrays.toString(valores);
+    }
+}
@@ -1,11 +1,15 @@
 package com.ipn.metodosnumericosnvo.metodos_raices;
 
-import org.mariuszgromada.math.mxparser.*;
+import com.ipn.metodosnumericosnvo.math.CompiledFunction;
+import com.ipn.metodosnumericosnvo.math.CompiledFunctionCache;
+import com.ipn.metodosnumericosnvo.math.RootResult;
+import com.ipn.metodosnumericosnvo.math.RootSearch;
+import com.ipn.metodosnumericosnvo.math.RootSolver;
+import com.ipn.metodosnumericosnvo.math.Termination;
 
-import java.util.ArrayList;
 import java.util.List;
 
-public class FalsaPosicion {
+public class FalsaPosicion implements RootSolver {
 
     public static class Step {
         public int paso;
@@ -25,6 +29,12 @@ public class FalsaPosicion {
         public double getFx2() { return fx2; }
     }
 
+    /**
+     * Límite de iteraciones de la versión que solo recibe la tolerancia. La falsa posición
+     * avanza despacio cuando un extremo se queda fijo, así que el límite es amplio.
+     */
+    private static final int MAX_ITERACIONES = 1000;
+
     /**
      * Resuelve por falsa posición.
      * @param expr Expresión de la función (como la escribe el usuario)
@@ -35,11 +45,50 @@ public class FalsaPosicion {
      * @return La raíz encontrada
      */
     public double resolver(String expr, double x0, double x1, double tol, List<Step> pasos) {
-        Argument argX = new Argument("x", x0); // Se actualiza valor en cada llamada
-        Expression funcion = new Expression(expr, argX);
+        RegistroPasos registro = RegistroPasos.completo();
+        try {
+            return resolver(expr, x0, x1, tol, registro);
+        } finally {
+            registro.copiarEn(pasos, i -> new Step(registro.getPaso(i),
+                    registro.getValor(i, 0), registro.getValor(i, 1), registro.getValor(i, 2),
+                    registro.getValor(i, 3)));
+        }
+    }
+
+    /**
+     * Resuelve por falsa posición y registra los pasos según la política del registro.
+     * Cada paso tiene las columnas x0, x1, x2 y f(x2).
+     */
+    public double resolver(String expr, double x0, double x1, double tol, RegistroPasos registro) {
+        CompiledFunction funcion = CompiledFunctionCache.shared().get(expr);
+        RootResult resultado = resolver(funcion, x0, x1, Termination.onResidual(tol).withMaxIterations(MAX_ITERACIONES),
+                registro);
+        if (!resultado.isConverged()) {
+            throw new IllegalArgumentException("No converge en " + MAX_ITERACIONES + " iteraciones.");
+        }
+        return resultado.getRoot();
+    }
+
+    @Override
+    public RootResult solve(CompiledFunction f, double x0, double x1, Termination termination) {
+        return resolver(f, x0, x1, termination, RegistroPasos.ninguno());
+    }
 
-        double f0 = evalFunc(funcion, argX, x0);
-        double f1 = evalFunc(funcion, argX, x1);
+    /**
+     * Falsa posición sobre una función compilada. El error de cada paso es el cambio de x2.
+     * @param funcion Función
+     * @param x0 Primer extremo
+     * @param x1 Segundo extremo
+     * @param termination Criterio de paro
+     * @param registro Registro de pasos; se vacía al empezar
+     * @return El resultado, con el número de iteraciones y evaluaciones
+     */
+    public RootResult resolver(CompiledFunction funcion, double x0, double x1, Termination termination,
+                               RegistroPasos registro) {
+        RootSearch busqueda = termination.start(funcion);
+        registro.iniciar(4);
+        double f0 = busqueda.evaluate(x0);
+        double f1 = busqueda.evaluate(x1);
 
         if (Double.isNaN(f0) || Double.isNaN(f1)) {
             throw new IllegalArgumentException("Error evaluando la función. Revisa la expresión.");
@@ -48,26 +97,22 @@ public class FalsaPosicion {
             throw new IllegalArgumentException("Las conjeturas iniciales no encierran la raíz.");
         }
 
-        double x2 = 0, f2;
-        int paso = 1;
-        do {
+        double x2 = x0, f2 = f0;
+        while (busqueda.nextIteration()) {
+            double anterior = x2;
             x2 = x0 - (x0 - x1) * f0 / (f0 - f1);
-            f2 = evalFunc(funcion, argX, x2);
+            f2 = busqueda.evaluate(x2);
+
+            registro.fila(busqueda.getIteration()).valor(x0).valor(x1).valor(x2).valor(f2);
+            if (busqueda.hasConverged(x2 - anterior, x2, f2)) break;
 
-            pasos.add(new Step(paso, x0, x1, x2, f2));
             if (f0 * f2 < 0) {
                 x1 = x2; f1 = f2;
             } else {
                 x0 = x2; f0 = f2;
             }
-            paso++;
-        } while (Math.abs(f2) > tol);
-
-        return x2;
-    }
+        }
 
-    private double evalFunc(Expression expr, Argument argX, double x) {
-        argX.setArgumentValue(x);
-        return expr.calculate();
+        return busqueda.finish(x2, f2);
     }
 }
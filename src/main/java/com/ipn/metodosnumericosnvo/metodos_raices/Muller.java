@@ -4,8 +4,15 @@ import org.mariuszgromada.math.mxparser.*;
 import java.util.ArrayList;
 import java.util.List;
 import org.apache.commons.math3.complex.Complex;
+import com.ipn.metodosnumericosnvo.math.CompiledFunction;
+import com.ipn.metodosnumericosnvo.math.CompiledFunctionCache;
+import com.ipn.metodosnumericosnvo.math.ComplexFunction;
+import com.ipn.metodosnumericosnvo.math.RootResult;
+import com.ipn.metodosnumericosnvo.math.RootSearch;
+import com.ipn.metodosnumericosnvo.math.RootSolver;
+import com.ipn.metodosnumericosnvo.math.Termination;
 
-public class Muller {
+public class Muller implements RootSolver {
 
     public static class Step {
         public int paso;
@@ -69,6 +76,26 @@ public class Muller {
      * @return        Raíz aproximada en formato complejo
      */
     public Complex resolver(String exprF, String x1Str, String x2Str, String x3Str, double tol, int maxIt, List<Step> pasos) {
+        RegistroPasos registro = RegistroPasos.completo();
+        try {
+            return resolver(exprF, x1Str, x2Str, x3Str, tol, maxIt, registro);
+        } finally {
+            registro.copiarEn(pasos, i -> new Step(registro.getPaso(i),
+                    complejo(registro, i, 0), complejo(registro, i, 1), complejo(registro, i, 2),
+                    complejo(registro, i, 3), complejo(registro, i, 4), complejo(registro, i, 5),
+                    complejo(registro, i, 6), complejo(registro, i, 7), complejo(registro, i, 8),
+                    complejo(registro, i, 9), complejo(registro, i, 10)));
+        }
+    }
+
+    /**
+     * Método de Müller que registra los pasos según la política del registro.
+     * Cada paso tiene, como pares (parte real, parte imaginaria), x1, x2, x3, x4, f(x1), f(x2),
+     * f(x3), f(x4), a, b y c: 22 columnas.
+     * @param registro Registro de pasos; se vacía al empezar
+     * @return         Raíz aproximada en formato complejo
+     */
+    public Complex resolver(String exprF, String x1Str, String x2Str, String x3Str, double tol, int maxIt, RegistroPasos registro) {
         // Validación de entrada
         if (tol <= 0) throw new IllegalArgumentException("La tolerancia debe ser positiva");
         if (maxIt <= 0) throw new IllegalArgumentException("El número máximo de iteraciones debe ser positivo");
@@ -78,91 +105,156 @@ public class Muller {
         Complex x2 = parseComplex(x2Str);
         Complex x3 = parseComplex(x3Str);
 
-        Complex x4 = x3;
-        final double EPS = 1e-14; // Epsilon para comparaciones numéricas
+        CompiledFunction f = CompiledFunctionCache.shared().get(exprF);
+        RootSearch busqueda = Termination.of(tol).withMaxIterations(maxIt).start(f);
+        Complex[] raiz = new Complex[1];
+        RootResult resultado = iterar(f, x1.getReal(), x1.getImaginary(), x2.getReal(), x2.getImaginary(),
+                x3.getReal(), x3.getImaginary(), busqueda, registro, raiz);
+        if (resultado.getStatus() == RootResult.Status.BREAKDOWN) {
+            throw new RuntimeException(resultado.getMessage());
+        }
+        if (!resultado.isConverged()) {
+            throw new RuntimeException("El método no convergió después de " + maxIt + " iteraciones");
+        }
+        return raiz[0];
+    }
 
-        for (int i = 1; i <= maxIt; i++) {
-            // Evaluar f(x1), f(x2), f(x3)
-            Complex f1 = evaluateComplex(exprF, x1);
-            Complex f2 = evaluateComplex(exprF, x2);
-            Complex f3 = evaluateComplex(exprF, x3);
+    /**
+     * Método de Müller con tres puntos iniciales reales: x0, el punto medio y x1.
+     * La raíz del resultado es la parte real de la raíz compleja; el valor de la función es |f|.
+     */
+    @Override
+    public RootResult solve(CompiledFunction f, double x0, double x1, Termination termination) {
+        return iterar(f, x0, 0, (x0 + x1) / 2, 0, x1, 0, termination.start(f), RegistroPasos.ninguno(),
+                new Complex[1]);
+    }
 
-            // Cálculos de diferencias
-            Complex h1 = x2.subtract(x1);
-            Complex h2 = x3.subtract(x2);
+    /**
+     * Iteraciones de Müller sobre pares (parte real, parte imaginaria). Los tres puntos se
+     * evalúan una vez al empezar; después cada iteración evalúa f solo en el punto nuevo y
+     * recorre la ventana (x1, x2, x3) ← (x2, x3, x4) con sus valores, así que n iteraciones
+     * cuestan n + 3 evaluaciones. Si la función está compilada se evalúa con aritmética
+     * compleja sobre primitivos. Converge cuando |x4 - x3| o |f(x4)| están dentro de la
+     * tolerancia.
+     * @param raiz Recibe en su primera posición el último punto complejo
+     */
+    private RootResult iterar(CompiledFunction f, double x1r, double x1i, double x2r, double x2i,
+                              double x3r, double x3i, RootSearch busqueda, RegistroPasos registro, Complex[] raiz) {
+        registro.iniciar(22);
+        final double EPS = 1e-14; // Epsilon para comparaciones numéricas
+        ComplexFunction compilada = f instanceof ComplexFunction ? (ComplexFunction) f : null;
+        double[] z = new double[2];
+
+        evaluar(f, compilada, x1r, x1i, z);
+        double f1r = z[0], f1i = z[1];
+        evaluar(f, compilada, x2r, x2i, z);
+        double f2r = z[0], f2i = z[1];
+        evaluar(f, compilada, x3r, x3i, z);
+        double f3r = z[0], f3i = z[1];
+        busqueda.countEvaluations(3);
+        double x4r = x3r, x4i = x3i;
+        double f4r = Double.NaN, f4i = Double.NaN;
+
+        while (busqueda.nextIteration()) {
+            int i = busqueda.getIteration();
 
-            // Verificar que los puntos no sean iguales
-            if (h1.abs() < EPS) {
-                x1 = x1.add(new Complex(EPS, EPS)); // Perturbar ligeramente
-                h1 = x2.subtract(x1);
+            // Cálculos de diferencias
+            double h1r = x2r - x1r, h1i = x2i - x1i;
+            double h2r = x3r - x2r, h2i = x3i - x2i;
+
+            // Verificar que los puntos no sean iguales; el punto perturbado se vuelve a evaluar
+            if (Math.hypot(h1r, h1i) < EPS) {
+                x1r += EPS;
+                x1i += EPS;
+                evaluar(f, compilada, x1r, x1i, z);
+                f1r = z[0];
+                f1i = z[1];
+                busqueda.countEvaluations(1);
+                h1r = x2r - x1r;
+                h1i = x2i - x1i;
             }
-            if (h2.abs() < EPS) {
-                x2 = x2.add(new Complex(EPS, EPS)); // Perturbar ligeramente
-                h2 = x3.subtract(x2);
+            if (Math.hypot(h2r, h2i) < EPS) {
+                x2r += EPS;
+                x2i += EPS;
+                evaluar(f, compilada, x2r, x2i, z);
+                f2r = z[0];
+                f2i = z[1];
+                busqueda.countEvaluations(1);
+                h1r = x2r - x1r;
+                h1i = x2i - x1i;
+                h2r = x3r - x2r;
+                h2i = x3i - x2i;
             }
 
             // Diferencias divididas
-            Complex d1 = f2.subtract(f1).divide(h1);
-            Complex d2 = f3.subtract(f2).divide(h2);
+            dividir(f2r - f1r, f2i - f1i, h1r, h1i, z);
+            double d1r = z[0], d1i = z[1];
+            dividir(f3r - f2r, f3i - f2i, h2r, h2i, z);
+            double d2r = z[0], d2i = z[1];
 
             // Coeficientes de la parábola
-            Complex A = d2.subtract(d1).divide(h2.add(h1));
-            Complex B = A.multiply(h2).add(d2);
-            Complex C = f3;
+            dividir(d2r - d1r, d2i - d1i, h2r + h1r, h2i + h1i, z);
+            double ar = z[0], ai = z[1];
+            double br = ar * h2r - ai * h2i + d2r;
+            double bi = ar * h2i + ai * h2r + d2i;
+            double cr = f3r, ci = f3i;
 
             // Verificar si A es cero (método se convierte en secante)
-            if (A.abs() < EPS) {
-                if (B.abs() < EPS) {
-                    throw new RuntimeException("El método falló: coeficientes A y B son cero");
+            if (Math.hypot(ar, ai) < EPS) {
+                if (Math.hypot(br, bi) < EPS) {
+                    raiz[0] = new Complex(x3r, x3i);
+                    return busqueda.breakdown(x3r, Math.hypot(f3r, f3i), "El método falló: coeficientes A y B son cero");
                 }
                 // Método de la secante: x4 = x3 - C/B
-                x4 = x3.subtract(C.divide(B));
+                dividir(cr, ci, br, bi, z);
             } else {
-            // Discriminante y raíz cuadrada
-            Complex discriminante = B.multiply(B).subtract(A.multiply(C).multiply(4.0));
-            Complex sqrtDiscriminante = discriminante.sqrt();
-
-            // Seleccionar el denominador con mayor magnitud para estabilidad numérica
-            Complex denom1 = B.add(sqrtDiscriminante);
-            Complex denom2 = B.subtract(sqrtDiscriminante);
-            
-            Complex denom = (denom1.abs() > denom2.abs()) ? denom1 : denom2;
-
-            // Verificar división por cero
-            if (denom.abs() < EPS) {
-                throw new RuntimeException("División por cero en el método de Müller");
-            }
-
-            // Fórmula de Müller
-            x4 = x3.subtract(C.multiply(2.0).divide(denom));
-        }
-
-        // Evaluar la función en el nuevo punto
-        Complex fx4 = evaluateComplex(exprF, x4);
+                // Discriminante B^2 - 4AC y su raíz cuadrada
+                raizCuadrada(br * br - bi * bi - 4 * (ar * cr - ai * ci), 2 * br * bi - 4 * (ar * ci + ai * cr), z);
+
+                // Seleccionar el denominador con mayor magnitud para estabilidad numérica
+                double mas = Math.hypot(br + z[0], bi + z[1]);
+                double menos = Math.hypot(br - z[0], bi - z[1]);
+                double denr = mas > menos ? br + z[0] : br - z[0];
+                double deni = mas > menos ? bi + z[1] : bi - z[1];
+
+                // Verificar división por cero
+                if (Math.max(mas, menos) < EPS) {
+                    raiz[0] = new Complex(x3r, x3i);
+                    return busqueda.breakdown(x3r, Math.hypot(f3r, f3i), "División por cero en el método de Müller");
+                }
 
-        // Guardar el paso actual
-        pasos.add(new Step(i, x1, x2, x3, x4, f1, f2, f3, fx4, A, B, C));
+                // Fórmula de Müller: x4 = x3 - 2C / denominador
+                dividir(2 * cr, 2 * ci, denr, deni, z);
+            }
+            x4r = x3r - z[0];
+            x4i = x3i - z[1];
+
+            // Evaluar la función en el nuevo punto
+            evaluar(f, compilada, x4r, x4i, z);
+            f4r = z[0];
+            f4i = z[1];
+            busqueda.countEvaluations(1);
+
+            // Guardar el paso actual
+            registro.fila(i).valor(x1r).valor(x1i).valor(x2r).valor(x2i).valor(x3r).valor(x3i).valor(x4r).valor(x4i)
+                    .valor(f1r).valor(f1i).valor(f2r).valor(f2i).valor(f3r).valor(f3i).valor(f4r).valor(f4i)
+                    .valor(ar).valor(ai).valor(br).valor(bi).valor(cr).valor(ci);
+
+            // Verificar convergencia: paso |x4 - x3| o valor |f(x4)| suficientemente pequeños
+            if (busqueda.hasConverged(Math.hypot(x4r - x3r, x4i - x3i), Math.hypot(x4r, x4i), Math.hypot(f4r, f4i))) {
+                break;
+            }
 
-        // Verificar convergencia (criterio corregido)
-        if (x4.subtract(x3).abs() < tol) {
-            return x4;
-        }
-        
-        // Verificar si el valor de la función es suficientemente pequeño
-        if (fx4.abs() < tol) {
-            return x4;
+            // Recorrer la ventana: los valores de f ya calculados se reutilizan
+            x1r = x2r; x1i = x2i; f1r = f2r; f1i = f2i;
+            x2r = x3r; x2i = x3i; f2r = f3r; f2i = f3i;
+            x3r = x4r; x3i = x4i; f3r = f4r; f3i = f4i;
         }
 
-        // Preparar para la siguiente iteración
-        x1 = x2;
-        x2 = x3;
-        x3 = x4;
+        raiz[0] = new Complex(x4r, x4i);
+        return busqueda.finish(x4r, Math.hypot(f4r, f4i));
     }
 
-    // Si no converge, lanzar excepción
-    throw new RuntimeException("El método no convergió después de " + maxIt + " iteraciones");
-}
-
     /**
      * Versión sobrecargada del método resolver para compatibilidad con la versión anterior
      */
@@ -171,6 +263,68 @@ public class Muller {
         return result.getReal();
     }
 
+    /**
+     * Versión con valores iniciales reales que registra los pasos según la política del registro.
+     */
+    public double resolver(String exprF, double x1, double x2, double x3, double tol, int maxIt, RegistroPasos registro) {
+        Complex result = resolver(exprF, String.valueOf(x1), String.valueOf(x2), String.valueOf(x3), tol, maxIt, registro);
+        return result.getReal();
+    }
+
+    /**
+     * Evalúa f en re + i·im y deja la parte real en z[0] y la imaginaria en z[1]. Una función
+     * que no se pudo compilar se evalúa a partir de su texto.
+     */
+    private void evaluar(CompiledFunction f, ComplexFunction compilada, double re, double im, double[] z) {
+        if (compilada != null) {
+            compilada.evaluateComplex(re, im, z);
+            return;
+        }
+        Complex valor = evaluateComplex(f.getSource(), new Complex(re, im));
+        z[0] = valor.getReal();
+        z[1] = valor.getImaginary();
+    }
+
+    /**
+     * Divide (ar + i·ai) entre (br + i·bi) con el algoritmo de Smith, que evita desbordar
+     * br^2 + bi^2, y deja el cociente en z.
+     */
+    private static void dividir(double ar, double ai, double br, double bi, double[] z) {
+        if (Math.abs(br) >= Math.abs(bi)) {
+            double r = bi / br;
+            double den = br + bi * r;
+            z[0] = (ar + ai * r) / den;
+            z[1] = (ai - ar * r) / den;
+        } else {
+            double r = br / bi;
+            double den = br * r + bi;
+            z[0] = (ar * r + ai) / den;
+            z[1] = (ai * r - ar) / den;
+        }
+    }
+
+    /**
+     * Raíz cuadrada principal de re + i·im, calculada a partir de |z| + |re| para que ninguna
+     * parte se cancele.
+     */
+    private static void raizCuadrada(double re, double im, double[] z) {
+        double t = Math.sqrt((Math.hypot(re, im) + Math.abs(re)) / 2);
+        if (t == 0) {
+            z[0] = 0;
+            z[1] = 0;
+        } else if (re >= 0) {
+            z[0] = t;
+            z[1] = im / (2 * t);
+        } else {
+            z[0] = Math.abs(im) / (2 * t);
+            z[1] = Math.copySign(t, im);
+        }
+    }
+
+    private static Complex complejo(RegistroPasos registro, int i, int k) {
+        return new Complex(registro.getValor(i, 2 * k), registro.getValor(i, 2 * k + 1));
+    }
+
     /**
      * Convierte una cadena que representa un número complejo en un objeto Complex
      * Formatos aceptados: "a+bi", "a-bi", "a", "bi"
@@ -379,24 +533,4 @@ public class Muller {
             return new Complex(result, 0);
         }
     }
-
-    /**
-     * Transforma una expresión para obtener la parte real del resultado al evaluar con un número complejo
-     * Este método es una simplificación y podría necesitar mejoras para expresiones más complejas
-     */
-    private String transformToRealPart(String expr) {
-        // Esta es una implementación simplificada
-        // Para una implementación completa, se necesitaría un parser más sofisticado
-        return "re(" + expr + ")"; // Función re() de mXparser para la parte real
-    }
-
-    /**
-     * Transforma una expresión para obtener la parte imaginaria del resultado al evaluar con un número complejo
-     * Este método es una simplificación y podría necesitar mejoras para expresiones más complejas
-     */
-    private String transformToImaginaryPart(String expr) {
-        // Esta es una implementación simplificada
-        // Para una implementación completa, se necesitaría un parser más sofisticado
-        return "im(" + expr + ")"; // Función im() de mXparser para la parte imaginaria
-    }
-}
\ No newline at end of file
+}
@@ -3,10 +3,17 @@ package com.ipn.metodosnumericosnvo.metodos_raices;
 import org.mariuszgromada.math.mxparser.*;
 import java.util.List;
 import com.ipn.metodosnumericosnvo.math.DerivativeCalculator;
-
-public class Newton {
+import com.ipn.metodosnumericosnvo.math.DifferentiableFunction;
+import com.ipn.metodosnumericosnvo.math.CompiledFunction;
+import com.ipn.metodosnumericosnvo.math.RootResult;
+import com.ipn.metodosnumericosnvo.math.RootSearch;
+import com.ipn.metodosnumericosnvo.math.RootSolver;
+import com.ipn.metodosnumericosnvo.math.Termination;
+
+public class Newton implements RootSolver {
     private DerivativeCalculator derivativeCalculator;
     private String derivadaCalculada; // Para almacenar la derivada calculada
+    private String funcionDerivada;   // Función cuya derivada se muestra, calculada al pedirla
 
     /**
      * Constructor por defecto.
@@ -88,6 +95,8 @@ public class Newton {
 
     /**
      * Método de Newton-Raphson con cálculo automático de la derivada.
+     * f(x) y f'(x) se obtienen en una sola evaluación por diferenciación automática, sin
+     * derivar simbólicamente, así que cada paso evalúa la función una sola vez.
      * @param exprF  Función f(x) en texto
      * @param x0     Valor inicial
      * @param tol    Tolerancia
@@ -96,21 +105,107 @@ public class Newton {
      * @return       Raíz aproximada encontrada
      */
     public double resolverConDerivadaAutomatica(String exprF, double x0, double tol, int maxIt, List<Step> pasos) {
-        // Calcular la derivada simbólica
-        String exprG = derivativeCalculator.getDerivativeExpression(exprF, "x", 1);
+        RegistroPasos registro = RegistroPasos.completo();
+        try {
+            return resolverConDerivadaAutomatica(exprF, x0, tol, maxIt, registro);
+        } finally {
+            registro.copiarEn(pasos, i -> new Step(registro.getPaso(i),
+                    registro.getValor(i, 0), registro.getValor(i, 1), registro.getValor(i, 2),
+                    registro.getValor(i, 3)));
+        }
+    }
+
+    /**
+     * Método de Newton-Raphson con derivada automática que registra los pasos según la
+     * política del registro. Cada paso tiene las columnas x0, f(x0), x1 y f(x1).
+     * @param exprF    Función f(x) en texto
+     * @param x0       Valor inicial
+     * @param tol      Tolerancia
+     * @param maxIt    Iteraciones máximas
+     * @param registro Registro de pasos; se vacía al empezar
+     * @return         Raíz aproximada encontrada
+     */
+    public double resolverConDerivadaAutomatica(String exprF, double x0, double tol, int maxIt, RegistroPasos registro) {
+        DifferentiableFunction f = derivativeCalculator.getDifferentiableFunction(exprF);
 
-        // Almacenar la derivada calculada
-        this.derivadaCalculada = exprG;
+        // La derivada en texto solo se calcula si se pide para mostrarla
+        this.funcionDerivada = exprF;
+        this.derivadaCalculada = null;
+
+        RootResult resultado = resolver(f, x0, Termination.onResidual(tol).withMaxIterations(maxIt), registro);
+        if (resultado.getStatus() == RootResult.Status.BREAKDOWN) {
+            throw new IllegalArgumentException(resultado.getMessage());
+        }
+        if (!resultado.isConverged()) {
+            throw new IllegalArgumentException("No converge en el número de iteraciones especificado.");
+        }
+        return resultado.getRoot();
+    }
 
-        // Usar el método resolver existente con la derivada calculada
-        return resolver(exprF, exprG, x0, tol, maxIt, pasos);
+    /**
+     * Método de Newton-Raphson; x1 no se usa. Si la función no da su derivada, se obtiene
+     * con el calculador de derivadas a partir de su texto.
+     */
+    @Override
+    public RootResult solve(CompiledFunction f, double x0, double x1, Termination termination) {
+        DifferentiableFunction df = f instanceof DifferentiableFunction
+                ? (DifferentiableFunction) f
+                : derivativeCalculator.getDifferentiableFunction(f.getSource());
+        return resolver(df, x0, termination, RegistroPasos.ninguno());
+    }
+
+    /**
+     * Método de Newton-Raphson sobre una función con derivada. Cada iteración evalúa f y f'
+     * juntas una sola vez, y eso cuenta como una evaluación.
+     * @param f           Función con su derivada
+     * @param x0          Valor inicial
+     * @param termination Criterio de paro
+     * @param registro    Registro de pasos; se vacía al empezar
+     * @return            El resultado, con el número de iteraciones y evaluaciones
+     */
+    public RootResult resolver(DifferentiableFunction f, double x0, Termination termination, RegistroPasos registro) {
+        RootSearch busqueda = termination.start(f);
+        registro.iniciar(4);
+        double fx0, gx0, x1 = x0, fx1;
+        double[] fg = new double[2];
+        busqueda.evaluateWithDerivative(f, x0, fg);
+        fx1 = fg[0];
+
+        while (busqueda.nextIteration()) {
+            fx0 = fg[0];
+            gx0 = fg[1];
+
+            if (Double.isNaN(fx0) || Double.isNaN(gx0)) {
+                return busqueda.breakdown(x0, fx0, "Error evaluando función o derivada. Revisa las expresiones.");
+            }
+            if (gx0 == 0.0) {
+                return busqueda.breakdown(x0, fx0, "Error matemático: la derivada es cero.");
+            }
+
+            x1 = x0 - fx0 / gx0;
+            // f(x1) y f'(x1) juntos: la derivada sirve para el paso siguiente
+            busqueda.evaluateWithDerivative(f, x1, fg);
+            fx1 = fg[0];
+
+            registro.fila(busqueda.getIteration()).valor(x0).valor(fx0).valor(x1).valor(fx1);
+
+            if (busqueda.hasConverged(x1 - x0, x1, fx1)) break;
+
+            x0 = x1;
+        }
+
+        return busqueda.finish(x1, fx1);
     }
 
     /**
      * Obtiene la derivada calculada automáticamente.
+     * La expresión simbólica se calcula con Symja la primera vez que se pide.
      * @return La expresión de la derivada calculada
      */
     public String getDerivadaCalculada() {
+        if (derivadaCalculada == null && funcionDerivada != null) {
+            derivadaCalculada = derivativeCalculator.getDerivativeExpression(funcionDerivada, "x", 1);
+        }
         return derivadaCalculada;
     }
 }
@@ -0,0 +1,102 @@
+package com.ipn.metodosnumericosnvo.metodos_raices;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Flow;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.SubmissionPublisher;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Publica los pasos de un método de raíces mientras se calculan, como un
+ * {@link Flow.Publisher} de {@link EventoPaso}.
+ *
+ * Se conecta a un método con {@code RegistroPasos.ninguno().publicarEn(publicador)}: cada paso
+ * se entrega a los suscriptores en cuanto el método lo termina, así que una tabla o una
+ * animación muestran los primeros pasos de inmediato, y con la política {@code NINGUNO} la
+ * memoria del cálculo no crece con el número de pasos.
+ *
+ * Cada suscriptor tiene un búfer de la capacidad dada y recibe los pasos en el ejecutor dado
+ * (por ejemplo {@code Platform::runLater} para la interfaz). La contrapresión es la de
+ * {@link Flow}: el suscriptor pide pasos con {@code request(n)}, y si el búfer de alguno está
+ * lleno el método espera a que se vacíe, en lugar de acumular pasos. Interrumpir el hilo del
+ * método mientras espera descarta ese paso y la búsqueda termina como cancelada.
+ */
+public final class PublicadorPasos implements Flow.Publisher<EventoPaso>, AutoCloseable {
+
+    private final SubmissionPublisher<EventoPaso> publicador;
+
+    /**
+     * Publicador que entrega los pasos en el grupo común de fork-join.
+     *
+     * @param capacidad Pasos que puede retener el búfer de cada suscriptor
+     */
+    public PublicadorPasos(int capacidad) {
+        this(ForkJoinPool.commonPool(), capacidad);
+    }
+
+    /**
+     * @param ejecutor Ejecutor en el que se llama a los suscriptores
+     * @param capacidad Pasos que puede retener el búfer de cada suscriptor
+     */
+    public PublicadorPasos(Executor ejecutor, int capacidad) {
+        if (ejecutor == null) {
+            throw new IllegalArgumentException("El ejecutor no puede ser nulo");
+        }
+        if (capacidad <= 0) {
+            throw new IllegalArgumentException("La capacidad del búfer debe ser mayor que cero");
+        }
+        this.publicador = new SubmissionPublisher<>(ejecutor, capacidad);
+    }
+
+    @Override
+    public void subscribe(Flow.Subscriber<? super EventoPaso> suscriptor) {
+        publicador.subscribe(suscriptor);
+    }
+
+    /**
+     * Entrega un paso a los suscriptores; espera mientras el búfer de alguno esté lleno.
+     */
+    void publicar(EventoPaso evento) {
+        publicador.offer(evento, Long.MAX_VALUE, TimeUnit.NANOSECONDS, null);
+    }
+
+    /**
+     * Ejecuta un cálculo y cierra el publicador al terminar: los suscriptores reciben
+     * {@code onComplete}, o {@code onError} si el cálculo lanza una excepción.
+     *
+     * @param calculo El cálculo, que escribe en un registro conectado a este publicador
+     * @return El resultado del cálculo
+     */
+    public <T> T ejecutar(Callable<T> calculo) throws Exception {
+        T resultado;
+        try {
+            resultado = calculo.call();
+        } catch (Exception | Error e) {
+            publicador.closeExceptionally(e);
+            throw e;
+        }
+        publicador.close();
+        return resultado;
+    }
+
+    public int getCapacidad() {
+        return publicador.getMaxBufferCapacity();
+    }
+
+    /**
+     * Número de suscriptores actuales.
+     */
+    public int getSuscriptores() {
+        return publicador.getNumberOfSubscribers();
+    }
+
+    /**
+     * Termina la publicación; los suscriptores reciben {@code onComplete} después de los pasos
+     * pendientes.
+     */
+    @Override
+    public void close() {
+        publicador.close();
+    }
+}
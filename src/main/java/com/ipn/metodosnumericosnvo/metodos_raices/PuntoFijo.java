@@ -1,10 +1,14 @@
 package com.ipn.metodosnumericosnvo.metodos_raices;
 
-import org.mariuszgromada.math.mxparser.*;
+import com.ipn.metodosnumericosnvo.math.CompiledFunction;
+import com.ipn.metodosnumericosnvo.math.CompiledFunctionCache;
+import com.ipn.metodosnumericosnvo.math.RootResult;
+import com.ipn.metodosnumericosnvo.math.RootSolver;
+import com.ipn.metodosnumericosnvo.math.Termination;
 import java.util.ArrayList;
 import java.util.List;
 
-public class PuntoFijo {
+public class PuntoFijo implements RootSolver {
 
     public static class Iteration {
         public final int i;
@@ -16,42 +20,80 @@ public class PuntoFijo {
         }
     }
 
-    public List<Iteration> resolver(String gExpr, double x0, int maxIter, double tol) {
-        Function g = new Function("g(x) = " + gExpr);
-        if (!g.checkSyntax()) throw new IllegalArgumentException("Función g(x) inválida: " + g.getErrorMessage());
-
-        List<Iteration> iters = new ArrayList<>();
-        double xi = x0;
-        double prevError = Double.MAX_VALUE;
-
-        for (int i = 1; i <= maxIter; i++) {
-            double gxi = g.calculate(xi);
+    private final AceleracionPuntoFijo.Esquema esquema;
 
-            // Check for NaN or infinite values
-            if (Double.isNaN(gxi) || Double.isInfinite(gxi)) {
-                throw new ArithmeticException("La función diverge: g(" + xi + ") = " + gxi);
-            }
-
-            double err = Math.abs(gxi - xi);
-            iters.add(new Iteration(i, xi, gxi, err));
+    /**
+     * Iteración de punto fijo simple, sin aceleración.
+     */
+    public PuntoFijo() {
+        this(AceleracionPuntoFijo.Esquema.PICARD);
+    }
 
-            // Check for convergence
-            if (err <= tol) break;
+    /**
+     * @param esquema Esquema de aceleración; {@code AUTOMATICO} elige entre Anderson, Aitken y
+     *                el algoritmo ε en cada paso
+     */
+    public PuntoFijo(AceleracionPuntoFijo.Esquema esquema) {
+        if (esquema == null) {
+            throw new IllegalArgumentException("El esquema de aceleración no puede ser nulo");
+        }
+        this.esquema = esquema;
+    }
 
-            // Check for divergence (error is increasing)
-            if (i > 1 && err > prevError * 2) {
-                throw new ArithmeticException("El método está divergiendo. Intente con otro valor inicial o una función diferente.");
-            }
+    public List<Iteration> resolver(String gExpr, double x0, int maxIter, double tol) {
+        RegistroPasos registro = RegistroPasos.completo();
+        resolver(gExpr, x0, maxIter, tol, registro);
+        List<Iteration> iters = new ArrayList<>(registro.getTamano());
+        registro.copiarEn(iters, i -> new Iteration(registro.getPaso(i),
+                registro.getValor(i, 0), registro.getValor(i, 1), registro.getValor(i, 2)));
+        return iters;
+    }
 
-            prevError = err;
-            xi = gxi;
+    /**
+     * Iteración de punto fijo que registra los pasos según la política del registro.
+     * Cada paso tiene las columnas xi, g(xi), error y el esquema que produjo xi (su ordinal
+     * en {@link AceleracionPuntoFijo.Esquema}).
+     * @return El punto fijo encontrado
+     */
+    public double resolver(String gExpr, double x0, int maxIter, double tol, RegistroPasos registro) {
+        CompiledFunction g = CompiledFunctionCache.shared().get(gExpr);
+        if (!g.isSyntaxValid()) throw new IllegalArgumentException("Función g(x) inválida");
+        RootResult resultado = resolver(g, x0, Termination.of(tol).withFunctionTolerance(0).withMaxIterations(maxIter),
+                registro);
+        if (resultado.getStatus() == RootResult.Status.BREAKDOWN) {
+            throw new ArithmeticException(resultado.getMessage());
         }
-
-        // Check if we reached max iterations without converging
-        if (iters.size() == maxIter && iters.get(maxIter-1).error > tol) {
+        if (!resultado.isConverged()) {
             throw new ArithmeticException("El método no convergió después de " + maxIter + " iteraciones.");
         }
+        return resultado.getRoot();
+    }
 
-        return iters;
+    /**
+     * Busca un punto fijo x = f(x): aquí la función es g, no una f cuya raíz se busca.
+     * x1 no se usa. En el resultado, el valor de la función es g(x) - x.
+     */
+    @Override
+    public RootResult solve(CompiledFunction f, double x0, double x1, Termination termination) {
+        return resolver(f, x0, termination, RegistroPasos.ninguno());
+    }
+
+    /**
+     * Iteración de punto fijo x = g(x) sobre una función compilada, con el esquema de
+     * aceleración de esta instancia.
+     * El error de cada paso es |g(xi) - xi|. Se detiene si g no es finita o si el error
+     * crece más del doble de un paso a otro.
+     * @param g Función de iteración
+     * @param x0 Valor inicial
+     * @param termination Criterio de paro
+     * @param registro Registro de pasos; se vacía al empezar
+     * @return El resultado, con el número de iteraciones y evaluaciones
+     */
+    public RootResult resolver(CompiledFunction g, double x0, Termination termination, RegistroPasos registro) {
+        return AceleracionPuntoFijo.iterar(termination.start(g), x0, esquema, registro);
+    }
+
+    public AceleracionPuntoFijo.Esquema getEsquema() {
+        return esquema;
     }
 }
@@ -0,0 +1,253 @@
+package com.ipn.metodosnumericosnvo.metodos_raices;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.IntFunction;
+
+/**
+ * Registro de las iteraciones de un método de raíces, sin crear un objeto por paso.
+ *
+ * Los valores se guardan por columnas en arreglos primitivos (una columna por cada valor del
+ * paso: x0, f(x0), x1...), que se conservan entre resoluciones: el mismo registro se puede
+ * pasar a muchas llamadas y solo vuelve a reservar memoria si necesita crecer.
+ *
+ * La política decide qué se guarda:
+ * <ul>
+ *   <li>{@link Politica#NINGUNO}: nada; solo se cuentan los pasos.</li>
+ *   <li>{@link Politica#ULTIMOS}: los últimos k pasos, en un búfer circular.</li>
+ *   <li>{@link Politica#COMPLETO}: todos los pasos.</li>
+ * </ul>
+ *
+ * Un método escribe cada paso con {@code registro.fila(paso).valor(x0).valor(fx0)...},
+ * siempre con el mismo número de valores que declaró en {@link #iniciar(int)}.
+ * Con {@link #publicarEn(PublicadorPasos)}, además, cada paso se publica al terminarse, sin
+ * importar la política.
+ * No es seguro compartir un registro entre hilos.
+ */
+public final class RegistroPasos {
+
+    public enum Politica { NINGUNO, ULTIMOS, COMPLETO }
+
+    private static final int CAPACIDAD_INICIAL = 32;
+
+    private final Politica politica;
+    private final int limite;
+
+    private int columnas;
+    private int[] pasos = new int[0];
+    private double[][] valores = new double[0][];
+    private int inicio;       // Índice físico del paso más antiguo (solo ULTIMOS)
+    private int tamano;       // Pasos guardados
+    private int total;        // Pasos registrados, guardados o no
+    private int fila = -1;    // Índice físico de la fila que se está escribiendo
+    private int columna;      // Siguiente columna de esa fila
+
+    private PublicadorPasos publicador;
+    private int pasoActual;
+    private double[] actual;  // Valores del paso que se está escribiendo, si se publica
+
+    private RegistroPasos(Politica politica, int limite) {
+        this.politica = politica;
+        this.limite = limite;
+    }
+
+    /**
+     * Registro que no guarda pasos; solo los cuenta.
+     */
+    public static RegistroPasos ninguno() {
+        return new RegistroPasos(Politica.NINGUNO, 0);
+    }
+
+    /**
+     * Registro que conserva los últimos k pasos.
+     *
+     * @param k Número de pasos a conservar
+     */
+    public static RegistroPasos ultimos(int k) {
+        if (k <= 0) {
+            throw new IllegalArgumentException("El número de pasos a conservar debe ser mayor que cero");
+        }
+        return new RegistroPasos(Politica.ULTIMOS, k);
+    }
+
+    /**
+     * Registro que conserva todos los pasos.
+     */
+    public static RegistroPasos completo() {
+        return new RegistroPasos(Politica.COMPLETO, Integer.MAX_VALUE);
+    }
+
+    /**
+     * Publica cada paso en el publicador en cuanto el método escribe su último valor, además
+     * de guardarlo según la política. Con {@link #ninguno()} la memoria no crece con el
+     * número de pasos.
+     *
+     * @param publicador El publicador
+     * @return Este registro
+     */
+    public RegistroPasos publicarEn(PublicadorPasos publicador) {
+        if (publicador == null) {
+            throw new IllegalArgumentException("El publicador no puede ser nulo");
+        }
+        this.publicador = publicador;
+        return this;
+    }
+
+    /**
+     * Vacía el registro para una nueva resolución. Los métodos lo llaman al empezar.
+     *
+     * @param columnas Valores que tendrá cada paso
+     */
+    public void iniciar(int columnas) {
+        this.columnas = columnas;
+        inicio = 0;
+        tamano = 0;
+        total = 0;
+        fila = -1;
+        if (politica == Politica.NINGUNO) {
+            return;
+        }
+        if (pasos.length == 0) {
+            pasos = new int[politica == Politica.ULTIMOS ? limite : CAPACIDAD_INICIAL];
+        }
+        if (valores.length < columnas) {
+            double[][] nuevos = Arrays.copyOf(valores, columnas);
+            for (int c = valores.length; c < columnas; c++) {
+                nuevos[c] = new double[pasos.length];
+            }
+            valores = nuevos;
+        }
+    }
+
+    /**
+     * Empieza un paso. Los valores se agregan después con {@link #valor(double)}.
+     *
+     * @param paso Número del paso
+     * @return Este registro
+     */
+    public RegistroPasos fila(int paso) {
+        total++;
+        columna = 0;
+        if (publicador != null) {
+            pasoActual = paso;
+            actual = new double[columnas];
+        }
+        switch (politica) {
+            case NINGUNO:
+                fila = -1;
+                return this;
+            case ULTIMOS:
+                if (tamano < limite) {
+                    fila = tamano++;
+                } else {
+                    // El búfer está lleno: se sobrescribe el paso más antiguo
+                    fila = inicio;
+                    inicio = (inicio + 1) % limite;
+                }
+                break;
+            default:
+                if (tamano == pasos.length) {
+                    crecer();
+                }
+                fila = tamano++;
+        }
+        pasos[fila] = paso;
+        return this;
+    }
+
+    /**
+     * Agrega el siguiente valor del paso actual.
+     *
+     * @param valor El valor
+     * @return Este registro
+     */
+    public RegistroPasos valor(double valor) {
+        if (fila >= 0) {
+            valores[columna][fila] = valor;
+        }
+        if (actual != null) {
+            actual[columna] = valor;
+            if (columna == columnas - 1) {
+                publicador.publicar(new EventoPaso(pasoActual, actual));
+                actual = null;
+            }
+        }
+        columna++;
+        return this;
+    }
+
+    private void crecer() {
+        int capacidad = Math.max(CAPACIDAD_INICIAL, pasos.length * 2);
+        pasos = Arrays.copyOf(pasos, capacidad);
+        for (int c = 0; c < valores.length; c++) {
+            valores[c] = Arrays.copyOf(valores[c], capacidad);
+        }
+    }
+
+    /**
+     * Publicador conectado, o null si los pasos no se publican.
+     */
+    public PublicadorPasos getPublicador() {
+        return publicador;
+    }
+
+    public Politica getPolitica() {
+        return politica;
+    }
+
+    /**
+     * Pasos registrados en la última resolución, incluidos los que no se guardaron.
+     */
+    public int getTotal() {
+        return total;
+    }
+
+    /**
+     * Pasos guardados, que se leen del 0 (el más antiguo) a {@code getTamano() - 1}.
+     */
+    public int getTamano() {
+        return tamano;
+    }
+
+    public int getColumnas() {
+        return columnas;
+    }
+
+    /**
+     * Número del i-ésimo paso guardado.
+     */
+    public int getPaso(int i) {
+        return pasos[indice(i)];
+    }
+
+    /**
+     * Valor de una columna en el i-ésimo paso guardado.
+     */
+    public double getValor(int i, int columna) {
+        if (columna < 0 || columna >= columnas) {
+            throw new IndexOutOfBoundsException("Columna fuera de rango: " + columna);
+        }
+        return valores[columna][indice(i)];
+    }
+
+    /**
+     * Agrega los pasos guardados a una lista, del más antiguo al más reciente. Las versiones
+     * de los métodos que llenan una {@code List<Step>} lo llaman en un {@code finally}, para
+     * que los pasos hechos se muestren aunque el método no converja.
+     *
+     * @param destino Lista a la que se agregan los pasos
+     * @param paso    Crea el paso a partir de su índice en el registro
+     */
+    public <T> void copiarEn(List<T> destino, IntFunction<T> paso) {
+        for (int i = 0; i < tamano; i++) {
+            destino.add(paso.apply(i));
+        }
+    }
+
+    private int indice(int i) {
+        if (i < 0 || i >= tamano) {
+            throw new IndexOutOfBoundsException("Paso fuera de rango: " + i);
+        }
+        return politica == Politica.ULTIMOS ? (inicio + i) % limite : i;
+    }
+}
@@ -1,9 +1,14 @@
 package com.ipn.metodosnumericosnvo.metodos_raices;
 
-import org.mariuszgromada.math.mxparser.*;
+import com.ipn.metodosnumericosnvo.math.CompiledFunction;
+import com.ipn.metodosnumericosnvo.math.CompiledFunctionCache;
+import com.ipn.metodosnumericosnvo.math.RootResult;
+import com.ipn.metodosnumericosnvo.math.RootSearch;
+import com.ipn.metodosnumericosnvo.math.RootSolver;
+import com.ipn.metodosnumericosnvo.math.Termination;
 import java.util.List;
 
-public class Secante {
+public class Secante implements RootSolver {
 
     public static class Step {
         public int paso;
@@ -25,50 +30,91 @@ public class Secante {
     }
 
     /**
-     * Evalúa la función usando mXparser.
+     * Método de la secante.
+     * @param funcText  Función (ejemplo: "x^3-2*x-5")
+     * @param x0        Primer valor inicial
+     * @param x1        Segundo valor inicial
+     * @param tol       Tolerancia
+     * @param maxIt     Máximo de iteraciones
+     * @param pasos     Lista para almacenar los pasos
+     * @return          Raíz aproximada
      */
-    private double evalFunc(String func, double x) {
-        Argument argX = new Argument("x", x);
-        Expression expr = new Expression(func, argX);
-        return expr.calculate();
+    public double resolver(String funcText, double x0, double x1, double tol, int maxIt, List<Step> pasos) {
+        RegistroPasos registro = RegistroPasos.completo();
+        try {
+            return resolver(funcText, x0, x1, tol, maxIt, registro);
+        } finally {
+            registro.copiarEn(pasos, i -> new Step(registro.getPaso(i),
+                    registro.getValor(i, 0), registro.getValor(i, 1), registro.getValor(i, 2),
+                    registro.getValor(i, 3)));
+        }
     }
 
     /**
-     * Método de la secante usando mXparser.
+     * Método de la secante que registra los pasos según la política del registro.
+     * Cada paso tiene las columnas x0, x1, x2 y f(x2).
      * @param funcText  Función (ejemplo: "x^3-2*x-5")
      * @param x0        Primer valor inicial
      * @param x1        Segundo valor inicial
      * @param tol       Tolerancia
      * @param maxIt     Máximo de iteraciones
-     * @param pasos     Lista para almacenar los pasos
+     * @param registro  Registro de pasos; se vacía al empezar
      * @return          Raíz aproximada
      */
-    public double resolver(String funcText, double x0, double x1, double tol, int maxIt, List<Step> pasos) {
-        double f0, f1, x2 = x0, f2 = 0;
-        int paso = 1;
+    public double resolver(String funcText, double x0, double x1, double tol, int maxIt, RegistroPasos registro) {
+        CompiledFunction funcion = CompiledFunctionCache.shared().get(funcText);
+        RootResult resultado = resolver(funcion, x0, x1, Termination.onResidual(tol).withMaxIterations(maxIt), registro);
+        if (resultado.getStatus() == RootResult.Status.BREAKDOWN) {
+            throw new IllegalArgumentException(resultado.getMessage());
+        }
+        if (!resultado.isConverged()) {
+            throw new IllegalArgumentException("No converge en el número de iteraciones especificado.");
+        }
+        return resultado.getRoot();
+    }
 
-        do {
-            f0 = evalFunc(funcText, x0);
-            f1 = evalFunc(funcText, x1);
+    @Override
+    public RootResult solve(CompiledFunction f, double x0, double x1, Termination termination) {
+        return resolver(f, x0, x1, termination, RegistroPasos.ninguno());
+    }
 
+    /**
+     * Método de la secante sobre una función compilada. Cada iteración evalúa f solo en el
+     * punto nuevo y reutiliza f(x0) y f(x1) del paso anterior: n iteraciones cuestan n + 2
+     * evaluaciones.
+     * @param funcion     Función
+     * @param x0          Primer valor inicial
+     * @param x1          Segundo valor inicial
+     * @param termination Criterio de paro
+     * @param registro    Registro de pasos; se vacía al empezar
+     * @return            El resultado, con el número de iteraciones y evaluaciones
+     */
+    public RootResult resolver(CompiledFunction funcion, double x0, double x1, Termination termination,
+                               RegistroPasos registro) {
+        RootSearch busqueda = termination.start(funcion);
+        registro.iniciar(4);
+        double f0 = busqueda.evaluate(x0);
+        double f1 = busqueda.evaluate(x1);
+        double x2 = x1, f2 = Double.NaN;
+
+        while (busqueda.nextIteration()) {
             if (f0 == f1) {
-                throw new IllegalArgumentException("Error matemático: f(x0) = f(x1)");
+                return busqueda.breakdown(x1, f1, "Error matemático: f(x0) = f(x1)");
             }
 
             x2 = x1 - (x1 - x0) * f1 / (f1 - f0);
-            f2 = evalFunc(funcText, x2);
+            f2 = busqueda.evaluate(x2);
+
+            registro.fila(busqueda.getIteration()).valor(x0).valor(x1).valor(x2).valor(f2);
 
-            pasos.add(new Step(paso, x0, x1, x2, f2));
+            if (busqueda.hasConverged(x2 - x1, x2, f2)) break;
 
             x0 = x1;
+            f0 = f1;
             x1 = x2;
+            f1 = f2;
+        }
 
-            paso++;
-            if (paso > maxIt) {
-                throw new IllegalArgumentException("No converge en el número de iteraciones especificado.");
-            }
-        } while (Math.abs(f2) > tol);
-
-        return x2;
+        return busqueda.finish(x2, f2);
     }
 }
@@ -1,9 +1,14 @@
 package com.ipn.metodosnumericosnvo.metodos_raices;
 
-import org.mariuszgromada.math.mxparser.*;
+import com.ipn.metodosnumericosnvo.math.CompiledFunction;
+import com.ipn.metodosnumericosnvo.math.RootResult;
+import com.ipn.metodosnumericosnvo.math.RootSearch;
+import com.ipn.metodosnumericosnvo.math.RootSolver;
+import com.ipn.metodosnumericosnvo.math.Termination;
 import java.util.List;
+import java.util.function.DoubleUnaryOperator;
 
-public class Secante_Aitken {
+public class Secante_Aitken implements RootSolver {
 
     @FunctionalInterface
     public interface Funcion {
@@ -43,52 +48,106 @@ public class Secante_Aitken {
     }
 
     public double calcularRaiz(Funcion f, double x0, double x1, double tolerancia, int maxIter, List<Step> pasos) throws Exception {
+        RegistroPasos registro = RegistroPasos.completo();
+        RootResult resultado;
+        try {
+            resultado = calcularRaiz(x -> {
+                try {
+                    return f.evaluar(x);
+                } catch (Exception e) {
+                    throw new EvaluacionFallida(e);
+                }
+            }, x0, x1, Termination.onResidual(tolerancia).withMaxIterations(maxIter), registro);
+        } catch (EvaluacionFallida e) {
+            throw (Exception) e.getCause();
+        } finally {
+            registro.copiarEn(pasos, i -> new Step(registro.getPaso(i),
+                    registro.getValor(i, 0), registro.getValor(i, 1), registro.getValor(i, 2),
+                    registro.getValor(i, 3), registro.getValor(i, 4), registro.getValor(i, 5),
+                    registro.getValor(i, 6), registro.getValor(i, 7)));
+        }
+        if (resultado.getStatus() == RootResult.Status.BREAKDOWN) {
+            throw new ArithmeticException(resultado.getMessage());
+        }
+        if (!resultado.isConverged()) {
+            throw new Exception("No se encontró una raíz en el número máximo de iteraciones.");
+        }
+        return resultado.getRoot();
+    }
+
+    // Mantener el método original para compatibilidad
+    public double calcularRaiz(Funcion f, double x0, double x1, double tolerancia, int maxIter) throws Exception {
+        return calcularRaiz(f, x0, x1, tolerancia, maxIter, new java.util.ArrayList<>());
+    }
+
+    @Override
+    public RootResult solve(CompiledFunction f, double x0, double x1, Termination termination) {
+        return calcularRaiz(f, x0, x1, termination, RegistroPasos.ninguno());
+    }
+
+    /**
+     * Secante con aceleración de Aitken Δ² sobre los tres últimos puntos.
+     * Cada paso tiene las columnas x(n-2), f(x(n-2)), x(n-1), f(x(n-1)), xn, f(xn), x Aitken y
+     * f(x Aitken); la convergencia se mide en el punto de Aitken. Los valores de f de los dos
+     * puntos anteriores se reutilizan, y f en el punto de Aitken solo se evalúa si es distinto
+     * de xn: cada iteración cuesta una o dos evaluaciones.
+     * @param f Función
+     * @param x0 Primer valor inicial
+     * @param x1 Segundo valor inicial
+     * @param termination Criterio de paro
+     * @param registro Registro de pasos; se vacía al empezar
+     * @return El resultado, con el número de iteraciones y evaluaciones
+     */
+    public RootResult calcularRaiz(DoubleUnaryOperator f, double x0, double x1, Termination termination,
+                                   RegistroPasos registro) {
+        RootSearch busqueda = termination.start(f);
+        registro.iniciar(8);
         double xPrevPrev = x0;
         double xPrev = x1;
         double xActual = x1;
         double xAitken = x1;
+        double fxAitken = Double.NaN;
+        double fxPrevPrev = busqueda.evaluate(xPrevPrev);
+        double fxPrev = busqueda.evaluate(xPrev);
 
-        int iter = 0;
-        while (iter < maxIter) {
-            double fxPrevPrev = f.evaluar(xPrevPrev);
-            double fxPrev = f.evaluar(xPrev);
+        while (busqueda.nextIteration()) {
+            int iter = busqueda.getIteration() - 1;
 
             if (Math.abs(fxPrev - fxPrevPrev) < 1e-14)
-                throw new ArithmeticException("División por cero en la iteración " + iter);
+                return busqueda.breakdown(xPrev, fxPrev, "División por cero en la iteración " + iter);
 
             xActual = xPrev - fxPrev * (xPrev - xPrevPrev) / (fxPrev - fxPrevPrev);
-            double fxActual = f.evaluar(xActual);
+            double fxActual = busqueda.evaluate(xActual);
 
             // Aitken Δ² para acelerar con tres valores (xPrevPrev, xPrev, xActual)
-            if (iter >= 2) {
-                double den = xActual - 2 * xPrev + xPrevPrev;
-                double num = (xActual - xPrev) * (xActual - xPrev);
-                if (Math.abs(den) > 1e-14) {
-                    xAitken = xActual - num / den;
-                } else {
-                    xAitken = xActual;
-                }
-            } else {
-                xAitken = xActual;
-            }
+            xAitken = iter >= 2 ? AceleracionPuntoFijo.aitken(xPrevPrev, xPrev, xActual) : xActual;
 
-            double fxAitken = f.evaluar(xAitken);
+            fxAitken = xAitken == xActual ? fxActual : busqueda.evaluate(xAitken);
 
-            // Agregar el paso actual a la lista
-            pasos.add(new Step(iter + 1, xPrevPrev, fxPrevPrev, xPrev, fxPrev, xActual, fxActual, xAitken, fxAitken));
+            // Agregar el paso actual al registro
+            registro.fila(iter + 1).valor(xPrevPrev).valor(fxPrevPrev).valor(xPrev).valor(fxPrev)
+                    .valor(xActual).valor(fxActual).valor(xAitken).valor(fxAitken);
 
-            if (Math.abs(fxAitken) < tolerancia)
-                return xAitken;
+            if (busqueda.hasConverged(xActual - xPrev, xAitken, fxAitken))
+                break;
 
             xPrevPrev = xPrev;
+            fxPrevPrev = fxPrev;
             xPrev = xActual;
-            iter++;
+            fxPrev = fxActual;
         }
-        throw new Exception("No se encontró una raíz en el número máximo de iteraciones.");
+        return busqueda.finish(xAitken, fxAitken);
     }
 
-    // Mantener el método original para compatibilidad
-    public double calcularRaiz(Funcion f, double x0, double x1, double tolerancia, int maxIter) throws Exception {
-        return calcularRaiz(f, x0, x1, tolerancia, maxIter, new java.util.ArrayList<>());
+    /**
+     * Lleva la excepción de una {@link Funcion} a través de la búsqueda, que solo admite
+     * funciones sin excepciones verificadas.
+     */
+    private static final class EvaluacionFallida extends RuntimeException {
+        private static final long serialVersionUID = 1L;
+
+        EvaluacionFallida(Exception causa) {
+            super(causa);
+        }
     }
 }
@@ -1,9 +1,14 @@
 package com.ipn.metodosnumericosnvo.metodos_raices;
 
-import org.mariuszgromada.math.mxparser.*;
+import com.ipn.metodosnumericosnvo.math.CompiledFunction;
+import com.ipn.metodosnumericosnvo.math.CompiledFunctionCache;
+import com.ipn.metodosnumericosnvo.math.RootResult;
+import com.ipn.metodosnumericosnvo.math.RootSearch;
+import com.ipn.metodosnumericosnvo.math.RootSolver;
+import com.ipn.metodosnumericosnvo.math.Termination;
 import java.util.List;
 
-public class Steffensen {
+public class Steffensen implements RootSolver {
     public static class Step {
         public int paso;
         public double xn, fxn, fxnPlus, xn1, fxn1;
@@ -24,23 +29,60 @@ public class Steffensen {
     }
 
     public double resolver(String exprF, double x0, double tol, int maxIter, List<Step> steps) {
-        Argument argX = new Argument("x", x0);
-        Expression f = new Expression(exprF, argX);
+        RegistroPasos registro = RegistroPasos.completo();
+        try {
+            return resolver(exprF, x0, tol, maxIter, registro);
+        } finally {
+            registro.copiarEn(steps, i -> new Step(registro.getPaso(i),
+                    registro.getValor(i, 0), registro.getValor(i, 1), registro.getValor(i, 2),
+                    registro.getValor(i, 3), registro.getValor(i, 4)));
+        }
+    }
+
+    /**
+     * Método de Steffensen que registra los pasos según la política del registro.
+     * Cada paso tiene las columnas xn, f(xn), f(xn + f(xn)), xn+1 y f(xn+1).
+     */
+    public double resolver(String exprF, double x0, double tol, int maxIter, RegistroPasos registro) {
+        // La función se compila una sola vez y se comparte a través del caché
+        CompiledFunction f = CompiledFunctionCache.shared().get(exprF);
+        RootResult resultado = resolver(f, x0, Termination.onResidual(tol).withMaxIterations(maxIter), registro);
+        if (!resultado.isConverged()) {
+            throw new IllegalArgumentException("No converge en " + maxIter + " iteraciones.");
+        }
+        return resultado.getRoot();
+    }
+
+    /**
+     * Método de Steffensen; x1 no se usa.
+     */
+    @Override
+    public RootResult solve(CompiledFunction f, double x0, double x1, Termination termination) {
+        return resolver(f, x0, termination, RegistroPasos.ninguno());
+    }
+
+    /**
+     * Método de Steffensen sobre una función compilada. Cada iteración evalúa f dos veces:
+     * en xn + f(xn) y en el punto nuevo, cuyo valor se usa en la iteración siguiente.
+     */
+    public RootResult resolver(CompiledFunction f, double x0, Termination termination, RegistroPasos registro) {
+        RootSearch busqueda = termination.start(f);
+        registro.iniciar(5);
         double xn = x0;
-        for (int i = 1; i <= maxIter; i++) {
-            argX.setArgumentValue(xn);
-            double fxn = f.calculate();
-            argX.setArgumentValue(xn + fxn);
-            double fxnPlus = f.calculate();
+        double fxn = busqueda.evaluate(xn);
+        while (busqueda.nextIteration()) {
+            double fxnPlus = busqueda.evaluate(xn + fxn);
             double denom = fxnPlus - fxn;
             if (denom == 0) denom = 1e-12;
             double xn1 = xn - (fxn*fxn)/denom;
-            argX.setArgumentValue(xn1);
-            double fxn1 = f.calculate();
-            steps.add(new Step(i, xn, fxn, fxnPlus, xn1, fxn1));
-            if (Math.abs(fxn1) < tol) return xn1;
+            double fxn1 = busqueda.evaluate(xn1);
+            registro.fila(busqueda.getIteration()).valor(xn).valor(fxn).valor(fxnPlus).valor(xn1).valor(fxn1);
+            double paso = xn1 - xn;
+            // f(xn1) es el f(xn) del paso siguiente
             xn = xn1;
+            fxn = fxn1;
+            if (busqueda.hasConverged(paso, xn, fxn)) break;
         }
-        throw new IllegalArgumentException("No converge en " + maxIter + " iteraciones.");
+        return busqueda.finish(xn, fxn);
     }
 }
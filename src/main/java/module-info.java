@@ -55,4 +55,5 @@ module com.ipn.metodosnumericosnvo {
     exports com.ipn.metodosnumericosnvo.modelo;
     exports com.ipn.metodosnumericosnvo.integracion_controller;
     exports com.ipn.metodosnumericosnvo.animation;
+    exports com.ipn.metodosnumericosnvo.batch;
 }